@@ -0,0 +1,53 @@
+package com.FTMS.FTMS_app.customer.application.service.impl;
+
+import com.FTMS.FTMS_app.customer.domain.model.Contract;
+import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import com.FTMS.FTMS_app.customer.domain.model.CustomerCategory;
+import com.FTMS.FTMS_app.customer.domain.model.CustomerStatus;
+import com.FTMS.FTMS_app.customer.domain.model.Invoice;
+import com.FTMS.FTMS_app.customer.domain.model.PaymentTerms;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificarea contractului (la fiecare preț calculat) și calculul facturii (la fiecare livrare confirmată).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerRulesBenchmark {
+
+    private Customer customer;
+    private Contract contract;
+
+    private long shipmentId = 1;
+    private double amount = 1_250.50;
+
+    @Setup
+    public void setUp() {
+        customer = new Customer();
+        customer.setId(1L);
+        customer.setCompanyName("Benchmark SRL");
+        customer.setPaymentTerms(PaymentTerms.NET_30);
+        customer.setCategory(CustomerCategory.PREMIUM);
+        customer.setStatus(CustomerStatus.ACTIVE);
+        contract = new Contract(1L, customer, LocalDate.now().minusMonths(6), LocalDate.now().plusMonths(6), "standard", 0.05);
+        customer.setContract(contract);
+    }
+
+    @Benchmark
+    public boolean contractIsActive() {
+        return contract.isActive();
+    }
+
+    @Benchmark
+    public Invoice buildInvoice() {
+        // Număr de factură diferit la fiecare apel, ca în producție ("INV-" + shipmentId)
+        return CustomerServiceImpl.buildInvoice(customer, shipmentId++, amount);
+    }
+}
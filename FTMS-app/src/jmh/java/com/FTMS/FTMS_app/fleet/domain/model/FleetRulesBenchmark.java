@@ -0,0 +1,70 @@
+package com.FTMS.FTMS_app.fleet.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regulile de flotă evaluate la fiecare alocare / dispecerizare (Vehicle, Driver, LicenseInfo, VehicleCapacity).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FleetRulesBenchmark {
+
+    private Vehicle boxTruck;
+    private Vehicle tanker;
+    private Driver driverC;
+    private Driver driverCE;
+    private LicenseInfo license;
+    private VehicleCapacity capacity;
+
+    // Câmpuri ne-finale, ca JIT-ul să nu poată pre-calcula rezultatul
+    private double cargoWeight = 12_000;
+    private double cargoVolume = 45;
+
+    @Setup
+    public void setUp() {
+        boxTruck = vehicle(1L, VehicleType.BOX_TRUCK);
+        tanker = vehicle(2L, VehicleType.TANKER);
+        license = new LicenseInfo("L-1", LicenseType.C, LocalDate.now().minusYears(5), LocalDate.now().plusYears(5));
+        driverC = new Driver(1L, "Driver C", license, null, null, LocalDate.now(), DriverStatus.AVAILABLE, null);
+        driverCE = new Driver(2L, "Driver CE", new LicenseInfo("L-2", LicenseType.CE, LocalDate.now().minusYears(5),
+                LocalDate.now().plusYears(5)), null, null, LocalDate.now(), DriverStatus.AVAILABLE, null);
+        capacity = boxTruck.getCapacity();
+    }
+
+    @Benchmark
+    public boolean vehicleIsAvailable() {
+        return boxTruck.isAvailable();
+    }
+
+    @Benchmark
+    public boolean licenseIsValid() {
+        return license.isValid();
+    }
+
+    @Benchmark
+    public void driverCanDriveVehicle(Blackhole blackhole) {
+        blackhole.consume(driverC.canDriveVehicle(boxTruck));
+        blackhole.consume(driverC.canDriveVehicle(tanker));
+        blackhole.consume(driverCE.canDriveVehicle(tanker));
+    }
+
+    @Benchmark
+    public boolean capacityIsSufficient() {
+        return capacity.isSufficient(cargoWeight, cargoVolume);
+    }
+
+    private static Vehicle vehicle(Long id, VehicleType type) {
+        return new Vehicle(id, "B-" + id, "Volvo", "FH", type, 2022, new VehicleCapacity(24_000, 90), "Diesel",
+                0, "policy-" + id, LocalDate.now().plusYears(1), LocalDate.now().plusYears(1),
+                VehicleStatus.AVAILABLE, List.of());
+    }
+}
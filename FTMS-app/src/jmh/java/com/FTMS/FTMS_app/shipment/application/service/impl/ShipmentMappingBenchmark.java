@@ -0,0 +1,57 @@
+package com.FTMS.FTMS_app.shipment.application.service.impl;
+
+import com.FTMS.FTMS_app.shipment.application.dto.CargoDto;
+import com.FTMS.FTMS_app.shipment.application.dto.CreateShipmentRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentLocationDto;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maparea DTO -> Model de la crearea transporturilor (individual și în importul în masă).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShipmentMappingBenchmark {
+
+    private CreateShipmentRequest request;
+    private double price = 980.0;
+
+    @Setup
+    public void setUp() {
+        CargoDto cargo = new CargoDto();
+        cargo.setDescription("Paleți");
+        cargo.setWeightKg(12_000);
+        cargo.setVolumeCubicMeters(45);
+
+        request = new CreateShipmentRequest();
+        request.setReferenceNumber("REF-BENCH-1");
+        request.setCustomerId(1L);
+        request.setPickupLocation(location("Cluj-Napoca"));
+        request.setDeliveryLocation(location("București"));
+        request.setCargoDetails(cargo);
+        request.setPickupDateTime(LocalDateTime.now().plusDays(1));
+        request.setRequestedDeliveryDateTime(LocalDateTime.now().plusDays(2));
+    }
+
+    @Benchmark
+    public Shipment mapToShipment() {
+        return ShipmentServiceImpl.mapToShipment(request, price);
+    }
+
+    private static ShipmentLocationDto location(String city) {
+        ShipmentLocationDto dto = new ShipmentLocationDto();
+        dto.setStreet("Str. Exemplu 1");
+        dto.setCity(city);
+        dto.setCountry("RO");
+        dto.setContactPerson("Ion Popescu");
+        dto.setContactPhone("0700000000");
+        return dto;
+    }
+}
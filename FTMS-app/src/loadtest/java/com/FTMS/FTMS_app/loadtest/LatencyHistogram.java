@@ -0,0 +1,85 @@
+package com.FTMS.FTMS_app.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramă de latențe în microsecunde, cu memorie constantă (oricâte cereri) și sigură pentru acces concurent.
+ *
+ * Sub 128 µs fiecare valoare are bucket-ul ei; peste, fiecare putere a lui 2 este împărțită în 64 de
+ * bucket-uri, deci percentilele raportate au o eroare relativă sub 1,6%.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(indexOf(micros));
+        total.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    long count() {
+        return total.sum();
+    }
+
+    double meanMillis() {
+        long count = count();
+        return count == 0 ? 0 : sumMicros.sum() / 1_000.0 / count;
+    }
+
+    double maxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * @param quantile ex: 0.99 pentru p99
+     * @return limita superioară a bucket-ului în care cade percentila, în milisecunde
+     */
+    double percentileMillis(double quantile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKETS + 1;
+        long lower = (long) (offset % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,440 @@
+package com.FTMS.FTMS_app.loadtest;
+
+import com.FTMS.FTMS_app.FtmsAppApplication;
+import com.FTMS.FTMS_app.loadtest.LoadTestClient.EndpointStats;
+import com.FTMS.FTMS_app.loadtest.LoadTestClient.LoadTestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generator de încărcare end-to-end pentru ciclul de viață al transporturilor, prin API-ul REST.
+ *
+ * 1. Pornește aplicația în proces (H2 în modul PostgreSQL sau un PostgreSQL local, --db-url) sau folosește
+ *    una deja pornită (--base-url).
+ * 2. Generează date sintetice deterministe (--seed): clienți, vehicule, șoferi și --scale transporturi
+ *    (prin importul în masă), ca măsurarea să ruleze pe un volum realist.
+ * 3. Fiecare din cei --concurrency clienți are propriul client, șofer și vehicul și repetă ciclul:
+ *    creare -> alocare -> PICKED_UP -> IN_TRANSIT -> confirmare livrare -> plata facturilor emise
+ *    (facturile apar asincron, prin outbox).
+ * 4. Scrie raportul JSON (p50/p90/p99/p999 pe endpoint + throughput susținut) în --out.
+ *
+ * Cu --threads=both aplicația este pornită de două ori (fire de platformă, apoi profilul virtual-threads),
+ * cu același pool de conexiuni (--pool-size), și se scrie în plus un raport comparativ. În modul virtual se
+ * înregistrează și evenimentele JFR de fixare a firelor virtuale pe thread-ul purtător (pinning).
+ *
+ * Rulare: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--concurrency=32 --scale=100000 --duration=120"
+ *         mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--threads=both --concurrency=400 --duration=60"
+ */
+public final class LifecycleLoadTest {
+
+    private static final int BATCH_SIZE = 1_000; // limita importului în masă
+    private static final int INVOICE_PAGE = 20;
+    private static final Duration PINNING_THRESHOLD = Duration.ofMillis(1);
+
+    private final LoadTestOptions options;
+    private final String threads;
+    private final SyntheticData data;
+    private final LoadTestClient client;
+    private final ExecutorService workers;
+
+    private final LongAdder lifecycles = new LongAdder();
+    private final LongAdder failedLifecycles = new LongAdder();
+    private final LongAdder paidInvoices = new LongAdder();
+    private final ConcurrentLinkedQueue<String> sampleErrors = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger errorCount = new AtomicInteger();
+
+    private LifecycleLoadTest(LoadTestOptions options, String threads, String baseUrl) {
+        this.options = options;
+        this.threads = threads;
+        this.data = new SyntheticData(Long.toString(System.currentTimeMillis(), 36).toUpperCase());
+        this.client = new LoadTestClient(baseUrl);
+        // Clienții generatorului stau aproape tot timpul în I/O: fire virtuale, ca la concurențe mari
+        // (sute de clienți) generatorul să nu fie el limita
+        this.workers = Executors.newFixedThreadPool(options.concurrency(), Thread.ofVirtual().name("loadtest-", 0).factory());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        Map<String, Map<String, Object>> reports = new LinkedHashMap<>();
+        for (String threads : options.threads()) {
+            ConfigurableApplicationContext application = null;
+            String baseUrl = options.baseUrl();
+            if (options.bootApplication()) {
+                System.out.printf("%n=== %s threads ===%n", threads);
+                application = boot(options, threads);
+                baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            }
+
+            LifecycleLoadTest loadTest = new LifecycleLoadTest(options, threads, baseUrl);
+            try {
+                RunResult result = loadTest.run();
+                reports.put(threads, result.report());
+                System.out.println("Report written to " + result.file().toAbsolutePath());
+            } finally {
+                loadTest.workers.shutdownNow();
+                if (application != null) {
+                    application.close();
+                }
+            }
+        }
+        if (reports.size() > 1) {
+            Path comparison = writeComparison(options, reports);
+            System.out.println("Comparison written to " + comparison.toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestOptions options, String threads) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", options.dbUrl());
+        properties.put("spring.datasource.username", options.dbUser());
+        properties.put("spring.datasource.password", options.dbPassword());
+        properties.put("spring.datasource.hikari.maximum-pool-size", options.poolSize());
+        properties.put("spring.datasource.hikari.minimum-idle", options.poolSize());
+        if (LoadTestOptions.VIRTUAL.equals(threads)) {
+            properties.put("spring.profiles.active", "virtual-threads");
+        }
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.root", "WARN");
+        if (options.inMemoryDatabase()) {
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+            properties.put("ftms.cache.invalidation.enabled", false); // LISTEN/NOTIFY există doar pe PostgreSQL
+        }
+        // Ca argumente de linie de comandă: au prioritate față de application.properties
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(FtmsAppApplication.class).run(args);
+    }
+
+    private RunResult run() throws Exception {
+        Instant startedAt = Instant.now();
+        Random random = new Random(options.seed());
+
+        // 1. Date sintetice (neînregistrate în statistici)
+        long seedStart = System.nanoTime();
+        client.post("POST /quotes/rate-cards", "/api/v1/quotes/rate-cards", data.defaultRateCard());
+        int backgroundCustomers = Math.max(10, options.scale() / 100);
+        int backgroundFleet = Math.max(10, options.scale() / 100);
+        List<Long> customerIds = createAll(backgroundCustomers + options.concurrency(), random,
+                (n, r) -> client.post("POST /customers", "/api/v1/customers", data.customer(n, r)).get("id").asLong());
+        List<Long> vehicleIds = createAll(backgroundFleet + options.concurrency(), random,
+                (n, r) -> client.post("POST /fleet/vehicles", "/api/v1/fleet/vehicles",
+                        data.vehicle(n, n < options.concurrency(), r)).get("id").asLong());
+        List<Long> driverIds = createAll(backgroundFleet + options.concurrency(), random,
+                (n, r) -> client.post("POST /fleet/drivers", "/api/v1/fleet/drivers", data.driver(n, r)).get("id").asLong());
+        long seededShipments = seedShipments(customerIds.subList(options.concurrency(), customerIds.size()), random);
+        double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+        System.out.printf("Seeded %d customers, %d vehicles, %d drivers, %d shipments in %.1f s%n",
+                customerIds.size(), vehicleIds.size(), driverIds.size(), seededShipments, seedSeconds);
+
+        // 2. Încălzire + măsurare: primii "concurrency" clienți / vehicule / șoferi sunt ai generatorului
+        CountDownLatch started = new CountDownLatch(1);
+        long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        List<Future<?>> running = new ArrayList<>();
+        for (int w = 0; w < options.concurrency(); w++) {
+            Worker worker = new Worker(w, customerIds.get(w), driverIds.get(w), vehicleIds.get(w),
+                    new Random(options.seed() * 31 + w), measureEnd);
+            running.add(workers.submit(() -> {
+                started.await();
+                worker.run();
+                return null;
+            }));
+        }
+        started.countDown();
+        sleepUntil(measureStart);
+        lifecycles.reset();
+        failedLifecycles.reset();
+        paidInvoices.reset();
+        // Pinning-ul se poate observa doar pentru aplicația pornită în acest proces
+        VirtualThreadPinning pinning = options.bootApplication() && LoadTestOptions.VIRTUAL.equals(threads)
+                ? new VirtualThreadPinning(PINNING_THRESHOLD) : null;
+        client.startRecording();
+        try {
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } finally {
+            client.stopRecording();
+            if (pinning != null) {
+                pinning.close();
+            }
+        }
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        // 3. Raport
+        RunResult result = writeReport(startedAt, seedSeconds, seededShipments, customerIds.size(), vehicleIds.size(),
+                driverIds.size(), measuredSeconds, pinning == null ? null : pinning.summary());
+        printSummary(measuredSeconds);
+        return result;
+    }
+
+    /**
+     * Creează count entități în paralel; sămânța fiecărei entități depinde doar de poziția ei (date deterministe).
+     */
+    private List<Long> createAll(int count, Random random, EntityFactory factory) throws Exception {
+        long baseSeed = random.nextLong();
+        List<Future<Long>> futures = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            int index = n;
+            futures.add(workers.submit(() -> factory.create(index, new Random(baseSeed + index))));
+        }
+        List<Long> ids = new ArrayList<>(count);
+        for (Future<Long> future : futures) {
+            ids.add(future.get());
+        }
+        return ids;
+    }
+
+    private long seedShipments(List<Long> customerIds, Random random) throws Exception {
+        long baseSeed = random.nextLong();
+        int batches = (options.scale() + BATCH_SIZE - 1) / BATCH_SIZE;
+        List<Future<Integer>> futures = new ArrayList<>(batches);
+        for (int b = 0; b < batches; b++) {
+            int batch = b;
+            futures.add(workers.submit(() -> {
+                Random batchRandom = new Random(baseSeed + batch);
+                int from = batch * BATCH_SIZE;
+                int to = Math.min(options.scale(), from + BATCH_SIZE);
+                List<Map<String, Object>> shipments = new ArrayList<>(to - from);
+                for (int n = from; n < to; n++) {
+                    long customerId = customerIds.get(batchRandom.nextInt(customerIds.size()));
+                    shipments.add(data.shipment(data.shipmentReference("S", n), customerId, batchRandom));
+                }
+                return client.post("POST /shipments/batch", "/api/v1/shipments/batch", Map.of("shipments", shipments))
+                        .get("created").asInt();
+            }));
+        }
+        long created = 0;
+        for (Future<Integer> future : futures) {
+            created += future.get();
+        }
+        return created;
+    }
+
+    /**
+     * Un client al generatorului: ciclul de viață complet, în buclă, cu propriul client / șofer / vehicul
+     * (fără conflicte de alocare între clienții generatorului).
+     */
+    private final class Worker {
+
+        private final int index;
+        private final long customerId;
+        private final long driverId;
+        private final long vehicleId;
+        private final Random random;
+        private final long deadline;
+        private long sequence;
+
+        private Worker(int index, long customerId, long driverId, long vehicleId, Random random, long deadline) {
+            this.index = index;
+            this.customerId = customerId;
+            this.driverId = driverId;
+            this.vehicleId = vehicleId;
+            this.random = random;
+            this.deadline = deadline;
+        }
+
+        private void run() {
+            while (System.nanoTime() < deadline) {
+                try {
+                    runLifecycle();
+                    lifecycles.increment();
+                } catch (LoadTestException e) {
+                    failedLifecycles.increment();
+                    if (errorCount.incrementAndGet() <= 20) {
+                        sampleErrors.add(e.getMessage());
+                    }
+                }
+            }
+        }
+
+        private void runLifecycle() {
+            String reference = data.shipmentReference("W" + index + "-", sequence++);
+            long id = client.post("POST /shipments", "/api/v1/shipments",
+                    data.shipment(reference, customerId, random)).get("id").asLong();
+
+            client.put("PUT /shipments/{id}/assign", "/api/v1/shipments/" + id + "/assign?driverId=" + driverId + "&vehicleId=" + vehicleId);
+            client.put("PUT /shipments/{id}/status/PICKED_UP", "/api/v1/shipments/" + id + "/status/PICKED_UP");
+            client.put("PUT /shipments/{id}/status/IN_TRANSIT", "/api/v1/shipments/" + id + "/status/IN_TRANSIT");
+            client.post("POST /shipments/{id}/confirm-delivery", "/api/v1/shipments/" + id + "/confirm-delivery",
+                    data.deliveryConfirmation());
+
+            payIssuedInvoices();
+        }
+
+        // Facturile sunt generate de relay-ul outbox-ului, deci se plătesc cele deja emise, nu neapărat ultima
+        private void payIssuedInvoices() {
+            JsonNode page = client.get("GET /customers/invoices",
+                    "/api/v1/customers/invoices?customerId=" + customerId + "&status=PENDING&limit=" + INVOICE_PAGE);
+            for (JsonNode invoice : page.get("items")) {
+                client.post("POST /customers/invoices/{id}/pay", "/api/v1/customers/invoices/" + invoice.get("id").asLong() + "/pay",
+                        data.payment(invoice.get("totalAmount").asDouble(), "PAY-" + invoice.get("invoiceNumber").asText()));
+                paidInvoices.increment();
+            }
+        }
+    }
+
+    private RunResult writeReport(Instant startedAt, double seedSeconds, long seededShipments, int customers, int vehicles,
+                                  int drivers, double measuredSeconds, Map<String, Object> pinning) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("baseUrl", options.bootApplication() ? "in-process" : options.baseUrl());
+        config.put("database", options.bootApplication() ? options.dbUrl() : "external");
+        config.put("threads", options.bootApplication() ? threads : "external");
+        config.put("poolSize", options.bootApplication() ? options.poolSize() : null);
+        config.put("concurrency", options.concurrency());
+        config.put("scale", options.scale());
+        config.put("durationSeconds", options.durationSeconds());
+        config.put("warmupSeconds", options.warmupSeconds());
+        config.put("seed", options.seed());
+        config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("config", config);
+
+        Map<String, Object> seeded = new LinkedHashMap<>();
+        seeded.put("customers", customers);
+        seeded.put("vehicles", vehicles);
+        seeded.put("drivers", drivers);
+        seeded.put("shipments", seededShipments);
+        seeded.put("durationSeconds", round(seedSeconds));
+        report.put("seed", seeded);
+
+        Map<String, EndpointStats> stats = client.stats();
+        long requests = stats.values().stream().mapToLong(s -> s.latency.count()).sum();
+        long errors = stats.values().stream().mapToLong(s -> s.errors.sum()).sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("durationSeconds", round(measuredSeconds));
+        summary.put("lifecycles", lifecycles.sum());
+        summary.put("failedLifecycles", failedLifecycles.sum());
+        summary.put("lifecyclesPerSecond", round(lifecycles.sum() / measuredSeconds));
+        summary.put("paidInvoices", paidInvoices.sum());
+        summary.put("requests", requests);
+        summary.put("errors", errors);
+        summary.put("requestsPerSecond", round(requests / measuredSeconds));
+        summary.put("sampleErrors", List.copyOf(sampleErrors));
+        report.put("run", summary);
+        if (pinning != null) {
+            report.put("virtualThreadPinning", pinning);
+        }
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        stats.forEach((endpoint, s) -> {
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("mean", round(s.latency.meanMillis()));
+            latency.put("p50", round(s.latency.percentileMillis(0.50)));
+            latency.put("p90", round(s.latency.percentileMillis(0.90)));
+            latency.put("p99", round(s.latency.percentileMillis(0.99)));
+            latency.put("p999", round(s.latency.percentileMillis(0.999)));
+            latency.put("max", round(s.latency.maxMillis()));
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", endpoint);
+            entry.put("count", s.latency.count());
+            entry.put("errors", s.errors.sum());
+            entry.put("throughputPerSecond", round(s.latency.count() / measuredSeconds));
+            entry.put("latencyMs", latency);
+            endpoints.add(entry);
+        });
+        report.put("endpoints", endpoints);
+
+        return new RunResult(write(options, "loadtest-" + threads, report), report);
+    }
+
+    /**
+     * Raportul comparativ pentru --threads=both: throughput-ul și latențele fiecărui mod, pe endpoint.
+     */
+    @SuppressWarnings("unchecked")
+    private static Path writeComparison(LoadTestOptions options, Map<String, Map<String, Object>> reports)
+            throws IOException {
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        Map<String, Object> runs = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> endpoints = new TreeMap<>();
+        reports.forEach((threads, report) -> {
+            runs.put(threads, report.get("run"));
+            for (Map<String, Object> entry : (List<Map<String, Object>>) report.get("endpoints")) {
+                endpoints.computeIfAbsent((String) entry.get("endpoint"), e -> new LinkedHashMap<>())
+                        .put(threads, Map.of("throughputPerSecond", entry.get("throughputPerSecond"),
+                                "latencyMs", entry.get("latencyMs")));
+            }
+        });
+        comparison.put("config", reports.values().iterator().next().get("config"));
+        comparison.put("runs", runs);
+        comparison.put("endpoints", endpoints);
+
+        System.out.printf("%n%-42s", "endpoint (p99 / p999 ms)");
+        reports.keySet().forEach(threads -> System.out.printf(" %21s", threads));
+        System.out.println();
+        endpoints.forEach((endpoint, byThreads) -> {
+            System.out.printf("%-42s", endpoint);
+            reports.keySet().forEach(threads -> {
+                Map<String, Object> latency = byThreads.containsKey(threads)
+                        ? (Map<String, Object>) ((Map<String, Object>) byThreads.get(threads)).get("latencyMs") : Map.of();
+                System.out.printf(" %10s / %8s", latency.getOrDefault("p99", "-"), latency.getOrDefault("p999", "-"));
+            });
+            System.out.println();
+        });
+        runs.forEach((threads, run) -> {
+            Map<String, Object> summary = (Map<String, Object>) run;
+            System.out.printf("%-8s %10s req/s %10s lifecycles/s %6s errors%n", threads,
+                    summary.get("requestsPerSecond"), summary.get("lifecyclesPerSecond"), summary.get("errors"));
+        });
+        return write(options, "threading-comparison", comparison);
+    }
+
+    private static Path write(LoadTestOptions options, String prefix, Map<String, Object> report) throws IOException {
+        Files.createDirectories(options.outputDir());
+        Path file = options.outputDir().resolve(prefix + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private void printSummary(double measuredSeconds) {
+        System.out.printf("%n%-42s %9s %7s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "req/s");
+        client.stats().forEach((endpoint, s) -> System.out.printf("%-42s %9d %7d %9.2f %9.2f %9.2f %9.1f%n",
+                endpoint, s.latency.count(), s.errors.sum(), s.latency.percentileMillis(0.50),
+                s.latency.percentileMillis(0.99), s.latency.percentileMillis(0.999), s.latency.count() / measuredSeconds));
+        System.out.printf("%nLifecycles: %d completed, %d failed -> %.1f lifecycles/s%n",
+                lifecycles.sum(), failedLifecycles.sum(), lifecycles.sum() / measuredSeconds);
+        sampleErrors.forEach(error -> System.out.println("  error: " + error));
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1_000) / 1_000.0;
+    }
+
+    private record RunResult(Path file, Map<String, Object> report) {
+    }
+
+    @FunctionalInterface
+    private interface EntityFactory {
+        long create(int index, Random random);
+    }
+}
@@ -0,0 +1,127 @@
+package com.FTMS.FTMS_app.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client HTTP al generatorului de încărcare: trimite cererile JSON și, cât timp înregistrarea este pornită,
+ * măsoară latența fiecărei cereri pe endpoint (metodă + rută cu parametrii înlocuiți, ex: "PUT /shipments/{id}/assign").
+ */
+final class LoadTestClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    LoadTestClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    void startRecording() {
+        stats.clear();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    Map<String, EndpointStats> stats() {
+        return new TreeMap<>(stats);
+    }
+
+    JsonNode get(String endpoint, String path) {
+        return send(endpoint, "GET", path, null);
+    }
+
+    JsonNode post(String endpoint, String path, Object body) {
+        return send(endpoint, "POST", path, body);
+    }
+
+    JsonNode put(String endpoint, String path) {
+        return send(endpoint, "PUT", path, null);
+    }
+
+    private JsonNode send(String endpoint, String method, String path, Object body) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .method(method, body == null
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new LoadTestException(method + " " + path + ": cannot serialize request body", e);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            record(endpoint, System.nanoTime() - start, false);
+            throw new LoadTestException(method + " " + path + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTestException(method + " " + path + ": interrupted", e);
+        }
+        boolean success = response.statusCode() / 100 == 2;
+        record(endpoint, System.nanoTime() - start, success);
+
+        if (!success) {
+            throw new LoadTestException(method + " " + path + " -> " + response.statusCode() + ": " + new String(response.body()));
+        }
+        try {
+            return response.body().length == 0 ? mapper.nullNode() : mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new LoadTestException(method + " " + path + ": invalid JSON response", e);
+        }
+    }
+
+    private void record(String endpoint, long nanos, boolean success) {
+        if (recording) {
+            stats.computeIfAbsent(endpoint, e -> new EndpointStats()).record(nanos, success);
+        }
+    }
+
+    static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+
+        private void record(long nanos, boolean success) {
+            latency.recordNanos(nanos);
+            if (!success) {
+                errors.increment();
+            }
+        }
+    }
+
+    static final class LoadTestException extends RuntimeException {
+        LoadTestException(String message) {
+            super(message);
+        }
+
+        LoadTestException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.FTMS.FTMS_app.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parametrii unei rulări, din argumente de forma --nume=valoare.
+ *
+ * @param baseUrl         aplicația deja pornită (ex: http://localhost:8080); gol = pornește aplicația în proces
+ * @param dbUrl           baza de date pentru aplicația pornită în proces (implicit H2 în memorie, modul PostgreSQL)
+ * @param concurrency     numărul de clienți concurenți; fiecare rulează ciclul de viață complet, în buclă
+ * @param scale           numărul de transporturi sintetice generate înainte de măsurare (10k - 1M)
+ * @param durationSeconds durata măsurării
+ * @param warmupSeconds   încălzirea (cererile rulează, dar nu intră în statistici)
+ * @param seed            sămânța generatorului de date sintetice (aceeași sămânță = aceleași date)
+ * @param threads         firele aplicației pornite în proces: platform, virtual (profilul virtual-threads)
+ *                        sau both (două rulări pe aceleași date sintetice, plus un raport comparativ)
+ * @param poolSize        pool-ul de conexiuni al aplicației pornite în proces (același în ambele moduri)
+ * @param outputDir       directorul raportului JSON
+ */
+record LoadTestOptions(
+        String baseUrl,
+        String dbUrl,
+        String dbUser,
+        String dbPassword,
+        int concurrency,
+        int scale,
+        int durationSeconds,
+        int warmupSeconds,
+        long seed,
+        List<String> threads,
+        int poolSize,
+        Path outputDir
+) {
+
+    static final String PLATFORM = "platform";
+    static final String VIRTUAL = "virtual";
+
+    static final String IN_MEMORY_DB = "jdbc:h2:mem:ftms-load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.getOrDefault("base-url", ""),
+                values.getOrDefault("db-url", IN_MEMORY_DB),
+                values.getOrDefault("db-user", values.containsKey("db-url") ? "postgres" : "sa"),
+                values.getOrDefault("db-password", ""),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Integer.parseInt(values.getOrDefault("scale", "10000")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                threadModes(values.getOrDefault("threads", PLATFORM)),
+                Integer.parseInt(values.getOrDefault("pool-size", "30")),
+                Path.of(values.getOrDefault("out", "target/loadtest")));
+        if (options.concurrency < 1 || options.scale < 0 || options.durationSeconds < 1 || options.warmupSeconds < 0) {
+            throw new IllegalArgumentException("concurrency and duration must be positive, scale and warmup non-negative.");
+        }
+        if (options.poolSize < 1) {
+            throw new IllegalArgumentException("pool-size must be positive.");
+        }
+        if (!options.bootApplication() && values.containsKey("threads")) {
+            throw new IllegalArgumentException("threads only applies to the in-process application (no base-url).");
+        }
+        return options;
+    }
+
+    private static List<String> threadModes(String value) {
+        return switch (value) {
+            case PLATFORM, VIRTUAL -> List.of(value);
+            case "both" -> List.of(PLATFORM, VIRTUAL);
+            default -> throw new IllegalArgumentException("threads must be platform, virtual or both, got: " + value);
+        };
+    }
+
+    boolean bootApplication() {
+        return baseUrl.isBlank();
+    }
+
+    boolean inMemoryDatabase() {
+        return dbUrl.startsWith("jdbc:h2:");
+    }
+}
@@ -0,0 +1,134 @@
+package com.FTMS.FTMS_app.loadtest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Corpurile JSON ale cererilor, generate determinist dintr-o sămânță: aceeași sămânță produce aceleași
+ * orașe, greutăți, categorii etc. Identificatorii unici primesc prefixul rulării, ca mai multe rulări
+ * să poată folosi aceeași bază de date.
+ */
+final class SyntheticData {
+
+    private static final List<String> CITIES = List.of(
+            "București", "Cluj-Napoca", "Timișoara", "Iași", "Constanța", "Craiova",
+            "Brașov", "Galați", "Ploiești", "Oradea", "Sibiu", "Arad");
+    private static final List<String> CATEGORIES = List.of("STANDARD", "PREMIUM", "VIP");
+    private static final List<String> PAYMENT_TERMS = List.of("NET_15", "NET_30", "NET_60");
+    private static final List<String> VEHICLE_TYPES = List.of("BOX_TRUCK", "REFRIGERATED", "FLATBED", "TANKER");
+
+    private final String runId;
+
+    SyntheticData(String runId) {
+        this.runId = runId;
+    }
+
+    Map<String, Object> customer(int n, Random random) {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("street", "Str. Sintetică " + (1 + random.nextInt(200)));
+        address.put("city", pick(CITIES, random));
+        address.put("zipCode", String.format("%06d", random.nextInt(1_000_000)));
+        address.put("country", "RO");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("companyName", "Load Test " + runId + " " + n + " SRL");
+        body.put("taxIdNumber", "RO-" + runId + "-" + n);
+        body.put("primaryContactName", "Contact " + n);
+        body.put("primaryContactPhone", "07" + String.format("%08d", random.nextInt(100_000_000)));
+        body.put("primaryContactEmail", "c" + n + "." + runId.toLowerCase() + "@load.ftms.test");
+        body.put("billingAddress", address);
+        body.put("deliveryAddresses", List.of());
+        body.put("paymentTerms", pick(PAYMENT_TERMS, random));
+        body.put("category", pick(CATEGORIES, random));
+        body.put("creditLimit", 1e12); // creditul nu trebuie să limiteze rularea
+        return body;
+    }
+
+    /**
+     * @param dedicated vehiculele clienților de încărcare sunt BOX_TRUCK (oricare șofer CE le poate conduce)
+     */
+    Map<String, Object> vehicle(int n, boolean dedicated, Random random) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("registrationNumber", "LT-" + runId + "-V" + n);
+        body.put("make", "Volvo");
+        body.put("model", "FH");
+        body.put("vehicleType", dedicated ? "BOX_TRUCK" : pick(VEHICLE_TYPES, random));
+        body.put("yearOfManufacture", 2015 + random.nextInt(10));
+        body.put("maxWeightKg", 24_000);
+        body.put("maxVolumeCubicMeters", 90);
+        body.put("fuelType", "Diesel");
+        body.put("currentMileage", random.nextInt(500_000));
+        body.put("insurancePolicyNumber", "POL-" + runId + "-" + n);
+        body.put("insuranceExpiryDate", LocalDate.now().plusYears(1).toString());
+        body.put("registrationExpiryDate", LocalDate.now().plusYears(1).toString());
+        return body;
+    }
+
+    Map<String, Object> driver(int n, Random random) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "Șofer " + runId + " " + n);
+        body.put("licenseNumber", "LT-" + runId + "-L" + n);
+        body.put("licenseType", "CE");
+        body.put("licenseIssueDate", LocalDate.now().minusYears(1 + random.nextInt(20)).toString());
+        body.put("licenseExpiryDate", LocalDate.now().plusYears(5).toString());
+        body.put("phone", "07" + String.format("%08d", random.nextInt(100_000_000)));
+        body.put("employmentDate", LocalDate.now().minusYears(random.nextInt(10)).toString());
+        return body;
+    }
+
+    Map<String, Object> shipment(String reference, long customerId, Random random) {
+        String origin = pick(CITIES, random);
+        String destination = pick(CITIES, random);
+
+        Map<String, Object> cargo = new LinkedHashMap<>();
+        cargo.put("description", "Paleți");
+        cargo.put("weightKg", 100 + random.nextInt(20_000));
+        cargo.put("volumeCubicMeters", 1 + random.nextInt(80));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("referenceNumber", reference);
+        body.put("customerId", customerId);
+        body.put("pickupLocation", location(origin, random));
+        body.put("deliveryLocation", location(destination, random));
+        body.put("cargoDetails", cargo);
+        body.put("pickupDateTime", LocalDateTime.now().plusDays(1).withNano(0).toString());
+        body.put("requestedDeliveryDateTime", LocalDateTime.now().plusDays(2).withNano(0).toString());
+        return body;
+    }
+
+    String shipmentReference(String prefix, long n) {
+        return "LT-" + runId + "-" + prefix + n;
+    }
+
+    // Tarif implicit (orice rută, orice vehicul), ca fiecare transport să poată fi evaluat
+    Map<String, Object> defaultRateCard() {
+        return Map.of("minChargeableWeightKg", 0, "baseAmount", 150, "pricePerKg", 0.08);
+    }
+
+    Map<String, Object> deliveryConfirmation() {
+        return Map.of("actualDeliveryDateTime", LocalDateTime.now().withNano(0).toString(), "recipientName", "Destinatar");
+    }
+
+    Map<String, Object> payment(double amount, String reference) {
+        return Map.of("paymentDate", LocalDate.now().toString(), "amount", amount,
+                "paymentMethod", "BANK_TRANSFER", "referenceNumber", reference);
+    }
+
+    private static Map<String, Object> location(String city, Random random) {
+        Map<String, Object> location = new LinkedHashMap<>();
+        location.put("street", "Str. Depozitului " + (1 + random.nextInt(100)));
+        location.put("city", city);
+        location.put("country", "RO");
+        location.put("contactPerson", "Ion Popescu");
+        location.put("contactPhone", "0700000000");
+        return location;
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
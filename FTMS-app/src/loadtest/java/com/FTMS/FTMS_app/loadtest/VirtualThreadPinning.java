@@ -0,0 +1,64 @@
+package com.FTMS.FTMS_app.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Înregistrează, prin JFR, evenimentele jdk.VirtualThreadPinned din procesul curent: un fir virtual care
+ * s-a blocat (I/O, lock, sleep) ținând ocupat thread-ul purtător, de obicei într-un bloc synchronized.
+ * Evenimentele sunt grupate după primul cadru din codul aplicației (com.FTMS), sau primul cadru în lipsa lui.
+ */
+final class VirtualThreadPinning implements AutoCloseable {
+
+    private static final String APPLICATION_PACKAGE = "com.FTMS.";
+    private static final int TOP_SITES = 10;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final LongAdder events = new LongAdder();
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+    VirtualThreadPinning(Duration threshold) {
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::record);
+        stream.startAsync();
+    }
+
+    private void record(RecordedEvent event) {
+        events.increment();
+        sites.computeIfAbsent(siteOf(event), site -> new LongAdder()).increment();
+    }
+
+    private static String siteOf(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "(no stack trace)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame site = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    }
+
+    Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("events", events.sum());
+        summary.put("topSites", sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(TOP_SITES)
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum(), (a, b) -> a, LinkedHashMap::new)));
+        return summary;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
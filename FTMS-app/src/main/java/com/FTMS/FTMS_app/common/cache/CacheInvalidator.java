@@ -0,0 +1,79 @@
+package com.FTMS.FTMS_app.common.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Scoate intrările modificate din cache-urile de citire, pe nodul curent și (prin PostgreSQL
+ * LISTEN/NOTIFY) pe celelalte noduri.
+ *
+ * Evacuarea are loc după commit: înainte, alte tranzacții încă văd starea veche în baza de date
+ * și ar pune-o înapoi în cache. Pe nodul curent rulează înainte ca benzile din
+ * ResourceReservationManager să fie eliberate, deci următoarea cerere pe aceeași resursă citește starea nouă.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<PostgresCacheInvalidationChannel> channel;
+
+    public CacheInvalidator(CacheManager cacheManager, ObjectProvider<PostgresCacheInvalidationChannel> channel) {
+        this.cacheManager = cacheManager;
+        this.channel = channel;
+    }
+
+    public void evictAfterCommit(String cacheName, Long id) {
+        evictAfterCommit(cacheName, List.of(id));
+    }
+
+    public void evictAfterCommit(String cacheName, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> keys = List.copyOf(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(cacheName, keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(cacheName, keys);
+            }
+        });
+    }
+
+    /**
+     * Evacuare doar pe nodul curent (apelată și pentru notificările primite de la celelalte noduri).
+     */
+    public void evictLocally(String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * Golește toate cache-urile (ex: după o întrerupere a canalului de notificări, când evacuări s-ar fi putut pierde).
+     */
+    public void clearLocally() {
+        cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+
+    private void evict(String cacheName, List<Long> ids) {
+        evictLocally(cacheName, ids);
+        channel.ifAvailable(c -> c.publish(cacheName, ids));
+    }
+}
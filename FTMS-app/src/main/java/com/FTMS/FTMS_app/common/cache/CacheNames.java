@@ -0,0 +1,14 @@
+package com.FTMS.FTMS_app.common.cache;
+
+/**
+ * Numele cache-urilor de citire (configurate în application.properties, spring.cache.*).
+ */
+public final class CacheNames {
+
+    public static final String CUSTOMERS = "customers"; // Customer, împreună cu contractul
+    public static final String DRIVERS = "drivers";
+    public static final String VEHICLES = "vehicles";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.FTMS.FTMS_app.common.cache;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/caches")
+public class CacheStatsController {
+
+    /**
+     * Statisticile unui cache de citire, de la pornirea nodului curent.
+     */
+    public record CacheStats(String name, long size, long hits, long misses, double hitRatio, long evictions) {
+    }
+
+    private final CacheManager cacheManager;
+
+    public CacheStatsController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping("/stats") // GET /api/v1/caches/stats
+    public ResponseEntity<List<CacheStats>> getStats() {
+        List<CacheStats> stats = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    com.github.benmanes.caffeine.cache.stats.CacheStats s = cache.getNativeCache().stats();
+                    return new CacheStats(cache.getName(), cache.getNativeCache().estimatedSize(),
+                            s.hitCount(), s.missCount(), s.hitRate(), s.evictionCount());
+                })
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,33 @@
+package com.FTMS.FTMS_app.common.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Încarcă entități pentru cache-urile de citire, în afara contextului de persistență al apelantului.
+ *
+ * O entitate pusă în cache nu are voie să fie instanța gestionată a tranzacției curente: aceeași
+ * tranzacție ar putea s-o modifice mai târziu (ex: assignDriver), iar alte thread-uri ar vedea prin
+ * cache o stare încă necomisă. Încărcarea se face într-o sesiune Hibernate separată, care folosește
+ * însă conexiunea JDBC a tranzacției curente (fără a doua conexiune din pool). Rezultatul este detașat
+ * și trebuie tratat ca read-only.
+ */
+@Component
+public class DetachedEntityLoader {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public <T> Optional<T> find(Class<T> type, Object id) {
+        Session session = entityManager.unwrap(Session.class);
+        try (Session detached = session.sessionWithOptions().connection().openSession()) {
+            return Optional.ofNullable(detached.find(type, id));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.FTMS.FTMS_app.common.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Canalul de invalidare a cache-urilor între instanțele aplicației, peste PostgreSQL LISTEN/NOTIFY.
+ *
+ * Fiecare evacuare locală este trimisă cu pg_notify pe canalul ftms_cache_invalidation, iar un thread
+ * dedicat ascultă pe o conexiune proprie și evacuează aceleași chei local. Conexiunea de LISTEN este
+ * deschisă direct (DriverManager), în afara pool-ului Hikari: o ține cât rulează aplicația, deci nu
+ * trebuie să ocupe un loc din pool-ul cererilor. Mesajele proprii sunt ignorate
+ * (identificate după nodeId). Dacă conexiunea cade, la reconectare se golesc toate cache-urile, pentru că
+ * notificările din intervalul respectiv s-au pierdut. Activat cu ftms.cache.invalidation.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "ftms.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class PostgresCacheInvalidationChannel implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationChannel.class);
+
+    static final String CHANNEL = "ftms_cache_invalidation";
+    // Payload-ul NOTIFY este limitat la 8000 de octeți: listele lungi se trimit în mai multe mesaje
+    private static final int IDS_PER_MESSAGE = 500;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidator invalidator;
+    private final long pollTimeoutMs;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresCacheInvalidationChannel(DataSource dataSource,
+                                            DataSourceProperties dataSourceProperties,
+                                            CacheInvalidator invalidator,
+                                            @Value("${ftms.cache.invalidation.poll-timeout-ms:1000}") long pollTimeoutMs) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.invalidator = invalidator;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    /**
+     * Trimite evacuarea către celelalte noduri. Eșecul nu anulează operația deja confirmată:
+     * intrările rămase pe alte noduri expiră oricum după TTL.
+     */
+    public void publish(String cacheName, List<Long> ids) {
+        try {
+            for (int from = 0; from < ids.size(); from += IDS_PER_MESSAGE) {
+                String keys = ids.subList(from, Math.min(from + IDS_PER_MESSAGE, ids.size())).stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(","));
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, nodeId + "|" + cacheName + "|" + keys);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not publish cache invalidation for {} {}: {}", cacheName, ids, e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    invalidator.clearLocally();
+                    log.info("Cache invalidation listener reconnected; local caches cleared");
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                reconnecting = true;
+                log.warn("Cache invalidation listener lost its connection, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollTimeoutMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Format: nodeId|cacheName|id1,id2,...
+    private void apply(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        Collection<Long> ids = Arrays.stream(parts[2].split(",")).map(Long::valueOf).toList();
+        invalidator.evictLocally(parts[1], ids);
+    }
+}
@@ -0,0 +1,100 @@
+package com.FTMS.FTMS_app.common.concurrency;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular mărginit, fără lock-uri: mai mulți producători (thread-urile HTTP), un singur consumator.
+ *
+ * Un producător își rezervă cu un singur CAS un interval contiguu de poziții pentru tot lotul, scrie
+ * elementele și le publică prin secvența fiecărui slot (release); consumatorul citește un slot doar după
+ * ce secvența lui arată că a fost publicat (acquire). Un lot intră în întregime sau deloc: cu buffer-ul
+ * plin, offerAll întoarce false și apelantul decide (ex: 503, clientul reîncearcă).
+ */
+public class MpscRingBuffer<T> {
+
+    private final Object[] slots;
+    // Secvența slotului i: poziția + 1 după publicare; până atunci valoarea din rotația anterioară
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // următoarea poziție liberă (producători)
+    private final AtomicLong head = new AtomicLong(); // următoarea poziție de citit (scrisă doar de consumator)
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two, got " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adaugă toate elementele, în ordine, sau niciunul.
+     *
+     * @return false dacă nu există loc pentru tot lotul
+     */
+    public boolean offerAll(Collection<? extends T> items) {
+        int count = items.size();
+        if (count == 0) {
+            return true;
+        }
+        if (count > slots.length) {
+            return false;
+        }
+        long start;
+        do {
+            start = tail.get();
+            if (start + count - head.get() > slots.length) {
+                return false;
+            }
+        } while (!tail.compareAndSet(start, start + count));
+
+        long position = start;
+        for (T item : items) {
+            int index = (int) (position & mask);
+            slots[index] = item;
+            published.setRelease(index, position + 1);
+            position++;
+        }
+        return true;
+    }
+
+    /**
+     * Mută în target cel mult maxItems elemente publicate. Doar consumatorul apelează metoda.
+     *
+     * @return numărul de elemente mutate
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<? super T> target, int maxItems) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < maxItems) {
+            int index = (int) (position & mask);
+            if (published.getAcquire(index) != position + 1) {
+                break; // gol sau încă în curs de scriere
+            }
+            target.add((T) slots[index]);
+            slots[index] = null;
+            position++;
+            drained++;
+        }
+        if (drained > 0) {
+            head.setRelease(position);
+        }
+        return drained;
+    }
+
+    /**
+     * Numărul aproximativ de elemente din buffer (rezervate, nu neapărat publicate).
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
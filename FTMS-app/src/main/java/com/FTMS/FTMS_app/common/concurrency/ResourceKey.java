@@ -0,0 +1,30 @@
+package com.FTMS.FTMS_app.common.concurrency;
+
+/**
+ * Identifică o resursă care poate fi rezervată (ex: șoferul 5, vehiculul 12).
+ */
+public record ResourceKey(Type type, Long id) {
+
+    public enum Type {
+        SHIPMENT,
+        DRIVER,
+        VEHICLE
+    }
+
+    public static ResourceKey shipment(Long id) {
+        return new ResourceKey(Type.SHIPMENT, id);
+    }
+
+    public static ResourceKey driver(Long id) {
+        return new ResourceKey(Type.DRIVER, id);
+    }
+
+    public static ResourceKey vehicle(Long id) {
+        return new ResourceKey(Type.VEHICLE, id);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + id;
+    }
+}
@@ -0,0 +1,108 @@
+package com.FTMS.FTMS_app.common.concurrency;
+
+import com.FTMS.FTMS_app.common.exception.ResourceConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rezervarea resurselor (transport, șofer, vehicul) pe durata unei tranzacții, cu blocare pe benzi
+ * (lock striping).
+ *
+ * Fiecare resursă cade pe una din N benzi (ReentrantLock). Cererile pe resurse diferite iau benzi
+ * diferite și rulează în paralel; cererile pe aceeași resursă eșuează repede (ResourceConflictException,
+ * 409) în loc să se serializeze. Benzile se iau mereu în ordine crescătoare (fără deadlock) și se
+ * eliberează abia după commit/rollback, ca următoarea cerere să citească starea deja salvată.
+ *
+ * Protejează doar instanța curentă a aplicației; între noduri nu există rezervare. Acolo @Version oprește doar
+ * două scrieri concurente pe același rând (a doua eșuează la flush): regulile verificate pe entitatea modificată
+ * (ex: cursa șoferului / vehiculului, în Driver și Vehicle) rămân valabile, dar cele care depind de rânduri doar
+ * citite (ex: statusul transporturilor deja încărcate pe vehicul) nu. Pe mai multe noduri acestea au nevoie de
+ * blocare în baza de date (SELECT ... FOR UPDATE sau advisory locks).
+ */
+@Component
+public class ResourceReservationManager {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long waitMillis;
+
+    public ResourceReservationManager(@Value("${ftms.reservation.stripes:1024}") int stripes,
+                                      @Value("${ftms.reservation.wait-ms:50}") long waitMillis) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1; // putere a lui 2
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Rezervă resursele până la finalul tranzacției curente.
+     *
+     * @throws ResourceConflictException dacă o resursă este deja rezervată de altă cerere
+     */
+    public void reserve(ResourceKey... keys) {
+        if (!tryReserve(keys)) {
+            throw new ResourceConflictException("Resources " + List.of(keys) + " are being modified by another request.");
+        }
+    }
+
+    /**
+     * Varianta fără excepție, pentru operațiile pe loturi (ex: dispecerizarea).
+     *
+     * @return false dacă cel puțin o resursă este ocupată (caz în care nu se rezervă nimic)
+     */
+    public boolean tryReserve(ResourceKey... keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Resources can only be reserved inside a transaction.");
+        }
+
+        // Benzile distincte, sortate (două chei pot cădea pe aceeași bandă)
+        TreeMap<Integer, ReentrantLock> ordered = new TreeMap<>();
+        for (ResourceKey key : keys) {
+            int index = stripeOf(key);
+            ordered.put(index, stripes[index]);
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>(ordered.size());
+        try {
+            for (ReentrantLock lock : ordered.values()) {
+                if (!lock.tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+                    acquired.forEach(ReentrantLock::unlock);
+                    return false;
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            acquired.forEach(ReentrantLock::unlock);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        // Eliberare după commit sau rollback (pe același thread care a luat benzile)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        });
+        return true;
+    }
+
+    private int stripeOf(ResourceKey key) {
+        int hash = key.type().ordinal() * 0x9E3779B9 ^ Long.hashCode(key.id());
+        hash ^= (hash >>> 16);
+        hash *= 0x85EBCA6B;
+        hash ^= (hash >>> 13);
+        return hash & mask;
+    }
+}
@@ -0,0 +1,16 @@
+package com.FTMS.FTMS_app.common.concurrency;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Versiunea (@Version) curentă a unei entități, citită direct din baza de date (nu din contextul de persistență).
+ * Un workflow care și-a încărcat entitățile înainte de rezervare le compară cu acestea ca să vadă ce s-a schimbat între timp.
+ */
+public record VersionStamp(Long id, Long version) {
+
+    public static Map<Long, Long> toMap(Collection<VersionStamp> stamps) {
+        return stamps.stream().collect(Collectors.toMap(VersionStamp::id, VersionStamp::version));
+    }
+}
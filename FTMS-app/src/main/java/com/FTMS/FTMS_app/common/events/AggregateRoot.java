@@ -0,0 +1,36 @@
+package com.FTMS.FTMS_app.common.events;
+
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bază pentru agregatele care emit evenimente de domeniu. Metodele de business le înregistrează, iar
+ * Spring Data le publică la save() / saveAll() pe repository; DomainEventBus le preia abia după commit.
+ *
+ * Clasa nu este @MappedSuperclass: lista nu face parte din starea persistată a entității.
+ */
+public abstract class AggregateRoot {
+
+    private final transient List<DomainEvent> domainEvents = new ArrayList<>();
+
+    protected void registerEvent(DomainEvent event) {
+        domainEvents.add(event);
+    }
+
+    /**
+     * Evenimentele înregistrate și încă nepublicate.
+     */
+    @DomainEvents
+    public List<DomainEvent> domainEvents() {
+        return Collections.unmodifiableList(domainEvents);
+    }
+
+    @AfterDomainEventPublication
+    public void clearDomainEvents() {
+        domainEvents.clear();
+    }
+}
@@ -0,0 +1,11 @@
+package com.FTMS.FTMS_app.common.events;
+
+import java.time.Instant;
+
+/**
+ * Un fapt petrecut într-un agregat (ex: transport livrat), livrat după commit handler-elor din celelalte module.
+ */
+public interface DomainEvent {
+
+    Instant occurredAt();
+}
@@ -0,0 +1,250 @@
+package com.FTMS.FTMS_app.common.events;
+
+import com.FTMS.FTMS_app.common.concurrency.MpscRingBuffer;
+import com.FTMS.FTMS_app.common.exception.ResourceConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dispecerul în proces al evenimentelor de domeniu.
+ *
+ * Evenimentele publicate de agregate (vezi AggregateRoot) ajung aici după commit-ul tranzacției care le-a
+ * produs; un rollback le anulează. Fiecare DomainEventHandler are propriul buffer circular (MpscRingBuffer)
+ * și un singur fir de consum, care îl golește în loturi de cel mult batch-size evenimente, deci un handler
+ * lent nu le întârzie pe celelalte, iar firul cererii HTTP doar adaugă evenimentul în buffer.
+ *
+ * Fiecare lot rulează într-o tranzacție nouă. Dacă lotul eșuează, evenimentele se reiau separat, cu pauze
+ * crescătoare între încercări (retry-backoff-ms, dublată la fiecare reluare). Conflictele trecătoare (resursă
+ * rezervată de altă cerere, @Version depășit) se reiau până reușesc; celelalte erori se reiau de cel mult
+ * max-attempts ori, ca un eveniment invalid să nu le blocheze pe celelalte, apoi sunt înregistrate în log și
+ * în ftms.domain-events.handled{outcome="failed"}. Cu buffer-ul plin (sau după oprire), handler-ul rulează
+ * direct pe firul care publică.
+ *
+ * Livrarea este cel mult o dată: evenimentele din buffer se pierd la o oprire bruscă a procesului. Efectele
+ * care nu au voie să se piardă (ex: facturarea) rămân pe outbox-ul persistat în aceeași tranzacție.
+ */
+@Component
+public class DomainEventBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventBus.class);
+    private static final long MAX_RETRY_BACKOFF_MS = 1000;
+
+    private final List<Subscription<?>> subscriptions = new ArrayList<>();
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long idleWaitNanos;
+    private final long retryBackoffMs;
+    // Evenimente acceptate în buffere și încă neprocesate (toți handler-ii)
+    private final AtomicLong pending = new AtomicLong();
+
+    private volatile boolean running;
+
+    public DomainEventBus(List<DomainEventHandler<?>> handlers,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry registry,
+                          @Value("${ftms.domain-events.buffer-capacity:65536}") int bufferCapacity,
+                          @Value("${ftms.domain-events.batch-size:256}") int batchSize,
+                          @Value("${ftms.domain-events.max-attempts:3}") int maxAttempts,
+                          @Value("${ftms.domain-events.idle-wait-ms:50}") long idleWaitMs,
+                          @Value("${ftms.domain-events.retry-backoff-ms:20}") long retryBackoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Handler-ul poate rula și pe firul care publică, încă legat de tranzacția abia încheiată
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(idleWaitMs);
+        this.retryBackoffMs = retryBackoffMs;
+        for (DomainEventHandler<?> handler : handlers) {
+            subscriptions.add(new Subscription<>(handler, bufferCapacity));
+        }
+        Gauge.builder("ftms.domain-events.pending", pending, AtomicLong::get)
+                .description("Domain events waiting to be handled")
+                .register(registry);
+    }
+
+    /**
+     * Primește evenimentele publicate la save() pe repository, după commit (sau imediat, fără tranzacție).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        publish(event);
+    }
+
+    public void publish(DomainEvent event) {
+        for (Subscription<?> subscription : subscriptions) {
+            if (subscription.accepts(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Numărul de evenimente încă neprocesate; 0 = toate efectele publicate până acum au fost aplicate.
+     */
+    public long pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        subscriptions.forEach(Subscription::start);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        subscriptions.forEach(Subscription::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Cererea concurentă se termină în scurt timp, deci o nouă încercare va reuși
+    private static boolean isTransient(RuntimeException failure) {
+        return failure instanceof ResourceConflictException || failure instanceof ConcurrencyFailureException;
+    }
+
+    private final class Subscription<E extends DomainEvent> {
+
+        private final DomainEventHandler<E> handler;
+        private final String name;
+        private final MpscRingBuffer<E> buffer;
+        private final Counter handled;
+        private final Counter failed;
+        private Thread consumer;
+
+        Subscription(DomainEventHandler<E> handler, int capacity) {
+            this.handler = handler;
+            this.name = handler.getClass().getSimpleName();
+            this.buffer = new MpscRingBuffer<>(capacity);
+            this.handled = Counter.builder("ftms.domain-events.handled")
+                    .tag("handler", name).tag("outcome", "success").register(registry);
+            this.failed = Counter.builder("ftms.domain-events.handled")
+                    .tag("handler", name).tag("outcome", "failed").register(registry);
+        }
+
+        boolean accepts(DomainEvent event) {
+            return handler.eventType().isInstance(event);
+        }
+
+        void offer(DomainEvent event) {
+            List<E> single = List.of(handler.eventType().cast(event));
+            pending.incrementAndGet();
+            if (running && buffer.offerAll(single)) {
+                LockSupport.unpark(consumer);
+                return;
+            }
+            pending.decrementAndGet();
+            if (running) {
+                log.warn("Domain event buffer of {} is full, handling {} on the publishing thread", name, event);
+            }
+            deliver(single);
+        }
+
+        void start() {
+            consumer = new Thread(this::run, "domain-events-" + name);
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        void stop() {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void run() {
+            List<E> batch = new ArrayList<>(batchSize);
+            while (running) {
+                if (drainAndDeliver(batch) < batchSize) {
+                    LockSupport.parkNanos(idleWaitNanos);
+                }
+            }
+            while (drainAndDeliver(batch) > 0) {
+                // Golește ce a rămas la oprire
+            }
+        }
+
+        private int drainAndDeliver(List<E> batch) {
+            batch.clear();
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                try {
+                    deliver(Collections.unmodifiableList(batch));
+                } finally {
+                    pending.addAndGet(-drained);
+                }
+            }
+            return drained;
+        }
+
+        private void deliver(List<E> batch) {
+            if (batch.size() > 1 && tryHandle(batch) == null) {
+                return;
+            }
+            for (E event : batch) {
+                int attempt = 0;
+                RuntimeException failure;
+                while ((failure = tryHandle(List.of(event))) != null) {
+                    attempt++;
+                    // După oprire nici conflictele nu se mai reiau la nesfârșit
+                    if (attempt >= maxAttempts && !(running && isTransient(failure))) {
+                        failed.increment();
+                        log.error("Handler {} gave up on {} after {} attempts", name, event, attempt);
+                        break;
+                    }
+                    pause(attempt);
+                }
+            }
+        }
+
+        // null = reușit; altfel eroarea, ca reluarea să poată deosebi un conflict de un eveniment invalid
+        private RuntimeException tryHandle(List<E> events) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> handler.handle(events));
+                handled.increment(events.size());
+                return null;
+            } catch (RuntimeException e) {
+                log.warn("Handler {} failed on {} event(s): {}", name, events.size(), e.toString());
+                return e;
+            }
+        }
+
+        private void pause(int attempt) {
+            long millis = Math.min(MAX_RETRY_BACKOFF_MS, retryBackoffMs << Math.min(attempt - 1, 16));
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
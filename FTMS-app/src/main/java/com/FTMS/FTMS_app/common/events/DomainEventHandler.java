@@ -0,0 +1,17 @@
+package com.FTMS.FTMS_app.common.events;
+
+import java.util.List;
+
+/**
+ * Consumator al evenimentelor de domeniu de un anumit tip (inclusiv subtipurile lui).
+ *
+ * DomainEventBus apelează handler-ul pe firul lui de consum, după commit-ul tranzacției care a produs
+ * evenimentele, cu loturi în ordinea publicării și într-o tranzacție nouă pentru fiecare lot. Un lot
+ * eșuat se reia eveniment cu eveniment, deci efectele trebuie să fie sigure la reluare.
+ */
+public interface DomainEventHandler<E extends DomainEvent> {
+
+    Class<E> eventType();
+
+    void handle(List<E> events);
+}
@@ -1,5 +1,7 @@
 package com.FTMS.FTMS_app.common.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -74,6 +76,51 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Gestionează conflictele de concurență (409 Conflict).
+     * Ex: resursa e rezervată de altă cerere, versiunea entității s-a schimbat între timp, sau INSERT-ul
+     * a încălcat o constrângere UNIQUE (duplicatele care trec de filtrul de unicitate, vezi UniqueKeyRegistry).
+     */
+    @ExceptionHandler({ResourceConflictException.class, OptimisticLockingFailureException.class,
+            DataIntegrityViolationException.class})
+    public ResponseEntity<ErrorResponse> handleConflictException(
+            RuntimeException ex, WebRequest request) {
+
+        String message = switch (ex) {
+            case ResourceConflictException conflict -> conflict.getMessage();
+            case DataIntegrityViolationException violation -> "The request conflicts with an existing record (a unique value is already in use).";
+            default -> "The resource was modified by another request. Please retry.";
+        };
+
+        ErrorResponse errorDetails = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                message,
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Gestionează supraîncărcarea temporară (503 Service Unavailable): cererea poate fi retrimisă.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+            ServiceOverloadedException ex, WebRequest request) {
+
+        ErrorResponse errorDetails = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(errorDetails);
+    }
+
     /**
      * Un handler general "catch-all" pentru orice altă eroare (500 Internal Server Error).
      */
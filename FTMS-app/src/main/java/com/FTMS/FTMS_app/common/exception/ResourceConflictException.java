@@ -0,0 +1,13 @@
+package com.FTMS.FTMS_app.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Resursa este folosită (sau a fost modificată) de o altă cerere în paralel -> 409 Conflict
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ResourceConflictException extends RuntimeException {
+
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
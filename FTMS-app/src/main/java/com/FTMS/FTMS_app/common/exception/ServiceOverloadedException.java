@@ -0,0 +1,13 @@
+package com.FTMS.FTMS_app.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Cererea este validă, dar serviciul nu o poate prelua acum (ex: buffer plin) -> 503, clientul reîncearcă
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,270 @@
+package com.FTMS.FTMS_app.common.idempotency;
+
+import com.FTMS.FTMS_app.common.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Suport pentru antetul Idempotency-Key pe cererile care modifică date (POST / PUT / PATCH / DELETE).
+ *
+ * - prima cerere cu o cheie se execută normal; un răspuns 2xx se păstrează în IdempotencyStore;
+ * - o reluare cu aceeași cheie primește răspunsul păstrat (antet Idempotent-Replayed: true), fără să
+ *   ajungă la controlere sau servicii;
+ * - duplicatele sosite cât timp prima cerere rulează așteaptă rezultatul ei (cel mult wait-ms, apoi 409);
+ *   dacă prima cerere eșuează, următoarea preia execuția;
+ * - aceeași cheie cu altă metodă, alt URI sau alt corp -> 422.
+ *
+ * Erorile nu se păstrează (tranzacția lor a fost anulată), deci clientul poate reîncerca. Comasarea
+ * duplicatelor simultane se face pe fiecare nod; între noduri, tabela păstrează primul răspuns salvat.
+ */
+@Component
+@ConditionalOnProperty(name = "ftms.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final long waitNanos;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             MeterRegistry registry,
+                             @Value("${ftms.idempotency.wait-ms:10000}") long waitMs) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMs);
+        this.executed = Counter.builder("ftms.idempotency.requests").tag("outcome", "executed").register(registry);
+        this.replayed = Counter.builder("ftms.idempotency.requests").tag("outcome", "replayed").register(registry);
+        this.rejected = Counter.builder("ftms.idempotency.requests").tag("outcome", "rejected").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HEADER) == null || !MUTATING_METHODS.contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(request, response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(cachedRequest);
+        long deadline = System.nanoTime() + waitNanos;
+
+        while (true) {
+            StoredResponse stored = store.find(key);
+            if (stored != null) {
+                replay(stored, fingerprint, request, response);
+                return;
+            }
+
+            CompletableFuture<StoredResponse> own = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, own);
+            if (running == null) {
+                execute(key, fingerprint, cachedRequest, response, chain, own);
+                return;
+            }
+
+            // Duplicat simultan: așteaptă rezultatul cererii care rulează deja
+            StoredResponse result;
+            try {
+                result = running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                reject(request, response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed.");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for a duplicate request", e);
+            } catch (ExecutionException e) {
+                result = null;
+            }
+            if (result != null) {
+                replay(result, fingerprint, request, response);
+                return;
+            }
+            // Cererea originală nu a produs un răspuns păstrat (eroare): această cerere preia execuția
+        }
+    }
+
+    private void execute(String key, String fingerprint, CachedBodyRequest request, HttpServletResponse response,
+                         FilterChain chain, CompletableFuture<StoredResponse> own) throws ServletException, IOException {
+        StoredResponse result = null;
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            // Între find() și putIfAbsent() cererea anterioară cu aceeași cheie se poate termina
+            StoredResponse stored = store.find(key);
+            if (stored != null) {
+                result = stored;
+                replay(stored, fingerprint, request, response);
+                return;
+            }
+            executed.increment();
+            chain.doFilter(request, wrapper);
+            result = keep(key, fingerprint, wrapper);
+        } finally {
+            inFlight.remove(key, own);
+            own.complete(result);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private StoredResponse keep(String key, String fingerprint, ContentCachingResponseWrapper response) {
+        // Doar succesele, și doar corpuri text (API-ul răspunde cu JSON): se păstrează ca șir UTF-8
+        String contentType = response.getContentType();
+        if (response.getStatus() < 200 || response.getStatus() >= 300
+                || (contentType != null && !contentType.contains("json") && !contentType.startsWith("text"))) {
+            return null;
+        }
+        StoredResponse stored = new StoredResponse(fingerprint, response.getStatus(), response.getContentType(),
+                new String(response.getContentAsByteArray(), StandardCharsets.UTF_8), Instant.now());
+        try {
+            store.save(key, stored);
+            return stored;
+        } catch (RuntimeException e) {
+            // Răspunsul pleacă oricum; o reluare va executa din nou cererea
+            log.warn("Could not store the response for {} {}: {}", HEADER, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void replay(StoredResponse stored, String fingerprint, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            reject(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request.");
+            return;
+        }
+        replayed.increment();
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && !stored.body().isEmpty()) {
+            response.getOutputStream().write(stored.body().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        rejected.increment();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(LocalDateTime.now(), status.value(),
+                status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?'
+                    + (request.getQueryString() == null ? "" : request.getQueryString()) + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Corpul cererii citit o singură dată: intră în amprentă și este apoi recitit de controler
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
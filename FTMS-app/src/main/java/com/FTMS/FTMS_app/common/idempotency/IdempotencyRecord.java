@@ -0,0 +1,45 @@
+package com.FTMS.FTMS_app.common.idempotency;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * Răspunsul păstrat pentru o cheie Idempotency-Key (doar răspunsurile 2xx), șters după ftms.idempotency.ttl-hours.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = IdempotencyFilter.MAX_KEY_LENGTH)
+    private String key;
+
+    // SHA-256 peste metodă, URI și corpul cererii: aceeași cheie nu poate fi refolosită pentru altă cerere
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private int status;
+
+    private String contentType;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    private String body;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    StoredResponse toStoredResponse() {
+        return new StoredResponse(fingerprint, status, contentType, body, createdAt);
+    }
+}
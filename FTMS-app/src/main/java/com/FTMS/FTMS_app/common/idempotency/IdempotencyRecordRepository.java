@@ -0,0 +1,27 @@
+package com.FTMS.FTMS_app.common.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Păstrează răspunsul; dacă alt nod a salvat deja aceeași cheie, rămâne primul răspuns.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, content_type, body, created_at) " +
+            "VALUES (:key, :fingerprint, :status, :contentType, :body, :createdAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(String key, String fingerprint, int status, String contentType, String body, Instant createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(Instant cutoff);
+}
@@ -0,0 +1,71 @@
+package com.FTMS.FTMS_app.common.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Răspunsurile păstrate pentru cheile Idempotency-Key: tabela idempotency_keys (comună tuturor nodurilor),
+ * cu un cache Caffeine în față, deci o reluare pe același nod nu mai ajunge la baza de date.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Cache<String, StoredResponse> cache;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            @Value("${ftms.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${ftms.idempotency.cache-size:10000}") long cacheSize) {
+        this.repository = repository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @return răspunsul păstrat pentru cheie sau null (cheie nouă sau expirată)
+     */
+    public StoredResponse find(String key) {
+        StoredResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        StoredResponse stored = repository.findById(key)
+                .map(IdempotencyRecord::toStoredResponse)
+                .filter(response -> response.createdAt().isAfter(Instant.now().minus(ttl)))
+                .orElse(null);
+        if (stored != null) {
+            cache.put(key, stored);
+        }
+        return stored;
+    }
+
+    public void save(String key, StoredResponse response) {
+        if (repository.insertIfAbsent(key, response.fingerprint(), response.status(), response.contentType(),
+                response.body(), response.createdAt()) > 0) {
+            cache.put(key, response);
+        }
+        // Altfel alt nod a câștigat: reluările primesc răspunsul lui, citit din tabelă
+    }
+
+    @Scheduled(cron = "${ftms.idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        int deleted = repository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.FTMS.FTMS_app.common.idempotency;
+
+import java.time.Instant;
+
+/**
+ * Răspunsul unei cereri deja executate, retrimis ca atare la reluările cu aceeași cheie.
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, String body, Instant createdAt) {
+}
@@ -0,0 +1,130 @@
+package com.FTMS.FTMS_app.common.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gauge-uri cu numărul de entități pe status (ex: ftms.shipments{status="IN_TRANSIT"}), ținute la zi
+ * incremental, fără interogări COUNT la fiecare citire a metricilor.
+ *
+ * Fiecare modul își înregistrează entitățile la pornire (register), cu numărătoarea inițială dintr-un
+ * singur GROUP BY. După aceea contoarele se modifică din evenimentele Hibernate de după commit
+ * (INSERT / UPDATE cu statusul vechi și cel nou / DELETE), deci un rollback nu le afectează.
+ * UPDATE-urile în masă (JPQL) ocolesc aceste evenimente: entitățile urmărite nu trebuie modificate așa.
+ */
+@Component
+public class EntityStatusGauges implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Tracked<?>> tracked = new ConcurrentHashMap<>();
+
+    public EntityStatusGauges(MeterRegistry registry, EntityManagerFactory entityManagerFactory) {
+        this.registry = registry;
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Începe urmărirea unei entități: câte un gauge pentru fiecare valoare a enum-ului de status.
+     *
+     * @param statusProperty numele câmpului de status din entitate
+     * @param initialCounts  numărătoarea existentă în baza de date (valorile lipsă = 0)
+     */
+    public <E extends Enum<E>> void register(Class<?> entityType, String statusProperty, Class<E> statusType,
+                                             String metricName, Map<E, Long> initialCounts) {
+        Map<E, AtomicLong> counts = new EnumMap<>(statusType);
+        for (E status : statusType.getEnumConstants()) {
+            AtomicLong count = new AtomicLong(initialCounts.getOrDefault(status, 0L));
+            counts.put(status, count);
+            Gauge.builder(metricName, count, AtomicLong::get)
+                    .description("Number of " + entityType.getSimpleName() + " entities per status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+        tracked.put(entityType, new Tracked<>(statusProperty, counts));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Tracked<?> entity = tracked.get(event.getEntity().getClass());
+        if (entity != null) {
+            entity.adjust(entity.status(event.getPersister(), event.getState()), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Tracked<?> entity = tracked.get(event.getEntity().getClass());
+        if (entity == null || event.getOldState() == null) {
+            return; // fără starea veche (entitate detașată, fără snapshot) nu se poate calcula diferența
+        }
+        Object before = entity.status(event.getPersister(), event.getOldState());
+        Object after = entity.status(event.getPersister(), event.getState());
+        if (!Objects.equals(before, after)) {
+            entity.adjust(before, -1);
+            entity.adjust(after, 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Tracked<?> entity = tracked.get(event.getEntity().getClass());
+        if (entity != null) {
+            entity.adjust(entity.status(event.getPersister(), event.getDeletedState()), -1);
+        }
+    }
+
+    // Evenimentele eșuate (rollback) nu schimbă nimic
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return tracked.containsKey(persister.getMappedClass());
+    }
+
+    public long count(Class<?> entityType, Enum<?> status) {
+        Tracked<?> entity = tracked.get(entityType);
+        AtomicLong count = entity == null ? null : entity.counts.get(status);
+        return count == null ? 0 : count.get();
+    }
+
+    private record Tracked<E extends Enum<E>>(String statusProperty, Map<E, AtomicLong> counts) {
+
+        Object status(EntityPersister persister, Object[] state) {
+            return state == null ? null : state[persister.getEntityMetamodel().getPropertyIndex(statusProperty)];
+        }
+
+        void adjust(Object status, long delta) {
+            AtomicLong count = status == null ? null : counts.get(status);
+            if (count != null) {
+                count.addAndGet(delta);
+            }
+        }
+    }
+}
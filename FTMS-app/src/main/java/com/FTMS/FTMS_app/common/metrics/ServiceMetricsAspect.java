@@ -0,0 +1,85 @@
+package com.FTMS.FTMS_app.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrici pentru fiecare operație din ShipmentService, FleetService și CustomerService:
+ *
+ * - ftms.service.operation (timer, tag-uri service / operation / outcome / exception): durata și numărul
+ *   de apeluri, separat pentru succes și eroare;
+ * - ftms.service.repository.calls (distribuție, tag-uri service / operation): câte apeluri de repository
+ *   face o operație, inclusiv prin serviciile apelate de ea.
+ *
+ * Durata fiecărei interogări pe repository vine separat, din metrica spring.data.repository.invocations
+ * (actuator).
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    // Contor per thread al apelurilor de repository; o operație citește diferența dintre început și sfârșit
+    private static final ThreadLocal<long[]> REPOSITORY_CALLS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.FTMS.FTMS_app.shipment.application.service.ShipmentService.*(..))")
+    public Object timeShipmentService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("ShipmentService", joinPoint);
+    }
+
+    @Around("execution(public * com.FTMS.FTMS_app.fleet.application.service.FleetService.*(..))")
+    public Object timeFleetService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("FleetService", joinPoint);
+    }
+
+    @Around("execution(public * com.FTMS.FTMS_app.customer.application.service.CustomerService.*(..))")
+    public Object timeCustomerService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("CustomerService", joinPoint);
+    }
+
+    // Numele serviciului este dat explicit: cu proxy-uri CGLIB, semnătura ar indica implementarea (*Impl)
+    private Object time(String service, ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        long[] repositoryCalls = REPOSITORY_CALLS.get();
+        long callsBefore = repositoryCalls[0];
+
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("ftms.service.operation")
+                    .description("Service operation latency")
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .register(registry));
+            DistributionSummary.builder("ftms.service.repository.calls")
+                    .description("Repository calls made by one service operation")
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .register(registry)
+                    .record(repositoryCalls[0] - callsBefore);
+        }
+    }
+
+    @Before("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public void countRepositoryCall() {
+        REPOSITORY_CALLS.get()[0]++;
+    }
+}
@@ -0,0 +1,18 @@
+package com.FTMS.FTMS_app.common.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Rândul unei interogări "SELECT status, COUNT(*) ... GROUP BY status" (numărătoarea inițială a gauge-urilor).
+ */
+public record StatusCount(Object status, long count) {
+
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> Map<E, Long> toMap(Collection<StatusCount> rows) {
+        return rows.stream()
+                .filter(row -> row.status() != null)
+                .collect(Collectors.toMap(row -> (E) row.status(), StatusCount::count));
+    }
+}
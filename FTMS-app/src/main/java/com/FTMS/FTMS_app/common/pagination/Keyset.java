@@ -0,0 +1,100 @@
+package com.FTMS.FTMS_app.common.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utilitare pentru paginarea keyset: codificarea cursorului și validarea mărimii paginii.
+ *
+ * Cursorul este poziția ultimului rând întors, codificată opac ca clienții să nu depindă de formatul ei:
+ * doar ID-ul pentru listele ordonate după ID ("v1"), sau valoarea coloanei de sortare + ID-ul pentru
+ * listele ordonate după (coloană, id), ex. intervalele de date ("v2").
+ */
+public final class Keyset {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String PREFIX = "v1:";
+    private static final String COMPOUND_PREFIX = "v2:";
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Poziția dintr-o listă ordonată după (coloană, id): valoarea coloanei (ca text) și ID-ul.
+     */
+    public record Position(String sortValue, Long id) {
+    }
+
+    private Keyset() {
+    }
+
+    public static String encode(Long lastId) {
+        return encodeRaw(PREFIX + lastId);
+    }
+
+    public static String encode(Object lastSortValue, Long lastId) {
+        return encodeRaw(COMPOUND_PREFIX + lastSortValue + SEPARATOR + lastId);
+    }
+
+    /**
+     * @return ID-ul după care începe pagina, sau null pentru prima pagină
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = decodeRaw(cursor);
+        if (value.startsWith(COMPOUND_PREFIX)) {
+            throw new IllegalArgumentException("Cursor does not match the requested filters: " + cursor);
+        }
+        if (!value.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return parseId(value.substring(PREFIX.length()), cursor);
+    }
+
+    /**
+     * @return poziția după care începe pagina (listă ordonată după coloană, id), sau null pentru prima pagină
+     */
+    public static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = decodeRaw(cursor);
+        if (value.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Cursor does not match the requested filters: " + cursor);
+        }
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (!value.startsWith(COMPOUND_PREFIX) || separator < COMPOUND_PREFIX.length()) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new Position(value.substring(COMPOUND_PREFIX.length(), separator), parseId(value.substring(separator + 1), cursor));
+    }
+
+    public static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return limit;
+    }
+
+    private static String encodeRaw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static Long parseId(String id, String cursor) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.FTMS.FTMS_app.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * O pagină dintr-o listă paginată "keyset" (seek): elementele + cursorul pentru pagina următoare.
+ * nextCursor este null când nu mai există pagini.
+ */
+public record KeysetPage<T>(
+        List<T> items,
+        int limit,
+        boolean hasMore,
+        String nextCursor
+) {
+
+    /**
+     * Construiește pagina din rezultatul unei interogări care a cerut limit + 1 rânduri
+     * (rândul în plus doar semnalează că mai există o pagină).
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int limit, Function<T, Long> idExtractor) {
+        boolean hasMore = fetched.size() > limit;
+        List<T> items = hasMore ? fetched.subList(0, limit) : fetched;
+        String nextCursor = hasMore ? Keyset.encode(idExtractor.apply(items.get(items.size() - 1))) : null;
+        return new KeysetPage<>(List.copyOf(items), limit, hasMore, nextCursor);
+    }
+
+    /**
+     * La fel, pentru o listă ordonată după (coloană, id): cursorul poartă și valoarea coloanei din ultimul rând.
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int limit, Function<T, ?> sortValueExtractor, Function<T, Long> idExtractor) {
+        boolean hasMore = fetched.size() > limit;
+        List<T> items = hasMore ? fetched.subList(0, limit) : fetched;
+        T last = hasMore ? items.get(items.size() - 1) : null;
+        String nextCursor = hasMore ? Keyset.encode(sortValueExtractor.apply(last), idExtractor.apply(last)) : null;
+        return new KeysetPage<>(List.copyOf(items), limit, hasMore, nextCursor);
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), limit, hasMore, nextCursor);
+    }
+}
@@ -0,0 +1,54 @@
+package com.FTMS.FTMS_app.common.pagination;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Piese comune pentru interogările paginate keyset construite cu Specification.
+ */
+public final class KeysetSpecifications {
+
+    /**
+     * Ordinea implicită a listelor paginate: după ID, ca cursorul să fie un simplu "id > ultimul ID".
+     */
+    public static final Sort ORDER = Sort.by("id");
+
+    private KeysetSpecifications() {
+    }
+
+    /**
+     * Condiția de "seek": rândurile de după ultimul ID din pagina anterioară (null = prima pagină).
+     */
+    public static <T> Specification<T> idAfter(Long afterId) {
+        return afterId == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    /**
+     * Ordinea unei liste filtrate pe un interval al coloanei date: (coloană, id), ca intervalul și seek-ul
+     * să fie același range pe un index (..., coloană, id), fără sortare în baza de date.
+     */
+    public static Sort orderBy(String attribute) {
+        return Sort.by(attribute, "id");
+    }
+
+    /**
+     * Condiția de "seek" pentru ordinea (coloană, id): rândurile de după poziția (value, afterId).
+     * "coloană >= value" dă începutul range-ului pe index; restul condiției elimină doar egalitățile deja întoarse.
+     */
+    public static <T, V extends Comparable<? super V>> Specification<T> after(String attribute, V value, Long afterId) {
+        return value == null ? null : (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get(attribute), value),
+                cb.or(cb.greaterThan(root.get(attribute), value), cb.greaterThan(root.get("id"), afterId)));
+    }
+
+    /**
+     * Combină filtrele cu AND, ignorând filtrele lipsă (null).
+     */
+    @SafeVarargs
+    public static <T> Specification<T> allOf(Specification<T>... specifications) {
+        return Specification.allOf(Arrays.stream(specifications).filter(Objects::nonNull).toList());
+    }
+}
@@ -0,0 +1,18 @@
+package com.FTMS.FTMS_app.common.querybudget;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Numărul maxim de instrucțiuni SQL pe care îl poate executa o cerere HTTP către endpoint-ul adnotat
+ * (pe metodă sau pe tot controlerul). Fără adnotare se aplică ftms.query-budget.default.
+ * Depășirea este logată și numărată în ftms.http.sql.budget.exceeded (vezi QueryBudgetInterceptor).
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
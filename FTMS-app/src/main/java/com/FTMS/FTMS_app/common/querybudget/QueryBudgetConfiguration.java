@@ -0,0 +1,37 @@
+package com.FTMS.FTMS_app.common.querybudget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Numărarea instrucțiunilor SQL per cerere HTTP: SqlStatementCounter în Hibernate și
+ * QueryBudgetInterceptor pe rutele /api/**.
+ */
+@Configuration
+public class QueryBudgetConfiguration implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+    private final int defaultBudget;
+
+    public QueryBudgetConfiguration(MeterRegistry registry,
+                                    @Value("${ftms.query-budget.default:10}") int defaultBudget) {
+        this.registry = registry;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new QueryBudgetInterceptor(registry, defaultBudget)).addPathPatterns("/api/**");
+    }
+}
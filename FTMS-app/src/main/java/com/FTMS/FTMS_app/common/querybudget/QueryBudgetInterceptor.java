@@ -0,0 +1,92 @@
+package com.FTMS.FTMS_app.common.querybudget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Măsoară câte instrucțiuni SQL execută fiecare cerere HTTP și o semnalează pe cea care își depășește
+ * bugetul (@QueryBudget pe metodă / controler, altfel bugetul implicit):
+ *
+ * - ftms.http.sql.statements (distribuție, tag handler = Controler.metodă): instrucțiuni per cerere;
+ * - ftms.http.sql.budget.exceeded (contor, tag handler): cereri peste buget, plus un WARN în log.
+ *
+ * Numărul este pus și în atributul de cerere STATEMENT_COUNT_ATTRIBUTE (folosit de teste).
+ * Fără Open Session in View, serializarea răspunsului nu mai poate adăuga interogări după afterCompletion.
+ */
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENT_COUNT_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".statementCount";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final MeterRegistry registry;
+    private final int defaultBudget;
+
+    public QueryBudgetInterceptor(MeterRegistry registry, int defaultBudget) {
+        this.registry = registry;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlStatementCounter.start();
+        }
+        return true;
+    }
+
+    /**
+     * Cereri asincrone (ex: fluxul SSE): thread-ul inițial nu mai primește afterCompletion, deci contorul
+     * lui se oprește aici; dispatch-ul asincron de la final trece din nou prin preHandle / afterCompletion.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlStatementCounter.stop();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        long statements = SqlStatementCounter.stop();
+        request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements);
+
+        String name = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        DistributionSummary.builder("ftms.http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("handler", name)
+                .register(registry)
+                .record(statements);
+
+        int budget = budgetOf(method);
+        if (statements > budget) {
+            Counter.builder("ftms.http.sql.budget.exceeded")
+                    .description("HTTP requests that executed more SQL statements than their budget")
+                    .tag("handler", name)
+                    .register(registry)
+                    .increment();
+            log.warn("Query budget exceeded: {} {} ({}) executed {} SQL statements, budget is {}",
+                    request.getMethod(), request.getRequestURI(), name, statements, budget);
+        }
+    }
+
+    private int budgetOf(HandlerMethod method) {
+        QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), QueryBudget.class);
+        }
+        return budget == null ? defaultBudget : budget.value();
+    }
+}
@@ -0,0 +1,48 @@
+package com.FTMS.FTMS_app.common.querybudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Numără instrucțiunile SQL pregătite de Hibernate pe thread-ul curent, între start() și stop().
+ *
+ * Înregistrat ca StatementInspector (vezi QueryBudgetConfiguration), deci vede tot ce trece prin Hibernate:
+ * interogări JPQL / Criteria / native, încărcări lazy, INSERT / UPDATE / DELETE la flush. Un lot JDBC
+ * (batch) contează o singură dată. JDBC-ul folosit direct (ex: LISTEN/NOTIFY pentru cache) nu este numărat.
+ * În afara unei măsurători (ex: job-uri programate) nu face nimic.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    /**
+     * @return numărul de instrucțiuni de la start(), sau 0 dacă nu există o măsurătoare activă
+     */
+    public static long current() {
+        long[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Încheie măsurătoarea de pe thread-ul curent.
+     *
+     * @return numărul de instrucțiuni de la start()
+     */
+    public static long stop() {
+        long count = current();
+        COUNT.remove();
+        return count;
+    }
+}
@@ -0,0 +1,12 @@
+package com.FTMS.FTMS_app.common.uniqueness;
+
+/**
+ * Cheile unice verificate la creare (fiecare are o constrângere UNIQUE în baza de date).
+ */
+public enum UniqueKey {
+    SHIPMENT_REFERENCE,   // shipments.reference_number
+    VEHICLE_REGISTRATION, // vehicles.registration_number
+    DRIVER_LICENSE,       // drivers.license_number
+    CUSTOMER_TAX_ID,      // customers.tax_id_number
+    CUSTOMER_EMAIL        // customers.primary_contact_email
+}
@@ -0,0 +1,83 @@
+package com.FTMS.FTMS_app.common.uniqueness;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Filtru de admitere pentru verificările de unicitate de pe căile de creare: câte un filtru Bloom
+ * pentru fiecare cheie unică.
+ *
+ * Dacă filtrul spune că valoarea sigur nu există, serviciul sare peste SELECT-ul de verificare;
+ * altfel face SELECT-ul ca înainte. Garanția rămâne constrângerea UNIQUE din baza de date: o valoare
+ * lipsă din filtru (ex: inserată de alt nod) ajunge la INSERT și este respinsă cu 409
+ * (DataIntegrityViolationException, vezi GlobalExceptionHandler).
+ *
+ * Filtrele se umplu la pornire (loaderele din fiecare modul) și la fiecare INSERT (listenerii JPA).
+ * Până la încărcarea completă a unei chei, mightExist întoarce mereu true.
+ */
+@Component
+public class UniqueKeyRegistry {
+
+    private final Map<UniqueKey, Slot> slots = new EnumMap<>(UniqueKey.class);
+
+    public UniqueKeyRegistry(@Value("${ftms.uniqueness.expected-keys:1000000}") long expectedKeys,
+                             @Value("${ftms.uniqueness.false-positive-rate:0.01}") double falsePositiveRate) {
+        for (UniqueKey key : UniqueKey.values()) {
+            slots.put(key, new Slot(new BloomFilter(expectedKeys, falsePositiveRate)));
+        }
+    }
+
+    /**
+     * @return false dacă valoarea sigur nu există în baza de date (SELECT-ul se poate sări)
+     */
+    public boolean mightExist(UniqueKey key, String value) {
+        if (value == null) {
+            return false; // NULL nu intră în conflict cu nimic
+        }
+        Slot slot = slots.get(key);
+        return !slot.loaded || slot.filter.mightContain(value);
+    }
+
+    /**
+     * Adaugă o valoare nou inserată. Apelat înainte de commit: un rollback lasă doar un fals pozitiv.
+     */
+    public void register(UniqueKey key, String value) {
+        if (value != null) {
+            slots.get(key).filter.put(value);
+        }
+    }
+
+    /**
+     * Încarcă valorile existente ale unei chei și o marchează ca disponibilă.
+     * INSERT-urile din timpul încărcării ajung în același filtru, prin register.
+     *
+     * @return numărul de valori încărcate
+     */
+    public long load(UniqueKey key, Stream<String> values) {
+        Slot slot = slots.get(key);
+        long[] count = {0};
+        values.forEach(value -> {
+            register(key, value);
+            count[0]++;
+        });
+        slot.loaded = true;
+        return count[0];
+    }
+
+    public boolean isLoaded(UniqueKey key) {
+        return slots.get(key).loaded;
+    }
+
+    private static final class Slot {
+        private final BloomFilter filter;
+        private volatile boolean loaded;
+
+        private Slot(BloomFilter filter) {
+            this.filter = filter;
+        }
+    }
+}
@@ -1,4 +1,11 @@
 package com.FTMS.FTMS_app.config;
 
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling // Necesar pentru job-urile programate (ex: dispecerizarea automată)
+@EnableCaching // Cache-urile de citire pentru clienți, șoferi și vehicule (vezi common.cache)
 public class SpringAppConfiguration {
 }
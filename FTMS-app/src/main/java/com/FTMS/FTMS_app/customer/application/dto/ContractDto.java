@@ -0,0 +1,29 @@
+package com.FTMS.FTMS_app.customer.application.dto;
+
+import com.FTMS.FTMS_app.customer.domain.model.Contract;
+
+import java.time.LocalDate;
+
+/**
+ * Modelul de citire pentru un contract (clientul apare doar ca ID).
+ */
+public record ContractDto(
+        Long id,
+        Long customerId,
+        LocalDate startDate,
+        LocalDate endDate,
+        String serviceLevel,
+        double discountRate
+) {
+
+    public static ContractDto from(Contract contract) {
+        return new ContractDto(
+                contract.getId(),
+                contract.getCustomer().getId(),
+                contract.getStartDate(),
+                contract.getEndDate(),
+                contract.getServiceLevel(),
+                contract.getDiscountRate()
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package com.FTMS.FTMS_app.customer.application.dto;
+
+import com.FTMS.FTMS_app.customer.domain.model.Address;
+import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import com.FTMS.FTMS_app.customer.domain.model.CustomerCategory;
+import com.FTMS.FTMS_app.customer.domain.model.CustomerStatus;
+import com.FTMS.FTMS_app.customer.domain.model.PaymentTerms;
+
+import java.util.List;
+
+/**
+ * Modelul de citire pentru un client, cu adresele de livrare și contractul (dacă există).
+ * Se construiește doar dintr-un Customer încărcat cu graful complet (vezi CustomerRepository.findDetailedById).
+ */
+public record CustomerDto(
+        Long id,
+        String companyName,
+        String taxIdNumber,
+        String registrationNumber,
+        String primaryContactName,
+        String primaryContactPhone,
+        String primaryContactEmail,
+        AddressView billingAddress,
+        List<AddressView> deliveryAddresses,
+        PaymentTerms paymentTerms,
+        CustomerCategory category,
+        double creditLimit,
+        CustomerStatus status,
+        ContractDto contract
+) {
+
+    public static CustomerDto from(Customer customer) {
+        return new CustomerDto(
+                customer.getId(),
+                customer.getCompanyName(),
+                customer.getTaxIdNumber(),
+                customer.getRegistrationNumber(),
+                customer.getPrimaryContactName(),
+                customer.getPrimaryContactPhone(),
+                customer.getPrimaryContactEmail(),
+                AddressView.of(customer.getBillingAddress()),
+                customer.getDeliveryAddresses().stream().map(AddressView::of).toList(),
+                customer.getPaymentTerms(),
+                customer.getCategory(),
+                customer.getCreditLimit(),
+                customer.getStatus(),
+                customer.getContract() == null ? null : ContractDto.from(customer.getContract())
+        );
+    }
+
+    // AddressDto este DTO-ul de intrare (cu validări); acesta este doar pentru răspuns
+    public record AddressView(String street, String city, String state, String zipCode, String country) {
+
+        static AddressView of(Address address) {
+            if (address == null) {
+                return null;
+            }
+            return new AddressView(address.getStreet(), address.getCity(), address.getState(),
+                    address.getZipCode(), address.getCountry());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.FTMS.FTMS_app.customer.application.dto;
+
+import com.FTMS.FTMS_app.customer.domain.model.Invoice;
+import com.FTMS.FTMS_app.customer.domain.model.InvoiceStatus;
+import com.FTMS.FTMS_app.customer.domain.model.PaymentDetails;
+
+import java.time.LocalDate;
+
+/**
+ * Modelul de citire pentru o factură. Clientul apare doar ca ID (cheia străină, fără a încărca clientul).
+ */
+public record InvoiceDto(
+        Long id,
+        String invoiceNumber,
+        Long customerId,
+        Long shipmentId,
+        LocalDate issueDate,
+        LocalDate dueDate,
+        double amount,
+        double taxes,
+        double totalAmount,
+        InvoiceStatus status,
+        Payment payment // null până la prima plată
+) {
+
+    public static InvoiceDto from(Invoice invoice) {
+        PaymentDetails payment = invoice.getPaymentDetails();
+        return new InvoiceDto(
+                invoice.getId(),
+                invoice.getInvoiceNumber(),
+                invoice.getCustomer().getId(), // getId() pe un proxy Hibernate nu inițializează clientul
+                invoice.getShipmentId(),
+                invoice.getIssueDate(),
+                invoice.getDueDate(),
+                invoice.getAmount(),
+                invoice.getTaxes(),
+                invoice.getTotalAmount(),
+                invoice.getStatus(),
+                payment == null ? null : new Payment(payment.getPaymentDate(), payment.getAmount(),
+                        payment.getPaymentMethod(), payment.getReferenceNumber())
+        );
+    }
+
+    public record Payment(LocalDate paymentDate, double amount, PaymentDetails.PaymentMethod paymentMethod, String referenceNumber) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.FTMS.FTMS_app.customer.application.dto;
+
+/**
+ * O cerere de facturare pentru un transport livrat (vezi CustomerService.generateInvoices).
+ *
+ * @param amount prețul transportului (discounturile sunt deja incluse), fără taxe
+ */
+public record InvoiceRequest(Long customerId, Long shipmentId, double amount) {
+}
@@ -0,0 +1,18 @@
+package com.FTMS.FTMS_app.customer.application.dto;
+
+import com.FTMS.FTMS_app.customer.domain.model.InvoiceStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Filtrele opționale pentru GET /api/v1/customers/invoices (parametri de query)
+@Data
+public class InvoiceSearchCriteria {
+    private Long customerId;
+    private InvoiceStatus status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom; // inclusiv
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;   // exclusiv
+}
@@ -0,0 +1,15 @@
+package com.FTMS.FTMS_app.customer.application.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Rezultatul unei rulări a marcării facturilor restante.
+ */
+public record OverdueSweepResult(
+        LocalDate asOf,
+        int invoicesMarkedOverdue,
+        int customersRechecked,
+        int customersSuspended,
+        long durationMs
+) {
+}
@@ -1,12 +1,22 @@
 package com.FTMS.FTMS_app.customer.application.service;
 
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
 import com.FTMS.FTMS_app.customer.application.dto.CreateContractRequest;
 import com.FTMS.FTMS_app.customer.application.dto.CreateCustomerRequest;
+import com.FTMS.FTMS_app.customer.application.dto.CustomerDto;
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceDto;
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceRequest;
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceSearchCriteria;
 import com.FTMS.FTMS_app.customer.application.dto.ProcessPaymentRequest;
 import com.FTMS.FTMS_app.customer.domain.model.Contract;
+import com.FTMS.FTMS_app.customer.domain.model.CreditExposure;
 import com.FTMS.FTMS_app.customer.domain.model.Customer;
 import com.FTMS.FTMS_app.customer.domain.model.Invoice;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface CustomerService {
 
     /**
@@ -37,7 +47,58 @@ public interface CustomerService {
     Invoice generateInvoice(Long customerId, Long shipmentId, double amount);
 
     /**
-     * Metodă utilitară pentru a obține un client.
+     * Use Case: Facturarea în lot a transporturilor livrate (apelat de relay-ul outbox din modulul Shipment).
+     * Idempotent per transport: transporturile deja facturate sunt ignorate.
+     *
+     * @return facturile create (fără cele deja existente)
+     */
+    List<Invoice> generateInvoices(List<InvoiceRequest> requests);
+
+    /**
+     * Use Case: Control de admitere pe credit (apelat de modulul Shipment la crearea unui transport).
+     * Rezervă suma în registrul de expunere sau aruncă IllegalStateException dacă s-ar depăși limita de credit.
+     */
+    void reserveCredit(Long customerId, double amount);
+
+    /**
+     * Eliberează o sumă rezervată (transport anulat înainte de facturare).
+     */
+    void releaseCredit(Long customerId, double amount);
+
+    /**
+     * Eliberează sumele rezervate pentru mai mulți clienți (suma per client), cu o singură blocare a
+     * registrului de expunere. Folosit de handler-ul evenimentelor ShipmentCanceled.
+     */
+    void releaseCredits(Map<Long, Double> amountsByCustomer);
+
+    /**
+     * Blochează (până la finalul tranzacției) rândurile din registrul de expunere pentru mai mulți clienți.
+     * Folosit de importul în masă, care rezervă creditul element cu element prin CreditExposure.tryCommit.
+     */
+    Map<Long, CreditExposure> lockCreditExposures(Collection<Long> customerIds);
+
+    /**
+     * Metodă utilitară pentru a obține un client (cu contractul), din cache-ul de citire.
+     * Instanța este detașată și partajată între cereri: doar pentru citire.
      */
     Customer getCustomerById(Long id);
+
+    /**
+     * Modelul de citire al unui client, cu adresele de livrare și contractul (o singură interogare).
+     */
+    CustomerDto getCustomerView(Long id);
+
+    /**
+     * Metodă utilitară: încarcă mai mulți clienți într-o singură interogare (cheie = ID client).
+     * ID-urile inexistente lipsesc pur și simplu din rezultat.
+     */
+    Map<Long, Customer> getCustomersByIds(Collection<Long> ids);
+
+    /**
+     * Use Case: Listarea paginată (keyset) a facturilor, cu filtre opționale
+     * (client, status, interval de scadență).
+     *
+     * @param cursor nextCursor din pagina anterioară; null = prima pagină
+     */
+    KeysetPage<InvoiceDto> searchInvoices(InvoiceSearchCriteria criteria, String cursor, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.FTMS.FTMS_app.customer.application.service;
+
+import com.FTMS.FTMS_app.common.cache.CacheInvalidator;
+import com.FTMS.FTMS_app.common.cache.CacheNames;
+import com.FTMS.FTMS_app.customer.application.dto.OverdueSweepResult;
+import com.FTMS.FTMS_app.customer.domain.model.CreditExposure;
+import com.FTMS.FTMS_app.customer.domain.repository.CustomerOverdueExposure;
+import com.FTMS.FTMS_app.customer.domain.repository.CustomerRepository;
+import com.FTMS.FTMS_app.customer.domain.repository.InvoiceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Marchează facturile restante direct în baza de date (echivalentul în masă al Invoice.markAsOverdue())
+ * și suspendă clienții care și-au depășit limita de credit.
+ *
+ * Facturile nu sunt încărcate ca entități: se rulează UPDATE-uri pe ferestre de ID-uri, fiecare în
+ * propria tranzacție scurtă, iar restanțele din registrul de expunere și suspendarea se recalculează
+ * doar pentru clienții atinși.
+ */
+@Service
+public class OverdueInvoiceSweepService {
+
+    // Câți clienți intră într-o singură interogare IN (...)
+    private static final int CUSTOMER_BATCH_SIZE = 1000;
+
+    private final InvoiceRepository invoiceRepository;
+    private final CustomerRepository customerRepository;
+    private final CustomerService customerService;
+    private final CacheInvalidator cacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OverdueInvoiceSweepService(InvoiceRepository invoiceRepository,
+                                      CustomerRepository customerRepository,
+                                      CustomerService customerService,
+                                      CacheInvalidator cacheInvalidator,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${ftms.invoices.overdue-sweep.chunk-size:5000}") int chunkSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.customerRepository = customerRepository;
+        this.customerService = customerService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Use Case: Marcarea facturilor PENDING cu scadența depășită ca OVERDUE
+     * și suspendarea clienților al căror total restant depășește limita de credit.
+     */
+    public OverdueSweepResult sweepOverdueInvoices(LocalDate today) {
+        long startedAt = System.nanoTime();
+
+        // 1. Limitele intervalului de ID-uri de parcurs (două citiri pe index)
+        Long minId = invoiceRepository.findMinOverdueCandidateId(today);
+        Long maxId = invoiceRepository.findMaxOverdueCandidateId(today);
+        if (minId == null) {
+            return new OverdueSweepResult(today, 0, 0, 0, elapsedMs(startedAt));
+        }
+
+        // 2. UPDATE pe ferestre de ID-uri, câte o tranzacție pe fereastră
+        int marked = 0;
+        Set<Long> touchedCustomers = new LinkedHashSet<>();
+        for (long windowStart = minId; windowStart <= maxId; windowStart += chunkSize) {
+            long fromId = windowStart;
+            long toId = Math.min(windowStart + chunkSize - 1, maxId);
+            Integer updated = transactionTemplate.execute(status -> {
+                touchedCustomers.addAll(invoiceRepository.findOverdueCandidateCustomerIds(today, fromId, toId));
+                return invoiceRepository.markOverdueInRange(today, fromId, toId);
+            });
+            marked += updated;
+        }
+
+        // 3. Doar pentru clienții atinși: aliniază restanțele din registrul de expunere
+        //    (o interogare grupată pe lot) și suspendă clienții peste limită
+        int suspended = 0;
+        List<Long> customerIds = new ArrayList<>(touchedCustomers);
+        for (int from = 0; from < customerIds.size(); from += CUSTOMER_BATCH_SIZE) {
+            List<Long> batch = customerIds.subList(from, Math.min(from + CUSTOMER_BATCH_SIZE, customerIds.size()));
+            Integer batchSuspended = transactionTemplate.execute(status -> {
+                // Rândurile din registru rămân blocate până la commit, ca plățile concurente să nu se piardă
+                Map<Long, CreditExposure> ledger = customerService.lockCreditExposures(batch);
+                List<Long> overLimit = new ArrayList<>();
+                for (CustomerOverdueExposure exposure : customerRepository.findOverdueExposures(batch)) {
+                    ledger.get(exposure.customerId()).reconcileInvoices(exposure.outstandingAmount(), exposure.overdueAmount());
+                    if (exposure.exceedsCreditLimit()) {
+                        overLimit.add(exposure.customerId());
+                    }
+                }
+                if (overLimit.isEmpty()) {
+                    return 0;
+                }
+                // UPDATE-ul în masă ocolește listener-ii JPA: clienții suspendați se scot explicit din cache
+                cacheInvalidator.evictAfterCommit(CacheNames.CUSTOMERS, overLimit);
+                return customerRepository.suspendActive(overLimit);
+            });
+            suspended += batchSuspended;
+        }
+
+        return new OverdueSweepResult(today, marked, customerIds.size(), suspended, elapsedMs(startedAt));
+    }
+
+    private static long elapsedMs(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
@@ -1,19 +1,43 @@
 package com.FTMS.FTMS_app.customer.application.service.impl;
 
+import com.FTMS.FTMS_app.common.cache.CacheNames;
+import com.FTMS.FTMS_app.common.cache.DetachedEntityLoader;
+import com.FTMS.FTMS_app.common.exception.ResourceNotFoundException;
+import com.FTMS.FTMS_app.common.pagination.Keyset;
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
+import com.FTMS.FTMS_app.common.pagination.KeysetSpecifications;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
 import com.FTMS.FTMS_app.customer.application.dto.AddressDto;
 import com.FTMS.FTMS_app.customer.application.dto.CreateContractRequest;
 import com.FTMS.FTMS_app.customer.application.dto.CreateCustomerRequest;
+import com.FTMS.FTMS_app.customer.application.dto.CustomerDto;
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceDto;
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceRequest;
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceSearchCriteria;
 import com.FTMS.FTMS_app.customer.application.dto.ProcessPaymentRequest;
 import com.FTMS.FTMS_app.customer.application.service.CustomerService;
 import com.FTMS.FTMS_app.customer.domain.model.*;
 import com.FTMS.FTMS_app.customer.domain.repository.ContractRepository; // Va trebui să creăm acest Repository
+import com.FTMS.FTMS_app.customer.domain.repository.CreditExposureRepository;
 import com.FTMS.FTMS_app.customer.domain.repository.CustomerRepository;
 import com.FTMS.FTMS_app.customer.domain.repository.InvoiceRepository;
+import com.FTMS.FTMS_app.customer.domain.repository.InvoiceSpecifications;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,23 +47,36 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final InvoiceRepository invoiceRepository;
     private final ContractRepository contractRepository; // Adăugat
+    private final CreditExposureRepository creditExposureRepository;
+    private final DetachedEntityLoader detachedEntityLoader;
+    private final UniqueKeyRegistry uniqueKeys;
 
     // Constructor Injection
     public CustomerServiceImpl(CustomerRepository customerRepository,
                                InvoiceRepository invoiceRepository,
-                               ContractRepository contractRepository) {
+                               ContractRepository contractRepository,
+                               CreditExposureRepository creditExposureRepository,
+                               DetachedEntityLoader detachedEntityLoader,
+                               UniqueKeyRegistry uniqueKeys) {
         this.customerRepository = customerRepository;
         this.invoiceRepository = invoiceRepository;
         this.contractRepository = contractRepository;
+        this.creditExposureRepository = creditExposureRepository;
+        this.detachedEntityLoader = detachedEntityLoader;
+        this.uniqueKeys = uniqueKeys;
     }
 
     @Override
     public Customer createCustomer(CreateCustomerRequest request) {
-        // 1. Validare (Domain Validation)
-        customerRepository.findByTaxIdNumber(request.getTaxIdNumber())
-                .ifPresent(c -> { throw new IllegalArgumentException("Customer with Tax ID " + request.getTaxIdNumber() + " already exists."); });
-        customerRepository.findByPrimaryContactEmail(request.getPrimaryContactEmail())
-                .ifPresent(c -> { throw new IllegalArgumentException("Customer with email " + request.getPrimaryContactEmail() + " already exists."); });
+        // 1. Validare (Domain Validation); SELECT doar pentru valorile pe care filtrul de unicitate nu le exclude
+        if (uniqueKeys.mightExist(UniqueKey.CUSTOMER_TAX_ID, request.getTaxIdNumber())) {
+            customerRepository.findByTaxIdNumber(request.getTaxIdNumber())
+                    .ifPresent(c -> { throw new IllegalArgumentException("Customer with Tax ID " + request.getTaxIdNumber() + " already exists."); });
+        }
+        if (uniqueKeys.mightExist(UniqueKey.CUSTOMER_EMAIL, request.getPrimaryContactEmail())) {
+            customerRepository.findByPrimaryContactEmail(request.getPrimaryContactEmail())
+                    .ifPresent(c -> { throw new IllegalArgumentException("Customer with email " + request.getPrimaryContactEmail() + " already exists."); });
+        }
 
         // 2. Mapare (DTO -> Domain Model)
         Address billingAddress = mapToAddress(request.getBillingAddress());
@@ -64,14 +101,16 @@ public class CustomerServiceImpl implements CustomerService {
                 null // Fără contract la creare
         );
 
-        // 3. Salvare
-        return customerRepository.save(customer);
+        // 3. Salvare (împreună cu registrul de expunere, gol)
+        Customer savedCustomer = customerRepository.save(customer);
+        creditExposureRepository.save(new CreditExposure(savedCustomer.getId()));
+        return savedCustomer;
     }
 
     @Override
     public Contract addContractToCustomer(CreateContractRequest request) {
         // 1. Găsește entitatea rădăcină (Customer)
-        Customer customer = getCustomerById(request.getCustomerId());
+        Customer customer = findCustomer(request.getCustomerId());
 
         // 2. Mapare (DTO -> Domain Model)
         Contract contract = new Contract(
@@ -109,15 +148,18 @@ public class CustomerServiceImpl implements CustomerService {
         );
 
         // 3. Apelează logica de business din domeniu
+        InvoiceStatus previousStatus = invoice.getStatus();
+        double previousBalance = invoice.openBalance();
         invoice.recordPayment(paymentDetails);
 
-        // 4. Salvează
-        Invoice updatedInvoice = invoiceRepository.save(invoice);
-
-        // 5. Verifică statusul clientului după plată
-        checkCustomerOverdueStatus(updatedInvoice.getCustomer().getId());
+        // Actualizează registrul de expunere cu diferența (sold și restanțe)
+        double overdueDelta = (invoice.getStatus() == InvoiceStatus.OVERDUE ? invoice.getTotalAmount() : 0)
+                - (previousStatus == InvoiceStatus.OVERDUE ? invoice.getTotalAmount() : 0);
+        lockExposure(invoice.getCustomer().getId())
+                .invoiceBalanceChanged(invoice.openBalance() - previousBalance, overdueDelta);
 
-        return updatedInvoice;
+        // 4. Salvează; statusul clientului se reverifică după commit (PaymentRecorded -> PaymentStatusHandler)
+        return invoiceRepository.save(invoice);
     }
 
     @Override
@@ -127,16 +169,15 @@ public class CustomerServiceImpl implements CustomerService {
         // "Customers with overdue invoices exceeding their credit limit are automatically flagged,
         // and new shipment requests.http are blocked until payments are received."
 
-        Customer customer = getCustomerById(customerId);
+        Customer customer = findCustomer(customerId);
 
-        // 1. Calculează totalul restant (folosind query-ul din repository)
-        Double overdueAmount = invoiceRepository.getOverdueAmountByCustomerId(customerId);
-        if (overdueAmount == null) {
-            overdueAmount = 0.0;
-        }
+        // 1. Totalul restant vine din registrul de expunere (o citire, fără SUM peste facturi)
+        boolean overLimit = creditExposureRepository.findById(customerId)
+                .map(exposure -> exposure.overdueExceeds(customer.getCreditLimit()))
+                .orElse(false);
 
         // 2. Aplică logica
-        if (overdueAmount > customer.getCreditLimit()) {
+        if (overLimit) {
             if (customer.getStatus() == CustomerStatus.ACTIVE) {
                 customer.suspendAccount(); // Metodă din domeniu
                 customerRepository.save(customer);
@@ -153,45 +194,167 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     @Transactional
     public Invoice generateInvoice(Long customerId, Long shipmentId, double amount) {
-        Customer customer = getCustomerById(customerId);
+        Customer customer = findCustomer(customerId);
+        Invoice invoice = buildInvoice(customer, shipmentId, amount).issue();
+
+        // Suma rezervată la crearea transportului devine sold de încasat
+        lockExposure(customerId).invoiceIssued(amount, invoice.getTotalAmount());
 
-        // Calculează discount (dacă există contract activ)
-        double discount = 0.0;
-        if (customer.getContract() != null && customer.getContract().isActive()) {
-            discount = amount * customer.getContract().getDiscountRate();
+        return invoiceRepository.save(invoice);
+    }
+
+    @Override
+    @Transactional
+    public List<Invoice> generateInvoices(List<InvoiceRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
         }
 
-        double finalAmount = amount - discount;
-        double taxes = finalAmount * 0.19; // Exemplu: TVA 19%
-        double totalAmount = finalAmount + taxes;
+        // 1. Idempotență: transporturile deja facturate (ex: lot reluat după o eroare) sunt ignorate
+        Set<Long> alreadyInvoiced = invoiceRepository.findInvoicedShipmentIds(
+                requests.stream().map(InvoiceRequest::shipmentId).toList());
+        List<InvoiceRequest> toInvoice = requests.stream()
+                .filter(r -> !alreadyInvoiced.contains(r.shipmentId()))
+                .toList();
+        if (toInvoice.isEmpty()) {
+            return List.of();
+        }
 
-        Invoice invoice = new Invoice(
-                null, // ID
-                "INV-" + shipmentId, // Generare număr factură (simplificat)
-                customer,
-                shipmentId,
-                LocalDate.now(),
-                LocalDate.now().plusDays(getPaymentDays(customer.getPaymentTerms())), // Due Date
-                finalAmount,
-                taxes,
-                totalAmount,
-                InvoiceStatus.PENDING,
-                null // Fără detalii de plată
-        );
+        // 2. Clienții și registrul de expunere: câte o interogare pentru tot lotul
+        Set<Long> customerIds = toInvoice.stream().map(InvoiceRequest::customerId).collect(Collectors.toSet());
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        customerIds.stream()
+                .filter(id -> !customers.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> { throw new ResourceNotFoundException("Customer not found with id: " + id); });
+        Map<Long, CreditExposure> exposures = lockCreditExposures(customerIds);
+
+        // 3. Calculează facturile
+        List<Invoice> invoices = new ArrayList<>(toInvoice.size());
+        for (InvoiceRequest request : toInvoice) {
+            Customer customer = customers.get(request.customerId());
+            Invoice invoice = buildInvoice(customer, request.shipmentId(), request.amount()).issue();
+            exposures.get(request.customerId()).invoiceIssued(request.amount(), invoice.getTotalAmount());
+            invoices.add(invoice);
+        }
 
-        return invoiceRepository.save(invoice);
+        // 4. Salvare: ID-urile vin din secvența "pooled", deci INSERT-urile pleacă în loturi JDBC
+        return invoiceRepository.saveAll(invoices);
     }
 
 
     // --- Metode Utilitare (Helpers) ---
 
     @Override
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.CUSTOMERS, key = "#id")
     public Customer getCustomerById(Long id) {
+        // Copie detașată (poate ajunge în cache); metodele din acest serviciu folosesc findCustomer
+        return detachedEntityLoader.find(Customer.class, id)
+                .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id)); // Vom folosi o excepție custom
+    }
+
+    // Instanța gestionată de tranzacția curentă, pentru modificări
+    private Customer findCustomer(Long id) {
         return customerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id)); // Vom folosi o excepție custom
     }
 
+    @Override
+    public void reserveCredit(Long customerId, double amount) {
+        Customer customer = findCustomer(customerId);
+        if (!lockExposure(customerId).tryCommit(amount, customer.getCreditLimit())) {
+            throw new IllegalStateException("Customer " + customer.getCompanyName() + " would exceed its credit limit of "
+                    + customer.getCreditLimit() + " with this shipment.");
+        }
+    }
+
+    @Override
+    public void releaseCredit(Long customerId, double amount) {
+        lockExposure(customerId).releaseCommitted(amount);
+    }
+
+    @Override
+    public void releaseCredits(Map<Long, Double> amountsByCustomer) {
+        lockCreditExposures(amountsByCustomer.keySet())
+                .forEach((customerId, exposure) -> exposure.releaseCommitted(amountsByCustomer.get(customerId)));
+    }
+
+    @Override
+    public Map<Long, CreditExposure> lockCreditExposures(Collection<Long> customerIds) {
+        Map<Long, CreditExposure> exposures = new HashMap<>();
+        creditExposureRepository.findAllForUpdate(customerIds).forEach(e -> exposures.put(e.getCustomerId(), e));
+        for (Long customerId : customerIds) {
+            if (!exposures.containsKey(customerId)) {
+                exposures.put(customerId, lockExposure(customerId));
+            }
+        }
+        return exposures;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerDto getCustomerView(Long id) {
+        // Maparea se face în tranzacție, pe graful deja încărcat (adrese + contract)
+        return customerRepository.findDetailedById(id)
+                .map(CustomerDto::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Customer> getCustomersByIds(Collection<Long> ids) {
+        return customerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<InvoiceDto> searchInvoices(InvoiceSearchCriteria criteria, String cursor, int limit) {
+        Keyset.checkLimit(limit);
+        // Cu un interval de scadență, lista e ordonată după (dueDate, id): intervalul și seek-ul sunt
+        // același range pe indecșii (..., due_date, id). Fără interval, ordinea rămâne după id
+        boolean byDueDate = criteria.getDueFrom() != null || criteria.getDueTo() != null;
+        Specification<Invoice> seek;
+        if (byDueDate) {
+            Keyset.Position after = Keyset.decodePosition(cursor);
+            seek = after == null ? null : KeysetSpecifications.after("dueDate", parseCursorValue(after), after.id());
+        } else {
+            seek = KeysetSpecifications.idAfter(Keyset.decode(cursor));
+        }
+        Specification<Invoice> spec = KeysetSpecifications.allOf(
+                InvoiceSpecifications.hasCustomer(criteria.getCustomerId()),
+                InvoiceSpecifications.hasStatus(criteria.getStatus()),
+                InvoiceSpecifications.dueFrom(criteria.getDueFrom()),
+                InvoiceSpecifications.dueBefore(criteria.getDueTo()),
+                seek);
+
+        // Cerem un rând în plus doar ca să știm dacă mai există o pagină
+        Sort order = byDueDate ? KeysetSpecifications.orderBy("dueDate") : KeysetSpecifications.ORDER;
+        List<Invoice> fetched = invoiceRepository.findBy(spec,
+                q -> q.sortBy(order).limit(limit + 1).all());
+        KeysetPage<Invoice> page = byDueDate
+                ? KeysetPage.of(fetched, limit, Invoice::getDueDate, Invoice::getId)
+                : KeysetPage.of(fetched, limit, Invoice::getId);
+        return page.map(InvoiceDto::from);
+    }
+
+    private static LocalDate parseCursorValue(Keyset.Position position) {
+        try {
+            return LocalDate.parse(position.sortValue());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor position: " + position.sortValue());
+        }
+    }
+
+    // Rândul din registru, blocat până la finalul tranzacției (creat la prima utilizare dacă lipsește)
+    private CreditExposure lockExposure(Long customerId) {
+        return creditExposureRepository.findForUpdate(customerId).orElseGet(() -> {
+            creditExposureRepository.insertIfAbsent(customerId);
+            return creditExposureRepository.findForUpdate(customerId).orElseThrow();
+        });
+    }
+
     // Mapare din DTO în Value Object
     private Address mapToAddress(AddressDto dto) {
         return new Address(
@@ -204,7 +367,29 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     // Calculează zilele de plată
-    private long getPaymentDays(PaymentTerms terms) {
+    // Taxe și scadență. Discounturile (categorie, contract) sunt deja incluse în prețul transportului
+    // Static și package-private: calculul facturii este măsurat și de benchmark-urile JMH (src/jmh)
+    static Invoice buildInvoice(Customer customer, Long shipmentId, double amount) {
+        double finalAmount = amount;
+        double taxes = finalAmount * 0.19; // Exemplu: TVA 19%
+        double totalAmount = finalAmount + taxes;
+
+        return new Invoice(
+                null, // ID
+                "INV-" + shipmentId, // Generare număr factură (simplificat)
+                customer,
+                shipmentId,
+                LocalDate.now(),
+                LocalDate.now().plusDays(getPaymentDays(customer.getPaymentTerms())), // Due Date
+                finalAmount,
+                taxes,
+                totalAmount,
+                InvoiceStatus.PENDING,
+                null // Fără detalii de plată
+        );
+    }
+
+    private static long getPaymentDays(PaymentTerms terms) {
         switch (terms) {
             case NET_15: return 15;
             case NET_30: return 30;
@@ -0,0 +1,13 @@
+package com.FTMS.FTMS_app.customer.domain.event;
+
+import com.FTMS.FTMS_app.common.events.DomainEvent;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Factură emisă pentru un transport livrat (identificată prin număr: ID-ul se alocă abia la persistare).
+ */
+public record InvoiceGenerated(String invoiceNumber, Long customerId, Long shipmentId, double totalAmount,
+                               LocalDate dueDate, Instant occurredAt) implements DomainEvent {
+}
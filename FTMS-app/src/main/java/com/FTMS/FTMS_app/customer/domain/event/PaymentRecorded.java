@@ -0,0 +1,10 @@
+package com.FTMS.FTMS_app.customer.domain.event;
+
+import com.FTMS.FTMS_app.common.events.DomainEvent;
+import com.FTMS.FTMS_app.customer.domain.model.InvoiceStatus;
+
+import java.time.Instant;
+
+public record PaymentRecorded(Long invoiceId, Long customerId, double amount, InvoiceStatus status,
+                              Instant occurredAt) implements DomainEvent {
+}
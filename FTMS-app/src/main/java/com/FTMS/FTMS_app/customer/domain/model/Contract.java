@@ -1,5 +1,6 @@
 package com.FTMS.FTMS_app.customer.domain.model;
 
+import com.FTMS.FTMS_app.customer.infrastructure.persistence.CustomerCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -10,6 +11,7 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "contracts")
+@EntityListeners(CustomerCacheEvictionListener.class) // Invalidează clientul din cache-ul de citire
 @Getter
 @Setter
 @NoArgsConstructor
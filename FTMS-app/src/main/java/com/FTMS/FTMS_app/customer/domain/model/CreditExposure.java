@@ -0,0 +1,94 @@
+package com.FTMS.FTMS_app.customer.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registrul expunerii de credit a unui client, ținut la zi incremental
+ * (în loc să fie recalculat cu SUM peste facturi la fiecare verificare).
+ *
+ * - committed: transporturi acceptate, încă nefacturate (prețul lor)
+ * - outstanding: soldul facturilor emise și neachitate (include restanțele)
+ * - overdue: partea din outstanding aflată pe facturi restante
+ *
+ * Se modifică doar sub blocare pesimistă pe rând (CreditExposureRepository.findForUpdate).
+ */
+@Entity
+@Table(name = "customer_credit_exposures")
+@Getter
+@NoArgsConstructor
+public class CreditExposure {
+
+    @Id
+    private Long customerId; // Același ID ca al clientului (un rând per client)
+
+    private double committedAmount;
+    private double outstandingAmount;
+    private double overdueAmount;
+
+    public CreditExposure(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    // --- Logica de Business ---
+
+    /**
+     * Expunerea totală față de limita de credit: ce s-a comandat plus ce s-a facturat și nu s-a plătit.
+     */
+    public double totalExposure() {
+        return committedAmount + outstandingAmount;
+    }
+
+    /**
+     * Control de admitere: rezervă suma doar dacă expunerea rămâne în limita de credit.
+     *
+     * @return false (fără nicio modificare) dacă limita ar fi depășită
+     */
+    public boolean tryCommit(double amount, double creditLimit) {
+        if (totalExposure() + amount > creditLimit) {
+            return false;
+        }
+        this.committedAmount += amount;
+        return true;
+    }
+
+    /**
+     * Transport anulat înainte de facturare.
+     */
+    public void releaseCommitted(double amount) {
+        this.committedAmount = Math.max(0, this.committedAmount - amount);
+    }
+
+    /**
+     * Transport livrat și facturat: suma rezervată devine sold de încasat.
+     */
+    public void invoiceIssued(double committedAmount, double invoiceTotal) {
+        releaseCommitted(committedAmount);
+        this.outstandingAmount += invoiceTotal;
+    }
+
+    /**
+     * Soldul sau starea unei facturi s-au schimbat (ex: plată).
+     */
+    public void invoiceBalanceChanged(double outstandingDelta, double overdueDelta) {
+        this.outstandingAmount = Math.max(0, this.outstandingAmount + outstandingDelta);
+        this.overdueAmount = Math.max(0, this.overdueAmount + overdueDelta);
+    }
+
+    /**
+     * Aliniază soldul de încasat și totalul restant la valorile calculate din facturi
+     * (după marcarea în masă a restanțelor).
+     */
+    public void reconcileInvoices(double outstandingAmount, double overdueAmount) {
+        this.outstandingAmount = outstandingAmount;
+        this.overdueAmount = overdueAmount;
+    }
+
+    /**
+     * Regula de suspendare din cerințe: restanțele depășesc limita de credit.
+     */
+    public boolean overdueExceeds(double creditLimit) {
+        return overdueAmount > creditLimit;
+    }
+}
@@ -1,5 +1,7 @@
 package com.FTMS.FTMS_app.customer.domain.model;
 
+import com.FTMS.FTMS_app.customer.infrastructure.persistence.CustomerCacheEvictionListener;
+import com.FTMS.FTMS_app.customer.infrastructure.persistence.CustomerUniqueKeyListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,6 +13,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "customers")
+@EntityListeners({CustomerCacheEvictionListener.class, CustomerUniqueKeyListener.class}) // Cache-ul de citire + filtrul de unicitate
 @Getter
 @Setter
 @NoArgsConstructor
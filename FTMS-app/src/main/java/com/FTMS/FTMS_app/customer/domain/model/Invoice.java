@@ -1,23 +1,39 @@
 package com.FTMS.FTMS_app.customer.domain.model;
 
+import com.FTMS.FTMS_app.common.events.AggregateRoot;
+import com.FTMS.FTMS_app.customer.domain.event.InvoiceGenerated;
+import com.FTMS.FTMS_app.customer.domain.event.PaymentRecorded;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+        // Listarea paginată: pe client (+ status) și pe status, ordonat după id
+        @Index(name = "idx_invoices_customer_status_id", columnList = "customer_id, status, id"),
+        @Index(name = "idx_invoices_status_id", columnList = "status, id"),
+        // Intervalele de scadență sunt ordonate după (due_date, id), vezi searchInvoices
+        @Index(name = "idx_invoices_due_id", columnList = "due_date, id"),
+        @Index(name = "idx_invoices_status_due_id", columnList = "status, due_date, id"),
+        @Index(name = "idx_invoices_customer_due_id", columnList = "customer_id, due_date, id"),
+        // Verificarea "deja facturat?" din facturarea în lot; unic: un transport se facturează o singură dată
+        @Index(name = "idx_invoices_shipment", columnList = "shipment_id", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Invoice {
+public class Invoice extends AggregateRoot {
 
+    // Secvență "pooled" (ca la Shipment): facturarea în lot trimite INSERT-urile în loturi JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_seq")
+    @SequenceGenerator(name = "invoice_seq", sequenceName = "invoices_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -53,6 +69,14 @@ public class Invoice {
 
     // --- Logica de Business ---
 
+    /**
+     * Emite factura nou construită (publică InvoiceGenerated la salvare).
+     */
+    public Invoice issue() {
+        registerEvent(new InvoiceGenerated(invoiceNumber, customer.getId(), shipmentId, totalAmount, dueDate, Instant.now()));
+        return this;
+    }
+
     /**
      * Marchează factura ca fiind plătită.
      */
@@ -64,6 +88,18 @@ public class Invoice {
             this.status = InvoiceStatus.PARTIALLY_PAID;
         }
         this.paymentDetails = details;
+        registerEvent(new PaymentRecorded(id, customer.getId(), details.getAmount(), status, Instant.now()));
+    }
+
+    /**
+     * Soldul rămas de încasat pe factură.
+     */
+    public double openBalance() {
+        return switch (this.status) {
+            case PAID -> 0;
+            case PARTIALLY_PAID -> Math.max(0, this.totalAmount - this.paymentDetails.getAmount());
+            default -> this.totalAmount;
+        };
     }
 
     /**
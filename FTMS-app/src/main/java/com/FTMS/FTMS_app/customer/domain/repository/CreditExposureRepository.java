@@ -0,0 +1,50 @@
+package com.FTMS.FTMS_app.customer.domain.repository;
+
+import com.FTMS.FTMS_app.customer.domain.model.CreditExposure;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CreditExposureRepository extends JpaRepository<CreditExposure, Long> {
+
+    /**
+     * Citește rândul clientului cu SELECT ... FOR UPDATE: verificarea și modificarea expunerii
+     * sunt atomice față de alte tranzacții pe același client.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM CreditExposure e WHERE e.customerId = :customerId")
+    Optional<CreditExposure> findForUpdate(Long customerId);
+
+    /**
+     * Aceeași blocare pentru mai mulți clienți; ordinea după ID evită deadlock-urile între loturi.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM CreditExposure e WHERE e.customerId IN :customerIds ORDER BY e.customerId")
+    List<CreditExposure> findAllForUpdate(Collection<Long> customerIds);
+
+    /**
+     * Creează rândul unui client care nu îl are încă (ex: clienți creați înaintea registrului), pornind de la
+     * ce are deja clientul: transporturile neanulate și încă nefacturate (committed), soldul facturilor
+     * neachitate (outstanding) și al celor restante (overdue).
+     * ON CONFLICT: două tranzacții concurente nu pot crea rândul de două ori.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO customer_credit_exposures (customer_id, committed_amount, outstanding_amount, overdue_amount) " +
+            "SELECT :customerId, " +
+            "(SELECT COALESCE(SUM(s.price), 0) FROM shipments s WHERE s.customer_id = :customerId AND s.status <> 'CANCELED' " +
+            "   AND NOT EXISTS (SELECT 1 FROM invoices i WHERE i.shipment_id = s.id)), " +
+            "(SELECT COALESCE(SUM(CASE WHEN i.status = 'PARTIALLY_PAID' " +
+            "   THEN GREATEST(i.total_amount - COALESCE(i.payment_amount, 0), 0) ELSE i.total_amount END), 0) " +
+            "   FROM invoices i WHERE i.customer_id = :customerId AND i.status IN ('PENDING', 'OVERDUE', 'PARTIALLY_PAID')), " +
+            "(SELECT COALESCE(SUM(i.total_amount), 0) FROM invoices i WHERE i.customer_id = :customerId AND i.status = 'OVERDUE') " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long customerId);
+}
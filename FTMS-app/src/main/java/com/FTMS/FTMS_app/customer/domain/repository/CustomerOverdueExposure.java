@@ -0,0 +1,23 @@
+package com.FTMS.FTMS_app.customer.domain.repository;
+
+import com.FTMS.FTMS_app.customer.domain.model.CustomerStatus;
+
+/**
+ * Proiecție: soldul facturilor neachitate și totalul celor restante ale unui client, alături de limita
+ * lui de credit. Calculată pentru mai mulți clienți deodată (CustomerRepository.findOverdueExposures).
+ */
+public record CustomerOverdueExposure(
+        Long customerId,
+        CustomerStatus status,
+        double creditLimit,
+        double outstandingAmount,
+        double overdueAmount
+) {
+
+    /**
+     * Aceeași regulă ca în CustomerServiceImpl.checkCustomerOverdueStatus.
+     */
+    public boolean exceedsCreditLimit() {
+        return overdueAmount > creditLimit;
+    }
+}
@@ -1,15 +1,78 @@
 package com.FTMS.FTMS_app.customer.domain.repository;
 
 import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    // contract este partea inversă a relației (FK-ul e în contracts), deci Hibernate îl încarcă oricum,
+    // cu un SELECT separat pentru fiecare client. Metodele care întorc entități îl aduc prin LEFT JOIN.
+
+    @Override
+    @EntityGraph(attributePaths = "contract")
+    Optional<Customer> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "contract")
+    List<Customer> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "contract")
     Optional<Customer> findByTaxIdNumber(String taxIdNumber);
+    @EntityGraph(attributePaths = "contract")
     Optional<Customer> findByPrimaryContactEmail(String email);
+    @EntityGraph(attributePaths = "contract")
     Optional<Customer> findByRegistrationNumber(String regNumber);
+
+    /**
+     * Toate CUI-urile, citite în flux (pentru filtrul de unicitate). Necesită o tranzacție.
+     */
+    @Query("SELECT c.taxIdNumber FROM Customer c")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllTaxIdNumbers();
+
+    /**
+     * Toate adresele de email de contact, citite în flux (pentru filtrul de unicitate). Necesită o tranzacție.
+     */
+    @Query("SELECT c.primaryContactEmail FROM Customer c WHERE c.primaryContactEmail IS NOT NULL")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllPrimaryContactEmails();
+
+    /**
+     * Încarcă clientul împreună cu adresele de livrare și contractul într-o singură interogare
+     * (altfel fiecare asociere ar declanșa propriul SELECT la serializare).
+     */
+    @EntityGraph(attributePaths = {"deliveryAddresses", "contract"})
+    Optional<Customer> findDetailedById(Long id);
+
+    /**
+     * Soldul neachitat și totalul restant pentru mai mulți clienți, într-o singură interogare grupată
+     * (folosește indexul pe invoices(customer_id, status, id)).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.customer.domain.repository.CustomerOverdueExposure(" +
+            "c.id, c.status, c.creditLimit, " +
+            "COALESCE(SUM(CASE WHEN i.status = 'PARTIALLY_PAID' THEN i.totalAmount - COALESCE(i.paymentDetails.amount, 0) ELSE i.totalAmount END), 0), " +
+            "COALESCE(SUM(CASE WHEN i.status = 'OVERDUE' THEN i.totalAmount ELSE 0 END), 0)) " +
+            "FROM Customer c LEFT JOIN Invoice i ON i.customer = c AND i.status IN ('PENDING', 'OVERDUE', 'PARTIALLY_PAID') " +
+            "WHERE c.id IN :customerIds " +
+            "GROUP BY c.id, c.status, c.creditLimit")
+    List<CustomerOverdueExposure> findOverdueExposures(Collection<Long> customerIds);
+
+    /**
+     * Suspendă în masă clienții dați, doar dacă sunt încă ACTIVE.
+     */
+    @Modifying
+    @Query("UPDATE Customer c SET c.status = 'SUSPENDED' WHERE c.id IN :customerIds AND c.status = 'ACTIVE'")
+    int suspendActive(Collection<Long> customerIds);
 }
\ No newline at end of file
@@ -3,18 +3,29 @@ package com.FTMS.FTMS_app.customer.domain.repository;
 import com.FTMS.FTMS_app.customer.domain.model.Invoice;
 import com.FTMS.FTMS_app.customer.domain.model.InvoiceStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
 
     List<Invoice> findByCustomerId(Long customerId);
 
     List<Invoice> findByStatus(InvoiceStatus status);
 
+    /**
+     * Transporturile dintr-un lot care au deja factură (idempotența facturării în lot).
+     */
+    @Query("SELECT i.shipmentId FROM Invoice i WHERE i.shipmentId IN :shipmentIds")
+    Set<Long> findInvoicedShipmentIds(Collection<Long> shipmentIds);
+
     /**
      * Găsește toate facturile restante pentru un client.
      */
@@ -25,4 +36,32 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
      */
     @Query("SELECT SUM(i.totalAmount) FROM Invoice i WHERE i.customer.id = :customerId AND i.status = 'OVERDUE'")
     Double getOverdueAmountByCustomerId(Long customerId);
+
+    // --- Marcarea facturilor restante (OverdueInvoiceSweepService) ---
+    // Aceeași regulă ca Invoice.markAsOverdue(): PENDING și scadența înainte de azi.
+
+    /**
+     * Cel mai mic ID de factură care trebuie marcată restantă (range scan pe indexul status + due_date).
+     */
+    @Query("SELECT MIN(i.id) FROM Invoice i WHERE i.status = 'PENDING' AND i.dueDate < :today")
+    Long findMinOverdueCandidateId(LocalDate today);
+
+    @Query("SELECT MAX(i.id) FROM Invoice i WHERE i.status = 'PENDING' AND i.dueDate < :today")
+    Long findMaxOverdueCandidateId(LocalDate today);
+
+    /**
+     * Clienții care au facturi de marcat într-o fereastră de ID-uri (citit înainte de UPDATE, în aceeași tranzacție).
+     */
+    @Query("SELECT DISTINCT i.customer.id FROM Invoice i " +
+            "WHERE i.status = 'PENDING' AND i.dueDate < :today AND i.id BETWEEN :fromId AND :toId")
+    List<Long> findOverdueCandidateCustomerIds(LocalDate today, Long fromId, Long toId);
+
+    /**
+     * UPDATE în masă pe o fereastră de ID-uri: atinge cel mult (toId - fromId + 1) rânduri,
+     * deci blocările pe tabel durează doar cât o fereastră.
+     */
+    @Modifying
+    @Query("UPDATE Invoice i SET i.status = 'OVERDUE' " +
+            "WHERE i.status = 'PENDING' AND i.dueDate < :today AND i.id BETWEEN :fromId AND :toId")
+    int markOverdueInRange(LocalDate today, Long fromId, Long toId);
 }
\ No newline at end of file
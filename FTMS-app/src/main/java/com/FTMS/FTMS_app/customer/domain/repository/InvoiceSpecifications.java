@@ -0,0 +1,32 @@
+package com.FTMS.FTMS_app.customer.domain.repository;
+
+import com.FTMS.FTMS_app.customer.domain.model.Invoice;
+import com.FTMS.FTMS_app.customer.domain.model.InvoiceStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Filtre pentru listarea facturilor. Fiecare filtru întoarce null când parametrul lipsește.
+ */
+public final class InvoiceSpecifications {
+
+    private InvoiceSpecifications() {
+    }
+
+    public static Specification<Invoice> hasCustomer(Long customerId) {
+        return customerId == null ? null : (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    public static Specification<Invoice> hasStatus(InvoiceStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Invoice> dueFrom(LocalDate from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<Invoice> dueBefore(LocalDate to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("dueDate"), to);
+    }
+}
@@ -0,0 +1,35 @@
+package com.FTMS.FTMS_app.customer.infrastructure.events;
+
+import com.FTMS.FTMS_app.common.events.DomainEventHandler;
+import com.FTMS.FTMS_app.customer.application.service.CustomerService;
+import com.FTMS.FTMS_app.customer.domain.event.PaymentRecorded;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * După o plată, reverifică restanțele clientului (reactivare / suspendare), o dată per client din lot.
+ */
+@Component
+public class PaymentStatusHandler implements DomainEventHandler<PaymentRecorded> {
+
+    private final CustomerService customerService;
+
+    public PaymentStatusHandler(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    @Override
+    public Class<PaymentRecorded> eventType() {
+        return PaymentRecorded.class;
+    }
+
+    @Override
+    public void handle(List<PaymentRecorded> events) {
+        Set<Long> customerIds = new LinkedHashSet<>();
+        events.forEach(event -> customerIds.add(event.customerId()));
+        customerIds.forEach(customerService::checkCustomerOverdueStatus);
+    }
+}
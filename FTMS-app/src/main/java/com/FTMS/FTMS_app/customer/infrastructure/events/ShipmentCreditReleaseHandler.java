@@ -0,0 +1,38 @@
+package com.FTMS.FTMS_app.customer.infrastructure.events;
+
+import com.FTMS.FTMS_app.common.events.DomainEventHandler;
+import com.FTMS.FTMS_app.customer.application.service.CustomerService;
+import com.FTMS.FTMS_app.shipment.domain.event.ShipmentCanceled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Eliberează din registrul de expunere prețul rezervat la crearea transporturilor anulate, însumat pe
+ * client: o singură blocare a registrului pentru tot lotul.
+ */
+@Component
+public class ShipmentCreditReleaseHandler implements DomainEventHandler<ShipmentCanceled> {
+
+    private final CustomerService customerService;
+
+    public ShipmentCreditReleaseHandler(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    @Override
+    public Class<ShipmentCanceled> eventType() {
+        return ShipmentCanceled.class;
+    }
+
+    @Override
+    public void handle(List<ShipmentCanceled> events) {
+        Map<Long, Double> amountsByCustomer = new HashMap<>();
+        for (ShipmentCanceled event : events) {
+            amountsByCustomer.merge(event.customerId(), event.price(), Double::sum);
+        }
+        customerService.releaseCredits(amountsByCustomer);
+    }
+}
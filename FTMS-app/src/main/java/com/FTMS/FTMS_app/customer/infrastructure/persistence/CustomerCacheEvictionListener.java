@@ -0,0 +1,37 @@
+package com.FTMS.FTMS_app.customer.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.cache.CacheInvalidator;
+import com.FTMS.FTMS_app.common.cache.CacheNames;
+import com.FTMS.FTMS_app.customer.domain.model.Contract;
+import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA pe Customer și Contract: scoate clientul din cache după orice schimbare persistată
+ * (suspendAccount, activateAccount, setContract, contracte noi sau modificate).
+ * Actualizările în masă (JPQL) nu trec pe aici și își fac evacuarea explicit.
+ */
+public class CustomerCacheEvictionListener {
+
+    private final CacheInvalidator cacheInvalidator;
+
+    public CustomerCacheEvictionListener(CacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        Long customerId = switch (entity) {
+            case Customer customer -> customer.getId();
+            case Contract contract -> contract.getCustomer() == null ? null : contract.getCustomer().getId();
+            default -> null;
+        };
+        if (customerId != null) {
+            cacheInvalidator.evictAfterCommit(CacheNames.CUSTOMERS, customerId);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.FTMS.FTMS_app.customer.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
+import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import jakarta.persistence.PostPersist;
+
+/**
+ * Listener JPA pe Customer: adaugă CUI-ul și emailul de contact în filtrul de unicitate la fiecare INSERT.
+ */
+public class CustomerUniqueKeyListener {
+
+    private final UniqueKeyRegistry uniqueKeys;
+
+    public CustomerUniqueKeyListener(UniqueKeyRegistry uniqueKeys) {
+        this.uniqueKeys = uniqueKeys;
+    }
+
+    @PostPersist
+    public void onCreated(Customer customer) {
+        uniqueKeys.register(UniqueKey.CUSTOMER_TAX_ID, customer.getTaxIdNumber());
+        uniqueKeys.register(UniqueKey.CUSTOMER_EMAIL, customer.getPrimaryContactEmail());
+    }
+}
@@ -0,0 +1,41 @@
+package com.FTMS.FTMS_app.customer.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
+import com.FTMS.FTMS_app.customer.domain.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Încarcă CUI-urile și emailurile de contact existente în filtrul de unicitate la pornirea aplicației.
+ */
+@Component
+public class CustomerUniqueKeyLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerUniqueKeyLoader.class);
+
+    private final CustomerRepository customerRepository;
+    private final UniqueKeyRegistry uniqueKeys;
+
+    public CustomerUniqueKeyLoader(CustomerRepository customerRepository, UniqueKeyRegistry uniqueKeys) {
+        this.customerRepository = customerRepository;
+        this.uniqueKeys = uniqueKeys;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<String> taxIds = customerRepository.streamAllTaxIdNumbers();
+             Stream<String> emails = customerRepository.streamAllPrimaryContactEmails()) {
+            long customers = uniqueKeys.load(UniqueKey.CUSTOMER_TAX_ID, taxIds);
+            uniqueKeys.load(UniqueKey.CUSTOMER_EMAIL, emails);
+            log.info("Unique key filter loaded with {} customers", customers);
+        }
+    }
+}
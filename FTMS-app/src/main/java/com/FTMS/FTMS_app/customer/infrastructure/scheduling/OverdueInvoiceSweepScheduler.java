@@ -0,0 +1,34 @@
+package com.FTMS.FTMS_app.customer.infrastructure.scheduling;
+
+import com.FTMS.FTMS_app.customer.application.dto.OverdueSweepResult;
+import com.FTMS.FTMS_app.customer.application.service.OverdueInvoiceSweepService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Rulează zilnic marcarea facturilor restante. Dezactivat cu ftms.invoices.overdue-sweep.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "ftms.invoices.overdue-sweep.enabled", havingValue = "true", matchIfMissing = true)
+public class OverdueInvoiceSweepScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueInvoiceSweepScheduler.class);
+
+    private final OverdueInvoiceSweepService sweepService;
+
+    public OverdueInvoiceSweepScheduler(OverdueInvoiceSweepService sweepService) {
+        this.sweepService = sweepService;
+    }
+
+    @Scheduled(cron = "${ftms.invoices.overdue-sweep.cron:0 5 0 * * *}")
+    public void sweep() {
+        OverdueSweepResult result = sweepService.sweepOverdueInvoices(LocalDate.now());
+        log.info("Overdue sweep: {} invoices marked overdue, {} customers rechecked, {} suspended in {} ms",
+                result.invoicesMarkedOverdue(), result.customersRechecked(), result.customersSuspended(), result.durationMs());
+    }
+}
@@ -1,49 +1,73 @@
 package com.FTMS.FTMS_app.customer.presentation;
 
+import com.FTMS.FTMS_app.common.pagination.Keyset;
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
+import com.FTMS.FTMS_app.common.querybudget.QueryBudget;
+import com.FTMS.FTMS_app.customer.application.dto.ContractDto;
 import com.FTMS.FTMS_app.customer.application.dto.CreateContractRequest;
 import com.FTMS.FTMS_app.customer.application.dto.CreateCustomerRequest;
+import com.FTMS.FTMS_app.customer.application.dto.CustomerDto;
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceDto;
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceSearchCriteria;
+import com.FTMS.FTMS_app.customer.application.dto.OverdueSweepResult;
 import com.FTMS.FTMS_app.customer.application.dto.ProcessPaymentRequest;
 import com.FTMS.FTMS_app.customer.application.service.CustomerService;
-import com.FTMS.FTMS_app.customer.domain.model.Contract;
-import com.FTMS.FTMS_app.customer.domain.model.Customer;
-import com.FTMS.FTMS_app.customer.domain.model.Invoice;
+import com.FTMS.FTMS_app.customer.application.service.OverdueInvoiceSweepService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/v1/customers")
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final OverdueInvoiceSweepService overdueSweepService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, OverdueInvoiceSweepService overdueSweepService) {
         this.customerService = customerService;
+        this.overdueSweepService = overdueSweepService;
     }
 
     @PostMapping
-    public ResponseEntity<Customer> createCustomer(@Valid @RequestBody CreateCustomerRequest request) {
-        Customer newCustomer = customerService.createCustomer(request);
+    public ResponseEntity<CustomerDto> createCustomer(@Valid @RequestBody CreateCustomerRequest request) {
+        CustomerDto newCustomer = CustomerDto.from(customerService.createCustomer(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(newCustomer);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Customer> getCustomerById(@PathVariable Long id) {
-        return ResponseEntity.ok(customerService.getCustomerById(id));
+    public ResponseEntity<CustomerDto> getCustomerById(@PathVariable Long id) {
+        return ResponseEntity.ok(customerService.getCustomerView(id));
     }
 
     @PostMapping("/contracts")
-    public ResponseEntity<Contract> addContract(@Valid @RequestBody CreateContractRequest request) {
-        Contract newContract = customerService.addContractToCustomer(request);
+    public ResponseEntity<ContractDto> addContract(@Valid @RequestBody CreateContractRequest request) {
+        ContractDto newContract = ContractDto.from(customerService.addContractToCustomer(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(newContract);
     }
 
+    @GetMapping("/invoices") // GET /api/v1/customers/invoices?customerId=7&status=OVERDUE&cursor=...&limit=50
+    public ResponseEntity<KeysetPage<InvoiceDto>> searchInvoices(
+            InvoiceSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Keyset.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(customerService.searchInvoices(criteria, cursor, limit));
+    }
+
+    @PostMapping("/invoices/overdue-sweep") // Rulare manuală a job-ului zilnic (ex: după o migrare de date)
+    @QueryBudget(Integer.MAX_VALUE) // job în masă: două instrucțiuni pe fereastră de ID-uri, plus loturile de clienți
+    public ResponseEntity<OverdueSweepResult> sweepOverdueInvoices() {
+        return ResponseEntity.ok(overdueSweepService.sweepOverdueInvoices(LocalDate.now()));
+    }
+
     @PostMapping("/invoices/{invoiceId}/pay")
-    public ResponseEntity<Invoice> processPayment(
+    public ResponseEntity<InvoiceDto> processPayment(
             @PathVariable Long invoiceId,
             @Valid @RequestBody ProcessPaymentRequest request) {
-        Invoice updatedInvoice = customerService.processPayment(invoiceId, request);
+        InvoiceDto updatedInvoice = InvoiceDto.from(customerService.processPayment(invoiceId, request));
         return ResponseEntity.ok(updatedInvoice);
     }
 }
\ No newline at end of file
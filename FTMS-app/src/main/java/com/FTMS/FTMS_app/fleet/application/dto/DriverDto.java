@@ -0,0 +1,66 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import com.FTMS.FTMS_app.fleet.domain.model.ContactInfo;
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseInfo;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverView;
+
+import java.time.LocalDate;
+
+/**
+ * Modelul de citire pentru un șofer. Vehiculul principal apare doar ca ID (fără a încărca vehiculul).
+ */
+public record DriverDto(
+        Long id,
+        String name,
+        License license,
+        Contact contactDetails,
+        Contact emergencyContact,
+        LocalDate employmentDate,
+        DriverStatus status,
+        Long primaryVehicleId
+) {
+
+    public DriverDto(Long id, String name, LicenseInfo licenseInfo, ContactInfo contactDetails, ContactInfo emergencyContact,
+                     LocalDate employmentDate, DriverStatus status, Long primaryVehicleId) {
+        this(id, name, License.of(licenseInfo), Contact.of(contactDetails), Contact.of(emergencyContact),
+                employmentDate, status, primaryVehicleId);
+    }
+
+    /**
+     * Mapare din proiecția JPQL (DriverRepository.findViewById).
+     */
+    public static DriverDto from(DriverView view) {
+        return new DriverDto(view.id(), view.name(), view.licenseInfo(), view.contactDetails(), view.emergencyContact(),
+                view.employmentDate(), view.status(), view.primaryVehicleId());
+    }
+
+    public static DriverDto from(Driver driver) {
+        // getId() pe un proxy Hibernate nu inițializează vehiculul
+        Long primaryVehicleId = driver.getPrimaryVehicle() == null ? null : driver.getPrimaryVehicle().getId();
+        return new DriverDto(driver.getId(), driver.getName(), driver.getLicenseInfo(), driver.getContactDetails(),
+                driver.getEmergencyContact(), driver.getEmploymentDate(), driver.getStatus(), primaryVehicleId);
+    }
+
+    public record License(String licenseNumber, LicenseType licenseType, LocalDate issueDate, LocalDate expiryDate) {
+
+        static License of(LicenseInfo license) {
+            if (license == null) {
+                return null;
+            }
+            return new License(license.getLicenseNumber(), license.getLicenseType(), license.getIssueDate(), license.getExpiryDate());
+        }
+    }
+
+    public record Contact(String name, String phone, String email, String address) {
+
+        static Contact of(ContactInfo contact) {
+            if (contact == null) {
+                return null;
+            }
+            return new Contact(contact.getName(), contact.getPhone(), contact.getEmail(), contact.getAddress());
+        }
+    }
+}
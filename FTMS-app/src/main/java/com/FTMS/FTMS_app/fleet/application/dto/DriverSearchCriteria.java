@@ -0,0 +1,12 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
+import lombok.Data;
+
+// Filtrele opționale pentru GET /api/v1/fleet/drivers (parametri de query)
+@Data
+public class DriverSearchCriteria {
+    private DriverStatus status;
+    private LicenseType licenseType;
+}
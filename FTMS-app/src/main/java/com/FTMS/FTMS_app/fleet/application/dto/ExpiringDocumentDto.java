@@ -0,0 +1,21 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiringDocument;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry;
+
+import java.time.LocalDate;
+
+/**
+ * Un document care expiră curând: resourceId este ID-ul vehiculului sau al șoferului, după tipul documentului.
+ */
+public record ExpiringDocumentDto(
+        ExpiringDocument document,
+        Long resourceId,
+        LocalDate expiryDate,
+        LocalDate unavailableFrom
+) {
+
+    public static ExpiringDocumentDto from(ExpiryEntry entry) {
+        return new ExpiringDocumentDto(entry.document(), entry.resourceId(), entry.expiryDate(), entry.dueDay());
+    }
+}
@@ -0,0 +1,15 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Rezultatul unei rulări a expirării documentelor.
+ */
+public record ExpirySweepResult(
+        LocalDate asOf,
+        int documentsDue,
+        int vehiclesExpired,
+        int driversExpired,
+        long durationMs
+) {
+}
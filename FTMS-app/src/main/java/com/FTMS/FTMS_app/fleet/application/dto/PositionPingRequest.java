@@ -0,0 +1,33 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class PositionPingRequest {
+
+    @NotNull
+    private Long vehicleId;
+
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private double longitude;
+
+    @PositiveOrZero
+    private float speedKmh;
+
+    @PositiveOrZero
+    private double odometerKm;
+
+    @NotNull
+    private Instant recordedAt; // Momentul măsurării (ISO-8601, ex: 2026-10-18T08:15:30Z)
+}
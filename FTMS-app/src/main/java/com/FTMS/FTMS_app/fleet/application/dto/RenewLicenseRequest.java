@@ -0,0 +1,15 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class RenewLicenseRequest {
+
+    @NotNull
+    @Future(message = "License expiry date must be in the future")
+    private LocalDate licenseExpiryDate;
+}
@@ -0,0 +1,21 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class RenewVehicleDocumentsRequest {
+
+    private String insurancePolicyNumber; // Opțional; lipsă = polița rămâne aceeași
+
+    @NotNull
+    @Future(message = "Insurance expiry date must be in the future")
+    private LocalDate insuranceExpiryDate;
+
+    @NotNull
+    @Future(message = "Registration expiry date must be in the future")
+    private LocalDate registrationExpiryDate;
+}
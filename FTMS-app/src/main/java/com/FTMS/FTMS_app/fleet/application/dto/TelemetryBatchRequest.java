@@ -0,0 +1,18 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TelemetryBatchRequest {
+
+    // Un lot intră în buffer în întregime sau deloc (503 -> clientul îl retrimite)
+    @NotEmpty
+    @Size(max = 10_000)
+    @Valid
+    private List<PositionPingRequest> positions;
+}
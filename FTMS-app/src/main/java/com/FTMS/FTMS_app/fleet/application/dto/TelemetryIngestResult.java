@@ -0,0 +1,12 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+/**
+ * Rezultatul recepției unui lot de poziții. Pozițiile respinse au momentul înregistrării în afara
+ * ferestrei acceptate (prea vechi sau în viitor).
+ */
+public record TelemetryIngestResult(
+        int received,
+        int accepted,
+        int rejected
+) {
+}
@@ -0,0 +1,58 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleView;
+
+import java.time.LocalDate;
+
+/**
+ * Modelul de citire pentru un vehicul. Istoricul de mentenanță nu face parte din răspuns.
+ */
+public record VehicleDto(
+        Long id,
+        String registrationNumber,
+        String make,
+        String model,
+        VehicleType vehicleType,
+        int yearOfManufacture,
+        double maxWeightKg,
+        double maxVolumeCubicMeters,
+        String fuelType,
+        double currentMileage,
+        String insurancePolicyNumber,
+        LocalDate insuranceExpiryDate,
+        LocalDate registrationExpiryDate,
+        VehicleStatus status
+) {
+
+    /**
+     * Mapare din proiecția JPQL (VehicleRepository.findViewById).
+     */
+    public static VehicleDto from(VehicleView view) {
+        return new VehicleDto(view.id(), view.registrationNumber(), view.make(), view.model(), view.vehicleType(),
+                view.yearOfManufacture(), view.maxWeightKg(), view.maxVolumeCubicMeters(), view.fuelType(),
+                view.currentMileage(), view.insurancePolicyNumber(), view.insuranceExpiryDate(),
+                view.registrationExpiryDate(), view.status());
+    }
+
+    public static VehicleDto from(Vehicle vehicle) {
+        return new VehicleDto(
+                vehicle.getId(),
+                vehicle.getRegistrationNumber(),
+                vehicle.getMake(),
+                vehicle.getModel(),
+                vehicle.getVehicleType(),
+                vehicle.getYearOfManufacture(),
+                vehicle.getCapacity().getMaxWeightKg(),
+                vehicle.getCapacity().getMaxVolumeCubicMeters(),
+                vehicle.getFuelType(),
+                vehicle.getCurrentMileage(),
+                vehicle.getInsurancePolicyNumber(),
+                vehicle.getInsuranceExpiryDate(),
+                vehicle.getRegistrationExpiryDate(),
+                vehicle.getStatus()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehiclePosition;
+
+import java.time.Instant;
+
+public record VehiclePositionDto(
+        Long vehicleId,
+        double latitude,
+        double longitude,
+        float speedKmh,
+        double odometerKm,
+        Instant recordedAt
+) {
+
+    public static VehiclePositionDto from(VehiclePosition position) {
+        return new VehiclePositionDto(position.vehicleId(), position.latitude(), position.longitude(),
+                position.speedKmh(), position.odometerKm(), position.recordedAt());
+    }
+}
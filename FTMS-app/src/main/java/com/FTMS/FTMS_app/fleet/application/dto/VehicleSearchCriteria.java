@@ -0,0 +1,12 @@
+package com.FTMS.FTMS_app.fleet.application.dto;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import lombok.Data;
+
+// Filtrele opționale pentru GET /api/v1/fleet/vehicles (parametri de query)
+@Data
+public class VehicleSearchCriteria {
+    private VehicleStatus status;
+    private VehicleType type;
+}
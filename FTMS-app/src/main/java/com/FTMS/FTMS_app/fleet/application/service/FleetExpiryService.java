@@ -0,0 +1,100 @@
+package com.FTMS.FTMS_app.fleet.application.service;
+
+import com.FTMS.FTMS_app.fleet.application.dto.ExpiringDocumentDto;
+import com.FTMS.FTMS_app.fleet.application.dto.ExpirySweepResult;
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverRepository;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryWheel;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scoate din disponibilitate vehiculele cu asigurarea / înmatricularea expirate și șoferii cu permisul
+ * expirat, pe măsură ce termenele din ExpiryWheel devin scadente.
+ *
+ * Doar resursele scadente sunt încărcate (findAllById), iar statusul se schimbă prin metodele de domeniu,
+ * deci indexul de capacitate, cache-ul de citire și gauge-urile de status se actualizează prin listenerii
+ * obișnuiți. Cu statusul ținut la zi, filtrele pe status (findAvailable*, indexul de capacitate) nu mai
+ * întorc resurse expirate; Vehicle.isAvailable() / Driver.isAvailable() verifică în plus data, pentru
+ * intervalul dintre expirare și următoarea rulare.
+ */
+@Service
+public class FleetExpiryService {
+
+    private final ExpiryWheel wheel;
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public FleetExpiryService(ExpiryWheel wheel,
+                              VehicleRepository vehicleRepository,
+                              DriverRepository driverRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.wheel = wheel;
+        this.vehicleRepository = vehicleRepository;
+        this.driverRepository = driverRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Use Case: Expirarea documentelor scadente până azi (inclusiv).
+     * La eroare (ex: conflict de versiune cu o alocare concurentă) termenele revin în roată și se reîncearcă
+     * la următoarea rulare.
+     */
+    public ExpirySweepResult expireDueDocuments(LocalDate today) {
+        long startedAt = System.nanoTime();
+        List<ExpiryEntry> due = wheel.advance(today);
+        if (due.isEmpty()) {
+            return new ExpirySweepResult(today, 0, 0, 0, elapsedMs(startedAt));
+        }
+
+        Set<Long> vehicleIds = new LinkedHashSet<>();
+        Set<Long> driverIds = new LinkedHashSet<>();
+        for (ExpiryEntry entry : due) {
+            (entry.document().isVehicleDocument() ? vehicleIds : driverIds).add(entry.resourceId());
+        }
+
+        int[] expired = new int[2];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Vehicle vehicle : vehicleRepository.findAllById(vehicleIds)) {
+                    if (vehicle.expireDocuments(today)) {
+                        expired[0]++;
+                    }
+                }
+                for (Driver driver : driverRepository.findAllById(driverIds)) {
+                    if (driver.expireLicense(today)) {
+                        expired[1]++;
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            wheel.schedule(due);
+            throw e;
+        }
+        return new ExpirySweepResult(today, due.size(), expired[0], expired[1], elapsedMs(startedAt));
+    }
+
+    /**
+     * Use Case: Documentele care expiră în următoarele days zile (din roată, fără interogări).
+     */
+    public List<ExpiringDocumentDto> findExpiring(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Days must not be negative.");
+        }
+        return wheel.expiringWithin(days).stream().map(ExpiringDocumentDto::from).toList();
+    }
+
+    private static long elapsedMs(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
@@ -1,12 +1,26 @@
 package com.FTMS.FTMS_app.fleet.application.service;
 
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
 import com.FTMS.FTMS_app.fleet.application.dto.CreateDriverRequest;
 import com.FTMS.FTMS_app.fleet.application.dto.CreateVehicleRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.DriverDto;
+import com.FTMS.FTMS_app.fleet.application.dto.DriverSearchCriteria;
 import com.FTMS.FTMS_app.fleet.application.dto.MaintenanceRecordDto;
+import com.FTMS.FTMS_app.fleet.application.dto.RenewLicenseRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.RenewVehicleDocumentsRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.VehicleDto;
+import com.FTMS.FTMS_app.fleet.application.dto.VehicleSearchCriteria;
 import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.TripAssignment;
 import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleLoad;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityEntry;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface FleetService {
 
@@ -30,21 +44,51 @@ public interface FleetService {
      */
     void completeMaintenance(Long vehicleId, MaintenanceRecordDto recordDto);
 
+    /**
+     * Use Case: Reînnoirea asigurării și a înmatriculării (readuce în uz un vehicul DOCUMENTS_EXPIRED)
+     */
+    void renewVehicleDocuments(Long vehicleId, RenewVehicleDocumentsRequest request);
+
+    /**
+     * Use Case: Reînnoirea permisului (readuce în uz un șofer LICENSE_EXPIRED)
+     */
+    void renewDriverLicense(Long driverId, RenewLicenseRequest request);
+
     /**
      * Use Case: Alocarea unui vehicul principal unui șofer
      */
     void assignPrimaryVehicle(Long driverId, Long vehicleId);
 
     /**
-     * Găsește un vehicul după ID
+     * Găsește un vehicul după ID, din cache-ul de citire (instanță detașată, doar pentru citire)
      */
     Vehicle getVehicleById(Long id);
 
     /**
-     * Găsește un șofer după ID
+     * Găsește un șofer după ID, din cache-ul de citire (instanță detașată, doar pentru citire)
      */
     Driver getDriverById(Long id);
 
+    /**
+     * Vehiculul gestionat de tranzacția curentă (fără cache), pentru validările fluxurilor de scriere
+     */
+    Vehicle findVehicle(Long id);
+
+    /**
+     * Șoferul gestionat de tranzacția curentă (fără cache), pentru validările fluxurilor de scriere
+     */
+    Driver findDriver(Long id);
+
+    /**
+     * Modelul de citire al unui vehicul (o singură interogare, fără entitate)
+     */
+    VehicleDto getVehicleView(Long id);
+
+    /**
+     * Modelul de citire al unui șofer (o singură interogare, fără entitate)
+     */
+    DriverDto getDriverView(Long id);
+
     /**
      * Găsește toți șoferii disponibili
      */
@@ -55,17 +99,61 @@ public interface FleetService {
      */
     List<Vehicle> findAvailableVehicles();
 
+    /**
+     * Versiunile curente ale șoferilor dați, citite din baza de date (nu din contextul de persistență).
+     */
+    Map<Long, Long> findDriverVersions(Collection<Long> driverIds);
+
+    /**
+     * Versiunile curente ale vehiculelor date, citite din baza de date (nu din contextul de persistență).
+     */
+    Map<Long, Long> findVehicleVersions(Collection<Long> vehicleIds);
+
+    /**
+     * Use Case: Listarea paginată (keyset) a vehiculelor, cu filtre opționale.
+     *
+     * @param cursor nextCursor din pagina anterioară; null = prima pagină
+     */
+    KeysetPage<VehicleDto> searchVehicles(VehicleSearchCriteria criteria, String cursor, int limit);
+
+    /**
+     * Use Case: Listarea paginată (keyset) a șoferilor, cu filtre opționale.
+     *
+     * @param cursor nextCursor din pagina anterioară; null = prima pagină
+     */
+    KeysetPage<DriverDto> searchDrivers(DriverSearchCriteria criteria, String cursor, int limit);
+
+    /**
+     * Găsește cel mai mic vehicul disponibil în care încape marfa (din indexul în memorie, fără DB).
+     * Indexul vede doar commit-urile nodului curent; pe mai multe noduri rezultatul poate fi depășit.
+     *
+     * @param vehicleType opțional; null = orice tip
+     */
+    Optional<VehicleCapacityEntry> findBestFitVehicle(double weightKg, double volumeCubicMeters, VehicleType vehicleType);
+
     // ... (metodele existente ca addVehicle, addDriver, etc.)
 
     /**
-     * Alocă un șofer unei curse.
+     * Alocă un șofer unei curse cu vehiculul dat (sau încă un transport cursei lui curente, pe același vehicul).
+     */
+    void assignDriver(Long driverId, Long vehicleId);
+
+    /**
+     * Încarcă pe vehicul marfa unui transport condus de șoferul dat (cursă nouă sau consolidare pe cursa lui).
+     */
+    void assignVehicle(Long vehicleId, Long driverId, double weightKg, double volumeCubicMeters);
+
+    /**
+     * Alocă mai mulți șoferi deodată (folosit de dispecerizarea automată), câte o intrare per transport.
+     * O singură interogare pentru încărcare, actualizările pleacă în lot la commit.
+     * Un șofer repetat înseamnă mai multe transporturi pe aceeași cursă.
      */
-    void assignDriver(Long driverId);
+    void assignDrivers(Collection<TripAssignment> assignments);
 
     /**
-     * Alocă un vehicul unei curse.
+     * Încarcă mai multe transporturi deodată (folosit de dispecerizarea automată), câte o intrare per transport.
      */
-    void assignVehicle(Long vehicleId);
+    void assignVehicles(Collection<TripAssignment> assignments);
 
     /**
      * Eliberează un șofer după o cursă.
@@ -73,7 +161,19 @@ public interface FleetService {
     void releaseDriver(Long driverId);
 
     /**
-     * Eliberează un vehicul după o cursă.
+     * Eliberează un vehicul după o cursă (toată încărcătura).
      */
     void releaseVehicle(Long vehicleId);
+
+    /**
+     * Eliberează mai mulți șoferi deodată (handler-ul evenimentelor de livrare / anulare / re-alocare),
+     * câte un transport per ID. Șoferii care nu mai sunt pe drum sau nu mai există sunt ignorați.
+     */
+    void releaseDrivers(Collection<Long> driverIds);
+
+    /**
+     * Descarcă mai multe transporturi deodată; ultimul transport al unui vehicul îl eliberează.
+     * Vehiculele care nu mai sunt în cursă sunt ignorate.
+     */
+    void releaseVehicles(Collection<VehicleLoad> loads);
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.FTMS.FTMS_app.fleet.application.service;
+
+import com.FTMS.FTMS_app.common.exception.ServiceOverloadedException;
+import com.FTMS.FTMS_app.fleet.application.dto.PositionPingRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.TelemetryBatchRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.TelemetryIngestResult;
+import com.FTMS.FTMS_app.fleet.domain.model.VehiclePosition;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehiclePositionRepository;
+import com.FTMS.FTMS_app.fleet.domain.service.TelemetryBuffer;
+import com.FTMS.FTMS_app.fleet.domain.service.VehiclePositionCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recepția telemetriei GPS: pozițiile valide intră în TelemetryBuffer (scrise în baza de date în loturi
+ * de TelemetryWriter) și în VehiclePositionCache (citirile de ultimă poziție).
+ *
+ * Calea de recepție nu face interogări și nu ține lock-uri. Vehiculul nu este verificat la recepție:
+ * pozițiile unui ID necunoscut doar ocupă spațiu în istoric.
+ */
+@Service
+public class TelemetryService {
+
+    // Toleranța pentru ceasurile dispozitivelor care o iau puțin înainte
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final TelemetryBuffer buffer;
+    private final VehiclePositionCache positionCache;
+    private final VehiclePositionRepository positionRepository;
+    private final Duration maxAge;
+    private final Counter acceptedPoints;
+    private final Counter rejectedPoints;
+    private final Counter overloadedPoints;
+
+    public TelemetryService(TelemetryBuffer buffer,
+                            VehiclePositionCache positionCache,
+                            VehiclePositionRepository positionRepository,
+                            MeterRegistry registry,
+                            @Value("${ftms.telemetry.max-age-hours:24}") long maxAgeHours) {
+        this.buffer = buffer;
+        this.positionCache = positionCache;
+        this.positionRepository = positionRepository;
+        this.maxAge = Duration.ofHours(maxAgeHours);
+        this.acceptedPoints = points(registry, "accepted");
+        this.rejectedPoints = points(registry, "rejected");
+        this.overloadedPoints = points(registry, "overloaded");
+        Gauge.builder("ftms.telemetry.buffer.size", buffer, TelemetryBuffer::size)
+                .description("Telemetry positions waiting to be written")
+                .register(registry);
+    }
+
+    /**
+     * Use Case: Recepția unui lot de poziții GPS.
+     *
+     * @throws ServiceOverloadedException dacă buffer-ul nu are loc pentru lot (nimic nu a fost preluat)
+     */
+    public TelemetryIngestResult ingest(TelemetryBatchRequest request) {
+        Instant now = Instant.now();
+        Instant oldest = now.minus(maxAge);
+        Instant newest = now.plus(MAX_CLOCK_SKEW);
+
+        List<VehiclePosition> positions = new ArrayList<>(request.getPositions().size());
+        for (PositionPingRequest ping : request.getPositions()) {
+            if (ping.getRecordedAt().isBefore(oldest) || ping.getRecordedAt().isAfter(newest)) {
+                continue;
+            }
+            positions.add(new VehiclePosition(ping.getVehicleId(), ping.getLatitude(), ping.getLongitude(),
+                    ping.getSpeedKmh(), ping.getOdometerKm(), ping.getRecordedAt()));
+        }
+        int rejected = request.getPositions().size() - positions.size();
+        rejectedPoints.increment(rejected);
+
+        if (!buffer.offerAll(positions)) {
+            overloadedPoints.increment(positions.size());
+            throw new ServiceOverloadedException("Telemetry buffer is full. Please retry the batch.");
+        }
+        positions.forEach(positionCache::update);
+        acceptedPoints.increment(positions.size());
+        return new TelemetryIngestResult(request.getPositions().size(), positions.size(), rejected);
+    }
+
+    /**
+     * Ultima poziție a unui vehicul: din cache sau, după o repornire, din istoric (și pusă în cache).
+     */
+    public Optional<VehiclePosition> getLatestPosition(Long vehicleId) {
+        Optional<VehiclePosition> cached = positionCache.get(vehicleId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<VehiclePosition> stored = positionRepository.findLatest(vehicleId, Instant.now().minus(maxAge));
+        stored.ifPresent(positionCache::update);
+        return stored;
+    }
+
+    private static Counter points(MeterRegistry registry, String outcome) {
+        return Counter.builder("ftms.telemetry.points")
+                .description("Telemetry positions received, per outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -1,19 +1,46 @@
 package com.FTMS.FTMS_app.fleet.application.service.impl;
 
+import com.FTMS.FTMS_app.common.cache.CacheNames;
+import com.FTMS.FTMS_app.common.cache.DetachedEntityLoader;
+import com.FTMS.FTMS_app.common.concurrency.VersionStamp;
+import com.FTMS.FTMS_app.common.pagination.Keyset;
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
+import com.FTMS.FTMS_app.common.pagination.KeysetSpecifications;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
 import com.FTMS.FTMS_app.fleet.application.dto.CreateDriverRequest;
 import com.FTMS.FTMS_app.fleet.application.dto.CreateVehicleRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.DriverDto;
+import com.FTMS.FTMS_app.fleet.application.dto.DriverSearchCriteria;
 import com.FTMS.FTMS_app.fleet.application.dto.MaintenanceRecordDto;
+import com.FTMS.FTMS_app.fleet.application.dto.RenewLicenseRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.RenewVehicleDocumentsRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.VehicleDto;
+import com.FTMS.FTMS_app.fleet.application.dto.VehicleSearchCriteria;
 import com.FTMS.FTMS_app.fleet.application.service.FleetService;
 import com.FTMS.FTMS_app.fleet.domain.model.*;
 import com.FTMS.FTMS_app.common.exception.ResourceNotFoundException;
 import com.FTMS.FTMS_app.fleet.domain.repository.DriverRepository;
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverSpecifications;
 import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleSpecifications;
+import com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityEntry;
+import com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityIndex;
 // Importă excepția pe care o vom crea la pasul următor
 // import com.FTMS.FTMS_app.common.exception.ResourceNotFoundException;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional // Toate metodele publice vor rula într-o tranzacție
@@ -21,21 +48,31 @@ public class FleetServiceImpl implements FleetService {
 
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
+    private final VehicleCapacityIndex capacityIndex;
+    private final DetachedEntityLoader detachedEntityLoader;
+    private final UniqueKeyRegistry uniqueKeys;
 
     // Constructor Injection (recomandat de Spring)
-    public FleetServiceImpl(VehicleRepository vehicleRepository, DriverRepository driverRepository) {
+    public FleetServiceImpl(VehicleRepository vehicleRepository, DriverRepository driverRepository,
+                            VehicleCapacityIndex capacityIndex, DetachedEntityLoader detachedEntityLoader,
+                            UniqueKeyRegistry uniqueKeys) {
         this.vehicleRepository = vehicleRepository;
         this.driverRepository = driverRepository;
+        this.capacityIndex = capacityIndex;
+        this.detachedEntityLoader = detachedEntityLoader;
+        this.uniqueKeys = uniqueKeys;
     }
 
     @Override
     public Vehicle addVehicle(CreateVehicleRequest request) {
         // 1. Validare (Domain Validation Service - menționat în slide-uri)
-        // Verifică unicitatea nr. de înmatriculare
-        vehicleRepository.findByRegistrationNumber(request.getRegistrationNumber())
-                .ifPresent(v -> {
-                    throw new IllegalArgumentException("Vehicle with registration number " + request.getRegistrationNumber() + " already exists.");
-                });
+        // Verifică unicitatea nr. de înmatriculare (SELECT doar dacă filtrul de unicitate nu exclude valoarea)
+        if (uniqueKeys.mightExist(UniqueKey.VEHICLE_REGISTRATION, request.getRegistrationNumber())) {
+            vehicleRepository.findByRegistrationNumber(request.getRegistrationNumber())
+                    .ifPresent(v -> {
+                        throw new IllegalArgumentException("Vehicle with registration number " + request.getRegistrationNumber() + " already exists.");
+                    });
+        }
 
         // 2. Mapare DTO -> Model
         VehicleCapacity capacity = new VehicleCapacity(request.getMaxWeightKg(), request.getMaxVolumeCubicMeters());
@@ -64,10 +101,12 @@ public class FleetServiceImpl implements FleetService {
     @Override
     public Driver addDriver(CreateDriverRequest request) {
         // 1. Validare
-        driverRepository.findByLicenseInfoLicenseNumber(request.getLicenseNumber())
-                .ifPresent(d -> {
-                    throw new IllegalArgumentException("Driver with license number " + request.getLicenseNumber() + " already exists.");
-                });
+        if (uniqueKeys.mightExist(UniqueKey.DRIVER_LICENSE, request.getLicenseNumber())) {
+            driverRepository.findByLicenseInfoLicenseNumber(request.getLicenseNumber())
+                    .ifPresent(d -> {
+                        throw new IllegalArgumentException("Driver with license number " + request.getLicenseNumber() + " already exists.");
+                    });
+        }
 
         // 2. Mapare DTO -> Model (Value Objects)
         LicenseInfo license = new LicenseInfo(
@@ -109,7 +148,7 @@ public class FleetServiceImpl implements FleetService {
     @Transactional // Asigură-te că modificarea este salvată
     public void scheduleMaintenance(Long vehicleId) {
         // 1. Găsește entitatea
-        Vehicle vehicle = getVehicleById(vehicleId);
+        Vehicle vehicle = findVehicle(vehicleId);
         // 2. Apelează logica de business din domeniu
         vehicle.scheduleMaintenance();
         // 3. Salvează (JPA o face automat la finalul tranzacției, dar putem fi expliciți)
@@ -120,7 +159,7 @@ public class FleetServiceImpl implements FleetService {
     @Transactional
     public void completeMaintenance(Long vehicleId, MaintenanceRecordDto recordDto) {
         // 1. Găsește entitatea
-        Vehicle vehicle = getVehicleById(vehicleId);
+        Vehicle vehicle = findVehicle(vehicleId);
 
         // 2. Mapare DTO -> Model
         MaintenanceRecord record = new MaintenanceRecord(
@@ -138,11 +177,28 @@ public class FleetServiceImpl implements FleetService {
         vehicleRepository.save(vehicle);
     }
 
+    @Override
+    @Transactional
+    public void renewVehicleDocuments(Long vehicleId, RenewVehicleDocumentsRequest request) {
+        Vehicle vehicle = findVehicle(vehicleId);
+        vehicle.renewDocuments(request.getInsurancePolicyNumber(), request.getInsuranceExpiryDate(),
+                request.getRegistrationExpiryDate());
+        vehicleRepository.save(vehicle);
+    }
+
+    @Override
+    @Transactional
+    public void renewDriverLicense(Long driverId, RenewLicenseRequest request) {
+        Driver driver = findDriver(driverId);
+        driver.renewLicense(request.getLicenseExpiryDate());
+        driverRepository.save(driver);
+    }
+
     @Override
     @Transactional
     public void assignPrimaryVehicle(Long driverId, Long vehicleId) {
-        Driver driver = getDriverById(driverId);
-        Vehicle vehicle = getVehicleById(vehicleId);
+        Driver driver = findDriver(driverId);
+        Vehicle vehicle = findVehicle(vehicleId);
 
         // Aici putem adăuga validări suplimentare, ex:
         if (!driver.canDriveVehicle(vehicle)) {
@@ -156,21 +212,51 @@ public class FleetServiceImpl implements FleetService {
 
     // --- Metode Utilitare (Helpers) ---
 
+    // Copii detașate (pot ajunge în cache); metodele din acest serviciu folosesc findVehicle/findDriver
     @Override
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.VEHICLES, key = "#id")
     public Vehicle getVehicleById(Long id) {
-        return vehicleRepository.findById(id)
+        return detachedEntityLoader.find(Vehicle.class, id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.DRIVERS, key = "#id")
     public Driver getDriverById(Long id) {
-        return driverRepository.findById(id)
+        return detachedEntityLoader.find(Driver.class, id)
                 .orElseThrow(() -> new RuntimeException("Driver not found with id: " + id));
         // .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + id));
     }
 
+    // Instanțele gestionate de tranzacția curentă, pentru modificări
+    @Override
+    public Vehicle findVehicle(Long id) {
+        return vehicleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
+    }
+
+    @Override
+    public Driver findDriver(Long id) {
+        return driverRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Driver not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VehicleDto getVehicleView(Long id) {
+        return vehicleRepository.findViewById(id)
+                .map(VehicleDto::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DriverDto getDriverView(Long id) {
+        return driverRepository.findViewById(id)
+                .map(DriverDto::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + id));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Driver> findAvailableDrivers() {
@@ -183,30 +269,102 @@ public class FleetServiceImpl implements FleetService {
         return vehicleRepository.findByStatus(VehicleStatus.AVAILABLE);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> findDriverVersions(Collection<Long> driverIds) {
+        return VersionStamp.toMap(driverRepository.findVersions(driverIds));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> findVehicleVersions(Collection<Long> vehicleIds) {
+        return VersionStamp.toMap(vehicleRepository.findVersions(vehicleIds));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<VehicleDto> searchVehicles(VehicleSearchCriteria criteria, String cursor, int limit) {
+        Keyset.checkLimit(limit);
+        Specification<Vehicle> spec = KeysetSpecifications.allOf(
+                VehicleSpecifications.hasStatus(criteria.getStatus()),
+                VehicleSpecifications.hasType(criteria.getType()),
+                KeysetSpecifications.idAfter(Keyset.decode(cursor)));
+
+        // Cerem un rând în plus doar ca să știm dacă mai există o pagină
+        List<Vehicle> fetched = vehicleRepository.findBy(spec,
+                q -> q.sortBy(KeysetSpecifications.ORDER).limit(limit + 1).all());
+        return KeysetPage.of(fetched, limit, Vehicle::getId).map(VehicleDto::from);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<DriverDto> searchDrivers(DriverSearchCriteria criteria, String cursor, int limit) {
+        Keyset.checkLimit(limit);
+        Specification<Driver> spec = KeysetSpecifications.allOf(
+                DriverSpecifications.hasStatus(criteria.getStatus()),
+                DriverSpecifications.hasLicenseType(criteria.getLicenseType()),
+                KeysetSpecifications.idAfter(Keyset.decode(cursor)));
+
+        List<Driver> fetched = driverRepository.findBy(spec,
+                q -> q.sortBy(KeysetSpecifications.ORDER).limit(limit + 1).all());
+        return KeysetPage.of(fetched, limit, Driver::getId).map(DriverDto::from);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<VehicleCapacityEntry> findBestFitVehicle(double weightKg, double volumeCubicMeters, VehicleType vehicleType) {
+        // Indexul este ținut la zi de VehicleCapacityIndexListener; nu atinge baza de date
+        return capacityIndex.findBestFit(weightKg, volumeCubicMeters, vehicleType);
+    }
+
     // ... (metodele existente în FleetServiceImpl)
 
     @Override
     @Transactional
-    public void assignDriver(Long driverId) {
-        Driver driver = getDriverById(driverId);
+    public void assignDriver(Long driverId, Long vehicleId) {
+        Driver driver = findDriver(driverId);
         // Apelează logica de business din domeniu
-        driver.assignToShipment();
+        driver.assignToShipment(vehicleId);
         driverRepository.save(driver);
     }
 
     @Override
     @Transactional
-    public void assignVehicle(Long vehicleId) {
-        Vehicle vehicle = getVehicleById(vehicleId);
+    public void assignVehicle(Long vehicleId, Long driverId, double weightKg, double volumeCubicMeters) {
+        Vehicle vehicle = findVehicle(vehicleId);
         // Apelează logica de business din domeniu
-        vehicle.assignToShipment();
+        vehicle.load(driverId, weightKg, volumeCubicMeters);
         vehicleRepository.save(vehicle);
     }
 
+    @Override
+    @Transactional
+    public void assignDrivers(Collection<TripAssignment> assignments) {
+        List<Long> driverIds = assignments.stream().map(TripAssignment::driverId).toList();
+        Map<Long, Driver> drivers = driversById(driverIds);
+        if (drivers.size() != new HashSet<>(driverIds).size()) {
+            throw new ResourceNotFoundException("One or more drivers were not found: " + driverIds);
+        }
+        assignments.forEach(a -> drivers.get(a.driverId()).assignToShipment(a.vehicleId()));
+        driverRepository.saveAll(drivers.values());
+    }
+
+    @Override
+    @Transactional
+    public void assignVehicles(Collection<TripAssignment> assignments) {
+        Set<Long> vehicleIds = assignments.stream().map(TripAssignment::vehicleId).collect(Collectors.toSet());
+        Map<Long, Vehicle> vehicles = vehiclesById(vehicleIds);
+        if (vehicles.size() != vehicleIds.size()) {
+            throw new ResourceNotFoundException("One or more vehicles were not found: " + vehicleIds);
+        }
+        assignments.forEach(a -> vehicles.get(a.vehicleId()).load(a.driverId(), a.weightKg(), a.volumeCubicMeters()));
+        vehicleRepository.saveAll(vehicles.values());
+    }
+
     @Override
     @Transactional
     public void releaseDriver(Long driverId) {
-        Driver driver = getDriverById(driverId);
+        Driver driver = findDriver(driverId);
         driver.completeShipment(); // Metoda de business din domeniu
         driverRepository.save(driver);
     }
@@ -214,8 +372,45 @@ public class FleetServiceImpl implements FleetService {
     @Override
     @Transactional
     public void releaseVehicle(Long vehicleId) {
-        Vehicle vehicle = getVehicleById(vehicleId);
+        Vehicle vehicle = findVehicle(vehicleId);
         vehicle.releaseFromShipment(); // Metoda de business din domeniu
         vehicleRepository.save(vehicle);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public void releaseDrivers(Collection<Long> driverIds) {
+        Map<Long, Driver> drivers = driversById(driverIds);
+        for (Long driverId : driverIds) {
+            Driver driver = drivers.get(driverId);
+            if (driver != null) {
+                driver.completeShipment();
+            }
+        }
+        driverRepository.saveAll(drivers.values());
+    }
+
+    @Override
+    @Transactional
+    public void releaseVehicles(Collection<VehicleLoad> loads) {
+        Map<Long, Vehicle> vehicles = vehiclesById(loads.stream().map(VehicleLoad::vehicleId).collect(Collectors.toSet()));
+        for (VehicleLoad load : loads) {
+            Vehicle vehicle = vehicles.get(load.vehicleId());
+            if (vehicle != null) {
+                vehicle.unload(load.weightKg(), load.volumeCubicMeters());
+            }
+        }
+        vehicleRepository.saveAll(vehicles.values());
+    }
+
+    // O singură interogare, oricâte transporturi are fiecare resursă în lot
+    private Map<Long, Driver> driversById(Collection<Long> driverIds) {
+        return driverRepository.findAllById(new HashSet<>(driverIds)).stream()
+                .collect(Collectors.toMap(Driver::getId, driver -> driver));
+    }
+
+    private Map<Long, Vehicle> vehiclesById(Set<Long> vehicleIds) {
+        return vehicleRepository.findAllById(vehicleIds).stream()
+                .collect(Collectors.toMap(Vehicle::getId, vehicle -> vehicle));
+    }
+}
@@ -1,7 +1,10 @@
 package com.FTMS.FTMS_app.fleet.domain.model;
 
+import com.FTMS.FTMS_app.fleet.infrastructure.persistence.FleetCacheEvictionListener;
+import com.FTMS.FTMS_app.fleet.infrastructure.persistence.FleetExpiryListener;
+import com.FTMS.FTMS_app.fleet.infrastructure.persistence.FleetUniqueKeyListener;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -9,11 +12,15 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "drivers")
+@Table(name = "drivers", indexes = {
+        // Listarea paginată: status (+ tip permis) sau doar tipul permisului, ordonat după id
+        @Index(name = "idx_drivers_status_license_id", columnList = "status, license_type, id"),
+        @Index(name = "idx_drivers_license_id", columnList = "license_type, id")
+})
+@EntityListeners({FleetCacheEvictionListener.class, FleetUniqueKeyListener.class, FleetExpiryListener.class}) // Cache-ul de citire + filtrul de unicitate + roata de expirări
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Driver {
 
     @Id
@@ -53,32 +60,92 @@ public class Driver {
     @Enumerated(EnumType.STRING)
     private DriverStatus status;
 
-    @OneToOne
+    // Transporturile cursei curente (mai multe la consolidare); ultimul livrat / anulat eliberează șoferul
+    @Column(nullable = false)
+    @Setter(AccessLevel.NONE)
+    private int activeShipments;
+
+    // Vehiculul cursei curente: transporturile consolidate se pot adăuga doar pe acesta
+    @Setter(AccessLevel.NONE)
+    private Long tripVehicleId;
+
+    @OneToOne(fetch = FetchType.LAZY) // Implicit ar fi EAGER: un JOIN/SELECT în plus la fiecare șofer citit
     @JoinColumn(name = "primary_vehicle_id") // Cheia străină va fi în tabelul drivers
     private Vehicle primaryVehicle;
 
+    // Blocare optimistă: un șofer nu poate fi alocat de două ori în paralel
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
+    // Constructorul complet, fără 'version' (gestionat exclusiv de JPA)
+    public Driver(Long id, String name, LicenseInfo licenseInfo, ContactInfo contactDetails, ContactInfo emergencyContact,
+                  LocalDate employmentDate, DriverStatus status, Vehicle primaryVehicle) {
+        this.id = id;
+        this.name = name;
+        this.licenseInfo = licenseInfo;
+        this.contactDetails = contactDetails;
+        this.emergencyContact = emergencyContact;
+        this.employmentDate = employmentDate;
+        this.status = status;
+        this.primaryVehicle = primaryVehicle;
+    }
+
     // --- Logica de Business (rămâne neschimbată) ---
 
+    // Expirarea permisului îl trece în LICENSE_EXPIRED (FleetExpiryService); data se verifică și aici,
+    // pentru intervalul dintre expirare și următoarea rulare a roții
     public boolean isAvailable() {
         return this.status == DriverStatus.AVAILABLE && licenseInfo.isValid();
     }
 
+    /**
+     * Scoate din disponibilitate un șofer cu permisul expirat; cei aflați în cursă se verifică la final.
+     *
+     * @return true dacă statusul s-a schimbat
+     */
+    public boolean expireLicense(LocalDate today) {
+        if (this.status != DriverStatus.AVAILABLE || licenseInfo.isValidOn(today)) {
+            return false;
+        }
+        this.status = DriverStatus.LICENSE_EXPIRED;
+        return true;
+    }
+
+    public void renewLicense(LocalDate newExpiryDate) {
+        this.licenseInfo = licenseInfo.renewedUntil(newExpiryDate);
+        if (this.status == DriverStatus.LICENSE_EXPIRED && licenseInfo.isValid()) {
+            this.status = DriverStatus.AVAILABLE;
+        }
+    }
+
     public boolean canDriveVehicle(Vehicle vehicle) {
         return licenseInfo.getLicenseType() == LicenseType.CE ||
                 (licenseInfo.getLicenseType() == LicenseType.C &&
                         (vehicle.getVehicleType() != VehicleType.TANKER && vehicle.getVehicleType() != VehicleType.FLATBED));
     }
 
-    public void assignToShipment() {
-        if (!isAvailable()) {
+    /**
+     * Alocă șoferului încă un transport pe vehiculul dat: un șofer disponibil pornește o cursă nouă cu acel
+     * vehicul, unul aflat deja în cursă primește transportul doar dacă este consolidat pe vehiculul cursei lui.
+     */
+    public void assignToShipment(Long vehicleId) {
+        if (isAvailable()) {
+            this.tripVehicleId = vehicleId;
+        } else if (this.status != DriverStatus.ON_ROUTE || !licenseInfo.isValid()) {
             throw new IllegalStateException("Driver " + name + " is not available for assignment.");
+        } else if (!vehicleId.equals(this.tripVehicleId)) {
+            throw new IllegalStateException("Driver " + name + " is already on a trip with another vehicle.");
         }
+        this.activeShipments++;
         this.status = DriverStatus.ON_ROUTE;
     }
 
     public void completeShipment() {
-        if (this.status == DriverStatus.ON_ROUTE) {
-            this.status = DriverStatus.AVAILABLE;
+        if (this.status == DriverStatus.ON_ROUTE && --this.activeShipments <= 0) {
+            this.activeShipments = 0;
+            this.tripVehicleId = null;
+            this.status = licenseInfo.isValid() ? DriverStatus.AVAILABLE : DriverStatus.LICENSE_EXPIRED;
         }
     }
 }
\ No newline at end of file
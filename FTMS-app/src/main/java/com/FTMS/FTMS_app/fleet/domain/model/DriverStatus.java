@@ -4,5 +4,6 @@ public enum DriverStatus {
     AVAILABLE,
     ON_ROUTE,
     ON_LEAVE,
-    OFF_DUTY
+    OFF_DUTY,
+    LICENSE_EXPIRED // Permisul a expirat (FleetExpiryService); iese prin renewLicense
 }
\ No newline at end of file
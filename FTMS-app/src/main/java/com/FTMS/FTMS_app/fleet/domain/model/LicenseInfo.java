@@ -1,5 +1,6 @@
 package com.FTMS.FTMS_app.fleet.domain.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -15,6 +16,7 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class LicenseInfo {
 
+    @Column(unique = true) // Verificat la creare prin filtrul de unicitate; constrângerea este garanția
     private String licenseNumber;
 
     @Enumerated(EnumType.STRING) // Salvează enum-ul ca text (ex: "CE") în loc de număr (ex: 1)
@@ -25,6 +27,15 @@ public class LicenseInfo {
 
     // Poti adauga aici logica de business, ex:
     public boolean isValid() {
-        return LocalDate.now().isBefore(expiryDate);
+        return isValidOn(LocalDate.now());
+    }
+
+    // Permisul nu mai este valabil din ziua expirării
+    public boolean isValidOn(LocalDate day) {
+        return day.isBefore(expiryDate);
+    }
+
+    public LicenseInfo renewedUntil(LocalDate newExpiryDate) {
+        return new LicenseInfo(licenseNumber, licenseType, issueDate, newExpiryDate);
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.FTMS.FTMS_app.fleet.domain.model;
+
+/**
+ * Un transport alocat unei curse: șoferul și vehiculul cursei, plus marfa încărcată pe vehicul.
+ */
+public record TripAssignment(Long driverId, Long vehicleId, double weightKg, double volumeCubicMeters) {
+}
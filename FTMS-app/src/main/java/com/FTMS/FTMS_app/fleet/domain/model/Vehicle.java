@@ -1,7 +1,10 @@
 package com.FTMS.FTMS_app.fleet.domain.model;
 
+import com.FTMS.FTMS_app.fleet.infrastructure.persistence.FleetCacheEvictionListener;
+import com.FTMS.FTMS_app.fleet.infrastructure.persistence.FleetExpiryListener;
+import com.FTMS.FTMS_app.fleet.infrastructure.persistence.FleetUniqueKeyListener;
+import com.FTMS.FTMS_app.fleet.infrastructure.persistence.VehicleCapacityIndexListener;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -10,10 +13,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+        // Listarea paginată: status (+ tip), ordonat după id
+        @Index(name = "idx_vehicles_status_type_id", columnList = "status, vehicle_type, id"),
+        @Index(name = "idx_vehicles_type_id", columnList = "vehicle_type, id")
+})
+@EntityListeners({VehicleCapacityIndexListener.class, FleetCacheEvictionListener.class, FleetUniqueKeyListener.class,
+        FleetExpiryListener.class}) // Indexul de capacitate + cache-ul de citire + filtrul de unicitate + roata de expirări
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Vehicle {
 
     @Id
@@ -45,18 +53,91 @@ public class Vehicle {
     @Column(nullable = false)
     private VehicleStatus status;
 
+    // Încărcătura curentă (consolidare / LTL): suma mărfii transporturilor alocate și numărul lor.
+    // Vehiculul rămâne IN_USE cât timp are cel puțin un transport
+    @Column(nullable = false)
+    private double loadedWeightKg;
+    @Column(nullable = false)
+    private double loadedVolumeCubicMeters;
+    @Column(nullable = false)
+    private int loadedShipments;
+    // Șoferul cursei curente: transporturile consolidate se pot adăuga doar în cursa lui
+    private Long tripDriverId;
+
     @OneToMany(mappedBy = "vehicle", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<MaintenanceRecord> maintenanceHistory = new ArrayList<>();
 
+    // Blocare optimistă: două alocări concurente pe același vehicul nu pot trece amândouă
+    @Version
+    private Long version;
+
+    // Constructorul complet, fără 'version' (gestionat exclusiv de JPA)
+    public Vehicle(Long id, String registrationNumber, String make, String model, VehicleType vehicleType,
+                   int yearOfManufacture, VehicleCapacity capacity, String fuelType, double currentMileage,
+                   String insurancePolicyNumber, LocalDate insuranceExpiryDate, LocalDate registrationExpiryDate,
+                   VehicleStatus status, List<MaintenanceRecord> maintenanceHistory) {
+        this.id = id;
+        this.registrationNumber = registrationNumber;
+        this.make = make;
+        this.model = model;
+        this.vehicleType = vehicleType;
+        this.yearOfManufacture = yearOfManufacture;
+        this.capacity = capacity;
+        this.fuelType = fuelType;
+        this.currentMileage = currentMileage;
+        this.insurancePolicyNumber = insurancePolicyNumber;
+        this.insuranceExpiryDate = insuranceExpiryDate;
+        this.registrationExpiryDate = registrationExpiryDate;
+        this.status = status;
+        // Copie modificabilă: completeMaintenance adaugă în listă (List.of() ar arunca excepție)
+        this.maintenanceHistory = new ArrayList<>(maintenanceHistory);
+    }
+
     // --- Logica de Business ---
 
     /**
      * Verifică dacă vehiculul este disponibil pentru o cursă.
+     * Expirarea documentelor îl trece în DOCUMENTS_EXPIRED (FleetExpiryService), dar data se verifică și aici:
+     * între expirare și următoarea rulare a roții statusul este încă AVAILABLE.
      */
     public boolean isAvailable() {
-        return this.status == VehicleStatus.AVAILABLE &&
-                !insuranceExpiryDate.isBefore(LocalDate.now()) &&
-                !registrationExpiryDate.isBefore(LocalDate.now());
+        return this.status == VehicleStatus.AVAILABLE && hasValidDocuments(LocalDate.now());
+    }
+
+    /**
+     * Asigurarea și înmatricularea sunt valabile inclusiv în ziua expirării.
+     */
+    public boolean hasValidDocuments(LocalDate day) {
+        return !insuranceExpiryDate.isBefore(day) && !registrationExpiryDate.isBefore(day);
+    }
+
+    /**
+     * Scoate din disponibilitate un vehicul cu documentele expirate.
+     * Vehiculele ocupate (cursă, mentenanță) se verifică la eliberare.
+     *
+     * @return true dacă statusul s-a schimbat
+     */
+    public boolean expireDocuments(LocalDate today) {
+        if (this.status != VehicleStatus.AVAILABLE || hasValidDocuments(today)) {
+            return false;
+        }
+        this.status = VehicleStatus.DOCUMENTS_EXPIRED;
+        return true;
+    }
+
+    /**
+     * Reînnoiește asigurarea și înmatricularea; un vehicul scos din uz din cauza lor redevine disponibil.
+     */
+    public void renewDocuments(String insurancePolicyNumber, LocalDate insuranceExpiryDate,
+                               LocalDate registrationExpiryDate) {
+        if (insurancePolicyNumber != null) {
+            this.insurancePolicyNumber = insurancePolicyNumber;
+        }
+        this.insuranceExpiryDate = insuranceExpiryDate;
+        this.registrationExpiryDate = registrationExpiryDate;
+        if (this.status == VehicleStatus.DOCUMENTS_EXPIRED && hasValidDocuments(LocalDate.now())) {
+            this.status = VehicleStatus.AVAILABLE;
+        }
     }
 
     /**
@@ -80,28 +161,80 @@ public class Vehicle {
         // Setează relația bidirecțională
         record.setVehicle(this);
         this.maintenanceHistory.add(record);
-        this.status = VehicleStatus.AVAILABLE;
+        this.status = availableUnlessExpired();
+    }
+
+    /**
+     * Vehiculul are deja transporturi alocate (cursă în curs de consolidare sau plecată).
+     */
+    public boolean hasLoad() {
+        return this.status == VehicleStatus.IN_USE && this.loadedShipments > 0;
+    }
+
+    /**
+     * Marfa mai încape, peste încărcătura curentă.
+     */
+    public boolean canLoad(double weightKg, double volumeCubicMeters) {
+        return capacity.isSufficient(loadedWeightKg + weightKg, loadedVolumeCubicMeters + volumeCubicMeters);
     }
 
     /**
-     * Alocă vehiculul unei curse.
+     * Alocă vehiculului încă un transport condus de șoferul dat: un vehicul disponibil pornește o cursă nouă
+     * cu acel șofer, unul deja încărcat primește marfa în plus (consolidare) doar în cursa aceluiași șofer,
+     * cât timp încape. Că nu a plecat încă încărcătura curentă verifică apelantul (statusul transporturilor).
      */
-    public void assignToShipment() {
+    public void load(Long driverId, double weightKg, double volumeCubicMeters) {
         if (!isAvailable()) {
-            throw new IllegalStateException("Vehicle " + registrationNumber + " is not available for assignment.");
+            if (!hasLoad() || !hasValidDocuments(LocalDate.now())) {
+                throw new IllegalStateException("Vehicle " + registrationNumber + " is not available for assignment.");
+            }
+            if (!driverId.equals(this.tripDriverId)) {
+                throw new IllegalStateException("Vehicle " + registrationNumber + " is driven by another driver on its current trip.");
+            }
         }
+        if (!canLoad(weightKg, volumeCubicMeters)) {
+            throw new IllegalArgumentException("Vehicle capacity is not sufficient for this cargo.");
+        }
+        this.tripDriverId = driverId;
+        this.loadedWeightKg += weightKg;
+        this.loadedVolumeCubicMeters += volumeCubicMeters;
+        this.loadedShipments++;
         this.status = VehicleStatus.IN_USE;
     }
 
     /**
-     * Eliberează vehiculul după finalizarea cursei.
+     * Descarcă marfa unui transport livrat / anulat / re-alocat; ultimul transport eliberează vehiculul.
+     */
+    public void unload(double weightKg, double volumeCubicMeters) {
+        if (this.status != VehicleStatus.IN_USE) {
+            return;
+        }
+        if (--this.loadedShipments <= 0) {
+            releaseFromShipment();
+            return;
+        }
+        this.loadedWeightKg = Math.max(0, loadedWeightKg - weightKg);
+        this.loadedVolumeCubicMeters = Math.max(0, loadedVolumeCubicMeters - volumeCubicMeters);
+    }
+
+    /**
+     * Eliberează vehiculul după finalizarea cursei (toată încărcătura).
      */
     public void releaseFromShipment() {
         if (this.status == VehicleStatus.IN_USE) {
-            this.status = VehicleStatus.AVAILABLE;
+            this.loadedWeightKg = 0;
+            this.loadedVolumeCubicMeters = 0;
+            this.loadedShipments = 0;
+            this.tripDriverId = null;
+            this.status = availableUnlessExpired();
         }
     }
 
+    // Documentele pot expira în timpul cursei / mentenanței
+    private VehicleStatus availableUnlessExpired() {
+        return hasValidDocuments(LocalDate.now()) ? VehicleStatus.AVAILABLE : VehicleStatus.DOCUMENTS_EXPIRED;
+    }
+
     public void updateMileage(double newMileage) {
         if (newMileage > this.currentMileage) {
             this.currentMileage = newMileage;
@@ -0,0 +1,7 @@
+package com.FTMS.FTMS_app.fleet.domain.model;
+
+/**
+ * Marfa unui transport, încărcată pe (sau descărcată de pe) un vehicul.
+ */
+public record VehicleLoad(Long vehicleId, double weightKg, double volumeCubicMeters) {
+}
@@ -0,0 +1,21 @@
+package com.FTMS.FTMS_app.fleet.domain.model;
+
+import java.time.Instant;
+
+/**
+ * O poziție GPS raportată de un vehicul (telemetrie). Nu este entitate JPA: pozițiile se scriu doar prin
+ * inserări în lot (VehiclePositionRepository), fără context de persistență.
+ */
+public record VehiclePosition(
+        Long vehicleId,
+        double latitude,
+        double longitude,
+        float speedKmh,
+        double odometerKm,
+        Instant recordedAt
+) {
+
+    public boolean isNewerThan(VehiclePosition other) {
+        return other == null || recordedAt.isAfter(other.recordedAt);
+    }
+}
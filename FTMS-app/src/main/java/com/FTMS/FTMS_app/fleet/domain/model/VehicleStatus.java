@@ -4,5 +4,6 @@ public enum VehicleStatus {
     AVAILABLE,
     IN_USE,
     IN_MAINTENANCE,
-    OUT_OF_SERVICE
+    OUT_OF_SERVICE,
+    DOCUMENTS_EXPIRED // Asigurarea sau înmatricularea au expirat (FleetExpiryService); iese prin renewDocuments
 }
\ No newline at end of file
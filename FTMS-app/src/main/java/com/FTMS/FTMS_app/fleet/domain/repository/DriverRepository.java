@@ -1,22 +1,46 @@
 package com.FTMS.FTMS_app.fleet.domain.repository;
 
+import com.FTMS.FTMS_app.common.concurrency.VersionStamp;
+import com.FTMS.FTMS_app.common.metrics.StatusCount;
 import com.FTMS.FTMS_app.fleet.domain.model.Driver;
 import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
 import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository // Marchează ca fiind un Bean Spring
-public interface DriverRepository extends JpaRepository<Driver, Long> {
+public interface DriverRepository extends JpaRepository<Driver, Long>, JpaSpecificationExecutor<Driver> {
 
     /**
      * Găsește un șofer după numărul de permis (pentru validare unicitate).
      */
     Optional<Driver> findByLicenseInfoLicenseNumber(String licenseNumber);
 
+    /**
+     * Toate numerele de permis, citite în flux (pentru filtrul de unicitate). Necesită o tranzacție.
+     */
+    @Query("SELECT d.licenseInfo.licenseNumber FROM Driver d")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllLicenseNumbers();
+
+    /**
+     * Proiecție pentru GET /drivers/{id}. Vehiculul principal este citit doar ca cheie străină (fără JOIN).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.fleet.domain.repository.DriverView(" +
+            "d.id, d.name, d.licenseInfo, d.contactDetails, d.emergencyContact, d.employmentDate, d.status, d.primaryVehicle.id) " +
+            "FROM Driver d WHERE d.id = :id")
+    Optional<DriverView> findViewById(Long id);
+
     /**
      * Găsește toți șoferii disponibili care au un anumit tip de permis.
      * Aceasta va fi metoda cheie pentru alocarea curselor.
@@ -27,4 +51,24 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
      * Găsește toți șoferii disponibili.
      */
     List<Driver> findByStatus(DriverStatus status);
+
+    /**
+     * Versiunile curente ale șoferilor dați, citite din baza de date (o singură interogare).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.common.concurrency.VersionStamp(d.id, d.version) FROM Driver d WHERE d.id IN :ids")
+    List<VersionStamp> findVersions(Collection<Long> ids);
+
+    /**
+     * Numărul de șoferi pe status (o singură interogare, la pornire, pentru gauge-urile de status).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.common.metrics.StatusCount(d.status, COUNT(d)) FROM Driver d GROUP BY d.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /**
+     * Termenele permiselor, pentru ExpiryWheel (șoferii deja scoși din uz pentru permis sunt omiși).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry(" +
+            "com.FTMS.FTMS_app.fleet.domain.service.ExpiringDocument.DRIVER_LICENSE, d.id, d.licenseInfo.expiryDate) " +
+            "FROM Driver d WHERE d.status <> com.FTMS.FTMS_app.fleet.domain.model.DriverStatus.LICENSE_EXPIRED")
+    List<ExpiryEntry> findAllLicenseExpiries();
 }
\ No newline at end of file
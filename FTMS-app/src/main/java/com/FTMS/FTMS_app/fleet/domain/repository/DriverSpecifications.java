@@ -0,0 +1,23 @@
+package com.FTMS.FTMS_app.fleet.domain.repository;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtre pentru listarea șoferilor. Fiecare filtru întoarce null când parametrul lipsește.
+ */
+public final class DriverSpecifications {
+
+    private DriverSpecifications() {
+    }
+
+    public static Specification<Driver> hasStatus(DriverStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Driver> hasLicenseType(LicenseType licenseType) {
+        return licenseType == null ? null : (root, query, cb) -> cb.equal(root.get("licenseInfo").get("licenseType"), licenseType);
+    }
+}
@@ -0,0 +1,22 @@
+package com.FTMS.FTMS_app.fleet.domain.repository;
+
+import com.FTMS.FTMS_app.fleet.domain.model.ContactInfo;
+import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseInfo;
+
+import java.time.LocalDate;
+
+/**
+ * Proiecție: un șofer fără vehiculul principal încărcat, doar ID-ul lui (DriverRepository.findViewById).
+ */
+public record DriverView(
+        Long id,
+        String name,
+        LicenseInfo licenseInfo,
+        ContactInfo contactDetails,
+        ContactInfo emergencyContact,
+        LocalDate employmentDate,
+        DriverStatus status,
+        Long primaryVehicleId
+) {
+}
@@ -0,0 +1,29 @@
+package com.FTMS.FTMS_app.fleet.domain.repository;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehiclePosition;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Istoricul pozițiilor GPS: tabel doar cu adăugare (append-only), fără entități JPA.
+ */
+public interface VehiclePositionRepository {
+
+    /**
+     * Inserează pozițiile într-un singur lot JDBC. Pozițiile deja salvate (același vehicul și moment) sunt ignorate.
+     */
+    void insertBatch(List<VehiclePosition> positions);
+
+    /**
+     * Ultima poziție salvată a unui vehicul, înregistrată după since.
+     */
+    Optional<VehiclePosition> findLatest(Long vehicleId, Instant since);
+
+    /**
+     * Pregătește spațiul pentru zilele [today - 1, today + daysAhead] și șterge istoricul mai vechi de retainFrom.
+     */
+    void maintainPartitions(LocalDate today, int daysAhead, LocalDate retainFrom);
+}
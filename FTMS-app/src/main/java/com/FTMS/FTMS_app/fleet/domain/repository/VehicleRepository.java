@@ -1,22 +1,48 @@
 package com.FTMS.FTMS_app.fleet.domain.repository;
 
+import com.FTMS.FTMS_app.common.concurrency.VersionStamp;
+import com.FTMS.FTMS_app.common.metrics.StatusCount;
 import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
 import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry;
+import com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityEntry;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpecificationExecutor<Vehicle> {
 
     /**
      * Găsește un vehicul după numărul de înmatriculare (pentru validare unicitate).
      */
     Optional<Vehicle> findByRegistrationNumber(String registrationNumber);
 
+    /**
+     * Toate numerele de înmatriculare, citite în flux (pentru filtrul de unicitate). Necesită o tranzacție.
+     */
+    @Query("SELECT v.registrationNumber FROM Vehicle v")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllRegistrationNumbers();
+
+    /**
+     * Proiecție pentru GET /vehicles/{id} (fără istoricul de mentenanță).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.fleet.domain.repository.VehicleView(" +
+            "v.id, v.registrationNumber, v.make, v.model, v.vehicleType, v.yearOfManufacture, " +
+            "v.capacity.maxWeightKg, v.capacity.maxVolumeCubicMeters, v.fuelType, v.currentMileage, " +
+            "v.insurancePolicyNumber, v.insuranceExpiryDate, v.registrationExpiryDate, v.status) " +
+            "FROM Vehicle v WHERE v.id = :id")
+    Optional<VehicleView> findViewById(Long id);
+
     /**
      * Găsește toate vehiculele disponibile care îndeplinesc cerințele de capacitate.
      * Aceasta este metoda cheie pentru alocarea curselor.
@@ -31,4 +57,40 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      * Găsește toate vehiculele cu un anumit status.
      */
     List<Vehicle> findByStatus(VehicleStatus status);
+
+    /**
+     * Versiunile curente ale vehiculelor date, citite din baza de date (o singură interogare).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.common.concurrency.VersionStamp(v.id, v.version) FROM Vehicle v WHERE v.id IN :ids")
+    List<VersionStamp> findVersions(Collection<Long> ids);
+
+    /**
+     * Numărul de vehicule pe status (o singură interogare, la pornire, pentru gauge-urile de status).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.common.metrics.StatusCount(v.status, COUNT(v)) FROM Vehicle v GROUP BY v.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /**
+     * Proiecție pentru VehicleCapacityIndex (fără istoricul de mentenanță sau alte coloane).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityEntry(" +
+            "v.id, v.registrationNumber, v.vehicleType, v.capacity.maxWeightKg, v.capacity.maxVolumeCubicMeters, v.status) " +
+            "FROM Vehicle v")
+    List<VehicleCapacityEntry> findAllCapacityEntries();
+
+    /**
+     * Termenele asigurărilor, pentru ExpiryWheel (vehiculele deja scoase din uz pentru documente sunt omise).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry(" +
+            "com.FTMS.FTMS_app.fleet.domain.service.ExpiringDocument.VEHICLE_INSURANCE, v.id, v.insuranceExpiryDate) " +
+            "FROM Vehicle v WHERE v.status <> com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus.DOCUMENTS_EXPIRED")
+    List<ExpiryEntry> findAllInsuranceExpiries();
+
+    /**
+     * Termenele înmatriculărilor, pentru ExpiryWheel.
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry(" +
+            "com.FTMS.FTMS_app.fleet.domain.service.ExpiringDocument.VEHICLE_REGISTRATION, v.id, v.registrationExpiryDate) " +
+            "FROM Vehicle v WHERE v.status <> com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus.DOCUMENTS_EXPIRED")
+    List<ExpiryEntry> findAllRegistrationExpiries();
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.FTMS.FTMS_app.fleet.domain.repository;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtre pentru listarea vehiculelor. Fiecare filtru întoarce null când parametrul lipsește.
+ */
+public final class VehicleSpecifications {
+
+    private VehicleSpecifications() {
+    }
+
+    public static Specification<Vehicle> hasStatus(VehicleStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Vehicle> hasType(VehicleType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("vehicleType"), type);
+    }
+}
@@ -0,0 +1,27 @@
+package com.FTMS.FTMS_app.fleet.domain.repository;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+
+import java.time.LocalDate;
+
+/**
+ * Proiecție: un vehicul fără istoricul de mentenanță (VehicleRepository.findViewById).
+ */
+public record VehicleView(
+        Long id,
+        String registrationNumber,
+        String make,
+        String model,
+        VehicleType vehicleType,
+        int yearOfManufacture,
+        double maxWeightKg,
+        double maxVolumeCubicMeters,
+        String fuelType,
+        double currentMileage,
+        String insurancePolicyNumber,
+        LocalDate insuranceExpiryDate,
+        LocalDate registrationExpiryDate,
+        VehicleStatus status
+) {
+}
@@ -0,0 +1,24 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import java.time.LocalDate;
+
+/**
+ * Documentele cu dată de expirare urmărite de ExpiryWheel.
+ */
+public enum ExpiringDocument {
+    VEHICLE_INSURANCE,
+    VEHICLE_REGISTRATION,
+    DRIVER_LICENSE;
+
+    public boolean isVehicleDocument() {
+        return this != DRIVER_LICENSE;
+    }
+
+    /**
+     * Prima zi în care documentul nu mai este valabil: documentele vehiculului sunt valabile și în ziua
+     * expirării (Vehicle.hasValidDocuments), permisul nu (LicenseInfo.isValidOn).
+     */
+    public LocalDate firstInvalidDay(LocalDate expiryDate) {
+        return isVehicleDocument() ? expiryDate.plusDays(1) : expiryDate;
+    }
+}
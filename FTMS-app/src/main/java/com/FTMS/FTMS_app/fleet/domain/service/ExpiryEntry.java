@@ -0,0 +1,36 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Un document din ExpiryWheel: vehiculul / șoferul căruia îi aparține și data expirării.
+ */
+public record ExpiryEntry(ExpiringDocument document, Long resourceId, LocalDate expiryDate) {
+
+    public static List<ExpiryEntry> of(Vehicle vehicle) {
+        return List.of(
+                new ExpiryEntry(ExpiringDocument.VEHICLE_INSURANCE, vehicle.getId(), vehicle.getInsuranceExpiryDate()),
+                new ExpiryEntry(ExpiringDocument.VEHICLE_REGISTRATION, vehicle.getId(), vehicle.getRegistrationExpiryDate()));
+    }
+
+    public static List<ExpiryEntry> of(Driver driver) {
+        return List.of(new ExpiryEntry(ExpiringDocument.DRIVER_LICENSE, driver.getId(), driver.getLicenseInfo().getExpiryDate()));
+    }
+
+    // Ziua din care resursa trebuie scoasă din disponibilitate
+    public LocalDate dueDay() {
+        return document.firstInvalidDay(expiryDate);
+    }
+
+    Key key() {
+        return new Key(document, resourceId);
+    }
+
+    // Un singur termen per document: o reprogramare (ex: reînnoirea asigurării) îl înlocuiește pe cel vechi
+    record Key(ExpiringDocument document, Long resourceId) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Roată de temporizare (hashed timing wheel) cu granularitate de o zi, pentru expirarea documentelor
+ * (asigurare, înmatriculare, permis).
+ *
+ * Fiecare termen stă în slotul (ziua scadenței mod numărul de sloturi); termenele aflate la mai mult de o
+ * rotație distanță rămân în slot până la rotația lor. Avansul cu o zi citește un singur slot, deci costul
+ * unei zile este proporțional cu termenele din slotul ei, nu cu numărul total de documente. Programarea,
+ * reprogramarea și anularea sunt O(1). Termenele deja scadente la programare sunt întoarse la următorul
+ * advance.
+ */
+@Component
+public class ExpiryWheel {
+
+    private final List<Set<ExpiryEntry.Key>> slots;
+    private final Map<ExpiryEntry.Key, ExpiryEntry> entries = new HashMap<>();
+    private final Set<ExpiryEntry.Key> overdue = new LinkedHashSet<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private LocalDate currentDay = LocalDate.now();
+
+    public ExpiryWheel(@Value("${ftms.fleet.expiry.wheel-days:512}") int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("The expiry wheel needs at least one slot.");
+        }
+        this.slots = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            slots.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * Reîncarcă roata (la pornire); ziua curentă devine today, deci termenele scadente până azi inclusiv
+     * sunt întoarse de primul advance.
+     */
+    public void rebuild(LocalDate today, Collection<ExpiryEntry> documents) {
+        lock.writeLock().lock();
+        try {
+            slots.forEach(Set::clear);
+            entries.clear();
+            overdue.clear();
+            currentDay = today;
+            documents.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Programează (sau reprogramează) termenele date.
+     */
+    public void schedule(Collection<ExpiryEntry> documents) {
+        lock.writeLock().lock();
+        try {
+            for (ExpiryEntry entry : documents) {
+                remove(entry.key());
+                add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void cancel(ExpiringDocument document, Long resourceId) {
+        lock.writeLock().lock();
+        try {
+            remove(new ExpiryEntry.Key(document, resourceId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Avansează roata până la today (inclusiv) și scoate termenele scadente.
+     *
+     * @return termenele cu dueDay <= today, în ordinea scadenței
+     */
+    public List<ExpiryEntry> advance(LocalDate today) {
+        lock.writeLock().lock();
+        try {
+            List<ExpiryEntry> due = new ArrayList<>();
+            overdue.forEach(key -> due.add(entries.remove(key)));
+            overdue.clear();
+
+            // Peste o rotație completă, fiecare slot se citește o singură dată
+            long days = Math.min(today.toEpochDay() - currentDay.toEpochDay(), slots.size());
+            for (long d = 1; d <= days; d++) {
+                Iterator<ExpiryEntry.Key> slot = slotOf(currentDay.plusDays(d)).iterator();
+                while (slot.hasNext()) {
+                    ExpiryEntry entry = entries.get(slot.next());
+                    if (!entry.dueDay().isAfter(today)) {
+                        slot.remove();
+                        entries.remove(entry.key());
+                        due.add(entry);
+                    }
+                }
+            }
+            if (today.isAfter(currentDay)) {
+                currentDay = today;
+            }
+            due.sort(Comparator.comparing(ExpiryEntry::dueDay));
+            return due;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Documentele care expiră în următoarele days zile (scadență în (azi, azi + days]), în ordinea scadenței.
+     */
+    public List<ExpiryEntry> expiringWithin(int days) {
+        lock.readLock().lock();
+        try {
+            LocalDate until = currentDay.plusDays(days);
+            List<ExpiryEntry> expiring = new ArrayList<>();
+            if (days >= slots.size()) {
+                entries.values().stream().filter(e -> !e.dueDay().isAfter(until)).forEach(expiring::add);
+            } else {
+                for (long d = 1; d <= days; d++) {
+                    for (ExpiryEntry.Key key : slotOf(currentDay.plusDays(d))) {
+                        ExpiryEntry entry = entries.get(key);
+                        if (!entry.dueDay().isAfter(until)) {
+                            expiring.add(entry);
+                        }
+                    }
+                }
+            }
+            expiring.removeIf(entry -> !entry.dueDay().isAfter(currentDay)); // cele scadente nu mai "expiră"
+            expiring.sort(Comparator.comparing(ExpiryEntry::dueDay).thenComparing(ExpiryEntry::resourceId));
+            return expiring;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(ExpiryEntry entry) {
+        if (entry.expiryDate() == null) {
+            return;
+        }
+        entries.put(entry.key(), entry);
+        if (entry.dueDay().isAfter(currentDay)) {
+            slotOf(entry.dueDay()).add(entry.key());
+        } else {
+            overdue.add(entry.key());
+        }
+    }
+
+    private void remove(ExpiryEntry.Key key) {
+        ExpiryEntry previous = entries.remove(key);
+        if (previous != null && !overdue.remove(key)) {
+            slotOf(previous.dueDay()).remove(key);
+        }
+    }
+
+    private Set<ExpiryEntry.Key> slotOf(LocalDate day) {
+        return slots.get((int) Math.floorMod(day.toEpochDay(), (long) slots.size()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import com.FTMS.FTMS_app.common.concurrency.MpscRingBuffer;
+import com.FTMS.FTMS_app.fleet.domain.model.VehiclePosition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pozițiile primite și încă nescrise în baza de date: scrise de thread-urile HTTP (TelemetryService),
+ * golite de un singur thread (TelemetryWriter). Capacitatea trebuie să fie o putere a lui 2.
+ */
+@Component
+public class TelemetryBuffer {
+
+    private final MpscRingBuffer<VehiclePosition> buffer;
+
+    public TelemetryBuffer(@Value("${ftms.telemetry.buffer-capacity:262144}") int capacity) {
+        this.buffer = new MpscRingBuffer<>(capacity);
+    }
+
+    /**
+     * @return false dacă lotul nu încape (nimic nu a fost adăugat)
+     */
+    public boolean offerAll(Collection<VehiclePosition> positions) {
+        return buffer.offerAll(positions);
+    }
+
+    public int drainTo(List<VehiclePosition> target, int maxPositions) {
+        return buffer.drainTo(target, maxPositions);
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+}
@@ -0,0 +1,40 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+
+/**
+ * Instantaneu (snapshot) al unui vehicul, păstrat în VehicleCapacityIndex.
+ * Conține doar ce e necesar pentru căutarea după capacitate.
+ */
+public record VehicleCapacityEntry(
+        Long vehicleId,
+        String registrationNumber,
+        VehicleType vehicleType,
+        double maxWeightKg,
+        double maxVolumeCubicMeters,
+        VehicleStatus status
+) {
+
+    public static VehicleCapacityEntry of(Vehicle vehicle) {
+        return new VehicleCapacityEntry(
+                vehicle.getId(),
+                vehicle.getRegistrationNumber(),
+                vehicle.getVehicleType(),
+                vehicle.getCapacity().getMaxWeightKg(),
+                vehicle.getCapacity().getMaxVolumeCubicMeters(),
+                vehicle.getStatus());
+    }
+
+    public boolean isAvailable() {
+        return status == VehicleStatus.AVAILABLE;
+    }
+
+    // Schimbările de tip/capacitate mută vehiculul în index; cele de status nu
+    boolean sameShapeAs(VehicleCapacityEntry other) {
+        return vehicleType == other.vehicleType
+                && maxWeightKg == other.maxWeightKg
+                && maxVolumeCubicMeters == other.maxVolumeCubicMeters;
+    }
+}
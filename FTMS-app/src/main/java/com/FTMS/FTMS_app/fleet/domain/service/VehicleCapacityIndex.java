@@ -0,0 +1,215 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index în memorie peste capacitatea vehiculelor, partiționat pe VehicleType.
+ *
+ * Fiecare partiție ține vehiculele sortate după (maxWeightKg, maxVolumeCubicMeters) și un arbore de
+ * intervale (segment tree) cu volumul maxim al vehiculelor DISPONIBILE din fiecare interval.
+ * "Cel mai mic vehicul în care încape marfa" = prima poziție, începând de la prima greutate suficientă,
+ * al cărei volum este suficient -> O(log n). Schimbările de status sunt actualizări punctuale O(log n);
+ * doar vehiculele noi (sau cu altă capacitate) reconstruiesc partiția lor.
+ *
+ * Indexul vede doar commit-urile nodului curent (VehicleCapacityIndexListener). Cu mai multe instanțe ale
+ * aplicației, modificările făcute pe alt nod nu ajung aici până la următoarea încărcare la pornire, deci
+ * rezultatul poate fi depășit: este o sugestie, nu o garanție de disponibilitate.
+ */
+@Component
+public class VehicleCapacityIndex {
+
+    private final Map<Long, VehicleCapacityEntry> entries = new HashMap<>();
+    private final Map<VehicleType, Partition> partitions = new EnumMap<>(VehicleType.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public VehicleCapacityIndex() {
+        for (VehicleType type : VehicleType.values()) {
+            partitions.put(type, new Partition(List.of()));
+        }
+    }
+
+    /**
+     * Reîncarcă tot indexul (la pornirea aplicației).
+     */
+    public void rebuild(Collection<VehicleCapacityEntry> vehicles) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            vehicles.forEach(v -> entries.put(v.vehicleId(), v));
+            for (VehicleType type : VehicleType.values()) {
+                rebuildPartition(type);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adaugă sau actualizează un vehicul (apelat după commit-ul fiecărei modificări).
+     */
+    public void upsert(VehicleCapacityEntry vehicle) {
+        lock.writeLock().lock();
+        try {
+            VehicleCapacityEntry previous = entries.put(vehicle.vehicleId(), vehicle);
+            if (previous != null && previous.sameShapeAs(vehicle)) {
+                partitions.get(vehicle.vehicleType()).update(vehicle);
+                return;
+            }
+            if (previous != null && previous.vehicleType() != vehicle.vehicleType()) {
+                rebuildPartition(previous.vehicleType());
+            }
+            rebuildPartition(vehicle.vehicleType());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long vehicleId) {
+        lock.writeLock().lock();
+        try {
+            VehicleCapacityEntry previous = entries.remove(vehicleId);
+            if (previous != null) {
+                rebuildPartition(previous.vehicleType());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cel mai mic vehicul disponibil (după greutate, apoi volum) care poate duce marfa.
+     *
+     * @param type tipul de vehicul dorit; null = orice tip
+     */
+    public Optional<VehicleCapacityEntry> findBestFit(double weightKg, double volumeCubicMeters, VehicleType type) {
+        lock.readLock().lock();
+        try {
+            VehicleCapacityEntry best = null;
+            for (VehicleType candidateType : type != null ? EnumSet.of(type) : EnumSet.allOf(VehicleType.class)) {
+                VehicleCapacityEntry candidate = partitions.get(candidateType).findBestFit(weightKg, volumeCubicMeters);
+                if (candidate != null && (best == null || BY_SIZE.compare(candidate, best) < 0)) {
+                    best = candidate;
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuildPartition(VehicleType type) {
+        List<VehicleCapacityEntry> ofType = entries.values().stream()
+                .filter(v -> v.vehicleType() == type)
+                .sorted(BY_SIZE)
+                .toList();
+        partitions.put(type, new Partition(ofType));
+    }
+
+    private static final Comparator<VehicleCapacityEntry> BY_SIZE = Comparator
+            .comparingDouble(VehicleCapacityEntry::maxWeightKg)
+            .thenComparingDouble(VehicleCapacityEntry::maxVolumeCubicMeters)
+            .thenComparing(VehicleCapacityEntry::vehicleId);
+
+    /**
+     * Vehiculele unui singur tip, sortate după dimensiune, plus arborele de volume maxime.
+     */
+    private static final class Partition {
+
+        private static final double NONE = -1;
+
+        private final VehicleCapacityEntry[] sorted;
+        private final double[] weights;
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private final double[] maxVolume; // segment tree, rădăcina la indexul 1
+
+        Partition(List<VehicleCapacityEntry> sortedEntries) {
+            int n = sortedEntries.size();
+            this.sorted = sortedEntries.toArray(new VehicleCapacityEntry[0]);
+            this.weights = new double[n];
+            this.maxVolume = new double[Math.max(1, 4 * n)];
+            Arrays.fill(maxVolume, NONE);
+            for (int i = 0; i < n; i++) {
+                weights[i] = sorted[i].maxWeightKg();
+                positions.put(sorted[i].vehicleId(), i);
+                set(1, 0, n - 1, i, volumeOf(sorted[i]));
+            }
+        }
+
+        void update(VehicleCapacityEntry vehicle) {
+            Integer position = positions.get(vehicle.vehicleId());
+            sorted[position] = vehicle;
+            set(1, 0, sorted.length - 1, position, volumeOf(vehicle));
+        }
+
+        VehicleCapacityEntry findBestFit(double weightKg, double volumeCubicMeters) {
+            if (sorted.length == 0) {
+                return null;
+            }
+            int from = lowerBound(weightKg);
+            if (from == sorted.length) {
+                return null;
+            }
+            int position = firstWithVolume(1, 0, sorted.length - 1, from, volumeCubicMeters);
+            return position < 0 ? null : sorted[position];
+        }
+
+        private static double volumeOf(VehicleCapacityEntry vehicle) {
+            return vehicle.isAvailable() ? vehicle.maxVolumeCubicMeters() : NONE;
+        }
+
+        // Prima poziție cu greutate >= weightKg (căutare binară)
+        private int lowerBound(double weightKg) {
+            int lo = 0;
+            int hi = weights.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (weights[mid] < weightKg) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private void set(int node, int left, int right, int position, double volume) {
+            if (left == right) {
+                maxVolume[node] = volume;
+                return;
+            }
+            int mid = (left + right) >>> 1;
+            if (position <= mid) {
+                set(2 * node, left, mid, position, volume);
+            } else {
+                set(2 * node + 1, mid + 1, right, position, volume);
+            }
+            maxVolume[node] = Math.max(maxVolume[2 * node], maxVolume[2 * node + 1]);
+        }
+
+        // Cea mai din stânga poziție >= from cu volum disponibil >= volumeCubicMeters
+        private int firstWithVolume(int node, int left, int right, int from, double volumeCubicMeters) {
+            if (right < from || maxVolume[node] < volumeCubicMeters) {
+                return -1;
+            }
+            if (left == right) {
+                return left;
+            }
+            int mid = (left + right) >>> 1;
+            int found = firstWithVolume(2 * node, left, mid, from, volumeCubicMeters);
+            return found >= 0 ? found : firstWithVolume(2 * node + 1, mid + 1, right, from, volumeCubicMeters);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehiclePosition;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ultima poziție cunoscută a fiecărui vehicul, actualizată la recepția telemetriei (înainte de scrierea
+ * în baza de date), deci citirile "unde este vehiculul / transportul X" nu ating baza de date.
+ * Pozițiile sosite în altă ordine decât au fost înregistrate nu suprascriu una mai nouă.
+ */
+@Component
+public class VehiclePositionCache {
+
+    private final Map<Long, VehiclePosition> latest = new ConcurrentHashMap<>();
+
+    public void update(VehiclePosition position) {
+        latest.merge(position.vehicleId(), position, (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+    }
+
+    public Optional<VehiclePosition> get(Long vehicleId) {
+        return Optional.ofNullable(latest.get(vehicleId));
+    }
+
+    public int size() {
+        return latest.size();
+    }
+}
@@ -0,0 +1,84 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.events;
+
+import com.FTMS.FTMS_app.common.concurrency.ResourceKey;
+import com.FTMS.FTMS_app.common.concurrency.ResourceReservationManager;
+import com.FTMS.FTMS_app.common.events.DomainEventHandler;
+import com.FTMS.FTMS_app.fleet.application.service.FleetService;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleLoad;
+import com.FTMS.FTMS_app.shipment.domain.event.ShipmentAssigned;
+import com.FTMS.FTMS_app.shipment.domain.event.ShipmentCanceled;
+import com.FTMS.FTMS_app.shipment.domain.event.ShipmentDelivered;
+import com.FTMS.FTMS_app.shipment.domain.event.ShipmentEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Eliberează șoferii și vehiculele după livrare, anulare sau re-alocare (resursele anterioare), câte un
+ * UPDATE în lot pentru tot lotul de evenimente. Fiecare eveniment descarcă marfa transportului lui; o
+ * resursă redevine disponibilă abia după ultimul transport al cursei (consolidare). Eliberarea unei
+ * resurse care nu mai este în cursă nu schimbă nimic.
+ *
+ * Rulează după commit, deci poate coincide cu o alocare a acelorași resurse: șoferii și vehiculele se
+ * rezervă ca în ShipmentServiceImpl.assignShipment, iar la conflict lotul eșuează și DomainEventBus îl reia
+ * cu pauze până reușește (altfel resursa ar rămâne ocupată fără transport).
+ */
+@Component
+public class ShipmentResourceReleaseHandler implements DomainEventHandler<ShipmentEvent> {
+
+    private final FleetService fleetService;
+    private final ResourceReservationManager reservationManager;
+
+    public ShipmentResourceReleaseHandler(FleetService fleetService, ResourceReservationManager reservationManager) {
+        this.fleetService = fleetService;
+        this.reservationManager = reservationManager;
+    }
+
+    @Override
+    public Class<ShipmentEvent> eventType() {
+        return ShipmentEvent.class;
+    }
+
+    @Override
+    public void handle(List<ShipmentEvent> events) {
+        // Câte o intrare per transport: același șofer / vehicul poate apărea de mai multe ori în lot
+        List<Long> driverIds = new ArrayList<>();
+        List<VehicleLoad> loads = new ArrayList<>();
+        for (ShipmentEvent event : events) {
+            switch (event) {
+                case ShipmentDelivered delivered -> release(driverIds, loads, delivered.driverId(),
+                        delivered.vehicleId(), delivered.weightKg(), delivered.volumeCubicMeters());
+                case ShipmentCanceled canceled -> release(driverIds, loads, canceled.driverId(),
+                        canceled.vehicleId(), canceled.weightKg(), canceled.volumeCubicMeters());
+                case ShipmentAssigned assigned -> release(driverIds, loads, assigned.previousDriverId(),
+                        assigned.previousVehicleId(), assigned.weightKg(), assigned.volumeCubicMeters());
+                default -> { } // ridicare / tranzit: resursele rămân ocupate
+            }
+        }
+        List<ResourceKey> keys = new ArrayList<>();
+        driverIds.stream().distinct().map(ResourceKey::driver).forEach(keys::add);
+        loads.stream().map(VehicleLoad::vehicleId).distinct().map(ResourceKey::vehicle).forEach(keys::add);
+        if (keys.isEmpty()) {
+            return;
+        }
+        reservationManager.reserve(keys.toArray(ResourceKey[]::new));
+
+        if (!driverIds.isEmpty()) {
+            fleetService.releaseDrivers(driverIds);
+        }
+        if (!loads.isEmpty()) {
+            fleetService.releaseVehicles(loads);
+        }
+    }
+
+    private static void release(List<Long> driverIds, List<VehicleLoad> loads, Long driverId, Long vehicleId,
+                                double weightKg, double volumeCubicMeters) {
+        if (driverId != null) {
+            driverIds.add(driverId);
+        }
+        if (vehicleId != null) {
+            loads.add(new VehicleLoad(vehicleId, weightKg, volumeCubicMeters));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.cache.CacheInvalidator;
+import com.FTMS.FTMS_app.common.cache.CacheNames;
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA pe Driver și Vehicle: scoate resursa din cache după orice schimbare persistată
+ * (assignToShipment, completeShipment, releaseFromShipment, mentenanță).
+ */
+public class FleetCacheEvictionListener {
+
+    private final CacheInvalidator cacheInvalidator;
+
+    public FleetCacheEvictionListener(CacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        switch (entity) {
+            case Driver driver -> cacheInvalidator.evictAfterCommit(CacheNames.DRIVERS, driver.getId());
+            case Vehicle vehicle -> cacheInvalidator.evictAfterCommit(CacheNames.VEHICLES, vehicle.getId());
+            default -> {
+            }
+        }
+    }
+}
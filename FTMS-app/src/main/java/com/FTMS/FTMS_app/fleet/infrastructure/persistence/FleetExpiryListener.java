@@ -0,0 +1,84 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiringDocument;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryWheel;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Listener JPA pe Vehicle și Driver: ține ExpiryWheel sincronizată cu datele de expirare.
+ *
+ * Orice INSERT / UPDATE reprogramează termenele (ex: reînnoirea asigurării), după commit. Resursele deja
+ * scoase din uz pentru documente expirate nu mai au nimic de programat până la reînnoire.
+ */
+public class FleetExpiryListener {
+
+    private final ExpiryWheel wheel;
+
+    public FleetExpiryListener(ExpiryWheel wheel) {
+        this.wheel = wheel;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        switch (entity) {
+            case Vehicle vehicle when vehicle.getStatus() == VehicleStatus.DOCUMENTS_EXPIRED -> cancel(entity);
+            case Vehicle vehicle -> schedule(ExpiryEntry.of(vehicle));
+            case Driver driver when driver.getStatus() == DriverStatus.LICENSE_EXPIRED -> cancel(entity);
+            case Driver driver when driver.getLicenseInfo() != null -> schedule(ExpiryEntry.of(driver));
+            default -> {
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        cancel(entity);
+    }
+
+    private void schedule(List<ExpiryEntry> entries) {
+        afterCommit(() -> wheel.schedule(entries));
+    }
+
+    private void cancel(Object entity) {
+        switch (entity) {
+            case Vehicle vehicle -> {
+                Long vehicleId = vehicle.getId();
+                afterCommit(() -> {
+                    wheel.cancel(ExpiringDocument.VEHICLE_INSURANCE, vehicleId);
+                    wheel.cancel(ExpiringDocument.VEHICLE_REGISTRATION, vehicleId);
+                });
+            }
+            case Driver driver -> {
+                Long driverId = driver.getId();
+                afterCommit(() -> wheel.cancel(ExpiringDocument.DRIVER_LICENSE, driverId));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverRepository;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryEntry;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiryWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Încarcă ExpiryWheel la pornirea aplicației. Termenele deja depășite (ex: aplicația a fost oprită peste
+ * noapte) sunt procesate la prima rulare a FleetExpiryScheduler.
+ */
+@Component
+public class FleetExpiryLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetExpiryLoader.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final ExpiryWheel wheel;
+
+    public FleetExpiryLoader(VehicleRepository vehicleRepository, DriverRepository driverRepository, ExpiryWheel wheel) {
+        this.vehicleRepository = vehicleRepository;
+        this.driverRepository = driverRepository;
+        this.wheel = wheel;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<ExpiryEntry> entries = new ArrayList<>(vehicleRepository.findAllInsuranceExpiries());
+        entries.addAll(vehicleRepository.findAllRegistrationExpiries());
+        entries.addAll(driverRepository.findAllLicenseExpiries());
+        wheel.rebuild(LocalDate.now(), entries);
+        log.info("Expiry wheel loaded with {} documents", wheel.size());
+    }
+}
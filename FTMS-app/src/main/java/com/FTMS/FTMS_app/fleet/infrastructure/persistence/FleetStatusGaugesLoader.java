@@ -0,0 +1,39 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.metrics.EntityStatusGauges;
+import com.FTMS.FTMS_app.common.metrics.StatusCount;
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverRepository;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Înregistrează gauge-urile ftms.vehicles{status} și ftms.drivers{status} cu numărătoarea din baza de date.
+ * Rulează după crearea bean-urilor, înainte ca aplicația să primească cereri (fără modificări pierdute).
+ */
+@Component
+public class FleetStatusGaugesLoader implements SmartInitializingSingleton {
+
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final EntityStatusGauges statusGauges;
+
+    public FleetStatusGaugesLoader(VehicleRepository vehicleRepository, DriverRepository driverRepository,
+                                   EntityStatusGauges statusGauges) {
+        this.vehicleRepository = vehicleRepository;
+        this.driverRepository = driverRepository;
+        this.statusGauges = statusGauges;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        statusGauges.register(Vehicle.class, "status", VehicleStatus.class, "ftms.vehicles",
+                StatusCount.toMap(vehicleRepository.countGroupedByStatus()));
+        statusGauges.register(Driver.class, "status", DriverStatus.class, "ftms.drivers",
+                StatusCount.toMap(driverRepository.countGroupedByStatus()));
+    }
+}
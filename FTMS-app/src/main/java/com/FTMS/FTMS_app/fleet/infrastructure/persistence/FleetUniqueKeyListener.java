@@ -0,0 +1,31 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import jakarta.persistence.PostPersist;
+
+/**
+ * Listener JPA pe Driver și Vehicle: adaugă numărul de permis / de înmatriculare în filtrul de unicitate
+ * la fiecare INSERT.
+ */
+public class FleetUniqueKeyListener {
+
+    private final UniqueKeyRegistry uniqueKeys;
+
+    public FleetUniqueKeyListener(UniqueKeyRegistry uniqueKeys) {
+        this.uniqueKeys = uniqueKeys;
+    }
+
+    @PostPersist
+    public void onCreated(Object entity) {
+        switch (entity) {
+            case Driver driver when driver.getLicenseInfo() != null ->
+                    uniqueKeys.register(UniqueKey.DRIVER_LICENSE, driver.getLicenseInfo().getLicenseNumber());
+            case Vehicle vehicle -> uniqueKeys.register(UniqueKey.VEHICLE_REGISTRATION, vehicle.getRegistrationNumber());
+            default -> {
+            }
+        }
+    }
+}
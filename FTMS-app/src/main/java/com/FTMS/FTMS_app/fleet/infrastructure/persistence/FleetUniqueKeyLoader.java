@@ -0,0 +1,45 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverRepository;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Încarcă numerele de înmatriculare și de permis existente în filtrul de unicitate la pornirea aplicației.
+ */
+@Component
+public class FleetUniqueKeyLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetUniqueKeyLoader.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final UniqueKeyRegistry uniqueKeys;
+
+    public FleetUniqueKeyLoader(VehicleRepository vehicleRepository, DriverRepository driverRepository,
+                                UniqueKeyRegistry uniqueKeys) {
+        this.vehicleRepository = vehicleRepository;
+        this.driverRepository = driverRepository;
+        this.uniqueKeys = uniqueKeys;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<String> registrations = vehicleRepository.streamAllRegistrationNumbers();
+             Stream<String> licenses = driverRepository.streamAllLicenseNumbers()) {
+            long vehicles = uniqueKeys.load(UniqueKey.VEHICLE_REGISTRATION, registrations);
+            long drivers = uniqueKeys.load(UniqueKey.DRIVER_LICENSE, licenses);
+            log.info("Unique key filter loaded with {} registration numbers and {} license numbers", vehicles, drivers);
+        }
+    }
+}
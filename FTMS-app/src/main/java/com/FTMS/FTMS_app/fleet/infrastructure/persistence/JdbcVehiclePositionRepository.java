@@ -0,0 +1,134 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehiclePosition;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehiclePositionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tabelul vehicle_positions, scris direct prin JDBC: rânduri înguste (fără cheie surogat, cheia primară
+ * este (vehicle_id, recorded_at)), inserate în loturi, niciodată actualizate.
+ *
+ * Pe PostgreSQL tabelul este partiționat pe zile (PARTITION BY RANGE pe recorded_at): partițiile zilelor
+ * următoare se creează din timp, iar retenția se aplică prin DROP pe partițiile vechi, fără DELETE-uri
+ * și fără VACUUM pe tabelul activ. Pe alte baze de date (H2 în teste) tabelul este simplu, iar retenția
+ * se face cu DELETE. Tabelul nu este gestionat de Hibernate (ddl-auto), deci istoricul supraviețuiește
+ * repornirilor.
+ */
+@Repository
+public class JdbcVehiclePositionRepository implements VehiclePositionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcVehiclePositionRepository.class);
+
+    private static final String TABLE = "vehicle_positions";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String INSERT = "INSERT INTO " + TABLE +
+            " (vehicle_id, recorded_at, latitude, longitude, speed_kmh, odometer_km) VALUES (?, ?, ?, ?, ?, ?)" +
+            " ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean partitioned;
+
+    public JdbcVehiclePositionRepository(DataSource dataSource,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${ftms.telemetry.partition-days-ahead:2}") int daysAhead) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitioned = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        createTable();
+        // Fără partiția zilei curente, primele inserări ar eșua până la prima rulare a TelemetryPartitionScheduler
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        maintainPartitions(today, daysAhead, null);
+    }
+
+    @Override
+    public void insertBatch(List<VehiclePosition> positions) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, positions, positions.size(),
+                (ps, position) -> {
+                    ps.setLong(1, position.vehicleId());
+                    ps.setObject(2, OffsetDateTime.ofInstant(position.recordedAt(), ZoneOffset.UTC));
+                    ps.setDouble(3, position.latitude());
+                    ps.setDouble(4, position.longitude());
+                    ps.setFloat(5, position.speedKmh());
+                    ps.setDouble(6, position.odometerKm());
+                }));
+    }
+
+    @Override
+    public Optional<VehiclePosition> findLatest(Long vehicleId, Instant since) {
+        // Pe cheia primară (vehicle_id, recorded_at): o citire de index pe fiecare partiție din interval
+        List<VehiclePosition> rows = jdbcTemplate.query(
+                "SELECT vehicle_id, recorded_at, latitude, longitude, speed_kmh, odometer_km FROM " + TABLE +
+                        " WHERE vehicle_id = ? AND recorded_at >= ? ORDER BY recorded_at DESC LIMIT 1",
+                (rs, rowNum) -> new VehiclePosition(
+                        rs.getLong("vehicle_id"),
+                        rs.getDouble("latitude"),
+                        rs.getDouble("longitude"),
+                        rs.getFloat("speed_kmh"),
+                        rs.getDouble("odometer_km"),
+                        rs.getObject("recorded_at", OffsetDateTime.class).toInstant()),
+                vehicleId, OffsetDateTime.ofInstant(since, ZoneOffset.UTC));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void maintainPartitions(LocalDate today, int daysAhead, LocalDate retainFrom) {
+        if (!partitioned) {
+            if (retainFrom != null) {
+                jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE recorded_at < ?", startOf(retainFrom));
+            }
+            return;
+        }
+        for (LocalDate day = today.minusDays(1); !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + startOf(day) + "') TO ('" + startOf(day.plusDays(1)) + "')");
+        }
+        if (retainFrom != null) {
+            List<String> partitions = jdbcTemplate.queryForList(
+                    "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                            "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?", String.class, TABLE);
+            for (String partition : partitions) {
+                LocalDate day = LocalDate.parse(partition.substring(TABLE.length() + 1), PARTITION_SUFFIX);
+                if (day.isBefore(retainFrom)) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                    log.info("Dropped telemetry partition {}", partition);
+                }
+            }
+        }
+    }
+
+    private void createTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+                "vehicle_id BIGINT NOT NULL, " +
+                "recorded_at TIMESTAMP WITH TIME ZONE NOT NULL, " +
+                "latitude DOUBLE PRECISION NOT NULL, " +
+                "longitude DOUBLE PRECISION NOT NULL, " +
+                "speed_kmh REAL NOT NULL, " +
+                "odometer_km DOUBLE PRECISION NOT NULL, " +
+                "PRIMARY KEY (vehicle_id, recorded_at))" +
+                (partitioned ? " PARTITION BY RANGE (recorded_at)" : ""));
+    }
+
+    private static String partitionName(LocalDate day) {
+        return TABLE + "_" + day.format(PARTITION_SUFFIX);
+    }
+
+    private static OffsetDateTime startOf(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
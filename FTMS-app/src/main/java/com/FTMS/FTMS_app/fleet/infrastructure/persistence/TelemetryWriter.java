@@ -0,0 +1,107 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehiclePosition;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehiclePositionRepository;
+import com.FTMS.FTMS_app.fleet.domain.service.TelemetryBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Singurul consumator al TelemetryBuffer: golește buffer-ul în loturi de cel mult batch-size poziții și
+ * le scrie cu o singură inserare în lot. Când buffer-ul nu umple un lot, așteaptă flush-interval-ms,
+ * deci o poziție ajunge în baza de date după cel mult un interval (plus durata scrierii).
+ *
+ * Un lot eșuat este pierdut (telemetria tolerează goluri; ultima poziție rămâne în cache) și numărat în
+ * ftms.telemetry.points{outcome="failed"}. La oprire, buffer-ul este golit înainte de închiderea conexiunilor.
+ */
+@Component
+public class TelemetryWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryWriter.class);
+
+    private final TelemetryBuffer buffer;
+    private final VehiclePositionRepository positionRepository;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter persistedPoints;
+    private final Counter failedPoints;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public TelemetryWriter(TelemetryBuffer buffer,
+                           VehiclePositionRepository positionRepository,
+                           MeterRegistry registry,
+                           @Value("${ftms.telemetry.batch-size:1000}") int batchSize,
+                           @Value("${ftms.telemetry.flush-interval-ms:100}") long flushIntervalMs) {
+        this.buffer = buffer;
+        this.positionRepository = positionRepository;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.persistedPoints = Counter.builder("ftms.telemetry.points").tag("outcome", "persisted").register(registry);
+        this.failedPoints = Counter.builder("ftms.telemetry.points").tag("outcome", "failed").register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        // Thread de platformă dedicat: rulează tot timpul și ține o conexiune doar pe durata unui lot
+        writerThread = new Thread(this::run, "telemetry-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        List<VehiclePosition> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (writeBatch(batch) < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+        while (writeBatch(batch) > 0) {
+            // Golește ce a rămas la oprire
+        }
+    }
+
+    private int writeBatch(List<VehiclePosition> batch) {
+        batch.clear();
+        int drained = buffer.drainTo(batch, batchSize);
+        if (drained == 0) {
+            return 0;
+        }
+        try {
+            positionRepository.insertBatch(batch);
+            persistedPoints.increment(drained);
+        } catch (RuntimeException e) {
+            failedPoints.increment(drained);
+            log.warn("Could not write {} telemetry positions: {}", drained, e.getMessage());
+        }
+        return drained;
+    }
+}
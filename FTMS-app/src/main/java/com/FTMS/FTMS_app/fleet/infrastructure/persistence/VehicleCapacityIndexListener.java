@@ -0,0 +1,53 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityEntry;
+import com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Listener JPA pe Vehicle: ține VehicleCapacityIndex sincronizat cu baza de date.
+ *
+ * Prinde orice schimbare persistată (assignToShipment, releaseFromShipment, scheduleMaintenance,
+ * completeMaintenance, vehicule noi), indiferent de serviciul care a făcut-o. Indexul se actualizează
+ * doar după commit, ca un rollback să nu lase în index o stare care nu există în baza de date.
+ * Instanța este creată de Hibernate prin containerul de bean-uri Spring (injectare prin constructor).
+ */
+public class VehicleCapacityIndexListener {
+
+    private final VehicleCapacityIndex index;
+
+    public VehicleCapacityIndexListener(VehicleCapacityIndex index) {
+        this.index = index;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Vehicle vehicle) {
+        VehicleCapacityEntry snapshot = VehicleCapacityEntry.of(vehicle);
+        afterCommit(() -> index.upsert(snapshot));
+    }
+
+    @PostRemove
+    public void onRemoved(Vehicle vehicle) {
+        Long vehicleId = vehicle.getId();
+        afterCommit(() -> index.remove(vehicleId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Încarcă VehicleCapacityIndex la pornirea aplicației, dintr-o singură interogare de proiecție.
+ */
+@Component
+public class VehicleCapacityIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(VehicleCapacityIndexLoader.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final VehicleCapacityIndex index;
+
+    public VehicleCapacityIndexLoader(VehicleRepository vehicleRepository, VehicleCapacityIndex index) {
+        this.vehicleRepository = vehicleRepository;
+        this.index = index;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        index.rebuild(vehicleRepository.findAllCapacityEntries());
+        log.info("Vehicle capacity index loaded with {} vehicles", index.size());
+    }
+}
@@ -0,0 +1,39 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.scheduling;
+
+import com.FTMS.FTMS_app.fleet.application.dto.ExpirySweepResult;
+import com.FTMS.FTMS_app.fleet.application.service.FleetExpiryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Avansează roata de expirări. Rularea e ieftină când nu e nimic scadent (un slot citit o dată pe zi),
+ * deci rulează des, ca o expirare să fie aplicată la câteva minute după miezul nopții.
+ * Dezactivat cu ftms.fleet.expiry.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "ftms.fleet.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class FleetExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetExpiryScheduler.class);
+
+    private final FleetExpiryService expiryService;
+
+    public FleetExpiryScheduler(FleetExpiryService expiryService) {
+        this.expiryService = expiryService;
+    }
+
+    @Scheduled(fixedDelayString = "${ftms.fleet.expiry.check-interval-ms:60000}",
+            initialDelayString = "${ftms.fleet.expiry.check-interval-ms:60000}")
+    public void expire() {
+        ExpirySweepResult result = expiryService.expireDueDocuments(LocalDate.now());
+        if (result.documentsDue() > 0) {
+            log.info("Expiry sweep: {} documents due, {} vehicles and {} drivers taken out of service in {} ms",
+                    result.documentsDue(), result.vehiclesExpired(), result.driversExpired(), result.durationMs());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.FTMS.FTMS_app.fleet.infrastructure.scheduling;
+
+import com.FTMS.FTMS_app.fleet.domain.repository.VehiclePositionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Creează zilnic partițiile de telemetrie pentru zilele următoare și aplică retenția istoricului.
+ */
+@Component
+public class TelemetryPartitionScheduler {
+
+    private final VehiclePositionRepository positionRepository;
+    private final int daysAhead;
+    private final int retentionDays;
+
+    public TelemetryPartitionScheduler(VehiclePositionRepository positionRepository,
+                                       @Value("${ftms.telemetry.partition-days-ahead:2}") int daysAhead,
+                                       @Value("${ftms.telemetry.retention-days:30}") int retentionDays) {
+        this.positionRepository = positionRepository;
+        this.daysAhead = daysAhead;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(cron = "${ftms.telemetry.partition-cron:0 30 0 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        positionRepository.maintainPartitions(today, daysAhead, today.minusDays(retentionDays));
+    }
+}
@@ -1,11 +1,25 @@
 package com.FTMS.FTMS_app.fleet.presentation;
 
+import com.FTMS.FTMS_app.common.pagination.Keyset;
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
 import com.FTMS.FTMS_app.fleet.application.dto.CreateDriverRequest;
 import com.FTMS.FTMS_app.fleet.application.dto.CreateVehicleRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.DriverDto;
+import com.FTMS.FTMS_app.fleet.application.dto.DriverSearchCriteria;
+import com.FTMS.FTMS_app.fleet.application.dto.ExpiringDocumentDto;
 import com.FTMS.FTMS_app.fleet.application.dto.MaintenanceRecordDto;
+import com.FTMS.FTMS_app.fleet.application.dto.RenewLicenseRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.RenewVehicleDocumentsRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.VehicleDto;
+import com.FTMS.FTMS_app.fleet.application.dto.VehicleSearchCriteria;
+import com.FTMS.FTMS_app.common.exception.ResourceNotFoundException;
+import com.FTMS.FTMS_app.fleet.application.service.FleetExpiryService;
 import com.FTMS.FTMS_app.fleet.application.service.FleetService;
-import com.FTMS.FTMS_app.fleet.domain.model.Driver;
-import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.fleet.domain.service.VehicleCapacityEntry;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,31 +32,60 @@ import java.util.List;
 public class FleetController {
 
     private final FleetService fleetService;
+    private final FleetExpiryService expiryService;
 
     // Injectăm serviciul
-    public FleetController(FleetService fleetService) {
+    public FleetController(FleetService fleetService, FleetExpiryService expiryService) {
         this.fleetService = fleetService;
+        this.expiryService = expiryService;
     }
 
     // --- Vehicule ---
 
     @PostMapping("/vehicles") // POST /api/v1/fleet/vehicles
-    public ResponseEntity<Vehicle> addVehicle(@Valid @RequestBody CreateVehicleRequest request) {
+    public ResponseEntity<VehicleDto> addVehicle(@Valid @RequestBody CreateVehicleRequest request) {
         // @Valid -> Activează validările din DTO (ex: @NotEmpty)
         // @RequestBody -> Convertește JSON-ul din cerere în obiectul DTO
-        Vehicle newVehicle = fleetService.addVehicle(request);
+        VehicleDto newVehicle = VehicleDto.from(fleetService.addVehicle(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(newVehicle);
     }
 
     @GetMapping("/vehicles/{id}") // GET /api/v1/fleet/vehicles/1
-    public ResponseEntity<Vehicle> getVehicleById(@PathVariable Long id) {
+    public ResponseEntity<VehicleDto> getVehicleById(@PathVariable Long id) {
         // @PathVariable -> Ia "id" din URL
-        return ResponseEntity.ok(fleetService.getVehicleById(id));
+        return ResponseEntity.ok(fleetService.getVehicleView(id));
+    }
+
+    @GetMapping("/vehicles") // GET /api/v1/fleet/vehicles?status=AVAILABLE&type=TRUCK&cursor=...&limit=50
+    public ResponseEntity<KeysetPage<VehicleDto>> searchVehicles(
+            VehicleSearchCriteria criteria, // Parametrii de query sunt legați direct pe câmpurile DTO-ului
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Keyset.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(fleetService.searchVehicles(criteria, cursor, limit));
     }
 
     @GetMapping("/vehicles/available") // GET /api/v1/fleet/vehicles/available
-    public ResponseEntity<List<Vehicle>> getAvailableVehicles() {
-        return ResponseEntity.ok(fleetService.findAvailableVehicles());
+    public ResponseEntity<KeysetPage<VehicleDto>> getAvailableVehicles(
+            @RequestParam(required = false) VehicleType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Keyset.DEFAULT_LIMIT) int limit) {
+        VehicleSearchCriteria criteria = new VehicleSearchCriteria();
+        criteria.setStatus(VehicleStatus.AVAILABLE);
+        criteria.setType(type);
+        return ResponseEntity.ok(fleetService.searchVehicles(criteria, cursor, limit));
+    }
+
+    // Răspuns din VehicleCapacityIndex (memoria nodului curent): orientativ, alocarea reverifică vehiculul
+    @GetMapping("/vehicles/best-fit") // GET /api/v1/fleet/vehicles/best-fit?weight=1200&volume=8
+    public ResponseEntity<VehicleCapacityEntry> getBestFitVehicle(
+            @RequestParam double weight,
+            @RequestParam double volume,
+            @RequestParam(required = false) VehicleType type) {
+        if (weight < 0 || volume < 0) {
+            throw new IllegalArgumentException("Weight and volume must not be negative.");
+        }
+        return ResponseEntity.ok(fleetService.findBestFitVehicle(weight, volume, type)
+                .orElseThrow(() -> new ResourceNotFoundException("No available vehicle fits " + weight + " kg / " + volume + " m3")));
     }
 
     @PutMapping("/vehicles/{id}/maintenance/schedule") // PUT /api/v1/fleet/vehicles/1/maintenance/schedule
@@ -57,22 +100,42 @@ public class FleetController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/vehicles/{id}/documents") // PUT /api/v1/fleet/vehicles/1/documents
+    public ResponseEntity<Void> renewVehicleDocuments(@PathVariable Long id, @Valid @RequestBody RenewVehicleDocumentsRequest request) {
+        fleetService.renewVehicleDocuments(id, request);
+        return ResponseEntity.ok().build();
+    }
+
     // --- Șoferi ---
 
     @PostMapping("/drivers") // POST /api/v1/fleet/drivers
-    public ResponseEntity<Driver> addDriver(@Valid @RequestBody CreateDriverRequest request) {
-        Driver newDriver = fleetService.addDriver(request);
+    public ResponseEntity<DriverDto> addDriver(@Valid @RequestBody CreateDriverRequest request) {
+        DriverDto newDriver = DriverDto.from(fleetService.addDriver(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(newDriver);
     }
 
     @GetMapping("/drivers/{id}") // GET /api/v1/fleet/drivers/1
-    public ResponseEntity<Driver> getDriverById(@PathVariable Long id) {
-        return ResponseEntity.ok(fleetService.getDriverById(id));
+    public ResponseEntity<DriverDto> getDriverById(@PathVariable Long id) {
+        return ResponseEntity.ok(fleetService.getDriverView(id));
+    }
+
+    @GetMapping("/drivers") // GET /api/v1/fleet/drivers?status=AVAILABLE&licenseType=CE&cursor=...&limit=50
+    public ResponseEntity<KeysetPage<DriverDto>> searchDrivers(
+            DriverSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Keyset.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(fleetService.searchDrivers(criteria, cursor, limit));
     }
 
     @GetMapping("/drivers/available") // GET /api/v1/fleet/drivers/available
-    public ResponseEntity<List<Driver>> getAvailableDrivers() {
-        return ResponseEntity.ok(fleetService.findAvailableDrivers());
+    public ResponseEntity<KeysetPage<DriverDto>> getAvailableDrivers(
+            @RequestParam(required = false) LicenseType licenseType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Keyset.DEFAULT_LIMIT) int limit) {
+        DriverSearchCriteria criteria = new DriverSearchCriteria();
+        criteria.setStatus(DriverStatus.AVAILABLE);
+        criteria.setLicenseType(licenseType);
+        return ResponseEntity.ok(fleetService.searchDrivers(criteria, cursor, limit));
     }
 
     @PutMapping("/drivers/{driverId}/assign-vehicle/{vehicleId}") // PUT /api/v1/fleet/drivers/1/assign-vehicle/1
@@ -80,4 +143,17 @@ public class FleetController {
         fleetService.assignPrimaryVehicle(driverId, vehicleId);
         return ResponseEntity.ok().build();
     }
+
+    @PutMapping("/drivers/{id}/license") // PUT /api/v1/fleet/drivers/1/license
+    public ResponseEntity<Void> renewDriverLicense(@PathVariable Long id, @Valid @RequestBody RenewLicenseRequest request) {
+        fleetService.renewDriverLicense(id, request);
+        return ResponseEntity.ok().build();
+    }
+
+    // --- Expirări ---
+
+    @GetMapping("/expiring") // GET /api/v1/fleet/expiring?days=30
+    public ResponseEntity<List<ExpiringDocumentDto>> getExpiringDocuments(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(expiryService.findExpiring(days));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.FTMS.FTMS_app.fleet.presentation;
+
+import com.FTMS.FTMS_app.common.exception.ResourceNotFoundException;
+import com.FTMS.FTMS_app.fleet.application.dto.TelemetryBatchRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.TelemetryIngestResult;
+import com.FTMS.FTMS_app.fleet.application.dto.VehiclePositionDto;
+import com.FTMS.FTMS_app.fleet.application.service.TelemetryService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/telemetry")
+public class TelemetryController {
+
+    private final TelemetryService telemetryService;
+
+    public TelemetryController(TelemetryService telemetryService) {
+        this.telemetryService = telemetryService;
+    }
+
+    @PostMapping("/positions") // POST /api/v1/telemetry/positions
+    public ResponseEntity<TelemetryIngestResult> ingestPositions(@Valid @RequestBody TelemetryBatchRequest request) {
+        // 202: pozițiile sunt preluate, scrierea în baza de date se face asincron, în loturi
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(telemetryService.ingest(request));
+    }
+
+    @GetMapping("/vehicles/{vehicleId}/latest") // GET /api/v1/telemetry/vehicles/1/latest
+    public ResponseEntity<VehiclePositionDto> getLatestPosition(@PathVariable Long vehicleId) {
+        return ResponseEntity.ok(telemetryService.getLatestPosition(vehicleId)
+                .map(VehiclePositionDto::from)
+                .orElseThrow(() -> new ResourceNotFoundException("No recent position for vehicle with id: " + vehicleId)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkCreateShipmentRequest {
+
+    // Fără @Valid pe elemente: fiecare transport este validat separat în serviciu,
+    // astfel încât un rând invalid nu respinge tot lotul.
+    @NotEmpty
+    @Size(max = 1000, message = "A batch can contain at most 1000 shipments.")
+    private List<CreateShipmentRequest> shipments;
+}
@@ -0,0 +1,21 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+/**
+ * Rezultatul pentru un singur element dintr-un import în masă.
+ */
+public record BulkShipmentItemResult(
+        int index,
+        String referenceNumber,
+        boolean success,
+        Long shipmentId,
+        String error
+) {
+
+    public static BulkShipmentItemResult created(int index, String referenceNumber, Long shipmentId) {
+        return new BulkShipmentItemResult(index, referenceNumber, true, shipmentId, null);
+    }
+
+    public static BulkShipmentItemResult failed(int index, String referenceNumber, String error) {
+        return new BulkShipmentItemResult(index, referenceNumber, false, null, error);
+    }
+}
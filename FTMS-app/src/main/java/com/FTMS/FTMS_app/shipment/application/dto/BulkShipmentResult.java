@@ -0,0 +1,19 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import java.util.List;
+
+/**
+ * Răspunsul pentru importul în masă: un rezultat pentru fiecare element, în ordinea din cerere.
+ */
+public record BulkShipmentResult(
+        int total,
+        int created,
+        int failed,
+        List<BulkShipmentItemResult> items
+) {
+
+    public static BulkShipmentResult of(List<BulkShipmentItemResult> items) {
+        int created = (int) items.stream().filter(BulkShipmentItemResult::success).count();
+        return new BulkShipmentResult(items.size(), created, items.size() - created, items);
+    }
+}
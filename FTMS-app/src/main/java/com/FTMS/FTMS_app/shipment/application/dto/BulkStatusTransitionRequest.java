@@ -0,0 +1,16 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusTransitionRequest {
+
+    // Fără @Valid pe elemente (ca la importul în masă): o tranziție invalidă nu respinge tot lotul
+    @NotEmpty
+    @Size(max = 1000, message = "A batch can contain at most 1000 status transitions.")
+    private List<StatusTransitionRequest> transitions;
+}
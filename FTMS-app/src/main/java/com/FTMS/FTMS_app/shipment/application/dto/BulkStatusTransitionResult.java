@@ -0,0 +1,19 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import java.util.List;
+
+/**
+ * Răspunsul pentru tranzițiile în masă: un rezultat pentru fiecare element, în ordinea din cerere.
+ */
+public record BulkStatusTransitionResult(
+        int total,
+        int applied,
+        int failed,
+        List<StatusTransitionItemResult> items
+) {
+
+    public static BulkStatusTransitionResult of(List<StatusTransitionItemResult> items) {
+        int applied = (int) items.stream().filter(StatusTransitionItemResult::success).count();
+        return new BulkStatusTransitionResult(items.size(), applied, items.size() - applied, items);
+    }
+}
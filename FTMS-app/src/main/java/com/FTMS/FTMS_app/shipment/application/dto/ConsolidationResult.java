@@ -0,0 +1,23 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import java.util.List;
+
+/**
+ * Rezultatul unei rulări a consolidării (mai multe transporturi pe același vehicul).
+ */
+public record ConsolidationResult(
+        boolean dryRun,
+        int pendingShipments,
+        int assignedShipments,
+        int vehiclesUsed,
+        List<Trip> trips,
+        List<DispatchResult.Unassigned> unassigned
+) {
+
+    /**
+     * O cursă: vehiculul, șoferul și transporturile încărcate, cu gradul de umplere (0..1) pe fiecare dimensiune.
+     */
+    public record Trip(Long vehicleId, Long driverId, List<Long> shipmentIds,
+                       double weightUtilization, double volumeUtilization) {
+    }
+}
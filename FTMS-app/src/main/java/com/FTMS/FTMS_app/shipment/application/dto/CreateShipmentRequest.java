@@ -1,8 +1,9 @@
 package com.FTMS.FTMS_app.shipment.application.dto;
 
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
-import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -38,7 +39,11 @@ public class CreateShipmentRequest {
     @Future(message = "Delivery time must be in the future.")
     private LocalDateTime requestedDeliveryDateTime;
 
-    // Adăugăm un câmp pentru prețul cursei, necesar pentru facturare
-    @Min(1)
-    private double price;
+    // Tipul de vehicul cerut (opțional): alege tariful specific tipului, dacă există
+    private VehicleType vehicleType;
+
+    // Preț negociat (opțional), din care se scade discountul contractului activ. Dacă lipsește, prețul
+    // se calculează din tarife (PricingService), cu discountul categoriei și al contractului clientului
+    @Positive
+    private Double price;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import java.util.List;
+
+/**
+ * Rezultatul unei rulări a dispecerizării automate.
+ */
+public record DispatchResult(
+        boolean dryRun,
+        int pendingShipments,
+        int assignedShipments,
+        List<Assignment> assignments,
+        List<Unassigned> unassigned
+) {
+
+    public record Assignment(Long shipmentId, Long driverId, Long vehicleId, double wastedCapacity) {
+    }
+
+    public record Unassigned(Long shipmentId, String reason) {
+    }
+}
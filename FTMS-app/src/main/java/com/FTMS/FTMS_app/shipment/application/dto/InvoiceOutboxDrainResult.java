@@ -0,0 +1,7 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+/**
+ * Rezultatul unei rulări a relay-ului de facturare.
+ */
+public record InvoiceOutboxDrainResult(int processed, int failed, int batches, long durationMs) {
+}
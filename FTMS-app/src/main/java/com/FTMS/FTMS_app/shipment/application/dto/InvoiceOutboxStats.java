@@ -0,0 +1,21 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+/**
+ * Starea outbox-ului de facturare (vezi InvoiceOutboxRelay).
+ *
+ * @param pending           intrări care așteaptă facturarea
+ * @param parked            intrări abandonate după prea multe eșecuri (necesită intervenție)
+ * @param oldestPendingLagMs vechimea celei mai vechi intrări de procesat, fără cele parcate (0 dacă nu există)
+ * @param oldestParkedAgeMs vechimea celei mai vechi intrări parcate (0 dacă nu există)
+ * @param processedTotal    facturi generate de la pornirea aplicației
+ * @param failedTotal       eșecuri de la pornirea aplicației
+ * @param lastRunThroughput intrări procesate pe secundă la ultima rulare
+ */
+public record InvoiceOutboxStats(long pending,
+                                 long parked,
+                                 long oldestPendingLagMs,
+                                 long oldestParkedAgeMs,
+                                 long processedTotal,
+                                 long failedTotal,
+                                 double lastRunThroughput) {
+}
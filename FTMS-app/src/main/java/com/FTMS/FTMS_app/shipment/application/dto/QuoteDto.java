@@ -0,0 +1,37 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.shipment.domain.service.LaneEstimate;
+import com.FTMS.FTMS_app.shipment.domain.service.ShipmentComputationService.PriceQuote;
+
+/**
+ * Răspunsul la GET /api/v1/quotes: prețul și detalierea lui. Distanța rutieră și durata cursei (ore) apar
+ * doar dacă cererea are ambele coduri poștale și acestea sunt în gazetteer.
+ */
+public record QuoteDto(
+        Long rateCardId,
+        double chargeableWeightKg,
+        double listPrice,
+        double categoryDiscount,
+        double contractDiscount,
+        double price,
+        Double distanceKm,
+        Double transitHours
+) {
+
+    public static QuoteDto from(PriceQuote quote) {
+        return from(quote, null);
+    }
+
+    public static QuoteDto from(PriceQuote quote, LaneEstimate lane) {
+        return new QuoteDto(
+                quote.rateCardId(),
+                quote.chargeableWeightKg(),
+                quote.listPrice(),
+                quote.categoryDiscount(),
+                quote.contractDiscount(),
+                quote.price(),
+                lane == null ? null : lane.roadKm(),
+                lane == null ? null : lane.transitHours()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.customer.domain.model.CustomerCategory;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+// Parametrii de query pentru GET /api/v1/quotes
+@Data
+public class QuoteRequest {
+    @NotEmpty
+    private String originCity;
+    @NotEmpty
+    private String destinationCity;
+    @PositiveOrZero
+    private double weightKg;
+    @PositiveOrZero
+    private double volumeCubicMeters;
+    private VehicleType vehicleType;        // opțional: altfel tariful "orice vehicul"
+    private CustomerCategory customerCategory; // opțional: altfel fără discount de categorie
+    // Opționale: cu ambele coduri poștale, oferta include distanța și durata estimată a cursei
+    private String originZipCode;
+    private String destinationZipCode;
+    private String originCountry;           // opțional: altfel țara implicită a gazetteer-ului
+    private String destinationCountry;
+}
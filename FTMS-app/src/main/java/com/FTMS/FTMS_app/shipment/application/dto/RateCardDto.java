@@ -0,0 +1,27 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.shipment.domain.model.RateCard;
+
+public record RateCardDto(
+        Long id,
+        String originCity,
+        String destinationCity,
+        VehicleType vehicleType,
+        double minChargeableWeightKg,
+        double baseAmount,
+        double pricePerKg
+) {
+
+    public static RateCardDto from(RateCard rateCard) {
+        return new RateCardDto(
+                rateCard.getId(),
+                rateCard.getOriginCity(),
+                rateCard.getDestinationCity(),
+                rateCard.getVehicleType(),
+                rateCard.getMinChargeableWeightKg(),
+                rateCard.getBaseAmount(),
+                rateCard.getPricePerKg()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+@Data
+public class RateCardRequest {
+    // Câmpurile lăsate goale înseamnă "orice" (tarif implicit)
+    private String originCity;
+    private String destinationCity;
+    private VehicleType vehicleType;
+    @PositiveOrZero
+    private double minChargeableWeightKg;
+    @PositiveOrZero
+    private double baseAmount;
+    @PositiveOrZero
+    private double pricePerKg;
+}
@@ -1,4 +1,93 @@
 package com.FTMS.FTMS_app.shipment.application.dto;
 
-public class ShipmentDto {
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.DeliveryConfirmation;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentContactLocation;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentView;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modelul de citire pentru un transport (ce se trimite clientului API în loc de entitatea JPA).
+ */
+public record ShipmentDto(
+        Long id,
+        String referenceNumber,
+        ShipmentStatus status,
+        Long customerId,
+        Long assignedDriverId,
+        Long assignedVehicleId,
+        Location pickupLocation,
+        Location deliveryLocation,
+        Cargo cargo,
+        LocalDateTime pickupDateTime,
+        LocalDateTime requestedDeliveryDateTime,
+        Delivery delivery // null până la confirmarea livrării
+) {
+
+    /**
+     * Mapare din proiecția JPQL (ShipmentRepository.findViewById): Value Object-urile încorporate
+     * și coloanele confirmării de livrare (din LEFT JOIN).
+     */
+    public static ShipmentDto from(ShipmentView view) {
+        return new ShipmentDto(view.id(), view.referenceNumber(), view.status(), view.customerId(),
+                view.assignedDriverId(), view.assignedVehicleId(),
+                Location.of(view.pickupLocation()), Location.of(view.deliveryLocation()), Cargo.of(view.cargoDetails()),
+                view.pickupDateTime(), view.requestedDeliveryDateTime(),
+                view.actualDeliveryDateTime() == null ? null
+                        : new Delivery(view.actualDeliveryDateTime(), view.recipientName(), view.issuesOrDamages()));
+    }
+
+    /**
+     * Mapare din entitate (pentru răspunsurile la operațiile de scriere, unde entitatea e deja încărcată).
+     */
+    public static ShipmentDto from(Shipment shipment) {
+        DeliveryConfirmation confirmation = shipment.getDeliveryConfirmation();
+        return new ShipmentDto(
+                shipment.getId(),
+                shipment.getReferenceNumber(),
+                shipment.getStatus(),
+                shipment.getCustomerId(),
+                shipment.getAssignedDriverId(),
+                shipment.getAssignedVehicleId(),
+                Location.of(shipment.getPickupLocation()),
+                Location.of(shipment.getDeliveryLocation()),
+                Cargo.of(shipment.getCargoDetails()),
+                shipment.getPickupDateTime(),
+                shipment.getRequestedDeliveryDateTime(),
+                confirmation == null ? null : new Delivery(
+                        confirmation.getActualDeliveryDateTime(),
+                        confirmation.getRecipientName(),
+                        confirmation.getIssuesOrDamages())
+        );
+    }
+
+    public record Location(String street, String city, String zipCode, String country,
+                           String contactPerson, String contactPhone) {
+
+        static Location of(ShipmentContactLocation location) {
+            if (location == null) {
+                return null;
+            }
+            return new Location(location.getStreet(), location.getCity(), location.getZipCode(), location.getCountry(),
+                    location.getContactPerson(), location.getContactPhone());
+        }
+    }
+
+    public record Cargo(String description, double weightKg, double volumeCubicMeters,
+                        String specialHandlingRequirements, String additionalNotes) {
+
+        static Cargo of(CargoDetails cargo) {
+            if (cargo == null) {
+                return null;
+            }
+            return new Cargo(cargo.getDescription(), cargo.getWeightKg(), cargo.getVolumeCubicMeters(),
+                    cargo.getSpecialHandlingRequirements(), cargo.getAdditionalNotes());
+        }
+    }
+
+    public record Delivery(LocalDateTime actualDeliveryDateTime, String recipientName, String issuesOrDamages) {
+    }
 }
@@ -0,0 +1,14 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.fleet.application.dto.VehiclePositionDto;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+
+/**
+ * Poziția curentă a unui transport aflat pe drum = ultima poziție raportată de vehiculul alocat.
+ */
+public record ShipmentPositionDto(
+        Long shipmentId,
+        ShipmentStatus status,
+        VehiclePositionDto position
+) {
+}
@@ -0,0 +1,20 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Filtrele opționale pentru GET /api/v1/shipments (parametri de query)
+@Data
+public class ShipmentSearchCriteria {
+    private ShipmentStatus status;
+    private Long customerId;
+    private String pickupCity;
+    private String deliveryCity;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime pickupFrom; // inclusiv
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime pickupTo;   // exclusiv
+}
@@ -0,0 +1,20 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+
+import java.time.Instant;
+
+/**
+ * O tranziție de status a unui transport, așa cum este trimisă pe fluxul SSE.
+ * eventId crește monoton (și peste repornirile nodului) și este folosit ca Last-Event-ID la reconectare.
+ */
+public record ShipmentStatusEvent(
+        long eventId,
+        Long shipmentId,
+        String referenceNumber,
+        Long customerId,
+        ShipmentStatus previousStatus,
+        ShipmentStatus status,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,26 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+
+/**
+ * Rezultatul unei tranziții din lot; status = statusul transportului imediat după această tranziție
+ * (sau cel care a împiedicat-o; null dacă transportul nu a fost încărcat).
+ */
+public record StatusTransitionItemResult(
+        int index,
+        Long shipmentId,
+        ShipmentStatus targetStatus,
+        boolean success,
+        ShipmentStatus status,
+        String error
+) {
+
+    public static StatusTransitionItemResult applied(int index, Long shipmentId, ShipmentStatus targetStatus) {
+        return new StatusTransitionItemResult(index, shipmentId, targetStatus, true, targetStatus, null);
+    }
+
+    public static StatusTransitionItemResult failed(int index, Long shipmentId, ShipmentStatus targetStatus,
+                                                    ShipmentStatus status, String error) {
+        return new StatusTransitionItemResult(index, shipmentId, targetStatus, false, status, error);
+    }
+}
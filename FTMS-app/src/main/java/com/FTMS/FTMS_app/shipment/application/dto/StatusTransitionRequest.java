@@ -0,0 +1,23 @@
+package com.FTMS.FTMS_app.shipment.application.dto;
+
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * O tranziție de status raportată de aplicația șoferului (momentul în care a avut loc pe telefon).
+ */
+@Data
+public class StatusTransitionRequest {
+
+    @NotNull
+    private Long shipmentId;
+
+    @NotNull
+    private ShipmentStatus targetStatus;
+
+    @NotNull
+    private LocalDateTime timestamp;
+}
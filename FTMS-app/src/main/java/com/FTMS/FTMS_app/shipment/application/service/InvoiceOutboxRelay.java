@@ -0,0 +1,187 @@
+package com.FTMS.FTMS_app.shipment.application.service;
+
+import com.FTMS.FTMS_app.customer.application.dto.InvoiceRequest;
+import com.FTMS.FTMS_app.customer.application.service.CustomerService;
+import com.FTMS.FTMS_app.shipment.application.dto.InvoiceOutboxDrainResult;
+import com.FTMS.FTMS_app.shipment.application.dto.InvoiceOutboxStats;
+import com.FTMS.FTMS_app.shipment.domain.model.InvoiceOutboxEntry;
+import com.FTMS.FTMS_app.shipment.domain.repository.InvoiceOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Golește outbox-ul de facturare: citește loturi de cereri scrise la confirmarea livrării
+ * și generează facturile în masă (CustomerService.generateInvoices), câte o tranzacție pe lot.
+ *
+ * Dacă un lot eșuează, intrările lui sunt reluate individual, ca o singură cerere greșită
+ * să nu blocheze restul; după maxAttempts eșecuri intrarea este lăsată deoparte ("parked").
+ * Facturarea este idempotentă per transport, deci reluarea unui lot nu dublează facturile; în plus,
+ * fiecare reluare individuală își blochează din nou intrarea (SKIP LOCKED), iar invoices.shipment_id
+ * este unic, deci două instanțe nu pot factura același transport.
+ *
+ * Întârzierea, vechimea intrărilor parcate și debitul ultimei rulări sunt și gauge-uri Micrometer
+ * (ftms.invoice-outbox.*), pentru alertare; primele două citesc baza de date la fiecare colectare.
+ */
+@Service
+public class InvoiceOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceOutboxRelay.class);
+
+    private final InvoiceOutboxRepository outboxRepository;
+    private final CustomerService customerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    // Contoare de la pornirea aplicației
+    private final AtomicLong processedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+    private volatile double lastRunThroughput;
+
+    public InvoiceOutboxRelay(InvoiceOutboxRepository outboxRepository,
+                              CustomerService customerService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry registry,
+                              @Value("${ftms.invoice-outbox.batch-size:200}") int batchSize,
+                              @Value("${ftms.invoice-outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.customerService = customerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("ftms.invoice-outbox.lag", this, relay -> relay.ageMs(outboxRepository.findOldestPendingCreatedAt(relay.maxAttempts)))
+                .description("Age of the oldest invoice outbox entry still to be processed")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("ftms.invoice-outbox.parked.age", this, relay -> relay.ageMs(outboxRepository.findOldestParkedCreatedAt(relay.maxAttempts)))
+                .description("Age of the oldest invoice outbox entry parked after too many failures")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("ftms.invoice-outbox.throughput", this, relay -> relay.lastRunThroughput)
+                .description("Invoice outbox entries processed per second in the last run")
+                .register(registry);
+    }
+
+    /**
+     * Use Case: Generarea facturilor pentru toate livrările confirmate și încă nefacturate.
+     */
+    public InvoiceOutboxDrainResult drain() {
+        long startedAt = System.nanoTime();
+        int processed = 0;
+        int failed = 0;
+        int batches = 0;
+
+        while (true) {
+            Integer batchProcessed;
+            try {
+                batchProcessed = transactionTemplate.execute(status -> processBatch());
+            } catch (RuntimeException e) {
+                // Lotul a fost anulat integral: reia intrările una câte una
+                log.warn("Invoice outbox batch failed, retrying entries individually", e);
+                int[] outcome = processIndividually();
+                processed += outcome[0];
+                failed += outcome[1];
+                batches++;
+                if (outcome[0] == 0) {
+                    break; // nimic nu mai avansează în această rulare
+                }
+                continue;
+            }
+            if (batchProcessed == 0) {
+                break;
+            }
+            processed += batchProcessed;
+            batches++;
+            if (batchProcessed < batchSize) {
+                break;
+            }
+        }
+
+        long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+        processedTotal.addAndGet(processed);
+        failedTotal.addAndGet(failed);
+        if (processed > 0) {
+            lastRunThroughput = processed * 1000.0 / Math.max(durationMs, 1);
+        }
+        return new InvoiceOutboxDrainResult(processed, failed, batches, durationMs);
+    }
+
+    /**
+     * Use Case: Starea outbox-ului (restanță, întârziere, debit) pentru monitorizare.
+     */
+    public InvoiceOutboxStats stats() {
+        return new InvoiceOutboxStats(
+                outboxRepository.countByProcessedAtIsNullAndAttemptsLessThan(maxAttempts),
+                outboxRepository.countByProcessedAtIsNullAndAttemptsGreaterThanEqual(maxAttempts),
+                ageMs(outboxRepository.findOldestPendingCreatedAt(maxAttempts)),
+                ageMs(outboxRepository.findOldestParkedCreatedAt(maxAttempts)),
+                processedTotal.get(),
+                failedTotal.get(),
+                lastRunThroughput);
+    }
+
+    private long ageMs(Instant createdAt) {
+        return createdAt == null ? 0 : Math.max(0, Duration.between(createdAt, Instant.now()).toMillis());
+    }
+
+    // Un lot într-o singură tranzacție: intrările rămân blocate (SKIP LOCKED pentru alte instanțe) până la commit
+    private int processBatch() {
+        List<InvoiceOutboxEntry> entries = outboxRepository.findPendingForUpdate(maxAttempts, Limit.of(batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        customerService.generateInvoices(entries.stream()
+                .map(e -> new InvoiceRequest(e.getCustomerId(), e.getShipmentId(), e.getAmount()))
+                .toList());
+        Instant now = Instant.now();
+        entries.forEach(e -> e.markProcessed(now));
+        return entries.size();
+    }
+
+    // Reluarea unui lot eșuat: fiecare intrare în tranzacția ei, blocată din nou (blocările citirii inițiale
+    // s-au eliberat la commit); intrările luate între timp de altă instanță sunt sărite
+    private int[] processIndividually() {
+        List<Long> ids = transactionTemplate.execute(status ->
+                outboxRepository.findPendingForUpdate(maxAttempts, Limit.of(batchSize)).stream()
+                        .map(InvoiceOutboxEntry::getId)
+                        .toList());
+        int processed = 0;
+        int failed = 0;
+        for (Long id : ids) {
+            try {
+                Boolean done = transactionTemplate.execute(status ->
+                        outboxRepository.findPendingByIdForUpdate(id, maxAttempts)
+                                .map(entry -> {
+                                    customerService.generateInvoices(List.of(
+                                            new InvoiceRequest(entry.getCustomerId(), entry.getShipmentId(), entry.getAmount())));
+                                    entry.markProcessed(Instant.now());
+                                    return true;
+                                })
+                                .orElse(false));
+                if (Boolean.TRUE.equals(done)) {
+                    processed++;
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Invoice outbox entry {} failed: {}", id, e.getMessage());
+                transactionTemplate.executeWithoutResult(status ->
+                        outboxRepository.findPendingByIdForUpdate(id, maxAttempts)
+                                .ifPresent(entry -> entry.recordFailure(e.getMessage())));
+            }
+        }
+        return new int[]{processed, failed};
+    }
+}
@@ -0,0 +1,50 @@
+package com.FTMS.FTMS_app.shipment.application.service;
+
+import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.shipment.application.dto.CargoDto;
+import com.FTMS.FTMS_app.shipment.application.dto.QuoteDto;
+import com.FTMS.FTMS_app.shipment.application.dto.QuoteRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.RateCardDto;
+import com.FTMS.FTMS_app.shipment.application.dto.RateCardRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentLocationDto;
+import com.FTMS.FTMS_app.shipment.domain.service.LaneEstimate;
+
+import java.util.List;
+
+public interface PricingService {
+
+    /**
+     * Use Case: Ofertă de preț, calculată doar din tarifele din memorie (fără acces la baza de date).
+     */
+    QuoteDto quote(QuoteRequest request);
+
+    /**
+     * Use Case: Prețul unui transport nou pentru un client (categoria și contractul activ al clientului).
+     */
+    double priceShipment(Customer customer, String originCity, String destinationCity, CargoDto cargo, VehicleType vehicleType);
+
+    /**
+     * Use Case: Prețul unui transport cu preț negociat, după discountul contractului activ al clientului.
+     */
+    double priceNegotiated(Customer customer, double negotiatedPrice);
+
+    /**
+     * Use Case: Distanța și durata estimată între adresa de ridicare și cea de livrare (din gazetteer-ul
+     * de coduri poștale din memorie). Null dacă unul dintre coduri lipsește.
+     */
+    LaneEstimate estimateLane(ShipmentLocationDto pickup, ShipmentLocationDto delivery);
+
+    List<RateCardDto> getRateCards();
+
+    RateCardDto createRateCard(RateCardRequest request);
+
+    RateCardDto updateRateCard(Long id, RateCardRequest request);
+
+    void deleteRateCard(Long id);
+
+    /**
+     * Use Case: Reîncărcarea tarifelor din baza de date (la pornire și după fiecare modificare).
+     */
+    void reloadRateCards();
+}
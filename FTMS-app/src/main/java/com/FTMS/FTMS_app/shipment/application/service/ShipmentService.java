@@ -1,10 +1,19 @@
 package com.FTMS.FTMS_app.shipment.application.service;
 
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkShipmentResult;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkStatusTransitionResult;
+import com.FTMS.FTMS_app.shipment.application.dto.StatusTransitionRequest;
 import com.FTMS.FTMS_app.shipment.application.dto.CreateShipmentRequest;
 import com.FTMS.FTMS_app.shipment.application.dto.DeliveryConfirmationDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentPositionDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentSearchCriteria;
 import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
 import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
 
+import java.util.List;
+
 public interface ShipmentService {
 
     /**
@@ -12,6 +21,12 @@ public interface ShipmentService {
      */
     Shipment createShipment(CreateShipmentRequest request);
 
+    /**
+     * Use Case: Importul în masă al transporturilor (ex: din ERP).
+     * Fiecare element este validat individual; elementele invalide nu blochează restul lotului.
+     */
+    BulkShipmentResult createShipments(List<CreateShipmentRequest> requests);
+
     /**
      * Use Case: Alocarea unui șofer și vehicul.
      */
@@ -27,6 +42,13 @@ public interface ShipmentService {
      */
     Shipment updateShipmentStatus(Long shipmentId, ShipmentStatus newStatus);
 
+    /**
+     * Use Case: Tranzițiile trimise în lot de aplicația șoferului după o perioadă offline.
+     * Transporturile se încarcă într-o singură interogare, tranzițiile se aplică în ordinea momentului
+     * raportat, iar fiecare element primește propriul rezultat (cele invalide nu blochează restul lotului).
+     */
+    BulkStatusTransitionResult updateShipmentStatuses(List<StatusTransitionRequest> transitions);
+
     /**
      * Use Case: Confirmarea livrării și generarea facturii.
      */
@@ -36,4 +58,22 @@ public interface ShipmentService {
      * Metodă utilitară.
      */
     Shipment getShipmentById(Long id);
+
+    /**
+     * Modelul de citire al unui transport (o singură interogare, fără entitate).
+     */
+    ShipmentDto getShipmentView(Long id);
+
+    /**
+     * Use Case: Poziția curentă a unui transport aflat pe drum (ultima poziție GPS a vehiculului alocat).
+     */
+    ShipmentPositionDto getShipmentPosition(Long id);
+
+    /**
+     * Use Case: Listarea paginată (keyset) a transporturilor, cu filtre opționale
+     * (status, client, oraș de încărcare/livrare, interval de încărcare).
+     *
+     * @param cursor nextCursor din pagina anterioară; null = prima pagină
+     */
+    KeysetPage<ShipmentDto> searchShipments(ShipmentSearchCriteria criteria, String cursor, int limit);
 }
\ No newline at end of file
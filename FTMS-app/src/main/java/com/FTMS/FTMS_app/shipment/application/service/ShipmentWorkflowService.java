@@ -1,4 +1,251 @@
 package com.FTMS.FTMS_app.shipment.application.service;
 
+import com.FTMS.FTMS_app.common.concurrency.ResourceKey;
+import com.FTMS.FTMS_app.common.concurrency.ResourceReservationManager;
+import com.FTMS.FTMS_app.common.concurrency.VersionStamp;
+import com.FTMS.FTMS_app.fleet.application.service.FleetService;
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.TripAssignment;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.shipment.application.dto.ConsolidationResult;
+import com.FTMS.FTMS_app.shipment.application.dto.DispatchResult;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentRepository;
+import com.FTMS.FTMS_app.shipment.domain.service.DispatchPlanner;
+import com.FTMS.FTMS_app.shipment.domain.service.LoadConsolidationSolver;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Workflow-uri care lucrează pe mai multe transporturi deodată (spre deosebire de ShipmentService,
+ * care tratează câte un singur transport).
+ */
+@Service
 public class ShipmentWorkflowService {
+
+    private static final String CHANGED_MEANWHILE = "Shipment, driver or vehicle was modified by another request.";
+
+    private final ShipmentRepository shipmentRepository;
+    private final FleetService fleetService;
+    private final DispatchPlanner dispatchPlanner;
+    private final LoadConsolidationSolver consolidationSolver;
+    private final ResourceReservationManager reservationManager;
+
+    public ShipmentWorkflowService(ShipmentRepository shipmentRepository,
+                                   FleetService fleetService,
+                                   DispatchPlanner dispatchPlanner,
+                                   LoadConsolidationSolver consolidationSolver,
+                                   ResourceReservationManager reservationManager) {
+        this.shipmentRepository = shipmentRepository;
+        this.fleetService = fleetService;
+        this.dispatchPlanner = dispatchPlanner;
+        this.consolidationSolver = consolidationSolver;
+        this.reservationManager = reservationManager;
+    }
+
+    /**
+     * Use Case: Dispecerizarea automată a tuturor transporturilor PENDING.
+     * Planul se calculează o singură dată și se aplică într-o singură tranzacție (actualizări în lot).
+     */
+    @Transactional
+    public DispatchResult dispatchPendingShipments(boolean dryRun) {
+        // 1. Încarcă tot ce este necesar: 3 interogări, indiferent de volum
+        List<Shipment> pending = shipmentRepository.findByStatus(ShipmentStatus.PENDING);
+        if (pending.isEmpty()) {
+            return new DispatchResult(dryRun, 0, 0, List.of(), List.of());
+        }
+
+        // 2. Calculează planul (fără efecte secundare)
+        DispatchPlanner.Plan plan = dispatchPlanner.plan(
+                pending,
+                fleetService.findAvailableDrivers(),
+                fleetService.findAvailableVehicles());
+
+        List<DispatchPlanner.Assignment> assignments = plan.assignments();
+        Map<Long, String> unassigned = new LinkedHashMap<>(plan.unassigned());
+
+        // 3. Aplică planul. Alocările ale căror resurse sunt ocupate de o cerere manuală în paralel
+        // sunt sărite (rămân PENDING pentru rularea următoare), la fel cele ale căror resurse au fost
+        // modificate între citire și rezervare (altfel @Version ar anula, la flush, toată dispecerizarea).
+        if (!dryRun && !assignments.isEmpty()) {
+            List<DispatchPlanner.Assignment> reserved = new ArrayList<>(assignments.size());
+            for (DispatchPlanner.Assignment a : assignments) {
+                if (reservationManager.tryReserve(ResourceKey.shipment(a.shipment().getId()),
+                        ResourceKey.driver(a.driver().getId()), ResourceKey.vehicle(a.vehicle().getId()))) {
+                    reserved.add(a);
+                } else {
+                    unassigned.put(a.shipment().getId(), "Resources are being modified by another request.");
+                }
+            }
+            Changes changes = changesSince(
+                    reserved.stream().map(DispatchPlanner.Assignment::shipment).toList(),
+                    reserved.stream().map(DispatchPlanner.Assignment::driver).toList(),
+                    reserved.stream().map(DispatchPlanner.Assignment::vehicle).toList());
+            assignments = new ArrayList<>(reserved.size());
+            for (DispatchPlanner.Assignment a : reserved) {
+                if (changes.any(List.of(a.shipment()), a.driver(), a.vehicle())) {
+                    unassigned.put(a.shipment().getId(), CHANGED_MEANWHILE);
+                } else {
+                    assignments.add(a);
+                }
+            }
+
+            if (!assignments.isEmpty()) {
+                List<TripAssignment> loads = assignments.stream()
+                        .map(a -> tripAssignment(a.driver().getId(), a.vehicle().getId(), a.shipment().getCargoDetails()))
+                        .toList();
+                fleetService.assignDrivers(loads);
+                fleetService.assignVehicles(loads);
+                assignments.forEach(a -> a.shipment().assign(a.driver().getId(), a.vehicle().getId()));
+                shipmentRepository.saveAll(assignments.stream().map(DispatchPlanner.Assignment::shipment).toList());
+            }
+        }
+
+        return new DispatchResult(
+                dryRun,
+                pending.size(),
+                assignments.size(),
+                assignments.stream()
+                        .map(a -> new DispatchResult.Assignment(a.shipment().getId(), a.driver().getId(), a.vehicle().getId(), a.wastedCapacity()))
+                        .toList(),
+                unassigned.entrySet().stream()
+                        .map(e -> new DispatchResult.Unassigned(e.getKey(), e.getValue()))
+                        .toList());
+    }
+
+    /**
+     * Use Case: Consolidarea (LTL) transporturilor PENDING ale unei zile (ridicarea în ziua dată; null =
+     * toate): mai multe transporturi pe același vehicul, cât timp greutatea și volumul lor încap.
+     * Planul vine din LoadConsolidationSolver și se aplică într-o singură tranzacție (actualizări în lot).
+     */
+    @Transactional
+    public ConsolidationResult consolidatePendingShipments(LocalDate day, boolean dryRun) {
+        // 1. Încarcă tot ce este necesar: 3 interogări, indiferent de volum
+        List<Shipment> pending = day == null
+                ? shipmentRepository.findByStatus(ShipmentStatus.PENDING)
+                : shipmentRepository.findByStatusAndPickupBetween(ShipmentStatus.PENDING, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        if (pending.isEmpty()) {
+            return new ConsolidationResult(dryRun, 0, 0, 0, List.of(), List.of());
+        }
+
+        // 2. Calculează planul (fără efecte secundare)
+        LoadConsolidationSolver.Plan plan = consolidationSolver.solve(
+                pending,
+                fleetService.findAvailableDrivers(),
+                fleetService.findAvailableVehicles());
+
+        List<LoadConsolidationSolver.Trip> trips = plan.trips();
+        Map<Long, String> unassigned = new LinkedHashMap<>(plan.unassigned());
+
+        // 3. Aplică planul, cursă cu cursă: o cursă ale cărei resurse (sau transporturi) sunt ocupate de o
+        // cerere în paralel, sau au fost modificate între citire și rezervare, este sărită în întregime
+        // (transporturile rămân PENDING pentru rularea următoare)
+        if (!dryRun && !trips.isEmpty()) {
+            List<LoadConsolidationSolver.Trip> reserved = new ArrayList<>(trips.size());
+            for (LoadConsolidationSolver.Trip trip : trips) {
+                List<ResourceKey> keys = new ArrayList<>(trip.shipments().size() + 2);
+                trip.shipments().forEach(s -> keys.add(ResourceKey.shipment(s.getId())));
+                keys.add(ResourceKey.driver(trip.driver().getId()));
+                keys.add(ResourceKey.vehicle(trip.vehicle().getId()));
+                if (reservationManager.tryReserve(keys.toArray(ResourceKey[]::new))) {
+                    reserved.add(trip);
+                } else {
+                    trip.shipments().forEach(s -> unassigned.put(s.getId(), "Resources are being modified by another request."));
+                }
+            }
+            Changes changes = changesSince(
+                    reserved.stream().flatMap(trip -> trip.shipments().stream()).toList(),
+                    reserved.stream().map(LoadConsolidationSolver.Trip::driver).toList(),
+                    reserved.stream().map(LoadConsolidationSolver.Trip::vehicle).toList());
+            trips = new ArrayList<>(reserved.size());
+            for (LoadConsolidationSolver.Trip trip : reserved) {
+                if (changes.any(trip.shipments(), trip.driver(), trip.vehicle())) {
+                    trip.shipments().forEach(s -> unassigned.put(s.getId(), CHANGED_MEANWHILE));
+                } else {
+                    trips.add(trip);
+                }
+            }
+
+            if (!trips.isEmpty()) {
+                // Câte o intrare per transport: șoferul și vehiculul numără transporturile cursei
+                List<TripAssignment> loads = new ArrayList<>();
+                List<Shipment> assigned = new ArrayList<>();
+                for (LoadConsolidationSolver.Trip trip : trips) {
+                    for (Shipment shipment : trip.shipments()) {
+                        loads.add(tripAssignment(trip.driver().getId(), trip.vehicle().getId(), shipment.getCargoDetails()));
+                        shipment.assign(trip.driver().getId(), trip.vehicle().getId());
+                        assigned.add(shipment);
+                    }
+                }
+                fleetService.assignDrivers(loads);
+                fleetService.assignVehicles(loads);
+                shipmentRepository.saveAll(assigned);
+            }
+        }
+
+        return new ConsolidationResult(
+                dryRun,
+                pending.size(),
+                trips.stream().mapToInt(trip -> trip.shipments().size()).sum(),
+                trips.size(),
+                trips.stream()
+                        .map(trip -> new ConsolidationResult.Trip(trip.vehicle().getId(), trip.driver().getId(),
+                                trip.shipments().stream().map(Shipment::getId).toList(),
+                                trip.weightUtilization(), trip.volumeUtilization()))
+                        .toList(),
+                unassigned.entrySet().stream()
+                        .map(e -> new DispatchResult.Unassigned(e.getKey(), e.getValue()))
+                        .toList());
+    }
+
+    // Versiunile din baza de date ale entităților rezervate (3 interogări), comparate cu cele încărcate pentru plan.
+    // Rezervarea oprește modificările de acum încolo; aici se văd cele comise între citire și rezervare
+    private Changes changesSince(List<Shipment> shipments, List<Driver> drivers, List<Vehicle> vehicles) {
+        if (shipments.isEmpty()) {
+            return new Changes(Set.of(), Set.of(), Set.of());
+        }
+        return new Changes(
+                changed(shipments, Shipment::getId, Shipment::getVersion,
+                        VersionStamp.toMap(shipmentRepository.findVersions(ids(shipments, Shipment::getId)))),
+                changed(drivers, Driver::getId, Driver::getVersion,
+                        fleetService.findDriverVersions(ids(drivers, Driver::getId))),
+                changed(vehicles, Vehicle::getId, Vehicle::getVersion,
+                        fleetService.findVehicleVersions(ids(vehicles, Vehicle::getId))));
+    }
+
+    private static <T> Set<Long> ids(List<T> entities, Function<T, Long> id) {
+        return entities.stream().map(id).collect(Collectors.toSet());
+    }
+
+    private static <T> Set<Long> changed(List<T> loaded, Function<T, Long> id, Function<T, Long> version, Map<Long, Long> current) {
+        return loaded.stream()
+                .filter(entity -> !Objects.equals(version.apply(entity), current.get(id.apply(entity))))
+                .map(id)
+                .collect(Collectors.toSet());
+    }
+
+    private record Changes(Set<Long> shipmentIds, Set<Long> driverIds, Set<Long> vehicleIds) {
+
+        boolean any(List<Shipment> shipments, Driver driver, Vehicle vehicle) {
+            return driverIds.contains(driver.getId())
+                    || vehicleIds.contains(vehicle.getId())
+                    || shipments.stream().anyMatch(s -> shipmentIds.contains(s.getId()));
+        }
+    }
+
+    private static TripAssignment tripAssignment(Long driverId, Long vehicleId, CargoDetails cargo) {
+        return new TripAssignment(driverId, vehicleId, cargo.getWeightKg(), cargo.getVolumeCubicMeters());
+    }
 }
@@ -0,0 +1,141 @@
+package com.FTMS.FTMS_app.shipment.application.service.impl;
+
+import com.FTMS.FTMS_app.common.exception.ResourceNotFoundException;
+import com.FTMS.FTMS_app.customer.domain.model.Contract;
+import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.shipment.application.dto.CargoDto;
+import com.FTMS.FTMS_app.shipment.application.dto.QuoteDto;
+import com.FTMS.FTMS_app.shipment.application.dto.QuoteRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.RateCardDto;
+import com.FTMS.FTMS_app.shipment.application.dto.RateCardRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentLocationDto;
+import com.FTMS.FTMS_app.shipment.application.service.PricingService;
+import com.FTMS.FTMS_app.shipment.domain.model.RateCard;
+import com.FTMS.FTMS_app.shipment.domain.repository.RateCardRepository;
+import com.FTMS.FTMS_app.shipment.domain.service.LaneEstimate;
+import com.FTMS.FTMS_app.shipment.domain.service.ShipmentComputationService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class PricingServiceImpl implements PricingService {
+
+    private final RateCardRepository rateCardRepository;
+    private final ShipmentComputationService computationService;
+    // Nu synchronized: reîncărcarea face I/O (JDBC), iar un monitor ar bloca thread-ul purtător al unui fir virtual
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public PricingServiceImpl(RateCardRepository rateCardRepository, ShipmentComputationService computationService) {
+        this.rateCardRepository = rateCardRepository;
+        this.computationService = computationService;
+    }
+
+    @Override
+    public QuoteDto quote(QuoteRequest request) {
+        // Fără tranzacție: tabela de tarife și gazetteer-ul sunt deja în memorie
+        LaneEstimate lane = computationService.estimateLane(request.getOriginCountry(), request.getOriginZipCode(),
+                request.getDestinationCountry(), request.getDestinationZipCode());
+        return QuoteDto.from(computationService.quote(
+                request.getOriginCity(),
+                request.getDestinationCity(),
+                request.getWeightKg(),
+                request.getVolumeCubicMeters(),
+                request.getVehicleType(),
+                request.getCustomerCategory(),
+                0.0), lane);
+    }
+
+    @Override
+    public LaneEstimate estimateLane(ShipmentLocationDto pickup, ShipmentLocationDto delivery) {
+        return computationService.estimateLane(pickup.getCountry(), pickup.getZipCode(),
+                delivery.getCountry(), delivery.getZipCode());
+    }
+
+    @Override
+    public double priceShipment(Customer customer, String originCity, String destinationCity, CargoDto cargo, VehicleType vehicleType) {
+        return computationService.quote(originCity, destinationCity, cargo.getWeightKg(), cargo.getVolumeCubicMeters(),
+                vehicleType, customer.getCategory(), contractDiscountRate(customer)).price();
+    }
+
+    @Override
+    public double priceNegotiated(Customer customer, double negotiatedPrice) {
+        return computationService.negotiatedPrice(negotiatedPrice, contractDiscountRate(customer));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RateCardDto> getRateCards() {
+        return rateCardRepository.findAll().stream().map(RateCardDto::from).toList();
+    }
+
+    @Override
+    @Transactional
+    public RateCardDto createRateCard(RateCardRequest request) {
+        RateCard rateCard = new RateCard();
+        apply(rateCard, request);
+        RateCard saved = rateCardRepository.save(rateCard);
+        reloadAfterCommit();
+        return RateCardDto.from(saved);
+    }
+
+    @Override
+    @Transactional
+    public RateCardDto updateRateCard(Long id, RateCardRequest request) {
+        RateCard rateCard = rateCardRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Rate card not found with id: " + id));
+        apply(rateCard, request);
+        reloadAfterCommit();
+        return RateCardDto.from(rateCard);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRateCard(Long id) {
+        if (!rateCardRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Rate card not found with id: " + id);
+        }
+        rateCardRepository.deleteById(id);
+        reloadAfterCommit();
+    }
+
+    @Override
+    public void reloadRateCards() {
+        // Serializat: două reîncărcări concurente nu pot publica o stare mai veche peste una mai nouă
+        reloadLock.lock();
+        try {
+            computationService.replaceRateCards(rateCardRepository.findAll());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Tabela nouă se publică doar după commit, ca ofertele să nu vadă tarife anulate de un rollback
+    private void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadRateCards();
+            }
+        });
+    }
+
+    private void apply(RateCard rateCard, RateCardRequest request) {
+        rateCard.setOriginCity(request.getOriginCity());
+        rateCard.setDestinationCity(request.getDestinationCity());
+        rateCard.setVehicleType(request.getVehicleType());
+        rateCard.setMinChargeableWeightKg(request.getMinChargeableWeightKg());
+        rateCard.setBaseAmount(request.getBaseAmount());
+        rateCard.setPricePerKg(request.getPricePerKg());
+    }
+
+    private static double contractDiscountRate(Customer customer) {
+        Contract contract = customer.getContract();
+        return contract != null && contract.isActive() ? contract.getDiscountRate() : 0.0;
+    }
+}
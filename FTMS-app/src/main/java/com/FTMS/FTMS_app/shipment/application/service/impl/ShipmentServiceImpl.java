@@ -1,40 +1,118 @@
 package com.FTMS.FTMS_app.shipment.application.service.impl;
 
+import com.FTMS.FTMS_app.common.concurrency.ResourceKey;
+import com.FTMS.FTMS_app.common.concurrency.ResourceReservationManager;
+import com.FTMS.FTMS_app.common.exception.ResourceNotFoundException;
+import com.FTMS.FTMS_app.common.pagination.Keyset;
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
+import com.FTMS.FTMS_app.common.pagination.KeysetSpecifications;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
 import com.FTMS.FTMS_app.customer.application.service.CustomerService;
+import com.FTMS.FTMS_app.customer.domain.model.CreditExposure;
 import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import com.FTMS.FTMS_app.fleet.application.dto.VehiclePositionDto;
 import com.FTMS.FTMS_app.fleet.application.service.FleetService;
+import com.FTMS.FTMS_app.fleet.application.service.TelemetryService;
 import com.FTMS.FTMS_app.fleet.domain.model.Driver;
 import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkShipmentItemResult;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkShipmentResult;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkStatusTransitionResult;
 import com.FTMS.FTMS_app.shipment.application.dto.CreateShipmentRequest;
 import com.FTMS.FTMS_app.shipment.application.dto.DeliveryConfirmationDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentDto;
 import com.FTMS.FTMS_app.shipment.application.dto.ShipmentLocationDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentPositionDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentSearchCriteria;
+import com.FTMS.FTMS_app.shipment.application.dto.StatusTransitionItemResult;
+import com.FTMS.FTMS_app.shipment.application.dto.StatusTransitionRequest;
 import com.FTMS.FTMS_app.shipment.application.dto.CargoDto;
+import com.FTMS.FTMS_app.shipment.application.service.PricingService;
 import com.FTMS.FTMS_app.shipment.application.service.ShipmentService;
 import com.FTMS.FTMS_app.shipment.domain.model.*;
+import com.FTMS.FTMS_app.shipment.domain.repository.InvoiceOutboxRepository;
 import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentRepository;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentSpecifications;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentTripMember;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentVehicleAssignment;
+import com.FTMS.FTMS_app.shipment.domain.service.LaneEstimate;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class ShipmentServiceImpl implements ShipmentService {
 
+    // Statusurile pe care le poate seta direct aplicația șoferului
+    private static final Set<ShipmentStatus> STATUS_UPDATES = EnumSet.of(ShipmentStatus.PICKED_UP, ShipmentStatus.IN_TRANSIT);
+
+    // Statusurile în care un transport ocupă vehiculul alocat
+    private static final List<ShipmentStatus> ON_BOARD = List.of(ShipmentStatus.SCHEDULED, ShipmentStatus.PICKED_UP, ShipmentStatus.IN_TRANSIT);
+
+    // De câte ori se reia un import în masă anulat de o referință ocupată în paralel
+    private static final int MAX_BULK_ATTEMPTS = 3;
+
     private final ShipmentRepository shipmentRepository;
 
     // Injectarea serviciilor din celelalte module
     private final FleetService fleetService;
     private final CustomerService customerService;
 
-    // Stocăm și prețul cursei (necesar pentru facturare)
-    // Într-o aplicație reală, prețul ar fi calculat de un al 4-lea modul (Pricing)
-    // Aici îl luăm din DTO.
-    private double shipmentPrice;
+    // Folosit pentru validarea individuală a elementelor din importul în masă
+    private final Validator validator;
+
+    // Rezervă transportul/șoferul/vehiculul pe durata tranzacției (fără dublă alocare)
+    private final ResourceReservationManager reservationManager;
+
+    // Cererile de facturare, procesate asincron de InvoiceOutboxRelay
+    private final InvoiceOutboxRepository invoiceOutboxRepository;
+
+    // Prețul transporturilor (din tarifele din memorie)
+    private final PricingService pricingService;
+
+    // Filtrul Bloom pe referenceNumber: SELECT-ul de unicitate doar pentru valorile posibil existente
+    private final UniqueKeyRegistry uniqueKeys;
+
+    // Ultima poziție GPS a vehiculelor (din memorie)
+    private final TelemetryService telemetryService;
+
+    // Importul în masă își gestionează singur tranzacția, ca să o poată relua
+    private final TransactionTemplate transactionTemplate;
 
     public ShipmentServiceImpl(ShipmentRepository shipmentRepository,
                                FleetService fleetService,
-                               CustomerService customerService) {
+                               CustomerService customerService,
+                               Validator validator,
+                               ResourceReservationManager reservationManager,
+                               InvoiceOutboxRepository invoiceOutboxRepository,
+                               PricingService pricingService,
+                               UniqueKeyRegistry uniqueKeys,
+                               TelemetryService telemetryService,
+                               PlatformTransactionManager transactionManager) {
         this.shipmentRepository = shipmentRepository;
         this.fleetService = fleetService;
         this.customerService = customerService;
+        this.validator = validator;
+        this.reservationManager = reservationManager;
+        this.invoiceOutboxRepository = invoiceOutboxRepository;
+        this.pricingService = pricingService;
+        this.uniqueKeys = uniqueKeys;
+        this.telemetryService = telemetryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -46,62 +124,193 @@ public class ShipmentServiceImpl implements ShipmentService {
             throw new IllegalStateException("Customer " + customer.getCompanyName() + " is suspended and cannot place new shipments.");
         }
 
-        // Verifică unicitatea referenceNumber
-        shipmentRepository.findByReferenceNumber(request.getReferenceNumber())
-                .ifPresent(s -> { throw new IllegalArgumentException("Shipment with reference number " + request.getReferenceNumber() + " already exists."); });
+        // Verifică unicitatea referenceNumber (SELECT doar dacă filtrul nu exclude valoarea; restul -> constrângerea UNIQUE)
+        if (uniqueKeys.mightExist(UniqueKey.SHIPMENT_REFERENCE, request.getReferenceNumber())) {
+            shipmentRepository.findByReferenceNumber(request.getReferenceNumber())
+                    .ifPresent(s -> { throw new IllegalArgumentException("Shipment with reference number " + request.getReferenceNumber() + " already exists."); });
+        }
 
-        // Salvează prețul pentru facturare
-        this.shipmentPrice = request.getPrice();
+        checkDeliveryWindow(request);
 
-        // 2. Mapare DTO -> Model
-        ShipmentContactLocation pickup = mapToLocation(request.getPickupLocation());
-        ShipmentContactLocation delivery = mapToLocation(request.getDeliveryLocation());
-        CargoDetails cargo = mapToCargo(request.getCargoDetails());
+        // Prețul se stabilește acum și se salvează pe transport (facturarea îl folosește ca atare)
+        double price = priceOf(request, customer);
 
-        Shipment shipment = new Shipment(
-                request.getReferenceNumber(),
-                request.getCustomerId(),
-                pickup,
-                delivery,
-                cargo,
-                request.getPickupDateTime(),
-                request.getRequestedDeliveryDateTime()
-        );
+        // Control de admitere: prețul se rezervă din creditul clientului (în aceeași tranzacție)
+        customerService.reserveCredit(customer.getId(), price);
+
+        // 2. Mapare DTO -> Model
+        Shipment shipment = mapToShipment(request, price);
 
         // 3. Salvare
         return shipmentRepository.save(shipment);
     }
 
+    @Override
+    public BulkShipmentResult createShipments(List<CreateShipmentRequest> requests) {
+        Set<String> takenMeanwhile = new HashSet<>();
+        // Referințele deja ocupate la citirea din încercarea curentă (raportate oricum ca eșecuri)
+        Set<String> takenAtRead = new HashSet<>();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertShipments(requests, takenMeanwhile, takenAtRead));
+            } catch (DataIntegrityViolationException e) {
+                // O cerere în paralel a ocupat o referință între verificare și INSERT, deci tot lotul s-a anulat.
+                // Se reia fără referințele ocupate între timp, raportate ca eșecuri individuale
+                Set<String> references = requests.stream()
+                        .filter(Objects::nonNull)
+                        .map(CreateShipmentRequest::getReferenceNumber)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                Set<String> taken = new HashSet<>(references.isEmpty() ? Set.of() : shipmentRepository.findExistingReferenceNumbers(references));
+                taken.removeAll(takenAtRead);
+                if (taken.isEmpty() || attempt == MAX_BULK_ATTEMPTS) {
+                    // Nicio referință ocupată după citire: încălcarea are altă cauză
+                    throw e;
+                }
+                takenMeanwhile.addAll(taken);
+            }
+        }
+    }
+
+    private BulkShipmentResult insertShipments(List<CreateShipmentRequest> requests, Set<String> takenMeanwhile,
+                                               Set<String> takenAtRead) {
+        BulkShipmentItemResult[] results = new BulkShipmentItemResult[requests.size()];
+
+        // 1. Validarea câmpurilor (adnotările din DTO), element cu element
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateShipmentRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = BulkShipmentItemResult.failed(i, null, "Shipment entry is empty.");
+                continue;
+            }
+            Set<ConstraintViolation<CreateShipmentRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = BulkShipmentItemResult.failed(i, request.getReferenceNumber(), describe(violations));
+                continue;
+            }
+            candidates.add(i);
+        }
+
+        // 2. Validări cross-modul, pe tot lotul: o interogare pentru clienți, una pentru referințe
+        Set<Long> customerIds = candidates.stream()
+                .map(i -> requests.get(i).getCustomerId())
+                .collect(Collectors.toSet());
+        // Doar referințele pe care filtrul de unicitate nu le exclude ajung în interogare
+        Set<String> referenceNumbers = candidates.stream()
+                .map(i -> requests.get(i).getReferenceNumber())
+                .filter(reference -> uniqueKeys.mightExist(UniqueKey.SHIPMENT_REFERENCE, reference))
+                .collect(Collectors.toSet());
+
+        Map<Long, Customer> customers = customerIds.isEmpty() ? Map.of() : customerService.getCustomersByIds(customerIds);
+        Map<Long, CreditExposure> exposures = customers.isEmpty() ? Map.of() : customerService.lockCreditExposures(customers.keySet());
+        Set<String> existingReferences = referenceNumbers.isEmpty() ? Set.of() : shipmentRepository.findExistingReferenceNumbers(referenceNumbers);
+        takenAtRead.clear();
+        takenAtRead.addAll(existingReferences);
+        takenAtRead.addAll(takenMeanwhile);
+
+        // 3. Mapare DTO -> Model pentru elementele valide
+        Set<String> seenInBatch = new HashSet<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Shipment> toSave = new ArrayList<>();
+        for (int i : candidates) {
+            CreateShipmentRequest request = requests.get(i);
+            String reference = request.getReferenceNumber();
+            Customer customer = customers.get(request.getCustomerId());
+
+            if (customer == null) {
+                results[i] = BulkShipmentItemResult.failed(i, reference, "Customer not found with id: " + request.getCustomerId());
+            } else if (!customer.canPlaceNewShipment()) {
+                results[i] = BulkShipmentItemResult.failed(i, reference, "Customer " + customer.getCompanyName() + " is suspended and cannot place new shipments.");
+            } else if (existingReferences.contains(reference) || takenMeanwhile.contains(reference)) {
+                results[i] = BulkShipmentItemResult.failed(i, reference, "Shipment with reference number " + reference + " already exists.");
+            } else if (!seenInBatch.add(reference)) {
+                results[i] = BulkShipmentItemResult.failed(i, reference, "Duplicate reference number " + reference + " within the batch.");
+            } else {
+                double price;
+                try {
+                    checkDeliveryWindow(request);
+                    price = priceOf(request, customer);
+                } catch (IllegalArgumentException e) {
+                    results[i] = BulkShipmentItemResult.failed(i, reference, e.getMessage());
+                    continue;
+                }
+                if (!exposures.get(customer.getId()).tryCommit(price, customer.getCreditLimit())) {
+                    // Ultima verificare, pentru că rezervă creditul
+                    results[i] = BulkShipmentItemResult.failed(i, reference, "Customer " + customer.getCompanyName() + " would exceed its credit limit.");
+                    continue;
+                }
+                acceptedIndexes.add(i);
+                toSave.add(mapToShipment(request, price));
+            }
+        }
+
+        // 4. Salvare: ID-urile vin din secvența "pooled", deci Hibernate trimite INSERT-urile în loturi JDBC.
+        //    Flush aici, ca o referință ocupată între timp să ajungă la createShipments (care reia lotul)
+        List<Shipment> saved = shipmentRepository.saveAllAndFlush(toSave);
+        for (int k = 0; k < saved.size(); k++) {
+            int i = acceptedIndexes.get(k);
+            results[i] = BulkShipmentItemResult.created(i, saved.get(k).getReferenceNumber(), saved.get(k).getId());
+        }
+
+        return BulkShipmentResult.of(Arrays.asList(results));
+    }
+
     @Override
     @Transactional
     public Shipment assignShipment(Long shipmentId, Long driverId, Long vehicleId) {
+        // 0. Rezervă resursele ÎNAINTE de citire, ca verificările de mai jos să nu ruleze pe date vechi
+        reservationManager.reserve(ResourceKey.shipment(shipmentId), ResourceKey.driver(driverId), ResourceKey.vehicle(vehicleId));
+
         // 1. Găsește toate agregatele
         Shipment shipment = getShipmentById(shipmentId);
-        Driver driver = fleetService.getDriverById(driverId);
-        Vehicle vehicle = fleetService.getVehicleById(vehicleId);
+        // Re-alocare (transport SCHEDULED): și resursele alocate anterior trebuie rezervate
+        reserveAssignedResources(shipment);
+        // Instanțele gestionate (nu copiile din cache): validările rulează pe starea pe care o modificăm mai jos
+        Driver driver = fleetService.findDriver(driverId);
+        Vehicle vehicle = fleetService.findVehicle(vehicleId);
 
         // 2. Validări de Business (Reguli)
         if (!shipment.canBeAssigned()) {
             throw new IllegalStateException("Shipment is already processed.");
         }
-        if (!driver.isAvailable()) {
-            throw new IllegalStateException("Driver " + driver.getName() + " is not available.");
+        if (vehicleId.equals(shipment.getAssignedVehicleId())) {
+            throw new IllegalStateException("Shipment is already assigned to vehicle " + vehicle.getRegistrationNumber() + ".");
         }
-        if (!vehicle.isAvailable()) {
-            throw new IllegalStateException("Vehicle " + vehicle.getRegistrationNumber() + " is not available.");
+        if (vehicle.hasLoad() && joinsTrip(vehicle, driverId)) {
+            // Consolidare (LTL): transportul se adaugă cursei vehiculului, cât timp aceasta nu a plecat.
+            // Statusul rămâne "ocupat" (e în cursă cu propriul șofer), dar documentele și permisul se verifică
+            LocalDate today = LocalDate.now();
+            if (!vehicle.hasValidDocuments(today)) {
+                throw new IllegalStateException("Vehicle " + vehicle.getRegistrationNumber() + " has expired documents.");
+            }
+            if (!driver.getLicenseInfo().isValidOn(today)) {
+                throw new IllegalStateException("Driver " + driver.getName() + " has an expired license.");
+            }
+        } else {
+            if (!driver.isAvailable()) {
+                throw new IllegalStateException("Driver " + driver.getName() + " is not available.");
+            }
+            if (!vehicle.isAvailable()) {
+                throw new IllegalStateException("Vehicle " + vehicle.getRegistrationNumber() + " is not available.");
+            }
         }
         if (!driver.canDriveVehicle(vehicle)) {
             throw new IllegalArgumentException("Driver " + driver.getName() + " is not licensed for vehicle " + vehicle.getVehicleType());
         }
 
+        // Marfa trebuie să încapă alături de ce este deja încărcat pe vehicul
         CargoDetails cargo = shipment.getCargoDetails();
-        if (!vehicle.getCapacity().isSufficient(cargo.getWeightKg(), cargo.getVolumeCubicMeters())) {
+        if (!vehicle.getCapacity().isSufficient(vehicle.getLoadedWeightKg() + cargo.getWeightKg(),
+                vehicle.getLoadedVolumeCubicMeters() + cargo.getVolumeCubicMeters())) {
             throw new IllegalArgumentException("Vehicle capacity is not sufficient for this cargo.");
         }
 
         // 3. Orchestrează modificările (APELEAZĂ SERVICIILE)
-        fleetService.assignDriver(driverId);
-        fleetService.assignVehicle(vehicleId);
+        // La re-alocare, șoferul și vehiculul anteriori se eliberează după commit (ShipmentAssigned)
+        // Șoferul și vehiculul verifică și ei că transportul intră în cursa lor (aceeași pereche șofer-vehicul)
+        fleetService.assignDriver(driverId, vehicleId);
+        fleetService.assignVehicle(vehicleId, driverId, cargo.getWeightKg(), cargo.getVolumeCubicMeters());
 
         // Apelează logica de domeniu din Shipment
         shipment.assign(driverId, vehicleId);
@@ -112,17 +321,11 @@ public class ShipmentServiceImpl implements ShipmentService {
     @Override
     @Transactional
     public void cancelShipment(Long shipmentId) {
+        reservationManager.reserve(ResourceKey.shipment(shipmentId));
         Shipment shipment = getShipmentById(shipmentId);
 
-        // Dacă resursele erau alocate, eliberează-le
-        if (shipment.getAssignedDriverId() != null) {
-            fleetService.releaseDriver(shipment.getAssignedDriverId());
-        }
-        if (shipment.getAssignedVehicleId() != null) {
-            fleetService.releaseVehicle(shipment.getAssignedVehicleId());
-        }
-
-        // Apelează logica de domeniu
+        // Apelează logica de domeniu. Creditul rezervat la creare și resursele alocate se eliberează
+        // după commit, de handler-ii evenimentului ShipmentCanceled (emis doar la prima anulare)
         shipment.cancel();
         shipmentRepository.save(shipment);
     }
@@ -130,9 +333,82 @@ public class ShipmentServiceImpl implements ShipmentService {
     @Override
     @Transactional
     public Shipment updateShipmentStatus(Long shipmentId, ShipmentStatus newStatus) {
+        reservationManager.reserve(ResourceKey.shipment(shipmentId));
         Shipment shipment = getShipmentById(shipmentId);
+        applyStatus(shipment, newStatus);
+        return shipmentRepository.save(shipment);
+    }
+
+    @Override
+    @Transactional
+    public BulkStatusTransitionResult updateShipmentStatuses(List<StatusTransitionRequest> transitions) {
+        StatusTransitionItemResult[] results = new StatusTransitionItemResult[transitions.size()];
+
+        // 1. Validarea câmpurilor și a statusurilor acceptate, element cu element
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < transitions.size(); i++) {
+            StatusTransitionRequest transition = transitions.get(i);
+            if (transition == null) {
+                results[i] = StatusTransitionItemResult.failed(i, null, null, null, "Status transition entry is empty.");
+                continue;
+            }
+            Set<ConstraintViolation<StatusTransitionRequest>> violations = validator.validate(transition);
+            if (!violations.isEmpty()) {
+                results[i] = StatusTransitionItemResult.failed(i, transition.getShipmentId(), transition.getTargetStatus(),
+                        null, describe(violations));
+            } else if (!STATUS_UPDATES.contains(transition.getTargetStatus())) {
+                results[i] = StatusTransitionItemResult.failed(i, transition.getShipmentId(), transition.getTargetStatus(),
+                        null, "Status update to " + transition.getTargetStatus() + " is not managed by this method.");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // 2. Rezervă transporturile fără așteptare: cele ocupate de o cerere în paralel sunt raportate,
+        //    restul se încarcă într-o singură interogare
+        Set<Long> busy = new HashSet<>();
+        List<Long> reserved = new ArrayList<>();
+        for (Long shipmentId : candidates.stream().map(i -> transitions.get(i).getShipmentId()).collect(Collectors.toCollection(TreeSet::new))) {
+            if (reservationManager.tryReserve(ResourceKey.shipment(shipmentId))) {
+                reserved.add(shipmentId);
+            } else {
+                busy.add(shipmentId);
+            }
+        }
+        Map<Long, Shipment> shipments = reserved.isEmpty() ? Map.of() : shipmentRepository.findAllById(reserved).stream()
+                .collect(Collectors.toMap(Shipment::getId, s -> s));
+
+        // 3. Mașina de stări, în ordinea momentelor raportate (sortare stabilă: la egalitate, ordinea din cerere)
+        candidates.sort(Comparator.comparing(i -> transitions.get(i).getTimestamp()));
+        Set<Shipment> changed = new LinkedHashSet<>();
+        for (int i : candidates) {
+            StatusTransitionRequest transition = transitions.get(i);
+            Long shipmentId = transition.getShipmentId();
+            ShipmentStatus target = transition.getTargetStatus();
+            Shipment shipment = shipments.get(shipmentId);
+            if (busy.contains(shipmentId)) {
+                results[i] = StatusTransitionItemResult.failed(i, shipmentId, target, null, "Shipment is being modified by another request.");
+            } else if (shipment == null) {
+                results[i] = StatusTransitionItemResult.failed(i, shipmentId, target, null, "Shipment not found with id: " + shipmentId);
+            } else {
+                try {
+                    applyStatus(shipment, target);
+                    changed.add(shipment);
+                    results[i] = StatusTransitionItemResult.applied(i, shipmentId, target);
+                } catch (IllegalStateException e) {
+                    results[i] = StatusTransitionItemResult.failed(i, shipmentId, target, shipment.getStatus(), e.getMessage());
+                }
+            }
+        }
+
+        // 4. Salvare: un UPDATE per transport modificat, trimise în loturi JDBC la commit
+        shipmentRepository.saveAll(changed);
+
+        return BulkStatusTransitionResult.of(Arrays.asList(results));
+    }
 
-        // O mașină de stări simplă
+    // O mașină de stări simplă
+    private static void applyStatus(Shipment shipment, ShipmentStatus newStatus) {
         switch (newStatus) {
             case PICKED_UP:
                 shipment.markAsPickedUp();
@@ -143,13 +419,13 @@ public class ShipmentServiceImpl implements ShipmentService {
             default:
                 throw new IllegalArgumentException("Status update to " + newStatus + " is not managed by this method.");
         }
-        return shipmentRepository.save(shipment);
     }
 
     @Override
     @Transactional
     public Shipment confirmDelivery(Long shipmentId, DeliveryConfirmationDto dto) {
         // 1. Găsește cursa
+        reservationManager.reserve(ResourceKey.shipment(shipmentId));
         Shipment shipment = getShipmentById(shipmentId);
 
         // 2. Mapare DTO -> Model
@@ -162,18 +438,15 @@ public class ShipmentServiceImpl implements ShipmentService {
                 dto.getPhotoDocumentationUrl()
         );
 
-        // 3. Apelează logica de domeniu
+        // 3. Apelează logica de domeniu; șoferul și vehiculul se eliberează după commit (ShipmentDelivered)
         shipment.completeDelivery(confirmation);
 
-        // 4. Eliberează resursele
-        fleetService.releaseDriver(shipment.getAssignedDriverId());
-        fleetService.releaseVehicle(shipment.getAssignedVehicleId());
-
+        // 4. Salvează
         Shipment savedShipment = shipmentRepository.save(shipment);
 
-        // 5. REGULA DE BUSINESS: Generează factura
-        // (Prețul este stocat temporar în acest serviciu - vezi createShipment)
-        customerService.generateInvoice(shipment.getCustomerId(), shipmentId, this.shipmentPrice);
+        // 5. REGULA DE BUSINESS: Factura (la prețul stabilit la crearea transportului) se generează asincron:
+        //    cererea intră în outbox în aceeași tranzacție, deci nu se pierde și nu blochează confirmarea
+        invoiceOutboxRepository.save(new InvoiceOutboxEntry(shipmentId, shipment.getCustomerId(), shipment.getPrice(), Instant.now()));
 
         return savedShipment;
     }
@@ -185,16 +458,165 @@ public class ShipmentServiceImpl implements ShipmentService {
                 .orElseThrow(() -> new RuntimeException("Shipment not found with id: " + id)); // Excepție custom
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ShipmentDto getShipmentView(Long id) {
+        return shipmentRepository.findViewById(id)
+                .map(ShipmentDto::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShipmentPositionDto getShipmentPosition(Long id) {
+        ShipmentVehicleAssignment assignment = shipmentRepository.findVehicleAssignmentById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
+        if (!assignment.isOnTheRoad()) {
+            throw new ResourceNotFoundException("Shipment " + id + " is not on the road (status " + assignment.status() + ").");
+        }
+        VehiclePositionDto position = telemetryService.getLatestPosition(assignment.vehicleId())
+                .map(VehiclePositionDto::from)
+                .orElseThrow(() -> new ResourceNotFoundException("No recent position for the vehicle of shipment " + id));
+        return new ShipmentPositionDto(id, assignment.status(), position);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ShipmentDto> searchShipments(ShipmentSearchCriteria criteria, String cursor, int limit) {
+        Keyset.checkLimit(limit);
+        // Cu un interval de încărcare, lista e ordonată după (pickupDateTime, id): intervalul și seek-ul sunt
+        // același range pe indecșii (..., pickup_date_time, id). Fără interval, ordinea rămâne după id
+        boolean byPickup = criteria.getPickupFrom() != null || criteria.getPickupTo() != null;
+        Specification<Shipment> seek;
+        if (byPickup) {
+            Keyset.Position after = Keyset.decodePosition(cursor);
+            seek = after == null ? null : KeysetSpecifications.after("pickupDateTime", parseCursorValue(after), after.id());
+        } else {
+            seek = KeysetSpecifications.idAfter(Keyset.decode(cursor));
+        }
+        Specification<Shipment> spec = KeysetSpecifications.allOf(
+                ShipmentSpecifications.hasStatus(criteria.getStatus()),
+                ShipmentSpecifications.hasCustomer(criteria.getCustomerId()),
+                ShipmentSpecifications.pickupCity(criteria.getPickupCity()),
+                ShipmentSpecifications.deliveryCity(criteria.getDeliveryCity()),
+                ShipmentSpecifications.pickupFrom(criteria.getPickupFrom()),
+                ShipmentSpecifications.pickupBefore(criteria.getPickupTo()),
+                seek);
+
+        // Cerem un rând în plus doar ca să știm dacă mai există o pagină.
+        // Confirmarea de livrare (OneToOne inversă, deci încărcată oricum) vine în același SELECT, nu câte unul pe rând.
+        Sort order = byPickup ? KeysetSpecifications.orderBy("pickupDateTime") : KeysetSpecifications.ORDER;
+        List<Shipment> fetched = shipmentRepository.findBy(spec,
+                q -> q.sortBy(order).project("deliveryConfirmation").limit(limit + 1).all());
+        KeysetPage<Shipment> page = byPickup
+                ? KeysetPage.of(fetched, limit, Shipment::getPickupDateTime, Shipment::getId)
+                : KeysetPage.of(fetched, limit, Shipment::getId);
+        return page.map(ShipmentDto::from);
+    }
+
+    private static LocalDateTime parseCursorValue(Keyset.Position position) {
+        try {
+            return LocalDateTime.parse(position.sortValue());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor position: " + position.sortValue());
+        }
+    }
+
+    // Șoferul și vehiculul sunt cunoscute abia după citirea transportului (care e deja rezervat)
+    private void reserveAssignedResources(Shipment shipment) {
+        List<ResourceKey> keys = new ArrayList<>(2);
+        if (shipment.getAssignedDriverId() != null) {
+            keys.add(ResourceKey.driver(shipment.getAssignedDriverId()));
+        }
+        if (shipment.getAssignedVehicleId() != null) {
+            keys.add(ResourceKey.vehicle(shipment.getAssignedVehicleId()));
+        }
+        if (!keys.isEmpty()) {
+            reservationManager.reserve(keys.toArray(ResourceKey[]::new));
+        }
+    }
+
     // --- Metode Utilitare Private (Mapare) ---
 
-    private ShipmentContactLocation mapToLocation(ShipmentLocationDto dto) {
+    // Un vehicul încărcat primește încă un transport doar înainte de plecare și doar cu șoferul cursei.
+    // Transporturile de la bord se rezervă (o ridicare în paralel așteaptă commit-ul), apoi se recitesc.
+    // false = nu mai are nimic la bord: alocarea trece prin verificările obișnuite de disponibilitate
+    private boolean joinsTrip(Vehicle vehicle, Long driverId) {
+        List<ShipmentTripMember> members = shipmentRepository.findTripMembers(vehicle.getId(), ON_BOARD);
+        if (!members.isEmpty()) {
+            reservationManager.reserve(members.stream().map(m -> ResourceKey.shipment(m.shipmentId())).toArray(ResourceKey[]::new));
+            members = shipmentRepository.findTripMembers(vehicle.getId(), ON_BOARD);
+        }
+        if (members.isEmpty()) {
+            // Ultimul transport a fost livrat / anulat, dar vehiculul nu a fost încă eliberat: nu există cursă
+            return false;
+        }
+        for (ShipmentTripMember onBoard : members) {
+            if (onBoard.status() != ShipmentStatus.SCHEDULED) {
+                throw new IllegalStateException("Vehicle " + vehicle.getRegistrationNumber() + " has already left with its current load.");
+            }
+            if (!driverId.equals(onBoard.driverId())) {
+                throw new IllegalStateException("Vehicle " + vehicle.getRegistrationNumber() + " is driven by another driver on its current trip.");
+            }
+        }
+        return true;
+    }
+
+    // SLA: livrarea cerută trebuie să fie realizabilă (ridicare + durata estimată a cursei). Fără estimare
+    // (coduri poștale lipsă sau necunoscute) nu se verifică nimic
+    private void checkDeliveryWindow(CreateShipmentRequest request) {
+        LaneEstimate lane = pricingService.estimateLane(request.getPickupLocation(), request.getDeliveryLocation());
+        if (lane == null) {
+            return;
+        }
+        LocalDateTime arrival = lane.arrivalFor(request.getPickupDateTime());
+        if (arrival.isAfter(request.getRequestedDeliveryDateTime())) {
+            throw new IllegalArgumentException("Requested delivery at " + request.getRequestedDeliveryDateTime()
+                    + " is earlier than the estimated arrival at " + arrival + " (" + lane.roadKm() + " km, "
+                    + lane.transitHours() + " h).");
+        }
+    }
+
+    // Prețul negociat (după discountul contractului), dacă a fost trimis; altfel cel calculat din tarife
+    private double priceOf(CreateShipmentRequest request, Customer customer) {
+        if (request.getPrice() != null) {
+            return pricingService.priceNegotiated(customer, request.getPrice());
+        }
+        return pricingService.priceShipment(customer, request.getPickupLocation().getCity(),
+                request.getDeliveryLocation().getCity(), request.getCargoDetails(), request.getVehicleType());
+    }
+
+    // Mapările DTO -> Model sunt statice și package-private: le folosesc și benchmark-urile JMH (src/jmh)
+    static Shipment mapToShipment(CreateShipmentRequest request, double price) {
+        return new Shipment(
+                request.getReferenceNumber(),
+                request.getCustomerId(),
+                mapToLocation(request.getPickupLocation()),
+                mapToLocation(request.getDeliveryLocation()),
+                mapToCargo(request.getCargoDetails()),
+                request.getPickupDateTime(),
+                request.getRequestedDeliveryDateTime(),
+                price
+        );
+    }
+
+    // Același format ca în GlobalExceptionHandler: primul câmp invalid + mesajul lui
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .findFirst()
+                .orElse("Validation Error");
+    }
+
+    private static ShipmentContactLocation mapToLocation(ShipmentLocationDto dto) {
         return new ShipmentContactLocation(
                 dto.getStreet(), dto.getCity(), dto.getZipCode(), dto.getCountry(),
                 dto.getContactPerson(), dto.getContactPhone()
         );
     }
 
-    private CargoDetails mapToCargo(CargoDto dto) {
+    private static CargoDetails mapToCargo(CargoDto dto) {
         return new CargoDetails(
                 dto.getDescription(), dto.getWeightKg(), dto.getVolumeCubicMeters(),
                 dto.getSpecialHandlingRequirements(), dto.getAdditionalNotes()
@@ -0,0 +1,14 @@
+package com.FTMS.FTMS_app.shipment.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Transportul a primit un șofer și un vehicul. La re-alocare, previousDriverId / previousVehicleId sunt
+ * resursele care trebuie eliberate (null la prima alocare), iar marfa transportului se descarcă de pe
+ * vehiculul anterior.
+ */
+public record ShipmentAssigned(Long shipmentId, Long driverId, Long vehicleId,
+                               Long previousDriverId, Long previousVehicleId,
+                               double weightKg, double volumeCubicMeters, Instant occurredAt)
+        implements ShipmentEvent {
+}
@@ -0,0 +1,11 @@
+package com.FTMS.FTMS_app.shipment.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Transport anulat: prețul rezervat din creditul clientului și resursele alocate (null dacă nu existau)
+ * se eliberează; marfa se descarcă de pe vehicul. Emis o singură dată, la prima anulare.
+ */
+public record ShipmentCanceled(Long shipmentId, Long customerId, Long driverId, Long vehicleId,
+                               double price, double weightKg, double volumeCubicMeters, Instant occurredAt) implements ShipmentEvent {
+}
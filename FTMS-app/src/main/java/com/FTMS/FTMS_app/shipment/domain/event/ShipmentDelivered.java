@@ -0,0 +1,11 @@
+package com.FTMS.FTMS_app.shipment.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Livrare confirmată: marfa se descarcă, iar șoferul și vehiculul se eliberează după ultimul transport al
+ * cursei. Factura se emite separat, prin outbox.
+ */
+public record ShipmentDelivered(Long shipmentId, Long customerId, Long driverId, Long vehicleId,
+                                double price, double weightKg, double volumeCubicMeters, Instant occurredAt) implements ShipmentEvent {
+}
@@ -0,0 +1,12 @@
+package com.FTMS.FTMS_app.shipment.domain.event;
+
+import com.FTMS.FTMS_app.common.events.DomainEvent;
+
+/**
+ * Evenimentele din ciclul de viață al unui transport, emise de agregatul Shipment.
+ */
+public sealed interface ShipmentEvent extends DomainEvent
+        permits ShipmentAssigned, ShipmentPickedUp, ShipmentInTransit, ShipmentDelivered, ShipmentCanceled {
+
+    Long shipmentId();
+}
@@ -0,0 +1,7 @@
+package com.FTMS.FTMS_app.shipment.domain.event;
+
+import java.time.Instant;
+
+public record ShipmentInTransit(Long shipmentId, Long driverId, Long vehicleId, Instant occurredAt)
+        implements ShipmentEvent {
+}
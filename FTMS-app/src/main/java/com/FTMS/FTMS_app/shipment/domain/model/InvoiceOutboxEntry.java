@@ -0,0 +1,67 @@
+package com.FTMS.FTMS_app.shipment.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Cerere de facturare scrisă în aceeași tranzacție cu confirmarea livrării (transactional outbox).
+ * Factura propriu-zisă este generată ulterior, în lot, de InvoiceOutboxRelay.
+ */
+@Entity
+@Table(name = "invoice_outbox", indexes = {
+        // Relay-ul citește doar intrările neprocesate, cele eșuate anterior la urmă
+        @Index(name = "idx_invoice_outbox_pending", columnList = "processed_at, attempts, id")
+})
+@Getter
+@NoArgsConstructor
+public class InvoiceOutboxEntry {
+
+    // Mesajul de eroare salvat este trunchiat la lungimea coloanei
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_outbox_seq")
+    @SequenceGenerator(name = "invoice_outbox_seq", sequenceName = "invoice_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // Un singur rând per transport: o livrare nu poate fi facturată de două ori
+    @Column(unique = true, nullable = false)
+    private Long shipmentId;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    private double amount;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant processedAt; // null = încă nefacturat
+
+    private int attempts;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public InvoiceOutboxEntry(Long shipmentId, Long customerId, double amount, Instant createdAt) {
+        this.shipmentId = shipmentId;
+        this.customerId = customerId;
+        this.amount = amount;
+        this.createdAt = createdAt;
+    }
+
+    // --- Logica de Business ---
+
+    public void markProcessed(Instant now) {
+        this.processedAt = now;
+        this.lastError = null;
+    }
+
+    public void recordFailure(String error) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
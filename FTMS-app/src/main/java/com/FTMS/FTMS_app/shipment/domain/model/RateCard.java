@@ -0,0 +1,38 @@
+package com.FTMS.FTMS_app.shipment.domain.model;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Un tarif: prețul pe o relație (oraș de ridicare -> oraș de livrare), pentru un tip de vehicul,
+ * începând de la o anumită greutate taxabilă. Câmpurile lăsate goale (null) înseamnă "orice"
+ * și servesc drept tarif implicit (vezi RateTable).
+ */
+@Entity
+@Table(name = "rate_cards")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateCard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String originCity;      // null = orice oraș de ridicare
+    private String destinationCity; // null = orice oraș de livrare
+
+    @Enumerated(EnumType.STRING)
+    private VehicleType vehicleType; // null = orice tip de vehicul
+
+    // Treapta de greutate: tariful se aplică de la această greutate taxabilă în sus (până la treapta următoare)
+    private double minChargeableWeightKg;
+
+    private double baseAmount;  // taxa fixă pe transport
+    private double pricePerKg;  // pe kilogram taxabil
+}
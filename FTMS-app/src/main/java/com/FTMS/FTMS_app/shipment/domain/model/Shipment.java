@@ -1,21 +1,45 @@
 package com.FTMS.FTMS_app.shipment.domain.model;
 
+import com.FTMS.FTMS_app.common.events.AggregateRoot;
+import com.FTMS.FTMS_app.shipment.domain.event.*;
+import com.FTMS.FTMS_app.shipment.infrastructure.persistence.ShipmentUniqueKeyListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "shipments")
+// Indecșii compuși se termină în ordinea listării paginate (keyset): "id", sau "pickup_date_time, id" când se
+// filtrează pe interval. Un filtru singur și perechile de mai jos devin un range scan pe index, oricât de adâncă
+// ar fi pagina cerută; combinațiile mai largi folosesc cel mai selectiv dintre acești indecși și filtrează restul.
+@Table(name = "shipments", indexes = {
+        @Index(name = "idx_shipments_status_id", columnList = "status, id"),
+        @Index(name = "idx_shipments_customer_id", columnList = "customer_id, id"),
+        @Index(name = "idx_shipments_customer_status_id", columnList = "customer_id, status, id"),
+        @Index(name = "idx_shipments_pickup_city_id", columnList = "pickup_city, id"),
+        @Index(name = "idx_shipments_delivery_city_id", columnList = "delivery_city, id"),
+        @Index(name = "idx_shipments_status_pickup_city_id", columnList = "status, pickup_city, id"),
+        @Index(name = "idx_shipments_status_delivery_city_id", columnList = "status, delivery_city, id"),
+        @Index(name = "idx_shipments_lane_id", columnList = "pickup_city, delivery_city, id"),
+        // Intervalele de încărcare sunt ordonate după (pickup_date_time, id), vezi searchShipments
+        @Index(name = "idx_shipments_pickup_date_id", columnList = "pickup_date_time, id"),
+        @Index(name = "idx_shipments_status_pickup_date_id", columnList = "status, pickup_date_time, id"),
+        @Index(name = "idx_shipments_customer_pickup_date_id", columnList = "customer_id, pickup_date_time, id")
+})
+@EntityListeners(ShipmentUniqueKeyListener.class) // Filtrul de unicitate pentru referenceNumber
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Shipment {
+public class Shipment extends AggregateRoot {
 
+    // Secvență "pooled" în loc de IDENTITY: IDENTITY dezactivează batching-ul JDBC în Hibernate,
+    // pe când aici un singur apel nextval rezervă 50 de ID-uri (vezi importul în masă).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shipment_seq")
+    @SequenceGenerator(name = "shipment_seq", sequenceName = "shipments_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -54,6 +78,9 @@ public class Shipment {
     @Embedded
     private CargoDetails cargoDetails;
 
+    // Prețul convenit la creare; se facturează la livrare și este rezervat din creditul clientului până atunci
+    private double price;
+
     // --- Timpi ---
     private LocalDateTime pickupDateTime;
     private LocalDateTime requestedDeliveryDateTime;
@@ -62,8 +89,18 @@ public class Shipment {
     @OneToOne(mappedBy = "shipment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private DeliveryConfirmation deliveryConfirmation;
 
-    // Constructor pentru creare
+    // Blocare optimistă: două tranziții concurente pe același transport nu pot trece amândouă
+    @Version
+    private Long version;
+
+    // Constructor pentru creare, fără preț
     public Shipment(String referenceNumber, Long customerId, ShipmentContactLocation pickupLocation, ShipmentContactLocation deliveryLocation, CargoDetails cargoDetails, LocalDateTime pickupDateTime, LocalDateTime requestedDeliveryDateTime) {
+        this(referenceNumber, customerId, pickupLocation, deliveryLocation, cargoDetails, pickupDateTime, requestedDeliveryDateTime, 0);
+    }
+
+    // Constructor pentru creare
+    public Shipment(String referenceNumber, Long customerId, ShipmentContactLocation pickupLocation, ShipmentContactLocation deliveryLocation, CargoDetails cargoDetails, LocalDateTime pickupDateTime, LocalDateTime requestedDeliveryDateTime, double price) {
+        this.price = price;
         this.referenceNumber = referenceNumber;
         this.customerId = customerId;
         this.pickupLocation = pickupLocation;
@@ -90,6 +127,9 @@ public class Shipment {
         if (!canBeAssigned()) {
             throw new IllegalStateException("Shipment cannot be assigned in its current state: " + this.status);
         }
+        // La re-alocare, resursele anterioare se eliberează după commit (ShipmentAssigned)
+        registerEvent(new ShipmentAssigned(id, driverId, vehicleId, assignedDriverId, assignedVehicleId,
+                cargoDetails.getWeightKg(), cargoDetails.getVolumeCubicMeters(), Instant.now()));
         this.assignedDriverId = driverId;
         this.assignedVehicleId = vehicleId;
         this.status = ShipmentStatus.SCHEDULED;
@@ -103,6 +143,7 @@ public class Shipment {
             throw new IllegalStateException("Shipment must be SCHEDULED to be picked up.");
         }
         this.status = ShipmentStatus.PICKED_UP;
+        registerEvent(new ShipmentPickedUp(id, assignedDriverId, assignedVehicleId, Instant.now()));
     }
 
     /**
@@ -113,17 +154,23 @@ public class Shipment {
             throw new IllegalStateException("Shipment must be PICKED_UP to be in transit.");
         }
         this.status = ShipmentStatus.IN_TRANSIT;
+        registerEvent(new ShipmentInTransit(id, assignedDriverId, assignedVehicleId, Instant.now()));
     }
 
     /**
-     * Anulează transportul.
+     * Anulează transportul. O a doua anulare nu mai are efect (creditul și resursele au fost deja eliberate).
      */
     public void cancel() {
         if (this.status == ShipmentStatus.DELIVERED) {
             throw new IllegalStateException("Cannot cancel a delivered shipment.");
         }
+        if (this.status == ShipmentStatus.CANCELED) {
+            return;
+        }
         this.status = ShipmentStatus.CANCELED;
-        // Eliberarea resurselor (driver/vehicle) va fi gestionată de Application Service
+        // Creditul rezervat și resursele (driver/vehicle) se eliberează după commit, din ShipmentCanceled
+        registerEvent(new ShipmentCanceled(id, customerId, assignedDriverId, assignedVehicleId, price,
+                cargoDetails.getWeightKg(), cargoDetails.getVolumeCubicMeters(), Instant.now()));
     }
 
     /**
@@ -139,5 +186,7 @@ public class Shipment {
             confirmation.setShipment(this);
         }
         this.status = ShipmentStatus.DELIVERED;
+        registerEvent(new ShipmentDelivered(id, customerId, assignedDriverId, assignedVehicleId, price,
+                cargoDetails.getWeightKg(), cargoDetails.getVolumeCubicMeters(), Instant.now()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.FTMS.FTMS_app.shipment.domain.repository;
+
+import com.FTMS.FTMS_app.shipment.domain.model.InvoiceOutboxEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InvoiceOutboxRepository extends JpaRepository<InvoiceOutboxEntry, Long> {
+
+    /**
+     * Următorul lot de intrări de procesat, blocate cu FOR UPDATE SKIP LOCKED (timeout -2):
+     * mai multe instanțe ale aplicației pot rula relay-ul în paralel fără să ia aceleași intrări.
+     * Intrările care au mai eșuat trec la coada lotului; cele care au eșuat de prea multe ori
+     * sunt lăsate deoparte (vezi statisticile).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM InvoiceOutboxEntry e WHERE e.processedAt IS NULL AND e.attempts < :maxAttempts ORDER BY e.attempts, e.id")
+    List<InvoiceOutboxEntry> findPendingForUpdate(int maxAttempts, Limit limit);
+
+    /**
+     * O singură intrare, blocată cu aceeași regulă SKIP LOCKED; goală dacă între timp a fost procesată
+     * sau este ținută de altă instanță (reluarea individuală după un lot eșuat).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM InvoiceOutboxEntry e WHERE e.id = :id AND e.processedAt IS NULL AND e.attempts < :maxAttempts")
+    Optional<InvoiceOutboxEntry> findPendingByIdForUpdate(Long id, int maxAttempts);
+
+    long countByProcessedAtIsNullAndAttemptsLessThan(int maxAttempts);
+
+    long countByProcessedAtIsNullAndAttemptsGreaterThanEqual(int maxAttempts);
+
+    /**
+     * Cea mai veche intrare încă de procesat: întârzierea (lag) relay-ului. Intrările lăsate deoparte nu
+     * intră aici, altfel una singură ar fixa întârzierea la vârsta ei.
+     */
+    @Query("SELECT MIN(e.createdAt) FROM InvoiceOutboxEntry e WHERE e.processedAt IS NULL AND e.attempts < :maxAttempts")
+    Instant findOldestPendingCreatedAt(int maxAttempts);
+
+    /**
+     * Cea mai veche intrare lăsată deoparte (prea multe eșecuri), raportată separat.
+     */
+    @Query("SELECT MIN(e.createdAt) FROM InvoiceOutboxEntry e WHERE e.processedAt IS NULL AND e.attempts >= :maxAttempts")
+    Instant findOldestParkedCreatedAt(int maxAttempts);
+}
@@ -0,0 +1,9 @@
+package com.FTMS.FTMS_app.shipment.domain.repository;
+
+import com.FTMS.FTMS_app.shipment.domain.model.RateCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RateCardRepository extends JpaRepository<RateCard, Long> {
+}
@@ -1,25 +1,111 @@
 package com.FTMS.FTMS_app.shipment.domain.repository;
 
+import com.FTMS.FTMS_app.common.concurrency.VersionStamp;
+import com.FTMS.FTMS_app.common.metrics.StatusCount;
 import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
 import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
+public interface ShipmentRepository extends JpaRepository<Shipment, Long>, JpaSpecificationExecutor<Shipment> {
 
+    // deliveryConfirmation este partea inversă a relației (FK-ul e în delivery_confirmations), deci Hibernate
+    // o încarcă oricum, cu un SELECT separat pentru fiecare transport. Metodele care întorc entități o aduc
+    // prin LEFT JOIN în aceeași interogare (vezi EndpointQueryBudgetTest).
+
+    @Override
+    @EntityGraph(attributePaths = "deliveryConfirmation")
+    Optional<Shipment> findById(Long id);
+
+    // Tranzițiile în lot: toate transporturile într-o singură interogare
+    @Override
+    @EntityGraph(attributePaths = "deliveryConfirmation")
+    List<Shipment> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "deliveryConfirmation")
     Optional<Shipment> findByReferenceNumber(String referenceNumber);
 
+    /**
+     * Toate numerele de referință, citite în flux (pentru filtrul de unicitate). Necesită o tranzacție.
+     */
+    @Query("SELECT s.referenceNumber FROM Shipment s")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllReferenceNumbers();
+
+    /**
+     * Proiecție pentru GET /shipments/{id}: o singură interogare (LEFT JOIN pe confirmarea de livrare),
+     * fără a încărca entitatea.
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.shipment.domain.repository.ShipmentView(" +
+            "s.id, s.referenceNumber, s.status, s.customerId, s.assignedDriverId, s.assignedVehicleId, " +
+            "s.pickupLocation, s.deliveryLocation, s.cargoDetails, s.pickupDateTime, s.requestedDeliveryDateTime, " +
+            "dc.actualDeliveryDateTime, dc.recipientName, dc.issuesOrDamages) " +
+            "FROM Shipment s LEFT JOIN s.deliveryConfirmation dc WHERE s.id = :id")
+    Optional<ShipmentView> findViewById(Long id);
+
+    /**
+     * Proiecție pentru poziția transportului: doar statusul și vehiculul alocat.
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.shipment.domain.repository.ShipmentVehicleAssignment(s.id, s.status, s.assignedVehicleId) " +
+            "FROM Shipment s WHERE s.id = :id")
+    Optional<ShipmentVehicleAssignment> findVehicleAssignmentById(Long id);
+
+    /**
+     * Returnează, dintr-un lot de numere de referință, doar pe cele care există deja.
+     * Folosit de importul în masă (o singură interogare pentru tot lotul).
+     */
+    @Query("SELECT s.referenceNumber FROM Shipment s WHERE s.referenceNumber IN :referenceNumbers")
+    Set<String> findExistingReferenceNumbers(Collection<String> referenceNumbers);
+
+    @EntityGraph(attributePaths = "deliveryConfirmation")
     List<Shipment> findByStatus(ShipmentStatus status);
 
+    // Transporturile unei zile (consolidarea): ridicarea în [from, to)
+    @EntityGraph(attributePaths = "deliveryConfirmation")
+    @Query("SELECT s FROM Shipment s WHERE s.status = :status AND s.pickupDateTime >= :from AND s.pickupDateTime < :to")
+    List<Shipment> findByStatusAndPickupBetween(ShipmentStatus status, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Numărul de transporturi pe status (o singură interogare, la pornire, pentru gauge-urile de status).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.common.metrics.StatusCount(s.status, COUNT(s)) FROM Shipment s GROUP BY s.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @EntityGraph(attributePaths = "deliveryConfirmation")
     List<Shipment> findByCustomerId(Long customerId);
 
     // Folosit pentru a vedea dacă un șofer este deja într-o cursă activă
+    @EntityGraph(attributePaths = "deliveryConfirmation")
     Optional<Shipment> findByAssignedDriverIdAndStatusIn(Long driverId, List<ShipmentStatus> statuses);
 
     // Folosit pentru a vedea dacă un vehicul este deja într-o cursă activă
+    @EntityGraph(attributePaths = "deliveryConfirmation")
     Optional<Shipment> findByAssignedVehicleIdAndStatusIn(Long vehicleId, List<ShipmentStatus> statuses);
+
+    /**
+     * Transporturile cursei curente a unui vehicul (mai multe la consolidare). Proiecție, deci citită mereu
+     * din baza de date, chiar dacă transporturile sunt deja în contextul de persistență.
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.shipment.domain.repository.ShipmentTripMember(s.id, s.status, s.assignedDriverId) " +
+            "FROM Shipment s WHERE s.assignedVehicleId = :vehicleId AND s.status IN :statuses")
+    List<ShipmentTripMember> findTripMembers(Long vehicleId, Collection<ShipmentStatus> statuses);
+
+    /**
+     * Versiunile curente ale transporturilor date, citite din baza de date (o singură interogare).
+     */
+    @Query("SELECT new com.FTMS.FTMS_app.common.concurrency.VersionStamp(s.id, s.version) FROM Shipment s WHERE s.id IN :ids")
+    List<VersionStamp> findVersions(Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.FTMS.FTMS_app.shipment.domain.repository;
+
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtre pentru listarea transporturilor. Fiecare filtru întoarce null când parametrul lipsește.
+ * Egalitățile sunt exacte, ca interogarea să poată folosi indecșii compuși din Shipment (care acoperă
+ * filtrele singure și perechile uzuale, nu orice combinație).
+ */
+public final class ShipmentSpecifications {
+
+    private ShipmentSpecifications() {
+    }
+
+    public static Specification<Shipment> hasStatus(ShipmentStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Shipment> hasCustomer(Long customerId) {
+        return customerId == null ? null : (root, query, cb) -> cb.equal(root.get("customerId"), customerId);
+    }
+
+    public static Specification<Shipment> pickupCity(String city) {
+        return city == null ? null : (root, query, cb) -> cb.equal(root.get("pickupLocation").get("city"), city);
+    }
+
+    public static Specification<Shipment> deliveryCity(String city) {
+        return city == null ? null : (root, query, cb) -> cb.equal(root.get("deliveryLocation").get("city"), city);
+    }
+
+    public static Specification<Shipment> pickupFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("pickupDateTime"), from);
+    }
+
+    public static Specification<Shipment> pickupBefore(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("pickupDateTime"), to);
+    }
+}
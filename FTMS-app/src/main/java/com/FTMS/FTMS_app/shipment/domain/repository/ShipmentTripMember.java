@@ -0,0 +1,13 @@
+package com.FTMS.FTMS_app.shipment.domain.repository;
+
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+
+/**
+ * Proiecție: un transport din cursa curentă a unui vehicul (ShipmentRepository.findTripMembers).
+ */
+public record ShipmentTripMember(
+        Long shipmentId,
+        ShipmentStatus status,
+        Long driverId
+) {
+}
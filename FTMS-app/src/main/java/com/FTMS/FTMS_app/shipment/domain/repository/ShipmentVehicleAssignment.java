@@ -0,0 +1,20 @@
+package com.FTMS.FTMS_app.shipment.domain.repository;
+
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+
+/**
+ * Proiecție: statusul unui transport și vehiculul alocat (ShipmentRepository.findVehicleAssignmentById).
+ */
+public record ShipmentVehicleAssignment(
+        Long shipmentId,
+        ShipmentStatus status,
+        Long vehicleId
+) {
+
+    /**
+     * Poziția vehiculului este și poziția transportului doar între ridicare și livrare.
+     */
+    public boolean isOnTheRoad() {
+        return vehicleId != null && (status == ShipmentStatus.PICKED_UP || status == ShipmentStatus.IN_TRANSIT);
+    }
+}
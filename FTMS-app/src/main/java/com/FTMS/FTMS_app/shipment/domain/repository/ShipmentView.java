@@ -0,0 +1,29 @@
+package com.FTMS.FTMS_app.shipment.domain.repository;
+
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentContactLocation;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proiecție: un transport cu Value Object-urile încorporate și coloanele confirmării de livrare
+ * (din LEFT JOIN; null până la livrare), fără a încărca entitatea (ShipmentRepository.findViewById).
+ */
+public record ShipmentView(
+        Long id,
+        String referenceNumber,
+        ShipmentStatus status,
+        Long customerId,
+        Long assignedDriverId,
+        Long assignedVehicleId,
+        ShipmentContactLocation pickupLocation,
+        ShipmentContactLocation deliveryLocation,
+        CargoDetails cargoDetails,
+        LocalDateTime pickupDateTime,
+        LocalDateTime requestedDeliveryDateTime,
+        LocalDateTime actualDeliveryDateTime,
+        String recipientName,
+        String issuesOrDamages
+) {
+}
@@ -0,0 +1,146 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleCapacity;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentContactLocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Serviciu de domeniu: calculează, într-o singură trecere, alocarea transporturilor în așteptare
+ * pe șoferii și vehiculele disponibile.
+ *
+ * Algoritmul este "best-fit decreasing": transporturile mari sunt plasate primele, iar fiecare
+ * primește vehiculul compatibil cu cea mai mică capacitate nefolosită. Nu modifică entitățile,
+ * doar produce planul.
+ *
+ * La dimensiuni egale trece înainte transportul care trebuie să plece primul: livrarea cerută minus durata
+ * estimată a cursei (ShipmentComputationService.estimateLane) sau, fără estimare, ora de ridicare.
+ */
+@Component
+public class DispatchPlanner {
+
+    // null = fără estimări de durată (doar ora de ridicare)
+    private final ShipmentComputationService computationService;
+
+    public DispatchPlanner() {
+        this(null);
+    }
+
+    @Autowired
+    public DispatchPlanner(ShipmentComputationService computationService) {
+        this.computationService = computationService;
+    }
+
+    public record Assignment(Shipment shipment, Driver driver, Vehicle vehicle, double wastedCapacity) {
+    }
+
+    public record Plan(List<Assignment> assignments, Map<Long, String> unassigned) {
+    }
+
+    public Plan plan(List<Shipment> shipments, List<Driver> drivers, List<Vehicle> vehicles) {
+        // 1. Doar resursele care trec regulile de domeniu (status + documente valide)
+        List<Vehicle> freeVehicles = new ArrayList<>(vehicles.stream().filter(Vehicle::isAvailable).toList());
+        // Șoferii cu permis C sunt încercați primii, ca cei cu CE să rămână pentru TANKER/FLATBED
+        List<Driver> freeDrivers = new ArrayList<>(drivers.stream()
+                .filter(Driver::isAvailable)
+                .sorted(Comparator.comparing((Driver d) -> d.getLicenseInfo().getLicenseType() == LicenseType.CE))
+                .toList());
+
+        double maxWeight = freeVehicles.stream().mapToDouble(v -> v.getCapacity().getMaxWeightKg()).max().orElse(1);
+        double maxVolume = freeVehicles.stream().mapToDouble(v -> v.getCapacity().getMaxVolumeCubicMeters()).max().orElse(1);
+
+        // 2. Ordonare descrescătoare după dimensiunea normalizată; la egalitate, plecarea cea mai urgentă
+        Map<Shipment, LocalDateTime> departures = new IdentityHashMap<>();
+        for (Shipment shipment : shipments) {
+            departures.put(shipment, latestDeparture(shipment));
+        }
+        List<Shipment> ordered = new ArrayList<>(shipments);
+        ordered.sort(Comparator
+                .comparingDouble((Shipment s) -> normalizedSize(s.getCargoDetails(), maxWeight, maxVolume)).reversed()
+                .thenComparing(departures::get, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<Assignment> assignments = new ArrayList<>();
+        Map<Long, String> unassigned = new LinkedHashMap<>();
+
+        for (Shipment shipment : ordered) {
+            if (!shipment.canBeAssigned()) {
+                unassigned.put(shipment.getId(), "Shipment is already processed.");
+                continue;
+            }
+            CargoDetails cargo = shipment.getCargoDetails();
+
+            // 3. Best fit: vehiculul cu risipa minimă care are și un șofer calificat liber
+            Vehicle bestVehicle = null;
+            Driver bestDriver = null;
+            double bestWaste = Double.MAX_VALUE;
+            for (Vehicle vehicle : freeVehicles) {
+                VehicleCapacity capacity = vehicle.getCapacity();
+                if (!capacity.isSufficient(cargo.getWeightKg(), cargo.getVolumeCubicMeters())) {
+                    continue;
+                }
+                double waste = wastedCapacity(capacity, cargo);
+                if (waste >= bestWaste) {
+                    continue;
+                }
+                Driver driver = firstQualifiedDriver(freeDrivers, vehicle);
+                if (driver != null) {
+                    bestVehicle = vehicle;
+                    bestDriver = driver;
+                    bestWaste = waste;
+                }
+            }
+
+            if (bestVehicle == null) {
+                unassigned.put(shipment.getId(), "No available vehicle with sufficient capacity and a licensed driver.");
+                continue;
+            }
+
+            freeVehicles.remove(bestVehicle);
+            freeDrivers.remove(bestDriver);
+            assignments.add(new Assignment(shipment, bestDriver, bestVehicle, bestWaste));
+        }
+
+        return new Plan(assignments, unassigned);
+    }
+
+    // Cel mai târziu moment de plecare care mai respectă livrarea cerută; fără estimare, ora de ridicare
+    private LocalDateTime latestDeparture(Shipment shipment) {
+        ShipmentContactLocation pickup = shipment.getPickupLocation();
+        ShipmentContactLocation delivery = shipment.getDeliveryLocation();
+        if (computationService == null || pickup == null || delivery == null || shipment.getRequestedDeliveryDateTime() == null) {
+            return shipment.getPickupDateTime();
+        }
+        LaneEstimate lane = computationService.estimateLane(pickup.getCountry(), pickup.getZipCode(),
+                delivery.getCountry(), delivery.getZipCode());
+        return lane == null
+                ? shipment.getPickupDateTime()
+                : shipment.getRequestedDeliveryDateTime().minusMinutes(Math.round(lane.transitHours() * 60));
+    }
+
+    private Driver firstQualifiedDriver(List<Driver> drivers, Vehicle vehicle) {
+        for (Driver driver : drivers) {
+            if (driver.canDriveVehicle(vehicle)) {
+                return driver;
+            }
+        }
+        return null;
+    }
+
+    // Capacitatea nefolosită, ca fracție din vehicul (0 = plin, 2 = gol pe ambele dimensiuni)
+    private double wastedCapacity(VehicleCapacity capacity, CargoDetails cargo) {
+        return (1 - cargo.getWeightKg() / capacity.getMaxWeightKg())
+                + (1 - cargo.getVolumeCubicMeters() / capacity.getMaxVolumeCubicMeters());
+    }
+
+    private double normalizedSize(CargoDetails cargo, double maxWeight, double maxVolume) {
+        return Math.max(cargo.getWeightKg() / maxWeight, cargo.getVolumeCubicMeters() / maxVolume);
+    }
+}
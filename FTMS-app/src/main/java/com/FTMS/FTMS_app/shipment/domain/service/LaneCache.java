@@ -0,0 +1,69 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cache LRU pentru relații (cheie de ridicare, cheie de livrare), asociativ pe seturi de câte 4 intrări:
+ * perechea alege setul, iar la inserare se înlocuiește intrarea folosită cel mai demult din set.
+ *
+ * O citire găsită în cache nu alocă nimic și nu blochează (doar marchează momentul folosirii); doar o
+ * relație nouă alocă intrarea ei. Scrierile concurente pe același set pot înlocui o intrare recentă,
+ * ceea ce costă doar o recalculare.
+ */
+final class LaneCache {
+
+    private static final int WAYS = 4;
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLongArray lastUsed;
+    private final int setMask;
+
+    LaneCache(int capacity) {
+        int sets = Integer.highestOneBit(Math.max(WAYS, capacity) / WAYS);
+        this.entries = new AtomicReferenceArray<>(sets * WAYS);
+        this.lastUsed = new AtomicLongArray(sets * WAYS);
+        this.setMask = sets - 1;
+    }
+
+    LaneEstimate get(long from, long to) {
+        int base = setOf(from, to);
+        for (int way = 0; way < WAYS; way++) {
+            Entry entry = entries.get(base + way);
+            if (entry != null && entry.from == from && entry.to == to) {
+                lastUsed.setOpaque(base + way, System.nanoTime());
+                return entry.estimate;
+            }
+        }
+        return null;
+    }
+
+    void put(long from, long to, LaneEstimate estimate) {
+        int base = setOf(from, to);
+        int victim = base;
+        long oldest = Long.MAX_VALUE;
+        for (int way = 0; way < WAYS; way++) {
+            Entry entry = entries.get(base + way);
+            if (entry == null) {
+                victim = base + way;
+                break;
+            }
+            long used = lastUsed.getOpaque(base + way);
+            if (used < oldest) {
+                oldest = used;
+                victim = base + way;
+            }
+        }
+        entries.set(victim, new Entry(from, to, estimate));
+        lastUsed.setOpaque(victim, System.nanoTime());
+    }
+
+    private int setOf(long from, long to) {
+        long hash = from * 0x9E3779B97F4A7C15L ^ to * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 32;
+        return ((int) hash & setMask) * WAYS;
+    }
+
+    private record Entry(long from, long to, LaneEstimate estimate) {
+    }
+}
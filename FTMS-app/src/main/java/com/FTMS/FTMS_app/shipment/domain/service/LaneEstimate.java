@@ -0,0 +1,21 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Distanța și durata estimată pentru o relație (cod poștal de ridicare -> cod poștal de livrare).
+ *
+ * @param greatCircleKm distanța pe cercul mare
+ * @param roadKm        distanța rutieră estimată (cercul mare * factorul rutier)
+ * @param drivingHours  timpul de condus la viteza medie
+ * @param transitHours  durata cursei, cu pauzele și odihna zilnică obligatorii
+ */
+public record LaneEstimate(double greatCircleKm, double roadKm, double drivingHours, double transitHours) {
+
+    /**
+     * Sosirea estimată pentru o ridicare la momentul dat.
+     */
+    public LocalDateTime arrivalFor(LocalDateTime pickup) {
+        return pickup.plusMinutes(Math.round(transitHours * 60));
+    }
+}
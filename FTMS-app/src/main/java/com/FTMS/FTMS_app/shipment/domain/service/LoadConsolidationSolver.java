@@ -0,0 +1,323 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleCapacity;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Serviciu de domeniu: consolidarea (LTL) transporturilor în așteptare pe vehiculele disponibile, ca
+ * problemă de bin packing în două dimensiuni (greutate, volum), cu vehicule de capacități diferite și
+ * câte un șofer calificat pe fiecare vehicul folosit.
+ *
+ * Problema este NP-dificilă, deci solver-ul rulează un portofoliu de euristici "best-fit decreasing":
+ * câteva ordonări deterministe ale transporturilor (după dimensiunea normalizată, greutate, volum, suma
+ * lor), fiecare cu două politici de deschidere a unui vehicul nou (cel mai mic în care încape / cel mai
+ * mare), plus reporniri cu ordonări perturbate aleator (seed fix, deci rezultat reproductibil).
+ * Strategiile sunt independente și rulează în paralel (fork/join); se păstrează planul cu cele mai multe
+ * transporturi alocate, apoi cu cele mai puține vehicule, apoi cu cea mai puțină capacitate nefolosită.
+ * Ca DispatchPlanner, nu modifică entitățile, doar produce planul.
+ */
+@Component
+public class LoadConsolidationSolver {
+
+    // Repornirile cu ordonare perturbată (pe lângă cele 8 strategii deterministe)
+    static final int RANDOMIZED_RESTARTS = 56;
+    // Sub acest număr de strategii, o sarcină fork/join le rulează direct, fără să se mai împartă
+    private static final int SEQUENTIAL_THRESHOLD = 2;
+    // Amplitudinea perturbării: dimensiunea fiecărui transport se înmulțește cu un factor din [1 - x, 1 + x]
+    private static final double PERTURBATION = 0.25;
+
+    public record Trip(Vehicle vehicle, Driver driver, List<Shipment> shipments,
+                       double weightUtilization, double volumeUtilization) {
+    }
+
+    public record Plan(List<Trip> trips, Map<Long, String> unassigned) {
+
+        public int assignedShipments() {
+            return trips.stream().mapToInt(trip -> trip.shipments().size()).sum();
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    public LoadConsolidationSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    LoadConsolidationSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public Plan solve(List<Shipment> shipments, List<Driver> drivers, List<Vehicle> vehicles) {
+        Map<Long, String> unassigned = new LinkedHashMap<>();
+        List<Shipment> candidates = new ArrayList<>(shipments.size());
+        for (Shipment shipment : shipments) {
+            if (shipment.canBeAssigned()) {
+                candidates.add(shipment);
+            } else {
+                unassigned.put(shipment.getId(), "Shipment is already processed.");
+            }
+        }
+
+        // Doar resursele care trec regulile de domeniu (status + documente valide); vehiculele deja
+        // încărcate nu primesc marfă nouă aici (consolidarea pe o cursă existentă se face manual)
+        List<Vehicle> freeVehicles = vehicles.stream().filter(Vehicle::isAvailable).toList();
+        // Șoferii cu permis C sunt încercați primii, ca cei cu CE să rămână pentru TANKER/FLATBED
+        List<Driver> freeDrivers = drivers.stream()
+                .filter(Driver::isAvailable)
+                .sorted(Comparator.comparing((Driver d) -> d.getLicenseInfo().getLicenseType() == LicenseType.CE))
+                .toList();
+
+        Problem problem = new Problem(candidates, freeVehicles, freeDrivers);
+        Solution best = candidates.isEmpty() || freeVehicles.isEmpty()
+                ? problem.pack(0)
+                : pool.invoke(new StrategyTask(problem, 0, Problem.DETERMINISTIC_STRATEGIES + RANDOMIZED_RESTARTS));
+
+        List<Trip> trips = new ArrayList<>(best.trips.size());
+        for (OpenTrip trip : best.trips) {
+            trips.add(trip.toTrip());
+        }
+        for (Shipment shipment : best.unplaced) {
+            unassigned.put(shipment.getId(), "No available vehicle with enough remaining capacity and a licensed driver.");
+        }
+        return new Plan(trips, unassigned);
+    }
+
+    /**
+     * Rulează strategiile [from, to) și întoarce cel mai bun plan; intervalul se împarte în două până la prag.
+     */
+    private static final class StrategyTask extends RecursiveTask<Solution> {
+
+        private final Problem problem;
+        private final int from;
+        private final int to;
+
+        StrategyTask(Problem problem, int from, int to) {
+            this.problem = problem;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Solution compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                Solution best = null;
+                for (int strategy = from; strategy < to; strategy++) {
+                    best = Solution.better(best, problem.pack(strategy));
+                }
+                return best;
+            }
+            int middle = (from + to) >>> 1;
+            StrategyTask left = new StrategyTask(problem, from, middle);
+            left.fork();
+            Solution right = new StrategyTask(problem, middle, to).compute();
+            // La egalitate câștigă strategia cu indicele mai mic: rezultatul nu depinde de paralelism
+            return Solution.better(left.join(), right);
+        }
+    }
+
+    /**
+     * Datele comune tuturor strategiilor (doar citite, deci sigure între fire).
+     */
+    private static final class Problem {
+
+        static final int DETERMINISTIC_STRATEGIES = 8;
+
+        private final List<Shipment> shipments;
+        private final List<Vehicle> vehicles;
+        private final List<Driver> drivers;
+        private final double maxWeight;
+        private final double maxVolume;
+
+        Problem(List<Shipment> shipments, List<Vehicle> vehicles, List<Driver> drivers) {
+            this.shipments = shipments;
+            // Vehiculele de la cel mai mic la cel mai mare (după capacitatea normalizată)
+            this.maxWeight = vehicles.stream().mapToDouble(v -> v.getCapacity().getMaxWeightKg()).max().orElse(1);
+            this.maxVolume = vehicles.stream().mapToDouble(v -> v.getCapacity().getMaxVolumeCubicMeters()).max().orElse(1);
+            this.vehicles = vehicles.stream()
+                    .sorted(Comparator.comparingDouble(this::normalizedCapacity))
+                    .toList();
+            this.drivers = drivers;
+        }
+
+        /**
+         * Strategia i: ordonarea i % 4 (sau perturbată, pentru i >= 8) și politica de deschidere (i / 4) % 2.
+         */
+        Solution pack(int strategy) {
+            boolean openLargest = (strategy / 4) % 2 == 1;
+            List<Shipment> ordered = order(strategy);
+
+            List<OpenTrip> trips = new ArrayList<>();
+            List<Shipment> unplaced = new ArrayList<>();
+            boolean[] vehicleUsed = new boolean[vehicles.size()];
+            Set<Driver> driversUsed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            for (Shipment shipment : ordered) {
+                CargoDetails cargo = shipment.getCargoDetails();
+                // 1. Best fit printre cursele deschise: cea care rămâne cu cel mai puțin loc liber
+                OpenTrip bestTrip = null;
+                double bestSlack = Double.MAX_VALUE;
+                for (OpenTrip trip : trips) {
+                    if (trip.fits(cargo)) {
+                        double slack = trip.slackAfter(cargo, maxWeight, maxVolume);
+                        if (slack < bestSlack) {
+                            bestSlack = slack;
+                            bestTrip = trip;
+                        }
+                    }
+                }
+                if (bestTrip == null) {
+                    bestTrip = open(cargo, openLargest, vehicleUsed, driversUsed);
+                    if (bestTrip == null) {
+                        unplaced.add(shipment);
+                        continue;
+                    }
+                    trips.add(bestTrip);
+                }
+                bestTrip.add(shipment);
+            }
+            return new Solution(strategy, trips, unplaced);
+        }
+
+        // 2. Vehicul nou: primul (cel mai mic / cel mai mare) în care încape marfa și care are un șofer calificat liber
+        private OpenTrip open(CargoDetails cargo, boolean largest, boolean[] vehicleUsed, Set<Driver> driversUsed) {
+            for (int k = 0; k < vehicles.size(); k++) {
+                int index = largest ? vehicles.size() - 1 - k : k;
+                Vehicle vehicle = vehicles.get(index);
+                if (vehicleUsed[index] || !vehicle.getCapacity().isSufficient(cargo.getWeightKg(), cargo.getVolumeCubicMeters())) {
+                    continue;
+                }
+                for (Driver driver : drivers) {
+                    if (!driversUsed.contains(driver) && driver.canDriveVehicle(vehicle)) {
+                        vehicleUsed[index] = true;
+                        driversUsed.add(driver);
+                        return new OpenTrip(vehicle, driver);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private List<Shipment> order(int strategy) {
+            List<Shipment> ordered = new ArrayList<>(shipments);
+            Comparator<Shipment> bySize = switch (strategy < DETERMINISTIC_STRATEGIES ? strategy % 4 : 0) {
+                case 1 -> Comparator.comparingDouble(s -> s.getCargoDetails().getWeightKg());
+                case 2 -> Comparator.comparingDouble(s -> s.getCargoDetails().getVolumeCubicMeters());
+                case 3 -> Comparator.comparingDouble(s -> sumSize(s.getCargoDetails()));
+                default -> Comparator.comparingDouble(s -> maxSize(s.getCargoDetails()));
+            };
+            if (strategy >= DETERMINISTIC_STRATEGIES) {
+                SplittableRandom random = new SplittableRandom(strategy);
+                Map<Shipment, Double> noise = new IdentityHashMap<>();
+                for (Shipment shipment : ordered) {
+                    noise.put(shipment, 1 + PERTURBATION * (2 * random.nextDouble() - 1));
+                }
+                bySize = Comparator.comparingDouble(s -> maxSize(s.getCargoDetails()) * noise.get(s));
+            }
+            ordered.sort(bySize.reversed());
+            return ordered;
+        }
+
+        private double maxSize(CargoDetails cargo) {
+            return Math.max(cargo.getWeightKg() / maxWeight, cargo.getVolumeCubicMeters() / maxVolume);
+        }
+
+        private double sumSize(CargoDetails cargo) {
+            return cargo.getWeightKg() / maxWeight + cargo.getVolumeCubicMeters() / maxVolume;
+        }
+
+        private double normalizedCapacity(Vehicle vehicle) {
+            VehicleCapacity capacity = vehicle.getCapacity();
+            return capacity.getMaxWeightKg() / maxWeight + capacity.getMaxVolumeCubicMeters() / maxVolume;
+        }
+    }
+
+    private static final class OpenTrip {
+
+        private final Vehicle vehicle;
+        private final Driver driver;
+        private final List<Shipment> shipments = new ArrayList<>();
+        private double weightKg;
+        private double volumeCubicMeters;
+
+        OpenTrip(Vehicle vehicle, Driver driver) {
+            this.vehicle = vehicle;
+            this.driver = driver;
+        }
+
+        boolean fits(CargoDetails cargo) {
+            return vehicle.getCapacity().isSufficient(weightKg + cargo.getWeightKg(), volumeCubicMeters + cargo.getVolumeCubicMeters());
+        }
+
+        // Locul liber rămas după încărcare, normalizat la cel mai mare vehicul
+        double slackAfter(CargoDetails cargo, double maxWeight, double maxVolume) {
+            VehicleCapacity capacity = vehicle.getCapacity();
+            return (capacity.getMaxWeightKg() - weightKg - cargo.getWeightKg()) / maxWeight
+                    + (capacity.getMaxVolumeCubicMeters() - volumeCubicMeters - cargo.getVolumeCubicMeters()) / maxVolume;
+        }
+
+        void add(Shipment shipment) {
+            shipments.add(shipment);
+            weightKg += shipment.getCargoDetails().getWeightKg();
+            volumeCubicMeters += shipment.getCargoDetails().getVolumeCubicMeters();
+        }
+
+        // Capacitatea nefolosită, ca fracție din vehicul (0 = plin, 2 = gol pe ambele dimensiuni)
+        double wastedCapacity() {
+            return (1 - weightUtilization()) + (1 - volumeUtilization());
+        }
+
+        double weightUtilization() {
+            return weightKg / vehicle.getCapacity().getMaxWeightKg();
+        }
+
+        double volumeUtilization() {
+            return volumeCubicMeters / vehicle.getCapacity().getMaxVolumeCubicMeters();
+        }
+
+        Trip toTrip() {
+            return new Trip(vehicle, driver, List.copyOf(shipments), weightUtilization(), volumeUtilization());
+        }
+    }
+
+    private static final class Solution {
+
+        private final int strategy;
+        private final List<OpenTrip> trips;
+        private final List<Shipment> unplaced;
+        private final int placed;
+        private final double wastedCapacity;
+
+        Solution(int strategy, List<OpenTrip> trips, List<Shipment> unplaced) {
+            this.strategy = strategy;
+            this.trips = trips;
+            this.unplaced = unplaced;
+            this.placed = trips.stream().mapToInt(trip -> trip.shipments.size()).sum();
+            this.wastedCapacity = trips.stream().mapToDouble(OpenTrip::wastedCapacity).sum();
+        }
+
+        static Solution better(Solution a, Solution b) {
+            if (a == null) {
+                return b;
+            }
+            if (a.placed != b.placed) {
+                return a.placed > b.placed ? a : b;
+            }
+            if (a.trips.size() != b.trips.size()) {
+                return a.trips.size() < b.trips.size() ? a : b;
+            }
+            if (Math.abs(a.wastedCapacity - b.wastedCapacity) > 1e-9) {
+                return a.wastedCapacity < b.wastedCapacity ? a : b;
+            }
+            return a.strategy <= b.strategy ? a : b;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Coordonatele codurilor poștale, într-un fișier binar mapat în memorie (înregistrări de 16 octeți,
+ * sortate după cheie: cheia codului pe 8 octeți, latitudinea și longitudinea ca float).
+ *
+ * Căutarea este o căutare binară direct în fișierul mapat: nu alocă obiecte și nu atinge baza de date,
+ * iar paginile rămân în page cache-ul sistemului, nu în heap. Fișierul se construiește la încărcare din
+ * CSV-ul "country,postcode,latitude,longitude" (vezi GazetteerLoader).
+ */
+public final class PostcodeGazetteer {
+
+    private static final int RECORD_BYTES = 16;
+    // Cheia: ţara (2 litere) + codul poștal (cel mult 10 caractere alfanumerice), în baza 37
+    private static final int MAX_SYMBOLS = 12;
+
+    private final MappedByteBuffer records;
+    private final int size;
+    private final String defaultCountry;
+
+    private PostcodeGazetteer(MappedByteBuffer records, String defaultCountry) {
+        this.records = records;
+        this.size = records.capacity() / RECORD_BYTES;
+        this.defaultCountry = defaultCountry;
+    }
+
+    /**
+     * Citește CSV-ul, scrie fișierul binar sortat în indexFile și îl mapează în memorie.
+     * Rândurile invalide și codurile duplicate (se păstrează primul) sunt ignorate.
+     *
+     * @param indexFile fișier nou sau gol (ex: Files.createTempFile); unul existent nu se trunchiază, pentru
+     *                  că poate fi deja mapat de alt proces sau de un gazetteer anterior
+     * @param defaultCountry țara folosită când adresa nu are una
+     * @throws IllegalArgumentException dacă indexFile nu este gol
+     */
+    public static PostcodeGazetteer build(Reader csv, Path indexFile, String defaultCountry) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(csv)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Row row = Row.parse(line);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+        }
+        rows.sort(Comparator.comparingLong(Row::key));
+
+        ByteBuffer buffer = ByteBuffer.allocate(rows.size() * RECORD_BYTES).order(ByteOrder.nativeOrder());
+        long previous = -1;
+        for (Row row : rows) {
+            if (row.key() != previous) {
+                buffer.putLong(row.key()).putFloat(row.latitude()).putFloat(row.longitude());
+                previous = row.key();
+            }
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ)) {
+            if (channel.size() > 0) {
+                throw new IllegalArgumentException("Gazetteer index file " + indexFile + " is not empty.");
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.nativeOrder());
+            return new PostcodeGazetteer(mapped, defaultCountry);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Cheia unui cod poștal (fără majuscule / spații / cratime semnificative) sau -1 dacă nu poate exista
+     * în gazetteer. Țara lipsă înseamnă țara implicită.
+     */
+    public long key(String country, String postcode) {
+        return encode(country == null || country.isBlank() ? defaultCountry : country, postcode);
+    }
+
+    /**
+     * @return poziția codului în gazetteer sau -1 dacă lipsește
+     */
+    public int indexOf(long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long candidate = records.getLong(middle * RECORD_BYTES);
+            if (candidate < key) {
+                low = middle + 1;
+            } else if (candidate > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    public double latitude(int index) {
+        return records.getFloat(index * RECORD_BYTES + 8);
+    }
+
+    public double longitude(int index) {
+        return records.getFloat(index * RECORD_BYTES + 12);
+    }
+
+    // Cifrele -> 1..10, literele -> 11..36 (niciun simbol nu este 0, deci codificarea este injectivă)
+    static long encode(String country, String postcode) {
+        if (country == null || postcode == null || country.length() != 2) {
+            return -1;
+        }
+        long key = 0;
+        int symbols = 0;
+        for (int i = 0; i < 2; i++) {
+            int symbol = symbol(country.charAt(i));
+            if (symbol < 11) {
+                return -1; // țara: cod ISO din două litere
+            }
+            key = key * 37 + symbol;
+            symbols++;
+        }
+        for (int i = 0; i < postcode.length(); i++) {
+            char c = postcode.charAt(i);
+            if (c == ' ' || c == '-') {
+                continue;
+            }
+            int symbol = symbol(c);
+            if (symbol < 0 || ++symbols > MAX_SYMBOLS) {
+                return -1;
+            }
+            key = key * 37 + symbol;
+        }
+        return symbols > 2 ? key : -1;
+    }
+
+    private static int symbol(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 1;
+        }
+        char upper = Character.toUpperCase(c);
+        if (upper >= 'A' && upper <= 'Z') {
+            return upper - 'A' + 11;
+        }
+        return -1;
+    }
+
+    private record Row(long key, float latitude, float longitude) {
+
+        static Row parse(String line) {
+            String[] columns = line.split(",");
+            if (columns.length != 4 || line.startsWith("#")) {
+                return null;
+            }
+            long key = encode(columns[0].trim(), columns[1].trim());
+            try {
+                float latitude = Float.parseFloat(columns[2].trim());
+                float longitude = Float.parseFloat(columns[3].trim());
+                return key < 0 || Math.abs(latitude) > 90 || Math.abs(longitude) > 180
+                        ? null : new Row(key, latitude, longitude);
+            } catch (NumberFormatException e) {
+                return null; // inclusiv antetul
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.shipment.domain.model.RateCard;
+
+import java.util.*;
+
+/**
+ * Tabela de tarife din memorie: imutabilă după construcție, deci poate fi citită din oricâte
+ * thread-uri fără blocare. O modificare de tarife construiește o tabelă nouă (vezi ShipmentComputationService).
+ *
+ * Cheia este (oraș ridicare, oraș livrare, tip vehicul), cu "*" pentru câmpurile lăsate goale;
+ * fiecare cheie ține treptele de greutate sortate, deci căutarea este O(log n) pe treaptă.
+ */
+public final class RateTable {
+
+    public static final RateTable EMPTY = new RateTable(Map.of(), 0);
+
+    private static final String ANY = "*";
+
+    /**
+     * Copia unui RateCard, independentă de sesiunea JPA.
+     */
+    public record Rate(Long rateCardId, double minChargeableWeightKg, double baseAmount, double pricePerKg) {
+
+        public double priceFor(double chargeableWeightKg) {
+            return baseAmount + pricePerKg * chargeableWeightKg;
+        }
+    }
+
+    private final Map<String, NavigableMap<Double, Rate>> bands;
+    private final int size;
+
+    private RateTable(Map<String, NavigableMap<Double, Rate>> bands, int size) {
+        this.bands = bands;
+        this.size = size;
+    }
+
+    public static RateTable of(Collection<RateCard> rateCards) {
+        Map<String, NavigableMap<Double, Rate>> bands = new HashMap<>();
+        for (RateCard card : rateCards) {
+            bands.computeIfAbsent(key(card.getOriginCity(), card.getDestinationCity(), card.getVehicleType()), k -> new TreeMap<>())
+                    .put(card.getMinChargeableWeightKg(),
+                            new Rate(card.getId(), card.getMinChargeableWeightKg(), card.getBaseAmount(), card.getPricePerKg()));
+        }
+        // Copii nemodificabile: tabela nu mai poate fi schimbată după publicare
+        Map<String, NavigableMap<Double, Rate>> frozen = new HashMap<>();
+        bands.forEach((key, value) -> frozen.put(key, Collections.unmodifiableNavigableMap(value)));
+        return new RateTable(Map.copyOf(frozen), rateCards.size());
+    }
+
+    /**
+     * Cel mai specific tarif pentru relație și greutate: întâi relația exactă, apoi tarifele
+     * doar pe ridicare, doar pe livrare și, la final, tariful general; la fiecare nivel, tipul de
+     * vehicul cerut are prioritate față de tariful "orice vehicul".
+     */
+    public Optional<Rate> find(String originCity, String destinationCity, VehicleType vehicleType, double chargeableWeightKg) {
+        String origin = normalize(originCity);
+        String destination = normalize(destinationCity);
+        String type = vehicleType == null ? ANY : vehicleType.name();
+        String[][] candidates = {
+                {origin, destination}, {origin, ANY}, {ANY, destination}, {ANY, ANY}
+        };
+        for (String[] lane : candidates) {
+            for (String candidateType : type.equals(ANY) ? new String[]{ANY} : new String[]{type, ANY}) {
+                NavigableMap<Double, Rate> laneBands = bands.get(lane[0] + "|" + lane[1] + "|" + candidateType);
+                if (laneBands == null) {
+                    continue;
+                }
+                Map.Entry<Double, Rate> band = laneBands.floorEntry(chargeableWeightKg);
+                if (band != null) {
+                    return Optional.of(band.getValue());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static String key(String originCity, String destinationCity, VehicleType vehicleType) {
+        return normalize(originCity) + "|" + normalize(destinationCity) + "|" + (vehicleType == null ? ANY : vehicleType.name());
+    }
+
+    // Orașele se compară fără diferențe de majuscule sau spații
+    private static String normalize(String city) {
+        return city == null || city.isBlank() ? ANY : city.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,4 +1,174 @@
 package com.FTMS.FTMS_app.shipment.domain.service;
 
+import com.FTMS.FTMS_app.customer.domain.model.CustomerCategory;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.shipment.domain.model.RateCard;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serviciu de domeniu: calculează prețul unui transport din tarifele în vigoare.
+ *
+ * Preț de listă = taxa fixă + preț/kg * greutatea taxabilă, unde greutatea taxabilă este maximul dintre
+ * greutatea reală și cea volumetrică. Din prețul de listă se scad discountul categoriei de client și
+ * apoi discountul contractului. Tarifele stau într-o RateTable imutabilă, înlocuită atomic la fiecare
+ * modificare, deci calculul nu atinge baza de date și nu blochează.
+ *
+ * Tot aici se estimează distanța și durata unei relații între două coduri poștale (estimateLane), din
+ * coordonatele gazetteer-ului mapat în memorie: distanța pe cercul mare, înmulțită cu un factor rutier,
+ * la o viteză medie constantă, plus pauzele obligatorii ale șoferului. Rezultatele stau într-un cache LRU
+ * pe perechea de coduri, deci o relație deja văzută nu alocă nimic și nu atinge baza de date.
+ */
+@Component
 public class ShipmentComputationService {
+
+    // Greutatea volumetrică pentru transportul rutier: 1 m³ se taxează ca 333 kg
+    static final double VOLUMETRIC_KG_PER_CUBIC_METER = 333;
+
+    // Drumul real față de cercul mare (media rețelei rutiere) și viteza medie a unui camion pe traseu
+    static final double ROAD_FACTOR = 1.25;
+    static final double AVERAGE_SPEED_KMH = 65;
+
+    // Timpii de conducere (simplificat după Reg. CE 561/2006): pauză de 45 min după 4,5 h de condus
+    // și odihnă zilnică de 11 h după 9 h de condus
+    private static final double HOURS_BEFORE_BREAK = 4.5;
+    private static final double BREAK_HOURS = 0.75;
+    private static final double HOURS_BEFORE_REST = 9;
+    private static final double REST_HOURS = 11;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final int LANE_CACHE_SIZE = 65_536;
+
+    private static final Map<CustomerCategory, Double> CATEGORY_DISCOUNTS = new EnumMap<>(Map.of(
+            CustomerCategory.STANDARD, 0.0,
+            CustomerCategory.PREMIUM, 0.03,
+            CustomerCategory.VIP, 0.05
+    ));
+
+    /**
+     * Prețul calculat, cu detalierea lui.
+     */
+    public record PriceQuote(Long rateCardId,
+                             double chargeableWeightKg,
+                             double listPrice,
+                             double categoryDiscount,
+                             double contractDiscount,
+                             double price) {
+    }
+
+    private final AtomicReference<RateTable> rateTable = new AtomicReference<>(RateTable.EMPTY);
+    private final AtomicReference<Lanes> lanes = new AtomicReference<>(Lanes.NONE);
+
+    /**
+     * Publică un nou set de tarife. Cererile în curs termină pe tabela veche, cele noi o văd pe cea nouă.
+     */
+    public void replaceRateCards(Collection<RateCard> rateCards) {
+        rateTable.set(RateTable.of(rateCards));
+    }
+
+    public int rateCardCount() {
+        return rateTable.get().size();
+    }
+
+    /**
+     * @param contractDiscountRate discountul contractului activ al clientului (0 dacă nu are)
+     * @throws IllegalArgumentException dacă niciun tarif nu acoperă relația și greutatea
+     */
+    public PriceQuote quote(String originCity, String destinationCity, double weightKg, double volumeCubicMeters,
+                            VehicleType vehicleType, CustomerCategory category, double contractDiscountRate) {
+        double chargeableWeight = Math.max(weightKg, volumeCubicMeters * VOLUMETRIC_KG_PER_CUBIC_METER);
+        RateTable.Rate rate = rateTable.get().find(originCity, destinationCity, vehicleType, chargeableWeight)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "No rate card covers " + originCity + " -> " + destinationCity + " for " + chargeableWeight + " kg."));
+
+        double listPrice = round(rate.priceFor(chargeableWeight));
+        double categoryDiscount = round(listPrice * CATEGORY_DISCOUNTS.getOrDefault(category, 0.0));
+        double contractDiscount = round((listPrice - categoryDiscount) * contractDiscountRate);
+        double price = round(listPrice - categoryDiscount - contractDiscount);
+        return new PriceQuote(rate.rateCardId(), chargeableWeight, listPrice, categoryDiscount, contractDiscount, price);
+    }
+
+    /**
+     * Prețul negociat al unui transport (fără tarif): se scade doar discountul contractului, ca la prețul
+     * calculat; discountul categoriei este considerat inclus în negociere.
+     */
+    public double negotiatedPrice(double negotiatedPrice, double contractDiscountRate) {
+        return round(negotiatedPrice - round(negotiatedPrice * contractDiscountRate));
+    }
+
+    /**
+     * Publică un nou gazetteer, cu un cache de relații gol (distanțele vechi pot fi depășite).
+     */
+    public void replaceGazetteer(PostcodeGazetteer gazetteer) {
+        lanes.set(new Lanes(gazetteer, new LaneCache(LANE_CACHE_SIZE)));
+    }
+
+    public int postcodeCount() {
+        PostcodeGazetteer gazetteer = lanes.get().gazetteer();
+        return gazetteer == null ? 0 : gazetteer.size();
+    }
+
+    /**
+     * Distanța și durata estimată între două coduri poștale. Țara lipsă înseamnă țara implicită a gazetteer-ului.
+     *
+     * @return estimarea sau null dacă unul dintre coduri lipsește din gazetteer (sau nu există gazetteer)
+     */
+    public LaneEstimate estimateLane(String fromCountry, String fromPostcode, String toCountry, String toPostcode) {
+        Lanes current = lanes.get();
+        PostcodeGazetteer gazetteer = current.gazetteer();
+        if (gazetteer == null) {
+            return null;
+        }
+        long from = gazetteer.key(fromCountry, fromPostcode);
+        long to = gazetteer.key(toCountry, toPostcode);
+        if (from < 0 || to < 0) {
+            return null;
+        }
+        LaneEstimate cached = current.cache().get(from, to);
+        if (cached != null) {
+            return cached;
+        }
+        int origin = gazetteer.indexOf(from);
+        int destination = gazetteer.indexOf(to);
+        if (origin < 0 || destination < 0) {
+            return null;
+        }
+        LaneEstimate estimate = estimate(greatCircleKm(
+                gazetteer.latitude(origin), gazetteer.longitude(origin),
+                gazetteer.latitude(destination), gazetteer.longitude(destination)));
+        current.cache().put(from, to, estimate);
+        return estimate;
+    }
+
+    static LaneEstimate estimate(double greatCircleKm) {
+        double roadKm = greatCircleKm * ROAD_FACTOR;
+        double drivingHours = roadKm / AVERAGE_SPEED_KMH;
+        // O pauză sau o odihnă este necesară doar dacă mai urmează condus după ea
+        int rests = Math.max(0, (int) Math.ceil(drivingHours / HOURS_BEFORE_REST) - 1);
+        int breaks = Math.max(0, (int) Math.ceil(drivingHours / HOURS_BEFORE_BREAK) - 1) - rests;
+        double transitHours = drivingHours + breaks * BREAK_HOURS + rests * REST_HOURS;
+        return new LaneEstimate(round(greatCircleKm), round(roadKm), round(drivingHours), round(transitHours));
+    }
+
+    // Formula haversine
+    static double greatCircleKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double deltaLatitude = Math.toRadians(toLatitude - fromLatitude);
+        double deltaLongitude = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.pow(Math.sin(deltaLatitude / 2), 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.pow(Math.sin(deltaLongitude / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private record Lanes(PostcodeGazetteer gazetteer, LaneCache cache) {
+        static final Lanes NONE = new Lanes(null, null);
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
 }
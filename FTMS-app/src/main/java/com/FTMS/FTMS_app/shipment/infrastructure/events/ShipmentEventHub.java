@@ -0,0 +1,317 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.events;
+
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentStatusEvent;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Distribuie tranzițiile de status ale transporturilor către abonații SSE (toate evenimentele, ale unui
+ * client sau ale unui transport), în locul interogării periodice a GET /shipments/{id}.
+ *
+ * - publish nu blochează: fiecare abonat are o coadă mărginită, golită de un thread virtual propriu doar
+ *   cât are ceva de trimis; un client lent își umple doar coada lui. La depășire, conexiunea este închisă,
+ *   iar clientul se reconectează cu Last-Event-ID.
+ * - ultimele replay-size evenimente sunt păstrate în memorie: la reconectare se retrimit cele de după
+ *   Last-Event-ID. Dacă istoricul nu le mai acoperă, clientul primește un eveniment "reset" și își reîncarcă starea.
+ * - ID-ul unui eveniment este (incarnare << 22) | secvență, unde incarnarea este momentul pornirii nodului (epoch ms):
+ *   ID-urile cresc și peste reporniri, iar un ID al altui nod sau al unei rulări anterioare are altă incarnare și
+ *   primește "reset" (nu este confundat cu o secvență locală). Două noduri pornite în aceeași milisecundă ar avea
+ *   aceeași incarnare; după 2^22 evenimente, nodul trece la o incarnare nouă și își golește istoricul.
+ *
+ * Evenimentele vin din commit-urile acestui nod (ShipmentStatusEventListener).
+ */
+@Component
+public class ShipmentEventHub implements DisposableBean {
+
+    static final String STATUS_EVENT = "shipment-status";
+    static final String RESET_EVENT = "reset";
+    static final int SEQUENCE_BITS = 22;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final Object HEARTBEAT = new Object();
+    private static final Object RESET = new Object();
+
+    private final ShipmentStatusEvent[] history;
+    private final int subscriberBuffer;
+    private final long emitterTimeoutMs;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // Ordinea evenimentelor și înscrierea abonaților (istoric + abonare atomic); secțiunea critică nu face I/O
+    private final ReentrantLock lock = new ReentrantLock();
+    private long incarnation;
+    private long lastSequence;
+
+    private final Set<Subscriber> allEvents = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> byCustomer = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byShipment = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter overflows;
+
+    public ShipmentEventHub(MeterRegistry registry,
+                            @Value("${ftms.shipment-events.replay-size:10000}") int replaySize,
+                            @Value("${ftms.shipment-events.subscriber-buffer:256}") int subscriberBuffer,
+                            @Value("${ftms.shipment-events.timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.history = new ShipmentStatusEvent[replaySize];
+        this.subscriberBuffer = subscriberBuffer;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.incarnation = System.currentTimeMillis();
+        Gauge.builder("ftms.shipment.events.subscribers", subscribers, Set::size)
+                .description("Open shipment event streams")
+                .register(registry);
+        this.overflows = Counter.builder("ftms.shipment.events.overflows")
+                .description("Shipment event streams closed because the client could not keep up")
+                .register(registry);
+    }
+
+    /**
+     * Deschide un flux SSE.
+     *
+     * @param customerId  opțional: doar transporturile clientului
+     * @param shipmentId  opțional: doar transportul dat
+     * @param lastEventId opțional: ultimul eveniment primit înainte de reconectare
+     */
+    public SseEmitter open(Long customerId, Long shipmentId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = subscribe(customerId, shipmentId, lastEventId, new EmitterSink(emitter));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Publică o tranziție (apelat după commit). Nu blochează: doar adaugă în cozile abonaților.
+     */
+    public void publish(Long shipmentId, String referenceNumber, Long customerId,
+                        ShipmentStatus previousStatus, ShipmentStatus status) {
+        lock.lock();
+        try {
+            if (lastSequence == MAX_SEQUENCE) {
+                startNewIncarnation();
+            }
+            ShipmentStatusEvent event = new ShipmentStatusEvent(eventId(++lastSequence), shipmentId, referenceNumber,
+                    customerId, previousStatus, status, Instant.now());
+            history[(int) (lastSequence % history.length)] = event;
+            allEvents.forEach(subscriber -> enqueue(subscriber, event));
+            byCustomer.getOrDefault(customerId, Set.of()).forEach(subscriber -> enqueue(subscriber, event));
+            byShipment.getOrDefault(shipmentId, Set.of()).forEach(subscriber -> {
+                if (subscriber.matches(event)) {
+                    enqueue(subscriber, event);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Comentariu SSE periodic: ține conexiunea deschisă prin proxy-uri și detectează clienții deconectați.
+     */
+    @Scheduled(fixedDelayString = "${ftms.shipment-events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    Subscriber subscribe(Long customerId, Long shipmentId, Long lastEventId, ShipmentEventSink sink) {
+        Subscriber subscriber = new Subscriber(customerId, shipmentId, sink, subscriberBuffer);
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+            if (shipmentId != null) {
+                byShipment.computeIfAbsent(shipmentId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            } else if (customerId != null) {
+                byCustomer.computeIfAbsent(customerId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            } else {
+                allEvents.add(subscriber);
+            }
+        } finally {
+            lock.unlock();
+        }
+        scheduleDrain(subscriber);
+        return subscriber;
+    }
+
+    void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        allEvents.remove(subscriber);
+        if (subscriber.shipmentId != null) {
+            byShipment.computeIfPresent(subscriber.shipmentId, (id, set) -> set.remove(subscriber) && set.isEmpty() ? null : set);
+        } else if (subscriber.customerId != null) {
+            byCustomer.computeIfPresent(subscriber.customerId, (id, set) -> set.remove(subscriber) && set.isEmpty() ? null : set);
+        }
+        subscriber.closed = true;
+    }
+
+    // Apelat sub lock: evenimentele de după lastSeen, dacă sunt toate în istoric și încap în coadă
+    private void replay(Subscriber subscriber, long lastSeen) {
+        long seenSequence = lastSeen & MAX_SEQUENCE;
+        long oldestRetained = Math.max(1, lastSequence - history.length + 1);
+        if ((lastSeen >>> SEQUENCE_BITS) != incarnation || seenSequence > lastSequence || seenSequence + 1 < oldestRetained) {
+            subscriber.queue.offer(RESET);
+            return;
+        }
+        for (long sequence = seenSequence + 1; sequence <= lastSequence; sequence++) {
+            ShipmentStatusEvent event = history[(int) (sequence % history.length)];
+            if (subscriber.matches(event) && !subscriber.queue.offer(event)) {
+                subscriber.queue.clear();
+                subscriber.queue.offer(RESET);
+                return;
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Object item) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(item)) {
+            if (item == HEARTBEAT) {
+                return; // coada plină oricum trimite ceva
+            }
+            overflows.increment();
+            unsubscribe(subscriber);
+            senders.execute(subscriber.sink::complete);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Un singur thread trimite pentru un abonat la un moment dat (flag-ul draining)
+    private void drain(Subscriber subscriber) {
+        do {
+            Object item;
+            while (!subscriber.closed && (item = subscriber.queue.poll()) != null) {
+                try {
+                    if (item == HEARTBEAT) {
+                        subscriber.sink.sendHeartbeat();
+                    } else if (item == RESET) {
+                        subscriber.sink.sendReset(currentEventId());
+                    } else {
+                        subscriber.sink.send((ShipmentStatusEvent) item);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    unsubscribe(subscriber); // clientul a închis conexiunea
+                    subscriber.sink.complete();
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // Un element adăugat după poll, dar înainte de reset-ul flag-ului, nu a programat o golire
+        } while (!subscriber.closed && !subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private long currentEventId() {
+        lock.lock();
+        try {
+            return eventId(lastSequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ID-ul secvenței date în incarnarea curentă
+    long eventId(long sequence) {
+        return (incarnation << SEQUENCE_BITS) | sequence;
+    }
+
+    // Apelat sub lock: secvența s-a epuizat; evenimentele vechi nu mai pot fi reluate, deci istoricul se golește
+    private void startNewIncarnation() {
+        incarnation = Math.max(System.currentTimeMillis(), incarnation + 1);
+        lastSequence = 0;
+        Arrays.fill(history, null);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> {
+            unsubscribe(subscriber);
+            subscriber.sink.complete();
+        });
+        senders.shutdown();
+    }
+
+    static final class Subscriber {
+        private final Long customerId;
+        private final Long shipmentId;
+        private final ShipmentEventSink sink;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long customerId, Long shipmentId, ShipmentEventSink sink, int capacity) {
+            this.customerId = customerId;
+            this.shipmentId = shipmentId;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        boolean matches(ShipmentStatusEvent event) {
+            return (shipmentId == null || shipmentId.equals(event.shipmentId()))
+                    && (customerId == null || customerId.equals(event.customerId()));
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements ShipmentEventSink {
+
+        @Override
+        public void send(ShipmentStatusEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.eventId()))
+                    .name(STATUS_EVENT)
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void sendReset(long latestEventId) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(latestEventId))
+                    .name(RESET_EVENT)
+                    .data("Event history does not cover the requested Last-Event-ID; reload the current state."));
+        }
+
+        @Override
+        public void sendHeartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+}
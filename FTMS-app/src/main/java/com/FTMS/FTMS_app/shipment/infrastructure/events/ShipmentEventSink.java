@@ -0,0 +1,22 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.events;
+
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentStatusEvent;
+
+import java.io.IOException;
+
+/**
+ * Destinația evenimentelor unui abonat (conexiunea SSE). Apelurile vin dintr-un singur thread la un moment dat.
+ */
+interface ShipmentEventSink {
+
+    void send(ShipmentStatusEvent event) throws IOException;
+
+    /**
+     * Istoricul nu mai acoperă evenimentele cerute: clientul trebuie să-și reîncarce starea.
+     */
+    void sendReset(long latestEventId) throws IOException;
+
+    void sendHeartbeat() throws IOException;
+
+    void complete();
+}
@@ -0,0 +1,64 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.shipment.domain.service.PostcodeGazetteer;
+import com.FTMS.FTMS_app.shipment.domain.service.ShipmentComputationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Încarcă gazetteer-ul de coduri poștale la pornirea aplicației: CSV-ul din ftms.gazetteer.path devine un
+ * fișier binar sortat (în index-dir), mapat în memorie. Fără gazetteer, estimările de distanță lipsesc,
+ * iar ofertele și verificarea ferestrei de livrare funcționează ca înainte.
+ *
+ * Fiecare pornire scrie un fișier nou, cu nume unic: mai multe instanțe pot împărți index-dir fără ca una
+ * să trunchieze fișierul mapat de alta (acces în afara fișierului -> SIGBUS). Fișierul se șterge la oprire.
+ */
+@Component
+public class GazetteerLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(GazetteerLoader.class);
+
+    private final ShipmentComputationService computationService;
+    private final Resource source;
+    private final Path indexDirectory;
+    private final String defaultCountry;
+
+    public GazetteerLoader(ShipmentComputationService computationService,
+                           @Value("${ftms.gazetteer.path:classpath:gazetteer/postcodes.csv}") Resource source,
+                           @Value("${ftms.gazetteer.index-dir:${java.io.tmpdir}}") Path indexDirectory,
+                           @Value("${ftms.gazetteer.default-country:RO}") String defaultCountry) {
+        this.computationService = computationService;
+        this.source = source;
+        this.indexDirectory = indexDirectory;
+        this.defaultCountry = defaultCountry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!source.exists()) {
+            log.warn("Postcode gazetteer {} not found, lane estimates are disabled", source);
+            return;
+        }
+        try (Reader reader = new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8)) {
+            Files.createDirectories(indexDirectory);
+            Path indexFile = Files.createTempFile(indexDirectory, "ftms-postcodes", ".idx");
+            indexFile.toFile().deleteOnExit();
+            computationService.replaceGazetteer(PostcodeGazetteer.build(reader, indexFile, defaultCountry));
+            log.info("Postcode gazetteer loaded with {} postcodes", computationService.postcodeCount());
+        } catch (IOException e) {
+            log.error("Could not load postcode gazetteer {}, lane estimates are disabled", source, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.shipment.application.service.PricingService;
+import com.FTMS.FTMS_app.shipment.domain.service.ShipmentComputationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Încarcă tarifele în memorie la pornirea aplicației.
+ */
+@Component
+public class RateCardLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(RateCardLoader.class);
+
+    private final PricingService pricingService;
+    private final ShipmentComputationService computationService;
+
+    public RateCardLoader(PricingService pricingService, ShipmentComputationService computationService) {
+        this.pricingService = pricingService;
+        this.computationService = computationService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        pricingService.reloadRateCards();
+        log.info("Rate table loaded with {} rate cards", computationService.rateCardCount());
+    }
+}
@@ -0,0 +1,54 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.infrastructure.events.ShipmentEventHub;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trimite către ShipmentEventHub fiecare schimbare de status a unui transport, după commit (un rollback
+ * nu produce evenimente). Prinde toate tranzițiile (assign, markAsPickedUp, markAsInTransit,
+ * completeDelivery, cancel), indiferent de serviciul care le-a făcut, ca EntityStatusGauges.
+ * UPDATE-urile în masă (JPQL) ocolesc evenimentele Hibernate.
+ */
+@Component
+public class ShipmentStatusEventListener implements PostCommitUpdateEventListener {
+
+    private final ShipmentEventHub hub;
+
+    public ShipmentStatusEventListener(ShipmentEventHub hub, EntityManagerFactory entityManagerFactory) {
+        this.hub = hub;
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Shipment shipment) || event.getOldState() == null) {
+            return;
+        }
+        int statusIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("status");
+        ShipmentStatus previous = (ShipmentStatus) event.getOldState()[statusIndex];
+        ShipmentStatus current = (ShipmentStatus) event.getState()[statusIndex];
+        if (previous != current) {
+            hub.publish(shipment.getId(), shipment.getReferenceNumber(), shipment.getCustomerId(), previous, current);
+        }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Shipment.class;
+    }
+}
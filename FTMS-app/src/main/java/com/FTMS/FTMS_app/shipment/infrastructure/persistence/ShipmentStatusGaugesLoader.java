@@ -0,0 +1,31 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.metrics.EntityStatusGauges;
+import com.FTMS.FTMS_app.common.metrics.StatusCount;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Înregistrează gauge-ul ftms.shipments{status} cu numărătoarea din baza de date.
+ * Rulează după crearea bean-urilor, înainte ca aplicația să primească cereri (fără modificări pierdute).
+ */
+@Component
+public class ShipmentStatusGaugesLoader implements SmartInitializingSingleton {
+
+    private final ShipmentRepository shipmentRepository;
+    private final EntityStatusGauges statusGauges;
+
+    public ShipmentStatusGaugesLoader(ShipmentRepository shipmentRepository, EntityStatusGauges statusGauges) {
+        this.shipmentRepository = shipmentRepository;
+        this.statusGauges = statusGauges;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        statusGauges.register(Shipment.class, "status", ShipmentStatus.class, "ftms.shipments",
+                StatusCount.toMap(shipmentRepository.countGroupedByStatus()));
+    }
+}
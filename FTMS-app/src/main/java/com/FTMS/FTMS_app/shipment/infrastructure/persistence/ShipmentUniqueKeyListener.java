@@ -0,0 +1,24 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import jakarta.persistence.PostPersist;
+
+/**
+ * Listener JPA pe Shipment: adaugă numărul de referință în filtrul de unicitate la fiecare INSERT,
+ * indiferent de calea pe care a fost creat transportul.
+ */
+public class ShipmentUniqueKeyListener {
+
+    private final UniqueKeyRegistry uniqueKeys;
+
+    public ShipmentUniqueKeyListener(UniqueKeyRegistry uniqueKeys) {
+        this.uniqueKeys = uniqueKeys;
+    }
+
+    @PostPersist
+    public void onCreated(Shipment shipment) {
+        uniqueKeys.register(UniqueKey.SHIPMENT_REFERENCE, shipment.getReferenceNumber());
+    }
+}
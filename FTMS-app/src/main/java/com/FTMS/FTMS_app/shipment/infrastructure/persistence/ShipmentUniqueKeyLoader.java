@@ -0,0 +1,39 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.persistence;
+
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Încarcă numerele de referință existente în filtrul de unicitate la pornirea aplicației.
+ */
+@Component
+public class ShipmentUniqueKeyLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ShipmentUniqueKeyLoader.class);
+
+    private final ShipmentRepository shipmentRepository;
+    private final UniqueKeyRegistry uniqueKeys;
+
+    public ShipmentUniqueKeyLoader(ShipmentRepository shipmentRepository, UniqueKeyRegistry uniqueKeys) {
+        this.shipmentRepository = shipmentRepository;
+        this.uniqueKeys = uniqueKeys;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<String> references = shipmentRepository.streamAllReferenceNumbers()) {
+            long count = uniqueKeys.load(UniqueKey.SHIPMENT_REFERENCE, references);
+            log.info("Unique key filter loaded with {} shipment reference numbers", count);
+        }
+    }
+}
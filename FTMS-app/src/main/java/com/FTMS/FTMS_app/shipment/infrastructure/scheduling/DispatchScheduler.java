@@ -0,0 +1,47 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.scheduling;
+
+import com.FTMS.FTMS_app.shipment.application.dto.ConsolidationResult;
+import com.FTMS.FTMS_app.shipment.application.dto.DispatchResult;
+import com.FTMS.FTMS_app.shipment.application.service.ShipmentWorkflowService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rulează periodic dispecerizarea automată. Activat cu ftms.dispatch.auto.enabled=true; cu
+ * ftms.dispatch.auto.consolidate=true folosește consolidarea (mai multe transporturi pe vehicul).
+ */
+@Component
+@ConditionalOnProperty(name = "ftms.dispatch.auto.enabled", havingValue = "true")
+public class DispatchScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchScheduler.class);
+
+    private final ShipmentWorkflowService workflowService;
+    private final boolean consolidate;
+
+    public DispatchScheduler(ShipmentWorkflowService workflowService,
+                             @Value("${ftms.dispatch.auto.consolidate:false}") boolean consolidate) {
+        this.workflowService = workflowService;
+        this.consolidate = consolidate;
+    }
+
+    @Scheduled(fixedDelayString = "${ftms.dispatch.auto.interval-ms:60000}")
+    public void dispatch() {
+        if (consolidate) {
+            ConsolidationResult result = workflowService.consolidatePendingShipments(null, false);
+            if (result.pendingShipments() > 0) {
+                log.info("Automatic consolidation assigned {} of {} pending shipments to {} vehicles",
+                        result.assignedShipments(), result.pendingShipments(), result.vehiclesUsed());
+            }
+            return;
+        }
+        DispatchResult result = workflowService.dispatchPendingShipments(false);
+        if (result.pendingShipments() > 0) {
+            log.info("Automatic dispatch assigned {} of {} pending shipments", result.assignedShipments(), result.pendingShipments());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.scheduling;
+
+import com.FTMS.FTMS_app.shipment.application.dto.InvoiceOutboxDrainResult;
+import com.FTMS.FTMS_app.shipment.application.service.InvoiceOutboxRelay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Golește periodic outbox-ul de facturare. Dezactivat cu ftms.invoice-outbox.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "ftms.invoice-outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class InvoiceOutboxScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceOutboxScheduler.class);
+
+    private final InvoiceOutboxRelay relay;
+
+    public InvoiceOutboxScheduler(InvoiceOutboxRelay relay) {
+        this.relay = relay;
+    }
+
+    @Scheduled(fixedDelayString = "${ftms.invoice-outbox.interval-ms:2000}")
+    public void drain() {
+        InvoiceOutboxDrainResult result = relay.drain();
+        if (result.processed() > 0 || result.failed() > 0) {
+            log.info("Invoice outbox: {} invoices generated, {} failed in {} batches ({} ms)",
+                    result.processed(), result.failed(), result.batches(), result.durationMs());
+        }
+    }
+}
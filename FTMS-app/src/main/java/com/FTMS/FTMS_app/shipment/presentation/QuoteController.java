@@ -0,0 +1,50 @@
+package com.FTMS.FTMS_app.shipment.presentation;
+
+import com.FTMS.FTMS_app.shipment.application.dto.QuoteDto;
+import com.FTMS.FTMS_app.shipment.application.dto.QuoteRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.RateCardDto;
+import com.FTMS.FTMS_app.shipment.application.dto.RateCardRequest;
+import com.FTMS.FTMS_app.shipment.application.service.PricingService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/quotes")
+public class QuoteController {
+
+    private final PricingService pricingService;
+
+    public QuoteController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    @GetMapping // GET /api/v1/quotes?originCity=Cluj-Napoca&destinationCity=Iasi&weightKg=1200&volumeCubicMeters=8
+    public ResponseEntity<QuoteDto> getQuote(@Valid QuoteRequest request) {
+        return ResponseEntity.ok(pricingService.quote(request));
+    }
+
+    @GetMapping("/rate-cards")
+    public ResponseEntity<List<RateCardDto>> getRateCards() {
+        return ResponseEntity.ok(pricingService.getRateCards());
+    }
+
+    @PostMapping("/rate-cards")
+    public ResponseEntity<RateCardDto> createRateCard(@Valid @RequestBody RateCardRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(pricingService.createRateCard(request));
+    }
+
+    @PutMapping("/rate-cards/{id}")
+    public ResponseEntity<RateCardDto> updateRateCard(@PathVariable Long id, @Valid @RequestBody RateCardRequest request) {
+        return ResponseEntity.ok(pricingService.updateRateCard(id, request));
+    }
+
+    @DeleteMapping("/rate-cards/{id}")
+    public ResponseEntity<Void> deleteRateCard(@PathVariable Long id) {
+        pricingService.deleteRateCard(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,43 +1,133 @@
 package com.FTMS.FTMS_app.shipment.presentation;
 
+import com.FTMS.FTMS_app.common.pagination.Keyset;
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
+import com.FTMS.FTMS_app.common.querybudget.QueryBudget;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkCreateShipmentRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkShipmentResult;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkStatusTransitionRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkStatusTransitionResult;
+import com.FTMS.FTMS_app.shipment.application.dto.ConsolidationResult;
 import com.FTMS.FTMS_app.shipment.application.dto.CreateShipmentRequest;
 import com.FTMS.FTMS_app.shipment.application.dto.DeliveryConfirmationDto;
+import com.FTMS.FTMS_app.shipment.application.dto.DispatchResult;
+import com.FTMS.FTMS_app.shipment.application.dto.InvoiceOutboxDrainResult;
+import com.FTMS.FTMS_app.shipment.application.dto.InvoiceOutboxStats;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentPositionDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentSearchCriteria;
+import com.FTMS.FTMS_app.shipment.application.service.InvoiceOutboxRelay;
 import com.FTMS.FTMS_app.shipment.application.service.ShipmentService;
-import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.application.service.ShipmentWorkflowService;
 import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.infrastructure.events.ShipmentEventHub;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/shipments")
 public class ShipmentController {
 
     private final ShipmentService shipmentService;
+    private final ShipmentWorkflowService workflowService;
+    private final InvoiceOutboxRelay invoiceOutboxRelay;
+    private final ShipmentEventHub eventHub;
 
-    public ShipmentController(ShipmentService shipmentService) {
+    public ShipmentController(ShipmentService shipmentService,
+                              ShipmentWorkflowService workflowService,
+                              InvoiceOutboxRelay invoiceOutboxRelay,
+                              ShipmentEventHub eventHub) {
         this.shipmentService = shipmentService;
+        this.workflowService = workflowService;
+        this.invoiceOutboxRelay = invoiceOutboxRelay;
+        this.eventHub = eventHub;
     }
 
     @PostMapping
-    public ResponseEntity<Shipment> createShipment(@Valid @RequestBody CreateShipmentRequest request) {
-        Shipment newShipment = shipmentService.createShipment(request);
+    public ResponseEntity<ShipmentDto> createShipment(@Valid @RequestBody CreateShipmentRequest request) {
+        ShipmentDto newShipment = ShipmentDto.from(shipmentService.createShipment(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(newShipment);
     }
 
+    @PostMapping("/batch")
+    @QueryBudget(2_100) // max. 1000 de transporturi: câte un INSERT pe transport și un UPDATE de expunere pe client
+    public ResponseEntity<BulkShipmentResult> createShipments(@Valid @RequestBody BulkCreateShipmentRequest request) {
+        // Răspuns 200 chiar dacă unele elemente au eșuat: statusul fiecăruia este în "items"
+        return ResponseEntity.ok(shipmentService.createShipments(request.getShipments()));
+    }
+
+    @PostMapping("/dispatch")
+    @QueryBudget(Integer.MAX_VALUE) // câte 3 UPDATE-uri pe alocare: crește cu numărul de transporturi PENDING
+    public ResponseEntity<DispatchResult> dispatchPendingShipments(@RequestParam(defaultValue = "false") boolean dryRun) {
+        // dryRun=true -> doar calculează planul, fără să aloce nimic
+        return ResponseEntity.ok(workflowService.dispatchPendingShipments(dryRun));
+    }
+
+    @PostMapping("/consolidate")
+    @QueryBudget(Integer.MAX_VALUE) // câte 3 UPDATE-uri pe transport alocat: crește cu numărul de transporturi PENDING
+    public ResponseEntity<ConsolidationResult> consolidatePendingShipments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        // date = ziua ridicării (lipsă -> toate transporturile PENDING); dryRun=true -> doar planul
+        return ResponseEntity.ok(workflowService.consolidatePendingShipments(date, dryRun));
+    }
+
+    @GetMapping("/invoice-outbox/stats")
+    public ResponseEntity<InvoiceOutboxStats> getInvoiceOutboxStats() {
+        return ResponseEntity.ok(invoiceOutboxRelay.stats());
+    }
+
+    @PostMapping("/invoice-outbox/drain")
+    @QueryBudget(700) // un lot (ftms.invoice-outbox.batch-size=200): INSERT factură + UPDATE outbox + UPDATE expunere
+    public ResponseEntity<InvoiceOutboxDrainResult> drainInvoiceOutbox() {
+        // Rulare manuală a relay-ului (altfel rulează periodic, vezi InvoiceOutboxScheduler)
+        return ResponseEntity.ok(invoiceOutboxRelay.drain());
+    }
+
+    @GetMapping // GET /api/v1/shipments?status=PENDING&customerId=7&pickupCity=Cluj&cursor=...&limit=50
+    public ResponseEntity<KeysetPage<ShipmentDto>> searchShipments(
+            ShipmentSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Keyset.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(shipmentService.searchShipments(criteria, cursor, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Shipment> getShipmentById(@PathVariable Long id) {
-        return ResponseEntity.ok(shipmentService.getShipmentById(id));
+    public ResponseEntity<ShipmentDto> getShipmentById(@PathVariable Long id) {
+        return ResponseEntity.ok(shipmentService.getShipmentView(id));
+    }
+
+    /**
+     * Flux SSE cu tranzițiile de status: toate, ale unui client (customerId) sau ale unui transport (shipmentId).
+     * La reconectare, browserul trimite singur Last-Event-ID și primește doar evenimentele pierdute.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE) // GET /api/v1/shipments/events?customerId=1
+    public SseEmitter streamStatusEvents(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long shipmentId,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventHub.open(customerId, shipmentId, lastEventId);
+    }
+
+    @GetMapping("/{id}/position") // GET /api/v1/shipments/1/position
+    public ResponseEntity<ShipmentPositionDto> getShipmentPosition(@PathVariable Long id) {
+        return ResponseEntity.ok(shipmentService.getShipmentPosition(id));
     }
 
     @PutMapping("/{id}/assign")
-    public ResponseEntity<Shipment> assignShipment(
+    public ResponseEntity<ShipmentDto> assignShipment(
             @PathVariable Long id,
             @RequestParam Long driverId,
             @RequestParam Long vehicleId) {
         // Folosim @RequestParam pentru date simple (ex: /assign?driverId=1&vehicleId=2)
-        Shipment assignedShipment = shipmentService.assignShipment(id, driverId, vehicleId);
+        ShipmentDto assignedShipment = ShipmentDto.from(shipmentService.assignShipment(id, driverId, vehicleId));
         return ResponseEntity.ok(assignedShipment);
     }
 
@@ -48,23 +138,31 @@ public class ShipmentController {
     }
 
     @PutMapping("/{id}/status/{newStatus}")
-    public ResponseEntity<Shipment> updateShipmentStatus(
+    public ResponseEntity<ShipmentDto> updateShipmentStatus(
             @PathVariable Long id,
             @PathVariable ShipmentStatus newStatus) {
         // ATENȚIE: Acceptăm doar anumite statusuri
         if (newStatus == ShipmentStatus.PICKED_UP || newStatus == ShipmentStatus.IN_TRANSIT) {
-            Shipment updatedShipment = shipmentService.updateShipmentStatus(id, newStatus);
+            ShipmentDto updatedShipment = ShipmentDto.from(shipmentService.updateShipmentStatus(id, newStatus));
             return ResponseEntity.ok(updatedShipment);
         } else {
             return ResponseEntity.badRequest().build(); // Nu permitem setarea "DELIVERED" prin acest endpoint
         }
     }
 
+    @PostMapping("/status/batch")
+    @QueryBudget(1_001) // max. 1000 de tranziții: un SELECT pentru toate transporturile + câte un UPDATE pe transport
+    public ResponseEntity<BulkStatusTransitionResult> updateShipmentStatuses(
+            @Valid @RequestBody BulkStatusTransitionRequest request) {
+        // Tranzițiile acumulate offline de aplicația șoferului; rezultatul fiecăreia este în "items"
+        return ResponseEntity.ok(shipmentService.updateShipmentStatuses(request.getTransitions()));
+    }
+
     @PostMapping("/{id}/confirm-delivery")
-    public ResponseEntity<Shipment> confirmDelivery(
+    public ResponseEntity<ShipmentDto> confirmDelivery(
             @PathVariable Long id,
             @Valid @RequestBody DeliveryConfirmationDto dto) {
-        Shipment deliveredShipment = shipmentService.confirmDelivery(id, dto);
+        ShipmentDto deliveredShipment = ShipmentDto.from(shipmentService.confirmDelivery(id, dto));
         return ResponseEntity.ok(deliveredShipment);
     }
 }
\ No newline at end of file
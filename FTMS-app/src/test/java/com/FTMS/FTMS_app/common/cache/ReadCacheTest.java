@@ -0,0 +1,93 @@
+package com.FTMS.FTMS_app.common.cache;
+
+import com.FTMS.FTMS_app.customer.application.dto.CreateContractRequest;
+import com.FTMS.FTMS_app.customer.application.service.CustomerService;
+import com.FTMS.FTMS_app.customer.domain.model.*;
+import com.FTMS.FTMS_app.customer.domain.repository.CustomerRepository;
+import com.FTMS.FTMS_app.fleet.application.service.FleetService;
+import com.FTMS.FTMS_app.fleet.domain.model.*;
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ReadCacheTest {
+
+    @Autowired
+    private FleetService fleetService;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testDriverCache_NeverExposesUncommittedStateAndIsEvictedAfterCommit() {
+        // ARRANGE
+        Long driverId = driverRepository.save(driver()).getId();
+        Driver cached = fleetService.getDriverById(driverId);
+        assertSame(cached, fleetService.getDriverById(driverId)); // al doilea apel vine din cache
+
+        // ACT: în aceeași tranzacție, citirea prin cache și apoi modificarea șoferului
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Driver seen = fleetService.getDriverById(driverId);
+            fleetService.assignDriver(driverId, 1L);
+            // Instanța din cache nu este cea gestionată de tranzacție, deci nu vede modificarea necomisă
+            assertEquals(DriverStatus.AVAILABLE, seen.getStatus());
+        });
+
+        // ASSERT: după commit intrarea a fost scoasă din cache
+        assertEquals(DriverStatus.AVAILABLE, cached.getStatus());
+        assertEquals(DriverStatus.ON_ROUTE, fleetService.getDriverById(driverId).getStatus());
+    }
+
+    @Test
+    void testCustomerCache_EvictedWhenContractIsAdded() {
+        // ARRANGE
+        Long customerId = customerRepository.save(customer()).getId();
+        assertNull(customerService.getCustomerById(customerId).getContract());
+
+        // ACT
+        CreateContractRequest request = new CreateContractRequest();
+        request.setCustomerId(customerId);
+        request.setStartDate(LocalDate.now().minusDays(1));
+        request.setEndDate(LocalDate.now().plusYears(1));
+        request.setServiceLevel("standard");
+        request.setDiscountRate(0.1);
+        customerService.addContractToCustomer(request);
+
+        // ASSERT: clientul detașat din cache are contractul încărcat (utilizabil în afara tranzacției)
+        Customer cached = customerService.getCustomerById(customerId);
+        assertNotNull(cached.getContract());
+        assertTrue(cached.getContract().isActive());
+    }
+
+    private Driver driver() {
+        LicenseInfo license = new LicenseInfo("CACHE-L-1", LicenseType.CE, LocalDate.now().minusYears(5), LocalDate.now().plusYears(5));
+        return new Driver(null, "Cache Driver", license, null, null, LocalDate.now(), DriverStatus.AVAILABLE, null);
+    }
+
+    private Customer customer() {
+        Customer customer = new Customer();
+        customer.setCompanyName("Cache Test SRL");
+        customer.setTaxIdNumber("RO-CACHE-1");
+        customer.setPrimaryContactEmail("cache@ftms.test");
+        customer.setPaymentTerms(PaymentTerms.NET_30);
+        customer.setCategory(CustomerCategory.STANDARD);
+        customer.setCreditLimit(1_000_000);
+        customer.setStatus(CustomerStatus.ACTIVE);
+        return customer;
+    }
+}
@@ -0,0 +1,78 @@
+package com.FTMS.FTMS_app.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    void testOfferAll_WholeBatchOrNothing() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+
+        assertTrue(buffer.offerAll(List.of(1, 2, 3, 4, 5)));
+        assertFalse(buffer.offerAll(List.of(6, 7, 8, 9))); // doar 3 locuri libere
+        assertEquals(5, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertTrue(buffer.offerAll(List.of(6, 7, 8, 9, 10))); // peste capătul array-ului
+        assertEquals(8, buffer.drainTo(drained, 100));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testConcurrentProducers_EveryItemDrainedOnceInProducerOrder() throws Exception {
+        int producers = 4;
+        int batchesPerProducer = 1_000;
+        int batchSize = 5;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(256);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.submit(() -> {
+                start.await();
+                for (int b = 0; b < batchesPerProducer; b++) {
+                    int batch = b;
+                    List<long[]> items = IntStream.range(0, batchSize)
+                            .mapToObj(i -> new long[]{producer, (long) batch * batchSize + i})
+                            .toList();
+                    while (!buffer.offerAll(items)) {
+                        Thread.yield(); // buffer plin: consumatorul eliberează locuri
+                    }
+                }
+                return null;
+            });
+        }
+
+        long[] nextSequence = new long[producers];
+        long expected = (long) producers * batchesPerProducer * batchSize;
+        long received = 0;
+        List<long[]> drained = new ArrayList<>();
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < expected && System.nanoTime() < deadline) {
+            drained.clear();
+            buffer.drainTo(drained, 64);
+            for (long[] item : drained) {
+                // Fiecare producător își vede elementele exact o dată, în ordinea în care le-a adăugat
+                assertEquals(nextSequence[(int) item[0]]++, item[1]);
+                received++;
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(expected, received);
+    }
+}
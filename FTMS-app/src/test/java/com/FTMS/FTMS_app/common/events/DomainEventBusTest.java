@@ -0,0 +1,148 @@
+package com.FTMS.FTMS_app.common.events;
+
+import com.FTMS.FTMS_app.common.exception.ResourceConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class DomainEventBusTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private DomainEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void deliversMatchingEventsInOrder() throws InterruptedException {
+        Recording<Numbered> numbers = new Recording<>(Numbered.class, -1);
+        Recording<Other> others = new Recording<>(Other.class, -1);
+        bus = start(List.of(numbers, others));
+
+        for (int i = 0; i < 1000; i++) {
+            bus.publish(new Numbered(i, Instant.now()));
+        }
+        bus.publish(new Other(Instant.now()));
+        awaitIdle();
+
+        assertEquals(1000, numbers.received.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, numbers.received.get(i).number());
+        }
+        assertEquals(1, others.received.size());
+        // Loturi, nu câte un apel (și o tranzacție) per eveniment
+        assertTrue(numbers.batches.get() < 1000);
+    }
+
+    @Test
+    void failingEventDoesNotBlockTheRestOfTheBatch() throws InterruptedException {
+        Recording<Numbered> numbers = new Recording<>(Numbered.class, 3);
+        bus = start(List.of(numbers));
+
+        for (int i = 0; i < 10; i++) {
+            bus.publish(new Numbered(i, Instant.now()));
+        }
+        awaitIdle();
+
+        assertEquals(9, numbers.received.stream().distinct().count());
+        assertTrue(numbers.received.stream().noneMatch(e -> e.number() == 3));
+        assertEquals(1, registry.get("ftms.domain-events.handled")
+                .tag("handler", "Recording").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void conflictsAreRetriedUntilTheySucceed() throws InterruptedException {
+        // Resursa rămâne rezervată de altă cerere mai multe încercări decât max-attempts
+        Conflicting conflicting = new Conflicting(5);
+        bus = start(List.of(conflicting));
+
+        bus.publish(new Numbered(1, Instant.now()));
+        awaitIdle();
+
+        assertEquals(1, conflicting.received.size());
+        assertEquals(0, registry.get("ftms.domain-events.handled")
+                .tag("handler", "Conflicting").tag("outcome", "failed").counter().count());
+    }
+
+    private DomainEventBus start(List<DomainEventHandler<?>> handlers) {
+        DomainEventBus eventBus = new DomainEventBus(handlers, mock(PlatformTransactionManager.class), registry,
+                1024, 64, 3, 5, 1);
+        eventBus.start();
+        return eventBus;
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (bus.pending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, bus.pending());
+    }
+
+    record Numbered(int number, Instant occurredAt) implements DomainEvent {
+    }
+
+    record Other(Instant occurredAt) implements DomainEvent {
+    }
+
+    // Înregistrează evenimentele primite; evenimentul cu numărul "failing" aruncă mereu o excepție
+    static class Recording<E extends DomainEvent> implements DomainEventHandler<E> {
+
+        final List<E> received = new CopyOnWriteArrayList<>();
+        final AtomicInteger batches = new AtomicInteger();
+        private final Class<E> type;
+        private final int failing;
+
+        Recording(Class<E> type, int failing) {
+            this.type = type;
+            this.failing = failing;
+        }
+
+        @Override
+        public Class<E> eventType() {
+            return type;
+        }
+
+        @Override
+        public void handle(List<E> events) {
+            batches.incrementAndGet();
+            if (events.stream().anyMatch(e -> e instanceof Numbered n && n.number() == failing)) {
+                throw new IllegalStateException("Rejected event " + failing);
+            }
+            received.addAll(events);
+        }
+    }
+
+    // Primele "conflicts" apeluri găsesc resursa rezervată de altă cerere
+    static class Conflicting extends Recording<Numbered> {
+
+        private final AtomicInteger conflicts;
+
+        Conflicting(int conflicts) {
+            super(Numbered.class, -1);
+            this.conflicts = new AtomicInteger(conflicts);
+        }
+
+        @Override
+        public void handle(List<Numbered> events) {
+            if (conflicts.getAndDecrement() > 0) {
+                throw new ResourceConflictException("Resources are being modified by another request.");
+            }
+            super.handle(events);
+        }
+    }
+}
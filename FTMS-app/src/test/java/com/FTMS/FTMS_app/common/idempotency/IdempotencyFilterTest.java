@@ -0,0 +1,124 @@
+package com.FTMS.FTMS_app.common.idempotency;
+
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private IdempotencyFilter filter;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void replayReturnsTheStoredResponseWithoutRunningTheRequestAgain() throws Exception {
+        String body = objectMapper.writeValueAsString(vehicle("IDEM-V1"));
+        MvcResult first = createVehicle("key-vehicle-1", body);
+        long vehicles = vehicleRepository.count();
+
+        MvcResult replay = createVehicle("key-vehicle-1", body);
+
+        assertEquals(201, first.getResponse().getStatus());
+        assertEquals(201, replay.getResponse().getStatus());
+        assertEquals(first.getResponse().getContentAsString(), replay.getResponse().getContentAsString());
+        assertEquals("true", replay.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(vehicles, vehicleRepository.count());
+
+        // Aceeași cheie pentru altă cerere
+        MvcResult reused = createVehicle("key-vehicle-1", objectMapper.writeValueAsString(vehicle("IDEM-V2")));
+        assertEquals(422, reused.getResponse().getStatus());
+        assertEquals(vehicles, vehicleRepository.count());
+    }
+
+    @Test
+    void concurrentDuplicatesAreCoalesced() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<MockHttpServletResponse> call = () -> {
+                MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/shipments/1/assign");
+                request.addHeader(IdempotencyFilter.HEADER, "key-assign-1");
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request, response, (req, res) -> {
+                    executions.incrementAndGet();
+                    running.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    res.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+                });
+                return response;
+            };
+            Future<MockHttpServletResponse> original = executor.submit(call);
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            Future<MockHttpServletResponse> duplicate = executor.submit(call);
+            Thread.sleep(100); // duplicatul ajunge să aștepte rezultatul originalului
+            release.countDown();
+
+            assertEquals("{\"id\":1}", original.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals("{\"id\":1}", duplicate.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals("true", duplicate.get().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MvcResult createVehicle(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/v1/fleet/vehicles")
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)).andReturn();
+    }
+
+    private static Map<String, Object> vehicle(String registration) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("registrationNumber", registration);
+        body.put("make", "Volvo");
+        body.put("model", "FH");
+        body.put("vehicleType", "BOX_TRUCK");
+        body.put("yearOfManufacture", 2020);
+        body.put("maxWeightKg", 24_000);
+        body.put("maxVolumeCubicMeters", 90);
+        body.put("fuelType", "Diesel");
+        body.put("currentMileage", 1000);
+        body.put("insurancePolicyNumber", "POL-" + registration);
+        body.put("insuranceExpiryDate", LocalDate.now().plusYears(1).toString());
+        body.put("registrationExpiryDate", LocalDate.now().plusYears(1).toString());
+        return body;
+    }
+}
@@ -0,0 +1,84 @@
+package com.FTMS.FTMS_app.common.metrics;
+
+import com.FTMS.FTMS_app.fleet.application.dto.CreateVehicleRequest;
+import com.FTMS.FTMS_app.fleet.application.service.FleetService;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Metricile serviciilor (timer + apeluri de repository) și gauge-urile de status, ținute la zi după commit.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ServiceMetricsTest {
+
+    @Autowired
+    private FleetService fleetService;
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void testStatusGauges_FollowCommittedTransitions() {
+        double available = gauge("ftms.vehicles", VehicleStatus.AVAILABLE);
+        double inMaintenance = gauge("ftms.vehicles", VehicleStatus.IN_MAINTENANCE);
+
+        Vehicle vehicle = fleetService.addVehicle(vehicleRequest("METRICS-V-1"));
+        assertEquals(available + 1, gauge("ftms.vehicles", VehicleStatus.AVAILABLE));
+
+        fleetService.scheduleMaintenance(vehicle.getId());
+        assertEquals(available, gauge("ftms.vehicles", VehicleStatus.AVAILABLE));
+        assertEquals(inMaintenance + 1, gauge("ftms.vehicles", VehicleStatus.IN_MAINTENANCE));
+
+        // O tranzacție eșuată nu modifică gauge-urile
+        assertThrows(IllegalArgumentException.class, () -> fleetService.addVehicle(vehicleRequest("METRICS-V-1")));
+        assertEquals(available, gauge("ftms.vehicles", VehicleStatus.AVAILABLE));
+    }
+
+    @Test
+    void testServiceOperations_AreTimedWithRepositoryCallCount() {
+        fleetService.addVehicle(vehicleRequest("METRICS-V-2"));
+
+        Timer timer = registry.find("ftms.service.operation")
+                .tags("service", "FleetService", "operation", "addVehicle", "outcome", "success").timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+
+        // findByRegistrationNumber (doar dacă filtrul de unicitate nu exclude valoarea) + save
+        DistributionSummary repositoryCalls = registry.find("ftms.service.repository.calls")
+                .tags("service", "FleetService", "operation", "addVehicle").summary();
+        assertNotNull(repositoryCalls);
+        assertTrue(repositoryCalls.max() >= 1);
+        assertNotNull(registry.find("spring.data.repository.invocations").tag("repository", "VehicleRepository").timer());
+    }
+
+    private double gauge(String name, Enum<?> status) {
+        return registry.get(name).tag("status", status.name()).gauge().value();
+    }
+
+    private CreateVehicleRequest vehicleRequest(String registrationNumber) {
+        CreateVehicleRequest request = new CreateVehicleRequest();
+        request.setRegistrationNumber(registrationNumber);
+        request.setMake("Volvo");
+        request.setModel("FH");
+        request.setVehicleType(VehicleType.BOX_TRUCK);
+        request.setYearOfManufacture(2022);
+        request.setMaxWeightKg(24_000);
+        request.setMaxVolumeCubicMeters(90);
+        request.setInsurancePolicyNumber("policy");
+        request.setInsuranceExpiryDate(LocalDate.now().plusYears(1));
+        request.setRegistrationExpiryDate(LocalDate.now().plusYears(1));
+        return request;
+    }
+}
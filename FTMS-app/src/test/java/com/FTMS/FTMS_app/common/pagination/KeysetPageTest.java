@@ -0,0 +1,50 @@
+package com.FTMS.FTMS_app.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPageTest {
+
+    @Test
+    void testOf_ExtraRowSignalsNextPage() {
+        // limit = 3, interogarea a adus 4 rânduri -> mai există o pagină
+        KeysetPage<Long> page = KeysetPage.of(List.of(10L, 11L, 15L, 20L), 3, Function.identity());
+
+        assertEquals(List.of(10L, 11L, 15L), page.items());
+        assertTrue(page.hasMore());
+        assertEquals(15L, Keyset.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testOf_LastPageHasNoCursor() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(21L, 22L), 3, Function.identity());
+
+        assertEquals(2, page.items().size());
+        assertFalse(page.hasMore());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testOf_CompoundCursorCarriesSortValueAndId() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(10L, 11L, 15L), 2, id -> "2031-05-10T12:00", Function.identity());
+
+        Keyset.Position position = Keyset.decodePosition(page.nextCursor());
+        assertEquals("2031-05-10T12:00", position.sortValue());
+        assertEquals(11L, position.id());
+        // Un cursor dintr-o listă ordonată altfel (filtrele s-au schimbat între pagini) este respins
+        assertThrows(IllegalArgumentException.class, () -> Keyset.decode(page.nextCursor()));
+        assertThrows(IllegalArgumentException.class, () -> Keyset.decodePosition(Keyset.encode(11L)));
+    }
+
+    @Test
+    void testDecode_BlankIsFirstPageAndGarbageIsRejected() {
+        assertNull(Keyset.decode(null));
+        assertNull(Keyset.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> Keyset.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> Keyset.checkLimit(Keyset.MAX_LIMIT + 1));
+    }
+}
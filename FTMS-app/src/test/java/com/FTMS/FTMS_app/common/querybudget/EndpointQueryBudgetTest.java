@@ -0,0 +1,236 @@
+package com.FTMS.FTMS_app.common.querybudget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Numărul exact de instrucțiuni SQL pentru fiecare endpoint: o regresie N+1 (sau orice interogare în plus)
+ * schimbă numărul și pică testul. Căutările întorc intenționat mai multe rânduri, ca o încărcare per rând
+ * să fie vizibilă. Numerele includ și citirile din secvențe (ex: primul INSERT de transport alocă un bloc de ID-uri).
+ * Bază de date H2 separată, ca datele altor teste să nu influențeze numerele.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ftms_query_budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry registry;
+
+    @AfterEach
+    void noRequestExceededItsBudget() {
+        assertTrue(registry.find("ftms.http.sql.budget.exceeded").counters().isEmpty());
+    }
+
+    @Test
+    void testCustomerEndpoints() throws Exception {
+        long customerId = statements(4, post("/api/v1/customers"), customer("QB-C1")).path("id").asLong();
+        statements(1, get("/api/v1/customers/" + customerId), null);
+        statements(2, post("/api/v1/customers/contracts"), contract(customerId));
+        statements(1, get("/api/v1/customers/" + customerId), null);
+        statements(1, get("/api/v1/customers/invoices?customerId=" + customerId), null);
+        statements(2, post("/api/v1/customers/invoices/overdue-sweep"), null);
+    }
+
+    @Test
+    void testFleetEndpoints() throws Exception {
+        long vehicleId = statements(1, post("/api/v1/fleet/vehicles"), vehicle("QB-F-V1")).path("id").asLong();
+        statements(1, post("/api/v1/fleet/vehicles"), vehicle("QB-F-V2"));
+        statements(1, get("/api/v1/fleet/vehicles/" + vehicleId), null);
+        statements(1, get("/api/v1/fleet/vehicles?status=AVAILABLE"), null);
+        statements(1, get("/api/v1/fleet/vehicles/available"), null);
+        statements(0, get("/api/v1/fleet/vehicles/best-fit?weight=100&volume=1"), null);
+
+        long driverId = statements(1, post("/api/v1/fleet/drivers"), driver("QB-F-L1")).path("id").asLong();
+        statements(1, post("/api/v1/fleet/drivers"), driver("QB-F-L2"));
+        statements(1, get("/api/v1/fleet/drivers/" + driverId), null);
+        statements(1, get("/api/v1/fleet/drivers?status=AVAILABLE"), null);
+        statements(1, get("/api/v1/fleet/drivers/available"), null);
+        statements(3, put("/api/v1/fleet/drivers/" + driverId + "/assign-vehicle/" + vehicleId), null);
+
+        statements(2, put("/api/v1/fleet/vehicles/" + vehicleId + "/maintenance/schedule"), null);
+        statements(3, post("/api/v1/fleet/vehicles/" + vehicleId + "/maintenance/complete"), maintenance());
+
+        statements(2, put("/api/v1/fleet/vehicles/" + vehicleId + "/documents"), Map.of(
+                "insuranceExpiryDate", LocalDate.now().plusYears(2).toString(),
+                "registrationExpiryDate", LocalDate.now().plusYears(2).toString()));
+        statements(2, put("/api/v1/fleet/drivers/" + driverId + "/license"),
+                Map.of("licenseExpiryDate", LocalDate.now().plusYears(6).toString()));
+        statements(0, get("/api/v1/fleet/expiring?days=30"), null);
+    }
+
+    @Test
+    void testShipmentLifecycleEndpoints() throws Exception {
+        long customerId = statements(4, post("/api/v1/customers"), customer("QB-S1")).path("id").asLong();
+        long vehicleId = statements(1, post("/api/v1/fleet/vehicles"), vehicle("QB-S-V1")).path("id").asLong();
+        long driverId = statements(1, post("/api/v1/fleet/drivers"), driver("QB-S-L1")).path("id").asLong();
+
+        long rateCardId = statements(2, post("/api/v1/quotes/rate-cards"), rateCard()).path("id").asLong();
+        statements(2, put("/api/v1/quotes/rate-cards/" + rateCardId), rateCard());
+        statements(1, get("/api/v1/quotes/rate-cards"), null);
+        statements(0, get("/api/v1/quotes?originCity=Cluj&destinationCity=Iasi&weightKg=1200&volumeCubicMeters=8"), null);
+
+        long shipmentId = statements(7, post("/api/v1/shipments"), shipment("QB-S-R1", customerId)).path("id").asLong();
+        statements(5, post("/api/v1/shipments/batch"),
+                Map.of("shipments", List.of(shipment("QB-S-R2", customerId), shipment("QB-S-R3", customerId))));
+        statements(1, get("/api/v1/shipments/" + shipmentId), null);
+        statements(1, get("/api/v1/shipments?customerId=" + customerId), null);
+        statements(3, post("/api/v1/shipments/dispatch?dryRun=true"), null);
+        statements(3, post("/api/v1/shipments/consolidate?dryRun=true"), null);
+
+        statements(6, put("/api/v1/shipments/" + shipmentId + "/assign?driverId=" + driverId + "&vehicleId=" + vehicleId), null);
+        statements(2, put("/api/v1/shipments/" + shipmentId + "/status/PICKED_UP"), null);
+        statements(2, put("/api/v1/shipments/" + shipmentId + "/status/IN_TRANSIT"), null);
+        // Lot offline: transportul e deja în tranzit, iar al doilea nu există -> doar SELECT-ul comun
+        statements(1, post("/api/v1/shipments/status/batch"), Map.of("transitions", List.of(
+                Map.of("shipmentId", shipmentId, "targetStatus", "PICKED_UP", "timestamp", LocalDateTime.now().toString()),
+                Map.of("shipmentId", shipmentId + 1000, "targetStatus", "IN_TRANSIT", "timestamp", LocalDateTime.now().toString()))));
+        statements(0, post("/api/v1/telemetry/positions"), Map.of("positions", List.of(Map.of(
+                "vehicleId", vehicleId, "latitude", 46.77, "longitude", 23.59, "speedKmh", 80, "odometerKm", 1200,
+                "recordedAt", Instant.now().toString()))));
+        statements(0, get("/api/v1/telemetry/vehicles/" + vehicleId + "/latest"), null);
+        statements(1, get("/api/v1/shipments/" + shipmentId + "/position"), null);
+        statements(5, post("/api/v1/shipments/" + shipmentId + "/confirm-delivery"), delivery());
+        statements(1, get("/api/v1/shipments?customerId=" + customerId), null);
+
+        statements(4, get("/api/v1/shipments/invoice-outbox/stats"), null);
+        statements(8, post("/api/v1/shipments/invoice-outbox/drain"), null);
+        JsonNode invoice = statements(1, get("/api/v1/customers/invoices?customerId=" + customerId), null).path("items").path(0);
+        statements(4, post("/api/v1/customers/invoices/" + invoice.path("id").asLong() + "/pay"),
+                payment(invoice.path("totalAmount").asDouble()));
+
+        JsonNode cancelled = statements(1, get("/api/v1/shipments?customerId=" + customerId + "&status=PENDING"), null);
+        statements(2, put("/api/v1/shipments/" + cancelled.path("items").path(0).path("id").asLong() + "/cancel"), null);
+        statements(4, delete("/api/v1/quotes/rate-cards/" + rateCardId), null);
+        statements(0, get("/api/v1/caches/stats"), null);
+    }
+
+    /**
+     * Execută cererea și verifică numărul de instrucțiuni SQL măsurat de QueryBudgetInterceptor.
+     *
+     * @return corpul răspunsului (nod gol dacă nu există)
+     */
+    private JsonNode statements(long expected, MockHttpServletRequestBuilder request, Object body) throws Exception {
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String uri = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertTrue(result.getResponse().getStatus() < 300, uri + " -> " + result.getResponse().getStatus()
+                + " " + result.getResponse().getContentAsString());
+        Long count = (Long) result.getRequest().getAttribute(QueryBudgetInterceptor.STATEMENT_COUNT_ATTRIBUTE);
+        assertEquals(expected, count, uri);
+        String content = result.getResponse().getContentAsString();
+        return content.isEmpty() ? objectMapper.createObjectNode() : objectMapper.readTree(content);
+    }
+
+    private static Map<String, Object> customer(String key) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("companyName", key + " SRL");
+        body.put("taxIdNumber", key);
+        body.put("primaryContactName", "Contact");
+        body.put("primaryContactPhone", "0700000000");
+        body.put("primaryContactEmail", key.toLowerCase() + "@qb.ftms.test");
+        body.put("billingAddress", Map.of("street", "Str. Test 1", "city", "Cluj", "zipCode", "400000", "country", "RO"));
+        body.put("deliveryAddresses", List.of(
+                Map.of("street", "Str. Depozit 1", "city", "Cluj", "zipCode", "400001", "country", "RO"),
+                Map.of("street", "Str. Depozit 2", "city", "Iasi", "zipCode", "700001", "country", "RO")));
+        body.put("paymentTerms", "NET_30");
+        body.put("category", "STANDARD");
+        body.put("creditLimit", 1_000_000_000);
+        return body;
+    }
+
+    private static Map<String, Object> contract(long customerId) {
+        return Map.of("customerId", customerId, "startDate", LocalDate.now().minusDays(1).toString(),
+                "endDate", LocalDate.now().plusYears(1).toString(), "serviceLevel", "standard", "discountRate", 0.05);
+    }
+
+    private static Map<String, Object> vehicle(String registration) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("registrationNumber", registration);
+        body.put("make", "Volvo");
+        body.put("model", "FH");
+        body.put("vehicleType", "BOX_TRUCK");
+        body.put("yearOfManufacture", 2020);
+        body.put("maxWeightKg", 24_000);
+        body.put("maxVolumeCubicMeters", 90);
+        body.put("fuelType", "Diesel");
+        body.put("currentMileage", 1000);
+        body.put("insurancePolicyNumber", "POL-" + registration);
+        body.put("insuranceExpiryDate", LocalDate.now().plusYears(1).toString());
+        body.put("registrationExpiryDate", LocalDate.now().plusYears(1).toString());
+        return body;
+    }
+
+    private static Map<String, Object> driver(String license) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "Șofer " + license);
+        body.put("licenseNumber", license);
+        body.put("licenseType", "CE");
+        body.put("licenseIssueDate", LocalDate.now().minusYears(5).toString());
+        body.put("licenseExpiryDate", LocalDate.now().plusYears(5).toString());
+        body.put("phone", "0700000000");
+        body.put("employmentDate", LocalDate.now().minusYears(1).toString());
+        return body;
+    }
+
+    private static Map<String, Object> maintenance() {
+        return Map.of("date", LocalDate.now().toString(), "maintenanceType", "ROUTINE_SERVICE", "cost", 250);
+    }
+
+    private static Map<String, Object> rateCard() {
+        return Map.of("minChargeableWeightKg", 0, "baseAmount", 150, "pricePerKg", 0.08);
+    }
+
+    private static Map<String, Object> shipment(String reference, long customerId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("referenceNumber", reference);
+        body.put("customerId", customerId);
+        body.put("pickupLocation", location("Cluj"));
+        body.put("deliveryLocation", location("Iasi"));
+        body.put("cargoDetails", Map.of("description", "Paleți", "weightKg", 1200, "volumeCubicMeters", 8));
+        body.put("pickupDateTime", LocalDateTime.now().plusDays(1).withNano(0).toString());
+        body.put("requestedDeliveryDateTime", LocalDateTime.now().plusDays(2).withNano(0).toString());
+        return body;
+    }
+
+    private static Map<String, Object> location(String city) {
+        return Map.of("street", "Str. Depozitului 1", "city", city, "country", "RO",
+                "contactPerson", "Ion Popescu", "contactPhone", "0700000000");
+    }
+
+    private static Map<String, Object> delivery() {
+        return Map.of("actualDeliveryDateTime", LocalDateTime.now().withNano(0).toString(), "recipientName", "Destinatar");
+    }
+
+    private static Map<String, Object> payment(double amount) {
+        return Map.of("paymentDate", LocalDate.now().toString(), "amount", amount,
+                "paymentMethod", "BANK_TRANSFER", "referenceNumber", "QB-PAY-1");
+    }
+}
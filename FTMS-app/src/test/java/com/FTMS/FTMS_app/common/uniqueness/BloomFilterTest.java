@@ -0,0 +1,41 @@
+package com.FTMS.FTMS_app.common.uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives_AndFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("REF-" + i));
+
+        // Orice valoare adăugată este găsită
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("REF-" + i)));
+
+        // Valorile neadăugate sunt respinse, cu excepția unei rate mici de fals pozitive
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("OTHER-" + i)).count();
+        assertTrue(falsePositives < 2_000, "False positive rate too high: " + falsePositives + " / 100000");
+    }
+
+    @Test
+    void testRegistry_AnswersMaybeUntilLoaded() {
+        UniqueKeyRegistry registry = new UniqueKeyRegistry(1_000, 0.01);
+
+        // Înainte de încărcare nu se poate sări peste SELECT
+        assertTrue(registry.mightExist(UniqueKey.SHIPMENT_REFERENCE, "REF-NEW"));
+
+        assertEquals(2, registry.load(UniqueKey.SHIPMENT_REFERENCE, Stream.of("REF-1", "REF-2")));
+        registry.register(UniqueKey.SHIPMENT_REFERENCE, "REF-3");
+
+        assertTrue(registry.mightExist(UniqueKey.SHIPMENT_REFERENCE, "REF-1"));
+        assertTrue(registry.mightExist(UniqueKey.SHIPMENT_REFERENCE, "REF-3"));
+        assertFalse(registry.mightExist(UniqueKey.SHIPMENT_REFERENCE, "REF-NEW"));
+        // Cheile sunt independente
+        assertTrue(registry.mightExist(UniqueKey.VEHICLE_REGISTRATION, "REF-NEW"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.FTMS.FTMS_app.customer.application.service;
+
+import com.FTMS.FTMS_app.customer.application.dto.OverdueSweepResult;
+import com.FTMS.FTMS_app.customer.domain.model.*;
+import com.FTMS.FTMS_app.customer.domain.repository.CreditExposureRepository;
+import com.FTMS.FTMS_app.customer.domain.repository.CustomerRepository;
+import com.FTMS.FTMS_app.customer.domain.repository.InvoiceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class OverdueInvoiceSweepServiceTest {
+
+    // Data "de azi" e departe în viitor, ca facturile create de alte teste să nu fie încă restante
+    private static final LocalDate TODAY = LocalDate.of(2999, 6, 15);
+    // invoices.shipment_id este unic: fiecare factură primește propriul transport (fictiv)
+    private static final AtomicLong SHIPMENT_IDS = new AtomicLong(8_000_000L);
+
+    @Autowired
+    private OverdueInvoiceSweepService sweepService;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    @Autowired
+    private CreditExposureRepository creditExposureRepository;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testSweep_MarksOverdueInChunksAndSuspendsOnlyCustomersOverLimit() {
+        // ARRANGE
+        Customer overLimit = customerRepository.save(customer("SWEEP-1", 1000));
+        Customer underLimit = customerRepository.save(customer("SWEEP-2", 1_000_000));
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            invoices.add(invoice("SWEEP-OVER-" + i, overLimit, TODAY.minusDays(1 + i), InvoiceStatus.PENDING));
+        }
+        invoices.add(invoice("SWEEP-UNDER-0", underLimit, TODAY.minusDays(3), InvoiceStatus.PENDING));
+        Invoice dueToday = invoice("SWEEP-TODAY", underLimit, TODAY, InvoiceStatus.PENDING);
+        Invoice alreadyPaid = invoice("SWEEP-PAID", underLimit, TODAY.minusDays(10), InvoiceStatus.PAID);
+        invoices.add(dueToday);
+        invoices.add(alreadyPaid);
+        invoiceRepository.saveAll(invoices);
+
+        // Ferestre de 3 ID-uri -> mai multe tranzacții
+        ReflectionTestUtils.setField(sweepService, "chunkSize", 3);
+
+        // ACT
+        OverdueSweepResult result = sweepService.sweepOverdueInvoices(TODAY);
+
+        // ASSERT
+        assertEquals(8, result.invoicesMarkedOverdue());
+        assertEquals(2, result.customersRechecked());
+        assertEquals(1, result.customersSuspended());
+
+        assertEquals(7, invoiceRepository.findByCustomerIdAndStatus(overLimit.getId(), InvoiceStatus.OVERDUE).size());
+        assertEquals(InvoiceStatus.PENDING, invoiceRepository.findById(dueToday.getId()).orElseThrow().getStatus());
+        assertEquals(InvoiceStatus.PAID, invoiceRepository.findById(alreadyPaid.getId()).orElseThrow().getStatus());
+        assertEquals(CustomerStatus.SUSPENDED, customerRepository.findById(overLimit.getId()).orElseThrow().getStatus());
+        assertEquals(CustomerStatus.ACTIVE, customerRepository.findById(underLimit.getId()).orElseThrow().getStatus());
+
+        // Registrul de expunere urmează facturile: toate cele 7 sunt restante și neachitate
+        CreditExposure overLimitLedger = creditExposureRepository.findById(overLimit.getId()).orElseThrow();
+        assertEquals(7 * 595, overLimitLedger.getOutstandingAmount(), 0.001);
+        assertEquals(7 * 595, overLimitLedger.getOverdueAmount(), 0.001);
+        CreditExposure underLimitLedger = creditExposureRepository.findById(underLimit.getId()).orElseThrow();
+        assertEquals(2 * 595, underLimitLedger.getOutstandingAmount(), 0.001);
+        assertEquals(595, underLimitLedger.getOverdueAmount(), 0.001);
+
+        // O a doua rulare nu mai are nimic de făcut
+        assertEquals(0, sweepService.sweepOverdueInvoices(TODAY).invoicesMarkedOverdue());
+    }
+
+    @Test
+    void testLedger_SeededFromExistingInvoicesWhenCreatedLazily() {
+        // ARRANGE: client salvat direct, fără rând în registru, dar cu facturi deja emise
+        Customer customer = customerRepository.save(customer("LEDGER-1", 1_000_000));
+        Invoice partiallyPaid = invoice("LEDGER-PARTIAL", customer, TODAY.plusDays(10), InvoiceStatus.PARTIALLY_PAID);
+        partiallyPaid.setPaymentDetails(new PaymentDetails(TODAY, 200, PaymentDetails.PaymentMethod.BANK_TRANSFER, "LEDGER-PAY"));
+        invoiceRepository.saveAll(List.of(
+                invoice("LEDGER-PENDING", customer, TODAY.plusDays(10), InvoiceStatus.PENDING),
+                invoice("LEDGER-OVERDUE", customer, TODAY.minusDays(10), InvoiceStatus.OVERDUE),
+                invoice("LEDGER-PAID", customer, TODAY.minusDays(20), InvoiceStatus.PAID),
+                partiallyPaid));
+
+        // ACT: prima blocare creează rândul
+        CreditExposure ledger = new TransactionTemplate(transactionManager)
+                .execute(status -> customerService.lockCreditExposures(List.of(customer.getId())).get(customer.getId()));
+
+        // ASSERT
+        assertNotNull(ledger);
+        assertEquals(0, ledger.getCommittedAmount(), 0.001);
+        assertEquals(595 + 595 + 395, ledger.getOutstandingAmount(), 0.001);
+        assertEquals(595, ledger.getOverdueAmount(), 0.001);
+    }
+
+    private Customer customer(String taxId, double creditLimit) {
+        Customer customer = new Customer();
+        customer.setCompanyName(taxId + " SRL");
+        customer.setTaxIdNumber(taxId);
+        customer.setPrimaryContactEmail(taxId.toLowerCase() + "@ftms.test");
+        customer.setPaymentTerms(PaymentTerms.NET_30);
+        customer.setCategory(CustomerCategory.STANDARD);
+        customer.setCreditLimit(creditLimit);
+        customer.setStatus(CustomerStatus.ACTIVE);
+        return customer;
+    }
+
+    private Invoice invoice(String number, Customer customer, LocalDate dueDate, InvoiceStatus status) {
+        return new Invoice(null, number, customer, SHIPMENT_IDS.incrementAndGet(), dueDate.minusDays(30), dueDate,
+                500, 95, 595, status, null);
+    }
+}
@@ -0,0 +1,113 @@
+package com.FTMS.FTMS_app.fleet.application.service;
+
+import com.FTMS.FTMS_app.fleet.application.dto.ExpiringDocumentDto;
+import com.FTMS.FTMS_app.fleet.application.dto.ExpirySweepResult;
+import com.FTMS.FTMS_app.fleet.application.dto.RenewLicenseRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.RenewVehicleDocumentsRequest;
+import com.FTMS.FTMS_app.fleet.domain.model.*;
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverRepository;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import com.FTMS.FTMS_app.fleet.domain.service.ExpiringDocument;
+import com.FTMS.FTMS_app.fleet.infrastructure.persistence.FleetExpiryLoader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class FleetExpiryServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private FleetExpiryService expiryService;
+    @Autowired
+    private FleetService fleetService;
+    @Autowired
+    private FleetExpiryLoader loader;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Test
+    void testExpireDueDocuments_FlipsStatusAndRenewalRestoresIt() {
+        expiryService.expireDueDocuments(TODAY); // termenele rămase de la alte teste din același context
+
+        // ARRANGE: asigurare expirată ieri, permis care expiră azi, vehicul în cursă cu înmatricularea expirată
+        Vehicle uninsured = vehicleRepository.save(vehicle("EXP-V-1", TODAY.minusDays(1), TODAY.plusYears(1), VehicleStatus.AVAILABLE));
+        Vehicle onTrip = vehicleRepository.save(vehicle("EXP-V-2", TODAY.plusYears(1), TODAY.minusDays(2), VehicleStatus.IN_USE));
+        Vehicle valid = vehicleRepository.save(vehicle("EXP-V-3", TODAY.plusDays(5), TODAY.plusYears(1), VehicleStatus.AVAILABLE));
+        Driver unlicensed = driverRepository.save(driver("EXP-L-1", TODAY));
+
+        // ACT
+        ExpirySweepResult result = expiryService.expireDueDocuments(TODAY);
+
+        // ASSERT: vehiculul în cursă rămâne IN_USE până la eliberare
+        assertEquals(3, result.documentsDue());
+        assertEquals(1, result.vehiclesExpired());
+        assertEquals(1, result.driversExpired());
+        assertEquals(VehicleStatus.DOCUMENTS_EXPIRED, vehicleRepository.findById(uninsured.getId()).orElseThrow().getStatus());
+        assertEquals(VehicleStatus.IN_USE, vehicleRepository.findById(onTrip.getId()).orElseThrow().getStatus());
+        assertEquals(DriverStatus.LICENSE_EXPIRED, driverRepository.findById(unlicensed.getId()).orElseThrow().getStatus());
+        assertFalse(fleetService.findAvailableVehicles().stream().anyMatch(v -> v.getId().equals(uninsured.getId())));
+
+        fleetService.releaseVehicle(onTrip.getId());
+        assertEquals(VehicleStatus.DOCUMENTS_EXPIRED, vehicleRepository.findById(onTrip.getId()).orElseThrow().getStatus());
+
+        // Documentele care expiră curând vin din roată, cu ziua din care resursa devine indisponibilă
+        List<ExpiringDocumentDto> expiring = expiryService.findExpiring(7);
+        ExpiringDocumentDto validInsurance = expiring.stream()
+                .filter(d -> d.resourceId().equals(valid.getId()) && d.document() == ExpiringDocument.VEHICLE_INSURANCE)
+                .findFirst().orElseThrow();
+        assertEquals(TODAY.plusDays(6), validInsurance.unavailableFrom());
+
+        // Reînnoirea readuce resursele în uz, iar a doua rulare nu mai are nimic scadent
+        fleetService.renewVehicleDocuments(uninsured.getId(), renewal());
+        RenewLicenseRequest license = new RenewLicenseRequest();
+        license.setLicenseExpiryDate(TODAY.plusYears(5));
+        fleetService.renewDriverLicense(unlicensed.getId(), license);
+
+        assertEquals(VehicleStatus.AVAILABLE, vehicleRepository.findById(uninsured.getId()).orElseThrow().getStatus());
+        assertEquals(DriverStatus.AVAILABLE, driverRepository.findById(unlicensed.getId()).orElseThrow().getStatus());
+        assertEquals(0, expiryService.expireDueDocuments(TODAY).documentsDue());
+    }
+
+    @Test
+    void testLoader_SchedulesExistingDeadlines() {
+        Vehicle vehicle = vehicleRepository.save(vehicle("EXP-V-10", TODAY.plusDays(3), TODAY.plusDays(4), VehicleStatus.AVAILABLE));
+
+        loader.load();
+
+        List<ExpiringDocument> documents = expiryService.findExpiring(5).stream()
+                .filter(d -> d.resourceId().equals(vehicle.getId()) && d.document().isVehicleDocument())
+                .map(ExpiringDocumentDto::document)
+                .toList();
+        assertEquals(List.of(ExpiringDocument.VEHICLE_INSURANCE, ExpiringDocument.VEHICLE_REGISTRATION), documents);
+    }
+
+    private RenewVehicleDocumentsRequest renewal() {
+        RenewVehicleDocumentsRequest request = new RenewVehicleDocumentsRequest();
+        request.setInsurancePolicyNumber("policy-renewed");
+        request.setInsuranceExpiryDate(TODAY.plusYears(1));
+        request.setRegistrationExpiryDate(TODAY.plusYears(1));
+        return request;
+    }
+
+    private Vehicle vehicle(String registration, LocalDate insuranceExpiry, LocalDate registrationExpiry, VehicleStatus status) {
+        return new Vehicle(null, registration, "Volvo", "FH", VehicleType.BOX_TRUCK, 2022,
+                new VehicleCapacity(24000, 90), "Diesel", 0, "policy-" + registration,
+                insuranceExpiry, registrationExpiry, status, List.of());
+    }
+
+    private Driver driver(String licenseNumber, LocalDate licenseExpiry) {
+        LicenseInfo license = new LicenseInfo(licenseNumber, LicenseType.CE, TODAY.minusYears(5), licenseExpiry);
+        return new Driver(null, "Expiry Driver", license, null, null, TODAY, DriverStatus.AVAILABLE, null);
+    }
+}
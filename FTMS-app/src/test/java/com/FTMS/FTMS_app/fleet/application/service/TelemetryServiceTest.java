@@ -0,0 +1,78 @@
+package com.FTMS.FTMS_app.fleet.application.service;
+
+import com.FTMS.FTMS_app.fleet.application.dto.PositionPingRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.TelemetryBatchRequest;
+import com.FTMS.FTMS_app.fleet.application.dto.TelemetryIngestResult;
+import com.FTMS.FTMS_app.fleet.domain.model.VehiclePosition;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehiclePositionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class TelemetryServiceTest {
+
+    private static final long VEHICLE_ID = 900_001L; // fără vehicul real: recepția nu verifică ID-ul
+
+    @Autowired
+    private TelemetryService telemetryService;
+    @Autowired
+    private VehiclePositionRepository positionRepository;
+
+    @Test
+    void testIngest_CachesLatestAndWritesBatchesToHistory() throws InterruptedException {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        TelemetryBatchRequest batch = batch(
+                ping(now.minusSeconds(20), 46.77, 23.59, 120.5),
+                ping(now.minusSeconds(5), 46.78, 23.60, 130.0),
+                ping(now.minusSeconds(10), 46.775, 23.595, 125.0), // sosită în altă ordine
+                ping(now.minus(Duration.ofDays(3)), 45.0, 25.0, 10.0)); // prea veche -> respinsă
+
+        TelemetryIngestResult result = telemetryService.ingest(batch);
+
+        assertEquals(4, result.received());
+        assertEquals(3, result.accepted());
+        assertEquals(1, result.rejected());
+        // Ultima poziție după momentul înregistrării, nu după ordinea sosirii
+        assertEquals(now.minusSeconds(5), telemetryService.getLatestPosition(VEHICLE_ID).orElseThrow().recordedAt());
+
+        // Scrierea este asincronă: așteaptă lotul în istoric
+        Optional<VehiclePosition> stored = Optional.empty();
+        for (int attempt = 0; attempt < 50 && stored.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            stored = positionRepository.findLatest(VEHICLE_ID, now.minusSeconds(60));
+        }
+        assertEquals(now.minusSeconds(5), stored.orElseThrow().recordedAt());
+        assertEquals(130.0f, stored.get().speedKmh());
+
+        // Un lot retrimis (ex: după un timeout la client) nu produce erori la scriere
+        assertEquals(3, telemetryService.ingest(batch).accepted());
+    }
+
+    private TelemetryBatchRequest batch(PositionPingRequest... pings) {
+        TelemetryBatchRequest request = new TelemetryBatchRequest();
+        request.setPositions(List.of(pings));
+        return request;
+    }
+
+    private PositionPingRequest ping(Instant recordedAt, double latitude, double longitude, double odometer) {
+        PositionPingRequest ping = new PositionPingRequest();
+        ping.setVehicleId(VEHICLE_ID);
+        ping.setLatitude(latitude);
+        ping.setLongitude(longitude);
+        ping.setSpeedKmh((float) odometer);
+        ping.setOdometerKm(odometer);
+        ping.setRecordedAt(recordedAt);
+        return ping;
+    }
+}
@@ -1,6 +1,12 @@
 package com.FTMS.FTMS_app.fleet.application.service.impl;
 
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKey;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
 import com.FTMS.FTMS_app.fleet.application.dto.CreateVehicleRequest;
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.DriverStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseInfo;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
 import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
 import com.FTMS.FTMS_app.fleet.domain.model.VehicleCapacity;
 import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
@@ -15,11 +21,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List; // <-- ADĂUGAT IMPORTUL PENTRU 'List'
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class) // Activează Mockito
@@ -31,6 +39,9 @@ class FleetServiceImplTest {
     @Mock
     private DriverRepository driverRepository;
 
+    @Mock
+    private UniqueKeyRegistry uniqueKeys;
+
     @InjectMocks
     private FleetServiceImpl fleetService;
 
@@ -53,6 +64,7 @@ class FleetServiceImplTest {
     @Test
     void testAddVehicle_Success() {
         // ARRANGE
+        when(uniqueKeys.mightExist(UniqueKey.VEHICLE_REGISTRATION, "B-123-XYZ")).thenReturn(true);
         when(vehicleRepository.findByRegistrationNumber("B-123-XYZ")).thenReturn(Optional.empty());
 
         // --- AICI ESTE MODIFICAREA PENTRU 'setId' ---
@@ -103,6 +115,7 @@ class FleetServiceImplTest {
                 VehicleType.BOX_TRUCK, 2019, new VehicleCapacity(1000, 10), "Diesel",
                 100000, "policy", LocalDate.now(), LocalDate.now(), VehicleStatus.AVAILABLE, List.of());
 
+        when(uniqueKeys.mightExist(UniqueKey.VEHICLE_REGISTRATION, "B-123-XYZ")).thenReturn(true);
         when(vehicleRepository.findByRegistrationNumber("B-123-XYZ")).thenReturn(Optional.of(existingVehicle));
 
         // ACT & ASSERT
@@ -116,4 +129,49 @@ class FleetServiceImplTest {
         verify(vehicleRepository, times(1)).findByRegistrationNumber("B-123-XYZ");
         verify(vehicleRepository, never()).save(any(Vehicle.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddVehicle_RegistrationNotInFilter_SkipsLookup() {
+        // ARRANGE: filtrul de unicitate știe sigur că numărul nu există
+        when(uniqueKeys.mightExist(UniqueKey.VEHICLE_REGISTRATION, "B-123-XYZ")).thenReturn(false);
+        when(vehicleRepository.save(any(Vehicle.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // ACT
+        Vehicle result = fleetService.addVehicle(createVehicleRequest);
+
+        // ASSERT & VERIFY: fără SELECT de unicitate, doar INSERT-ul (constrângerea UNIQUE rămâne garanția)
+        assertEquals("B-123-XYZ", result.getRegistrationNumber());
+        verify(vehicleRepository, never()).findByRegistrationNumber(anyString());
+        verify(vehicleRepository, times(1)).save(any(Vehicle.class));
+    }
+
+    @Test
+    void testAssignDriverAndVehicle_RejectShipmentsOutsideTheirTrip() {
+        // ARRANGE
+        Driver driver = new Driver(7L, "Ion Pop", new LicenseInfo("LIC-7", LicenseType.CE,
+                LocalDate.now().minusYears(1), LocalDate.now().plusYears(1)), null, null, LocalDate.now(), DriverStatus.AVAILABLE, null);
+        Vehicle vehicle = new Vehicle(8L, "B-08-TRP", "MAN", "TGX", VehicleType.BOX_TRUCK, 2020, new VehicleCapacity(20000, 90),
+                "Diesel", 0, "POL-8", LocalDate.now().plusYears(1), LocalDate.now().plusYears(1), VehicleStatus.AVAILABLE, new ArrayList<>());
+        when(driverRepository.findById(7L)).thenReturn(Optional.of(driver));
+        when(vehicleRepository.findById(8L)).thenReturn(Optional.of(vehicle));
+
+        // ACT: prima alocare pornește cursa perechii 7-8
+        fleetService.assignDriver(7L, 8L);
+        fleetService.assignVehicle(8L, 7L, 1000, 5);
+
+        // ASSERT: în cursă, doar aceeași pereche mai primește transporturi, oricum ar fi validat apelantul
+        assertThrows(IllegalStateException.class, () -> fleetService.assignDriver(7L, 9L));
+        assertThrows(IllegalStateException.class, () -> fleetService.assignVehicle(8L, 6L, 1000, 5));
+        fleetService.assignDriver(7L, 8L);
+        fleetService.assignVehicle(8L, 7L, 1000, 5);
+        assertEquals(2, driver.getActiveShipments());
+        assertEquals(2, vehicle.getLoadedShipments());
+
+        // La finalul cursei perechea se desface
+        driver.completeShipment();
+        driver.completeShipment();
+        vehicle.releaseFromShipment();
+        assertNull(driver.getTripVehicleId());
+        assertNull(vehicle.getTripDriverId());
+    }
+}
@@ -0,0 +1,74 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryWheelTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 10);
+
+    private ExpiryWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new ExpiryWheel(8); // roată mică: termenele de peste 8 zile fac mai multe rotații
+        wheel.rebuild(TODAY, List.of(
+                new ExpiryEntry(ExpiringDocument.DRIVER_LICENSE, 1L, TODAY.plusDays(2)),
+                new ExpiryEntry(ExpiringDocument.VEHICLE_INSURANCE, 2L, TODAY.plusDays(2)),      // invalid din ziua 3
+                new ExpiryEntry(ExpiringDocument.VEHICLE_REGISTRATION, 2L, TODAY.plusDays(10)),  // invalid din ziua 11 = slotul zilei 3
+                new ExpiryEntry(ExpiringDocument.DRIVER_LICENSE, 3L, TODAY.minusDays(4))         // deja expirat
+        ));
+    }
+
+    @Test
+    void testAdvance_ReturnsOnlyDueEntriesPerDay() {
+        // Termenul depășit la încărcare vine la primul advance, fără să treacă vreo zi
+        assertEquals(List.of(3L), ids(wheel.advance(TODAY)));
+
+        assertTrue(wheel.advance(TODAY.plusDays(1)).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(TODAY.plusDays(2))));
+        assertEquals(List.of(2L), ids(wheel.advance(TODAY.plusDays(3))));
+
+        // Înmatricularea (același slot, o rotație mai târziu) nu a fost scoasă la prima trecere
+        assertEquals(1, wheel.size());
+        assertEquals(ExpiringDocument.VEHICLE_REGISTRATION, wheel.advance(TODAY.plusDays(11)).getFirst().document());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_SkippingMoreThanOneRotationReturnsEverything() {
+        assertEquals(4, wheel.advance(TODAY.plusDays(30)).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testSchedule_ReplacesPreviousDeadline() {
+        // Reînnoirea asigurării mută termenul; vechiul slot nu mai întoarce nimic
+        wheel.schedule(List.of(new ExpiryEntry(ExpiringDocument.VEHICLE_INSURANCE, 2L, TODAY.plusDays(6))));
+        wheel.cancel(ExpiringDocument.DRIVER_LICENSE, 1L);
+        wheel.advance(TODAY);
+
+        assertTrue(wheel.advance(TODAY.plusDays(3)).isEmpty());
+        assertEquals(List.of(2L), ids(wheel.advance(TODAY.plusDays(7))));
+    }
+
+    @Test
+    void testExpiringWithin_SortedByDueDayAndBoundedByDays() {
+        List<ExpiryEntry> soon = wheel.expiringWithin(3);
+        assertEquals(List.of(ExpiringDocument.DRIVER_LICENSE, ExpiringDocument.VEHICLE_INSURANCE),
+                soon.stream().map(ExpiryEntry::document).toList());
+
+        // Peste dimensiunea roții: parcurgere completă, inclusiv termenele din rotațiile următoare
+        assertEquals(3, wheel.expiringWithin(20).size());
+        assertTrue(wheel.expiringWithin(0).isEmpty());
+    }
+
+    private List<Long> ids(List<ExpiryEntry> entries) {
+        return entries.stream().map(ExpiryEntry::resourceId).toList();
+    }
+}
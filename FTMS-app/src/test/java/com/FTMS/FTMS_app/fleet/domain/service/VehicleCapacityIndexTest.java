@@ -0,0 +1,62 @@
+package com.FTMS.FTMS_app.fleet.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleStatus;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleCapacityIndexTest {
+
+    private VehicleCapacityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleCapacityIndex();
+        index.rebuild(List.of(
+                entry(1L, VehicleType.BOX_TRUCK, 24000, 90, VehicleStatus.AVAILABLE),
+                entry(2L, VehicleType.BOX_TRUCK, 3500, 20, VehicleStatus.AVAILABLE),
+                entry(3L, VehicleType.BOX_TRUCK, 7500, 15, VehicleStatus.AVAILABLE),   // greu dar cu volum mic
+                entry(4L, VehicleType.BOX_TRUCK, 12000, 45, VehicleStatus.AVAILABLE),
+                entry(5L, VehicleType.REFRIGERATED, 8000, 40, VehicleStatus.AVAILABLE)
+        ));
+    }
+
+    @Test
+    void testFindBestFit_SmallestVehicleThatFitsBothDimensions() {
+        // 3 (7500 kg) are greutatea suficientă, dar nu și volumul -> următorul potrivit este 5 (alt tip)
+        Optional<VehicleCapacityEntry> anyType = index.findBestFit(5000, 30, null);
+        assertEquals(5L, anyType.orElseThrow().vehicleId());
+
+        Optional<VehicleCapacityEntry> boxOnly = index.findBestFit(5000, 30, VehicleType.BOX_TRUCK);
+        assertEquals(4L, boxOnly.orElseThrow().vehicleId());
+    }
+
+    @Test
+    void testUpsert_StatusChangesAreReflected() {
+        // Vehiculul 2 pleacă în cursă -> nu mai este candidat
+        index.upsert(entry(2L, VehicleType.BOX_TRUCK, 3500, 20, VehicleStatus.IN_USE));
+        assertEquals(4L, index.findBestFit(1000, 16, VehicleType.BOX_TRUCK).orElseThrow().vehicleId());
+
+        // ... și revine după eliberare
+        index.upsert(entry(2L, VehicleType.BOX_TRUCK, 3500, 20, VehicleStatus.AVAILABLE));
+        assertEquals(2L, index.findBestFit(1000, 16, VehicleType.BOX_TRUCK).orElseThrow().vehicleId());
+    }
+
+    @Test
+    void testUpsert_NewVehicleAndNoFit() {
+        assertTrue(index.findBestFit(30000, 10, null).isEmpty());
+
+        index.upsert(entry(6L, VehicleType.TANKER, 32000, 35, VehicleStatus.AVAILABLE));
+        assertEquals(6L, index.findBestFit(30000, 10, null).orElseThrow().vehicleId());
+        assertEquals(6, index.size());
+    }
+
+    private VehicleCapacityEntry entry(Long id, VehicleType type, double weight, double volume, VehicleStatus status) {
+        return new VehicleCapacityEntry(id, "B-" + id, type, weight, volume, status);
+    }
+}
@@ -0,0 +1,116 @@
+package com.FTMS.FTMS_app.shipment.application.service;
+
+import com.FTMS.FTMS_app.customer.domain.model.*;
+import com.FTMS.FTMS_app.customer.domain.repository.CustomerRepository;
+import com.FTMS.FTMS_app.customer.domain.repository.InvoiceRepository;
+import com.FTMS.FTMS_app.shipment.application.dto.InvoiceOutboxDrainResult;
+import com.FTMS.FTMS_app.shipment.application.dto.InvoiceOutboxStats;
+import com.FTMS.FTMS_app.shipment.domain.model.InvoiceOutboxEntry;
+import com.FTMS.FTMS_app.shipment.domain.repository.InvoiceOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class InvoiceOutboxRelayTest {
+
+    // ID-uri de transport care nu se suprapun cu cele create de alte teste
+    private static final long FIRST_SHIPMENT_ID = 9_000_000L;
+    // ftms.invoice-outbox.max-attempts implicit
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private InvoiceOutboxRelay relay;
+    @Autowired
+    private InvoiceOutboxRepository outboxRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testDrain_GeneratesEachInvoiceOnceAndParksBrokenEntries() {
+        // ARRANGE
+        Customer customer = customerRepository.save(customer());
+        List<InvoiceOutboxEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entries.add(new InvoiceOutboxEntry(FIRST_SHIPMENT_ID + i, customer.getId(), 1000, Instant.now()));
+        }
+        // Clientul nu există: intrarea eșuează de fiecare dată
+        InvoiceOutboxEntry broken = new InvoiceOutboxEntry(FIRST_SHIPMENT_ID + 99, -1L, 1000, Instant.now());
+        entries.add(2, broken);
+        outboxRepository.saveAll(entries);
+
+        // Transportul "+1" a fost deja facturat (ex: lot reluat): nu trebuie dublat
+        invoiceRepository.save(new Invoice(null, "INV-" + (FIRST_SHIPMENT_ID + 1), customer, FIRST_SHIPMENT_ID + 1,
+                LocalDate.now(), LocalDate.now().plusDays(30), 1000, 190, 1190, InvoiceStatus.PENDING, null));
+
+        // Loturi de câte 2 -> mai multe tranzacții, iar lotul cu intrarea greșită este reluat individual
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+
+        // ACT
+        InvoiceOutboxDrainResult result = relay.drain();
+
+        // ASSERT
+        assertEquals(5, result.processed());
+        assertTrue(result.failed() >= 1);
+        assertEquals(5, invoiceRepository.findByCustomerIdAndStatus(customer.getId(), InvoiceStatus.PENDING).size());
+        assertTrue(outboxRepository.findAllById(entries.stream().map(InvoiceOutboxEntry::getId).toList()).stream()
+                .filter(e -> !e.getId().equals(broken.getId()))
+                .allMatch(e -> e.getProcessedAt() != null));
+
+        InvoiceOutboxEntry failed = outboxRepository.findById(broken.getId()).orElseThrow();
+        assertNull(failed.getProcessedAt());
+        assertTrue(failed.getAttempts() >= 1);
+        assertNotNull(failed.getLastError());
+
+        // O a doua rulare nu mai facturează nimic
+        assertEquals(0, relay.drain().processed());
+        assertEquals(5, invoiceRepository.findByCustomerIdAndStatus(customer.getId(), InvoiceStatus.PENDING).size());
+    }
+
+    @Test
+    void testStats_ParkedEntriesDoNotPinTheLag() {
+        // ARRANGE: o intrare veche de 10 zile, parcată după max-attempts eșecuri
+        InvoiceOutboxEntry parked = new InvoiceOutboxEntry(FIRST_SHIPMENT_ID + 500, -1L, 1000, Instant.now().minus(Duration.ofDays(10)));
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            parked.recordFailure("Customer not found");
+        }
+        outboxRepository.save(parked);
+
+        // ACT
+        InvoiceOutboxStats stats = relay.stats();
+
+        // ASSERT: vechimea ei apare separat, nu în întârzierea relay-ului
+        assertTrue(stats.oldestParkedAgeMs() >= Duration.ofDays(10).toMillis());
+        assertTrue(stats.oldestPendingLagMs() < Duration.ofDays(10).toMillis());
+        assertEquals(stats.oldestParkedAgeMs(), meterRegistry.get("ftms.invoice-outbox.parked.age").gauge().value(),
+                Duration.ofMinutes(1).toMillis());
+    }
+
+    private Customer customer() {
+        Customer customer = new Customer();
+        customer.setCompanyName("Outbox Test SRL");
+        customer.setTaxIdNumber("RO-OUTBOX-1");
+        customer.setPrimaryContactEmail("outbox@ftms.test");
+        customer.setPaymentTerms(PaymentTerms.NET_30);
+        customer.setCategory(CustomerCategory.STANDARD);
+        customer.setCreditLimit(1_000_000);
+        customer.setStatus(CustomerStatus.ACTIVE);
+        return customer;
+    }
+}
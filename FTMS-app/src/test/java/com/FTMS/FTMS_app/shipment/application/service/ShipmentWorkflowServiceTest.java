@@ -0,0 +1,105 @@
+package com.FTMS.FTMS_app.shipment.application.service;
+
+import com.FTMS.FTMS_app.common.concurrency.ResourceKey;
+import com.FTMS.FTMS_app.common.concurrency.ResourceReservationManager;
+import com.FTMS.FTMS_app.common.concurrency.VersionStamp;
+import com.FTMS.FTMS_app.fleet.application.service.FleetService;
+import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.TripAssignment;
+import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
+import com.FTMS.FTMS_app.shipment.application.dto.DispatchResult;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentRepository;
+import com.FTMS.FTMS_app.shipment.domain.service.DispatchPlanner;
+import com.FTMS.FTMS_app.shipment.domain.service.LoadConsolidationSolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShipmentWorkflowServiceTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+    @Mock
+    private FleetService fleetService;
+    @Mock
+    private DispatchPlanner dispatchPlanner;
+    @Mock
+    private LoadConsolidationSolver consolidationSolver;
+    @Mock
+    private ResourceReservationManager reservationManager;
+
+    @InjectMocks
+    private ShipmentWorkflowService workflowService;
+
+    /**
+     * Testează dispecerizarea când un transport a fost alocat manual între citire și rezervare:
+     * alocarea lui este sărită, restul planului se aplică
+     */
+    @Test
+    void testDispatch_SkipsAssignmentsChangedBeforeReservation() {
+        // ARRANGE: transportul 2 a primit între timp versiunea 1 (alocare manuală comisă)
+        Shipment first = shipment(1L);
+        Shipment second = shipment(2L);
+        Driver driverA = driver(10L);
+        Driver driverB = driver(11L);
+        Vehicle vehicleA = vehicle(20L);
+        Vehicle vehicleB = vehicle(21L);
+        when(shipmentRepository.findByStatus(ShipmentStatus.PENDING)).thenReturn(List.of(first, second));
+        when(dispatchPlanner.plan(anyList(), anyList(), anyList())).thenReturn(new DispatchPlanner.Plan(List.of(
+                new DispatchPlanner.Assignment(first, driverA, vehicleA, 0),
+                new DispatchPlanner.Assignment(second, driverB, vehicleB, 0)), Map.of()));
+        when(reservationManager.tryReserve(any(ResourceKey[].class))).thenReturn(true);
+        when(shipmentRepository.findVersions(anyCollection()))
+                .thenReturn(List.of(new VersionStamp(1L, 0L), new VersionStamp(2L, 1L)));
+        when(fleetService.findDriverVersions(anyCollection())).thenReturn(Map.of(10L, 0L, 11L, 0L));
+        when(fleetService.findVehicleVersions(anyCollection())).thenReturn(Map.of(20L, 0L, 21L, 0L));
+
+        // ACT
+        DispatchResult result = workflowService.dispatchPendingShipments(false);
+
+        // ASSERT
+        assertEquals(1, result.assignedShipments());
+        assertEquals(1L, result.assignments().get(0).shipmentId());
+        assertEquals(2L, result.unassigned().get(0).shipmentId());
+        verify(first).assign(10L, 20L);
+        verify(second, never()).assign(anyLong(), anyLong());
+        verify(fleetService).assignDrivers(argThat((Collection<TripAssignment> trips) ->
+                trips.stream().map(TripAssignment::driverId).toList().equals(List.of(10L))));
+    }
+
+    private static Shipment shipment(Long id) {
+        Shipment shipment = mock(Shipment.class);
+        lenient().when(shipment.getId()).thenReturn(id);
+        lenient().when(shipment.getVersion()).thenReturn(0L);
+        lenient().when(shipment.getCargoDetails()).thenReturn(new CargoDetails("Paleți", 500, 2, null, null));
+        return shipment;
+    }
+
+    private static Driver driver(Long id) {
+        Driver driver = mock(Driver.class);
+        lenient().when(driver.getId()).thenReturn(id);
+        lenient().when(driver.getVersion()).thenReturn(0L);
+        return driver;
+    }
+
+    private static Vehicle vehicle(Long id) {
+        Vehicle vehicle = mock(Vehicle.class);
+        lenient().when(vehicle.getId()).thenReturn(id);
+        lenient().when(vehicle.getVersion()).thenReturn(0L);
+        return vehicle;
+    }
+}
@@ -0,0 +1,242 @@
+package com.FTMS.FTMS_app.shipment.application.service.impl;
+
+import com.FTMS.FTMS_app.common.events.DomainEventBus;
+import com.FTMS.FTMS_app.common.exception.ResourceConflictException;
+import com.FTMS.FTMS_app.customer.domain.model.Customer;
+import com.FTMS.FTMS_app.customer.domain.model.CustomerCategory;
+import com.FTMS.FTMS_app.customer.domain.model.CustomerStatus;
+import com.FTMS.FTMS_app.customer.domain.model.PaymentTerms;
+import com.FTMS.FTMS_app.customer.domain.repository.CustomerRepository;
+import com.FTMS.FTMS_app.fleet.domain.model.*;
+import com.FTMS.FTMS_app.fleet.domain.repository.DriverRepository;
+import com.FTMS.FTMS_app.fleet.domain.repository.VehicleRepository;
+import com.FTMS.FTMS_app.shipment.application.dto.DeliveryConfirmationDto;
+import com.FTMS.FTMS_app.shipment.application.service.ShipmentService;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de stres pentru alocarea concurentă: mai multe thread-uri rulează ciclul de viață al transporturilor
+ * (assign / cancel / status / confirm-delivery) pe un număr mic de șoferi și vehicule, apoi se verifică
+ * că niciun șofer sau vehicul nu a ajuns alocat pe două transporturi active.
+ *
+ * Testul verifică doar corectitudinea. Numărul de operații pe secundă din log depinde de mașină, de JVM
+ * și de ce mai rulează în paralel (H2 în memorie, fire de evenimente), deci nu este un rezultat de performanță.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ShipmentAssignmentStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ShipmentAssignmentStressTest.class);
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 400;
+    private static final int DRIVERS = 12;
+    private static final int VEHICLES = 12;
+    private static final int SHIPMENTS = 1000;
+
+    private static final Set<ShipmentStatus> ACTIVE = EnumSet.of(ShipmentStatus.SCHEDULED, ShipmentStatus.PICKED_UP, ShipmentStatus.IN_TRANSIT);
+
+    @Autowired
+    private ShipmentService shipmentService;
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Test
+    void testConcurrentLifecycle_NoDoubleBooking() throws Exception {
+        // ARRANGE
+        Long customerId = customerRepository.save(customer()).getId();
+        List<Long> driverIds = new ArrayList<>();
+        for (int i = 0; i < DRIVERS; i++) {
+            driverIds.add(driverRepository.save(driver(i)).getId());
+        }
+        List<Long> vehicleIds = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; i++) {
+            vehicleIds.add(vehicleRepository.save(vehicle(i)).getId());
+        }
+        List<Shipment> toSave = new ArrayList<>();
+        for (int i = 0; i < SHIPMENTS; i++) {
+            toSave.add(new Shipment("STRESS-" + i, customerId, null, null,
+                    new CargoDetails("Paleți", 1000, 5, null, null),
+                    LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        }
+        List<Long> shipmentIds = shipmentRepository.saveAll(toSave).stream().map(Shipment::getId).toList();
+
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        // Transporturile deja alocate; sunt alese mai des ca să treacă prin toate tranzițiile
+        Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+        // ACT
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                    Long shipmentId = pick(inFlight, shipmentIds, random);
+                    try {
+                        ShipmentStatus reached = nextStep(shipmentId, driverIds.get(random.nextInt(DRIVERS)),
+                                vehicleIds.get(random.nextInt(VEHICLES)), random);
+                        if (reached != null) {
+                            succeeded.incrementAndGet();
+                            if (ACTIVE.contains(reached)) {
+                                inFlight.add(shipmentId);
+                            } else {
+                                inFlight.remove(shipmentId);
+                            }
+                        }
+                    } catch (ResourceConflictException | OptimisticLockingFailureException e) {
+                        conflicts.incrementAndGet();
+                    } catch (IllegalStateException | IllegalArgumentException e) {
+                        rejected.incrementAndGet(); // ex: șoferul ales este deja pe drum
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        executor.shutdown();
+
+        long total = (long) THREADS * OPERATIONS_PER_THREAD;
+        log.info("Stress test: {} operations in {} s -> {} ops/s ({} succeeded, {} conflicts, {} rejected by business rules)",
+                total, String.format("%.2f", seconds), String.format("%.0f", total / seconds),
+                succeeded.get(), conflicts.get(), rejected.get());
+
+        // Eliberarea resurselor rulează după commit, pe firele DomainEventBus: așteaptă să se termine
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (eventBus.pending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // ASSERT
+        assertEquals(0, eventBus.pending());
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected errors: " + unexpected);
+        assertTrue(succeeded.get() > 0);
+
+        List<Shipment> active = shipmentRepository.findAll().stream().filter(s -> ACTIVE.contains(s.getStatus())).toList();
+        Map<Long, Long> shipmentsPerDriver = active.stream().collect(Collectors.groupingBy(Shipment::getAssignedDriverId, Collectors.counting()));
+        Map<Long, Long> shipmentsPerVehicle = active.stream().collect(Collectors.groupingBy(Shipment::getAssignedVehicleId, Collectors.counting()));
+
+        // Zero duble alocări: un vehicul poate duce mai multe transporturi (consolidare), dar toate cu același
+        // șofer, iar un șofer este pe un singur vehicul...
+        Map<Long, Driver> drivers = driverRepository.findAllById(driverIds).stream().collect(Collectors.toMap(Driver::getId, Function.identity()));
+        Map<Long, Vehicle> vehicles = vehicleRepository.findAllById(vehicleIds).stream().collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+        active.stream().collect(Collectors.groupingBy(Shipment::getAssignedVehicleId)).forEach((vehicleId, onBoard) -> {
+            assertEquals(1, onBoard.stream().map(Shipment::getAssignedDriverId).distinct().count(), "Vehicle " + vehicleId + " is double-booked");
+            double weight = onBoard.stream().mapToDouble(s -> s.getCargoDetails().getWeightKg()).sum();
+            double volume = onBoard.stream().mapToDouble(s -> s.getCargoDetails().getVolumeCubicMeters()).sum();
+            assertTrue(vehicles.get(vehicleId).getCapacity().isSufficient(weight, volume), "Vehicle " + vehicleId + " is overloaded");
+            assertEquals(weight, vehicles.get(vehicleId).getLoadedWeightKg(), 1e-6, "Vehicle " + vehicleId + " load does not match its shipments");
+        });
+        active.stream().collect(Collectors.groupingBy(Shipment::getAssignedDriverId)).forEach((driverId, trip) ->
+                assertEquals(1, trip.stream().map(Shipment::getAssignedVehicleId).distinct().count(), "Driver " + driverId + " is double-booked"));
+
+        // ... iar statusul și contoarele resursei corespund transporturilor active
+        drivers.forEach((id, driver) -> {
+            assertEquals(shipmentsPerDriver.containsKey(id), driver.getStatus() == DriverStatus.ON_ROUTE, "Driver " + id + " status does not match its shipments");
+            assertEquals(shipmentsPerDriver.getOrDefault(id, 0L), driver.getActiveShipments(), "Driver " + id + " shipment count does not match");
+        });
+        vehicles.forEach((id, vehicle) -> {
+            assertEquals(shipmentsPerVehicle.containsKey(id), vehicle.getStatus() == VehicleStatus.IN_USE, "Vehicle " + id + " status does not match its shipments");
+            assertEquals(shipmentsPerVehicle.getOrDefault(id, 0L), vehicle.getLoadedShipments(), "Vehicle " + id + " shipment count does not match");
+        });
+    }
+
+    // 70% din operații continuă un transport aflat deja în lucru, restul încearcă o alocare nouă
+    private Long pick(Set<Long> inFlight, List<Long> shipmentIds, ThreadLocalRandom random) {
+        if (random.nextInt(100) < 70) {
+            Long[] active = inFlight.toArray(Long[]::new);
+            if (active.length > 0) {
+                return active[random.nextInt(active.length)];
+            }
+        }
+        return shipmentIds.get(random.nextInt(shipmentIds.size()));
+    }
+
+    // Execută următorul pas din ciclul de viață; întoarce statusul atins (null = transport deja finalizat)
+    private ShipmentStatus nextStep(Long shipmentId, Long driverId, Long vehicleId, ThreadLocalRandom random) {
+        ShipmentStatus status = shipmentRepository.findById(shipmentId).orElseThrow().getStatus();
+        return switch (status) {
+            case PENDING -> shipmentService.assignShipment(shipmentId, driverId, vehicleId).getStatus();
+            case SCHEDULED -> {
+                if (random.nextInt(100) < 15) {
+                    shipmentService.cancelShipment(shipmentId);
+                    yield ShipmentStatus.CANCELED;
+                }
+                yield shipmentService.updateShipmentStatus(shipmentId, ShipmentStatus.PICKED_UP).getStatus();
+            }
+            case PICKED_UP -> shipmentService.updateShipmentStatus(shipmentId, ShipmentStatus.IN_TRANSIT).getStatus();
+            case IN_TRANSIT -> shipmentService.confirmDelivery(shipmentId, deliveryConfirmation()).getStatus();
+            default -> null;
+        };
+    }
+
+    private Customer customer() {
+        Customer customer = new Customer();
+        customer.setCompanyName("Stress Test SRL");
+        customer.setTaxIdNumber("RO-STRESS-1");
+        customer.setPrimaryContactEmail("stress@ftms.test");
+        customer.setPaymentTerms(PaymentTerms.NET_30);
+        customer.setCategory(CustomerCategory.STANDARD);
+        customer.setCreditLimit(1_000_000_000);
+        customer.setStatus(CustomerStatus.ACTIVE);
+        return customer;
+    }
+
+    private Driver driver(int i) {
+        LicenseInfo license = new LicenseInfo("STRESS-L-" + i, LicenseType.CE, LocalDate.now().minusYears(5), LocalDate.now().plusYears(5));
+        return new Driver(null, "Driver " + i, license, null, null, LocalDate.now(), DriverStatus.AVAILABLE, null);
+    }
+
+    private Vehicle vehicle(int i) {
+        return new Vehicle(null, "STRESS-V-" + i, "Volvo", "FH", VehicleType.BOX_TRUCK, 2022,
+                new VehicleCapacity(24000, 90), "Diesel", 0, "policy-" + i,
+                LocalDate.now().plusYears(1), LocalDate.now().plusYears(1), VehicleStatus.AVAILABLE, List.of());
+    }
+
+    private DeliveryConfirmationDto deliveryConfirmation() {
+        DeliveryConfirmationDto dto = new DeliveryConfirmationDto();
+        dto.setActualDeliveryDateTime(LocalDateTime.now());
+        dto.setRecipientName("Recipient");
+        return dto;
+    }
+}
@@ -2,23 +2,54 @@ package com.FTMS.FTMS_app.shipment.application.service.impl;
 
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import com.FTMS.FTMS_app.common.concurrency.ResourceReservationManager;
+import com.FTMS.FTMS_app.common.uniqueness.UniqueKeyRegistry;
 import com.FTMS.FTMS_app.customer.application.service.CustomerService;
+import com.FTMS.FTMS_app.customer.domain.model.Contract;
+import com.FTMS.FTMS_app.customer.domain.model.CreditExposure;
+import com.FTMS.FTMS_app.customer.domain.model.Customer;
 import com.FTMS.FTMS_app.fleet.application.service.FleetService;
+import com.FTMS.FTMS_app.fleet.application.service.TelemetryService;
 import com.FTMS.FTMS_app.fleet.domain.model.Driver;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseInfo;
+import com.FTMS.FTMS_app.fleet.domain.model.LicenseType;
 import com.FTMS.FTMS_app.fleet.domain.model.Vehicle;
 import com.FTMS.FTMS_app.fleet.domain.model.VehicleCapacity;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkShipmentResult;
+import com.FTMS.FTMS_app.shipment.application.dto.BulkStatusTransitionResult;
+import com.FTMS.FTMS_app.shipment.application.dto.StatusTransitionRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.CargoDto;
+import com.FTMS.FTMS_app.shipment.application.dto.CreateShipmentRequest;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentLocationDto;
+import com.FTMS.FTMS_app.shipment.application.service.PricingService;
+import com.FTMS.FTMS_app.shipment.domain.event.ShipmentCanceled;
 import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
 import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
 import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.domain.repository.InvoiceOutboxRepository;
+import com.FTMS.FTMS_app.shipment.domain.repository.RateCardRepository;
 import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentRepository;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentTripMember;
+import com.FTMS.FTMS_app.shipment.domain.service.LaneEstimate;
+import com.FTMS.FTMS_app.shipment.domain.service.ShipmentComputationService;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,6 +67,20 @@ class ShipmentServiceImplTest {
     private FleetService fleetService;
     @Mock
     private CustomerService customerService; // Deși nu e folosit în 'assign', e bine să fie aici
+    @Mock
+    private Validator validator;
+    @Mock
+    private ResourceReservationManager reservationManager;
+    @Mock
+    private InvoiceOutboxRepository invoiceOutboxRepository;
+    @Mock
+    private PricingService pricingService;
+    @Mock
+    private UniqueKeyRegistry uniqueKeys;
+    @Mock
+    private TelemetryService telemetryService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     // 2. Machete pentru entitățile de domeniu
     // Avem nevoie de ele pentru a le controla metodele (ex: isAvailable)
@@ -61,8 +106,11 @@ class ShipmentServiceImplTest {
 
         // Când serviciul cere entitățile, returnează machetele noastre
         when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
-        when(fleetService.getDriverById(1L)).thenReturn(driver);
-        when(fleetService.getVehicleById(1L)).thenReturn(vehicle);
+        when(fleetService.findDriver(1L)).thenReturn(driver);
+        when(fleetService.findVehicle(1L)).thenReturn(vehicle);
+
+        // Filtrul de unicitate nu exclude nimic: verificările de unicitate merg în repository
+        when(uniqueKeys.mightExist(any(), any())).thenReturn(true);
 
         // Configurăm entitățile pentru a trece validările
         when(shipment.canBeAssigned()).thenReturn(true);
@@ -74,6 +122,9 @@ class ShipmentServiceImplTest {
         // Configurăm capacitatea
         when(vehicle.getCapacity()).thenReturn(vehicleCapacity);
         when(vehicleCapacity.isSufficient(anyDouble(), anyDouble())).thenReturn(true);
+
+        // Prețul negociat rămâne neschimbat (clienții machetă nu au contract)
+        when(pricingService.priceNegotiated(any(), anyDouble())).thenAnswer(invocation -> invocation.getArgument(1));
     }
 
     /**
@@ -96,8 +147,11 @@ class ShipmentServiceImplTest {
 
         // 1. S-au verificat toate entitățile?
         verify(shipmentRepository).findById(1L);
-        verify(fleetService).getDriverById(1L);
-        verify(fleetService).getVehicleById(1L);
+        verify(fleetService).findDriver(1L);
+        verify(fleetService).findVehicle(1L);
+        // Copiile din cache sunt doar pentru citire
+        verify(fleetService, never()).getDriverById(any());
+        verify(fleetService, never()).getVehicleById(any());
 
         // 2. S-au rulat toate validările?
         verify(driver).isAvailable();
@@ -109,8 +163,8 @@ class ShipmentServiceImplTest {
         verify(shipment).assign(1L, 1L);
 
         // 4. S-au apelat celelalte servicii pentru a schimba starea? (Partea de WORKFLOW)
-        verify(fleetService).assignDriver(1L);
-        verify(fleetService).assignVehicle(1L);
+        verify(fleetService).assignDriver(1L, 1L);
+        verify(fleetService).assignVehicle(eq(1L), eq(1L), anyDouble(), anyDouble());
 
         // 5. S-a salvat în baza de date la final?
         verify(shipmentRepository).save(shipment);
@@ -136,7 +190,7 @@ class ShipmentServiceImplTest {
         // VERIFY
         // Verificăm că procesul s-a oprit înainte de a face schimbări
         verify(shipmentRepository, never()).save(any(Shipment.class));
-        verify(fleetService, never()).assignDriver(anyLong());
+        verify(fleetService, never()).assignDriver(anyLong(), anyLong());
     }
 
     /**
@@ -158,7 +212,355 @@ class ShipmentServiceImplTest {
         // VERIFY
         // Verificăm că nu s-a salvat sau alocat nimic
         verify(shipmentRepository, never()).save(any(Shipment.class));
-        verify(fleetService, never()).assignDriver(anyLong());
-        verify(fleetService, never()).assignVehicle(anyLong());
+        verify(fleetService, never()).assignDriver(anyLong(), anyLong());
+        verify(fleetService, never()).assignVehicle(anyLong(), anyLong(), anyDouble(), anyDouble());
+    }
+
+    /**
+     * Testează consolidarea: un vehicul deja încărcat primește transportul doar cu șoferul cursei lui
+     */
+    @Test
+    void testAssignShipment_ConsolidatesOnlyWithTheTripDriver() {
+        // ARRANGE: vehiculul are deja un transport programat, condus de șoferul 7
+        when(vehicle.hasLoad()).thenReturn(true);
+        when(vehicle.getId()).thenReturn(8L);
+        when(fleetService.findVehicle(8L)).thenReturn(vehicle);
+        when(driver.isAvailable()).thenReturn(false); // șoferul e deja în cursă
+        when(vehicle.hasValidDocuments(any())).thenReturn(true);
+        when(driver.getLicenseInfo()).thenReturn(new LicenseInfo("LIC-7", LicenseType.CE,
+                LocalDate.now().minusYears(1), LocalDate.now().plusYears(1)));
+        when(shipmentRepository.findTripMembers(eq(8L), anyCollection()))
+                .thenReturn(List.of(new ShipmentTripMember(2L, ShipmentStatus.SCHEDULED, 7L)));
+        when(shipmentRepository.save(any(Shipment.class))).thenReturn(shipment);
+
+        // ACT + ASSERT: alt șofer este respins, șoferul cursei este acceptat
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> shipmentService.assignShipment(1L, 1L, 8L));
+        assertTrue(exception.getMessage().contains("another driver"));
+
+        when(fleetService.findDriver(7L)).thenReturn(driver);
+        shipmentService.assignShipment(1L, 7L, 8L);
+
+        // VERIFY: marfa se adaugă pe vehicul, fără verificarea disponibilității (vehiculul este IN_USE)
+        verify(vehicle, never()).isAvailable();
+        verify(fleetService).assignVehicle(eq(8L), eq(7L), anyDouble(), anyDouble());
+        verify(shipment).assign(7L, 8L);
+    }
+
+    /**
+     * Testează consolidarea cu un vehicul încă neeliberat: fără transporturi la bord nu există cursă,
+     * deci șoferul și vehiculul trec prin verificarea obișnuită de disponibilitate
+     */
+    @Test
+    void testAssignShipment_VehicleWithNothingOnBoardIsNotATrip() {
+        // ARRANGE: ultimul transport a fost livrat, dar eliberarea vehiculului nu a rulat încă
+        when(vehicle.hasLoad()).thenReturn(true);
+        when(vehicle.isAvailable()).thenReturn(false);
+        when(vehicle.getId()).thenReturn(8L);
+        when(fleetService.findVehicle(8L)).thenReturn(vehicle);
+        when(shipmentRepository.findTripMembers(eq(8L), anyCollection())).thenReturn(List.of());
+
+        // ACT & ASSERT
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> shipmentService.assignShipment(1L, 1L, 8L));
+        assertTrue(exception.getMessage().contains("is not available"));
+        verify(driver).isAvailable();
+        verify(fleetService, never()).assignVehicle(anyLong(), anyLong(), anyDouble(), anyDouble());
+    }
+
+    /**
+     * Testează anularea: cererea schimbă doar statusul, creditul și resursele se eliberează din ShipmentCanceled
+     */
+    @Test
+    void testCancelShipment_ReleasesThroughDomainEvent() {
+        // ARRANGE: un transport real, deja alocat
+        Shipment scheduled = scheduledShipment("REF-CANCEL");
+        scheduled.clearDomainEvents();
+        when(shipmentRepository.findById(2L)).thenReturn(Optional.of(scheduled));
+
+        // ACT
+        shipmentService.cancelShipment(2L);
+
+        // ASSERT: un singur eveniment, cu tot ce trebuie eliberat
+        assertEquals(ShipmentStatus.CANCELED, scheduled.getStatus());
+        assertEquals(1, scheduled.domainEvents().size());
+        ShipmentCanceled event = assertInstanceOf(ShipmentCanceled.class, scheduled.domainEvents().get(0));
+        assertEquals(5L, event.customerId());
+        assertEquals(7L, event.driverId());
+        assertEquals(8L, event.vehicleId());
+        assertEquals(100, event.price());
+
+        // O a doua anulare nu mai emite nimic (creditul nu se eliberează de două ori)
+        scheduled.clearDomainEvents();
+        shipmentService.cancelShipment(2L);
+        assertTrue(scheduled.domainEvents().isEmpty());
+
+        // VERIFY: niciun apel sincron către celelalte module
+        verify(customerService, never()).releaseCredit(anyLong(), anyDouble());
+        verify(fleetService, never()).releaseDriver(anyLong());
+        verify(fleetService, never()).releaseVehicle(anyLong());
+    }
+
+    /**
+     * Testează tranzițiile în lot: o singură încărcare, aplicare în ordinea momentelor raportate, rezultat per element
+     */
+    @Test
+    void testUpdateShipmentStatuses_AppliesInTimestampOrder() {
+        // ARRANGE: două transporturi alocate (ID-urile vin din mapare, ca după încărcare)
+        Shipment first = spy(scheduledShipment("REF-B1"));
+        Shipment second = spy(scheduledShipment("REF-B2"));
+        when(first.getId()).thenReturn(11L);
+        when(second.getId()).thenReturn(12L);
+        when(reservationManager.tryReserve(any())).thenReturn(true);
+        when(shipmentRepository.findAllById(anyCollection())).thenReturn(List.of(first, second));
+
+        LocalDateTime t0 = LocalDateTime.now().minusHours(1);
+        List<StatusTransitionRequest> transitions = List.of(
+                transition(11L, ShipmentStatus.IN_TRANSIT, t0.plusMinutes(10)), // trimisă prima, dar petrecută a doua
+                transition(11L, ShipmentStatus.PICKED_UP, t0),
+                transition(12L, ShipmentStatus.IN_TRANSIT, t0),                 // transportul nu a fost ridicat
+                transition(13L, ShipmentStatus.PICKED_UP, t0),                  // nu există
+                transition(12L, ShipmentStatus.DELIVERED, t0));                 // nu se setează direct
+
+        // ACT
+        BulkStatusTransitionResult result = shipmentService.updateShipmentStatuses(transitions);
+
+        // ASSERT
+        assertEquals(5, result.total());
+        assertEquals(2, result.applied());
+        assertTrue(result.items().get(0).success());
+        assertTrue(result.items().get(1).success());
+        assertEquals(ShipmentStatus.IN_TRANSIT, first.getStatus());
+        assertFalse(result.items().get(2).success());
+        assertEquals(ShipmentStatus.SCHEDULED, result.items().get(2).status());
+        assertTrue(result.items().get(3).error().contains("not found"));
+        assertTrue(result.items().get(4).error().contains("not managed"));
+
+        // VERIFY: o singură interogare și o singură salvare, doar cu transportul modificat
+        verify(shipmentRepository, times(1)).findAllById(anyCollection());
+        verify(shipmentRepository).saveAll(argThat(saved -> saved.iterator().next() == first && ((Collection<?>) saved).size() == 1));
+        verify(shipmentRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * Testează importul în masă: elementele valide se salvează, cele invalide sunt raportate individual
+     */
+    @Test
+    void testCreateShipments_PartialSuccess() {
+        // ARRANGE
+        Customer customer = mock(Customer.class);
+        when(customer.getId()).thenReturn(7L);
+        when(customer.canPlaceNewShipment()).thenReturn(true);
+        when(customer.getCreditLimit()).thenReturn(10_000.0);
+        when(customerService.getCustomersByIds(anyCollection())).thenReturn(Map.of(7L, customer));
+        when(customerService.lockCreditExposures(anyCollection())).thenReturn(Map.of(7L, new CreditExposure(7L)));
+        when(shipmentRepository.findExistingReferenceNumbers(anyCollection())).thenReturn(Set.of("REF-EXISTING"));
+        when(shipmentRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CreateShipmentRequest> requests = List.of(
+                buildRequest("REF-1", 7L),
+                buildRequest("REF-EXISTING", 7L),
+                buildRequest("REF-1", 7L),      // duplicat în același lot
+                buildRequest("REF-2", 99L)      // client inexistent
+        );
+
+        // ACT
+        BulkShipmentResult result = shipmentService.createShipments(requests);
+
+        // ASSERT
+        assertEquals(4, result.total());
+        assertEquals(1, result.created());
+        assertEquals(3, result.failed());
+        assertTrue(result.items().get(0).success());
+        assertTrue(result.items().get(1).error().contains("already exists"));
+        assertTrue(result.items().get(2).error().contains("Duplicate"));
+        assertTrue(result.items().get(3).error().contains("Customer not found"));
+
+        // VERIFY: câte o singură interogare pentru tot lotul, nu una per element
+        verify(customerService, times(1)).getCustomersByIds(anyCollection());
+        verify(shipmentRepository, times(1)).findExistingReferenceNumbers(anyCollection());
+        verify(shipmentRepository, never()).findByReferenceNumber(anyString());
+        verify(shipmentRepository, times(1)).saveAllAndFlush(argThat(list -> ((List<?>) list).size() == 1));
+    }
+
+    /**
+     * Testează importul în masă când o referință este ocupată în paralel între verificare și INSERT:
+     * lotul se reia fără ea, iar referința pierdută este raportată individual
+     */
+    @Test
+    void testCreateShipments_RetriesWithoutReferencesTakenMeanwhile() {
+        // ARRANGE: REF-2 nu există la verificare, dar INSERT-ul lovește constrângerea UNIQUE
+        Customer customer = mock(Customer.class);
+        when(customer.getId()).thenReturn(7L);
+        when(customer.canPlaceNewShipment()).thenReturn(true);
+        when(customer.getCreditLimit()).thenReturn(10_000.0);
+        when(customerService.getCustomersByIds(anyCollection())).thenReturn(Map.of(7L, customer));
+        when(customerService.lockCreditExposures(anyCollection())).thenAnswer(invocation -> Map.of(7L, new CreditExposure(7L)));
+        when(shipmentRepository.findExistingReferenceNumbers(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("REF-2"));
+        when(shipmentRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // ACT
+        BulkShipmentResult result = shipmentService.createShipments(List.of(buildRequest("REF-1", 7L), buildRequest("REF-2", 7L)));
+
+        // ASSERT
+        assertEquals(1, result.created());
+        assertTrue(result.items().get(0).success());
+        assertTrue(result.items().get(1).error().contains("already exists"));
+        verify(shipmentRepository).saveAllAndFlush(argThat(list -> ((List<?>) list).size() == 1));
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    /**
+     * Testează că o referință existentă dinaintea lotului nu declanșează o reluare: încălcarea are altă cauză
+     */
+    @Test
+    void testCreateShipments_DoesNotRetryForReferencesTakenBeforeTheBatch() {
+        // ARRANGE: REF-2 exista deja la verificare; INSERT-ul eșuează din alt motiv
+        Customer customer = mock(Customer.class);
+        when(customer.getId()).thenReturn(7L);
+        when(customer.canPlaceNewShipment()).thenReturn(true);
+        when(customer.getCreditLimit()).thenReturn(10_000.0);
+        when(customerService.getCustomersByIds(anyCollection())).thenReturn(Map.of(7L, customer));
+        when(customerService.lockCreditExposures(anyCollection())).thenAnswer(invocation -> Map.of(7L, new CreditExposure(7L)));
+        when(shipmentRepository.findExistingReferenceNumbers(anyCollection())).thenReturn(Set.of("REF-2"));
+        when(shipmentRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long for column"));
+
+        // ACT & ASSERT
+        assertThrows(DataIntegrityViolationException.class,
+                () -> shipmentService.createShipments(List.of(buildRequest("REF-1", 7L), buildRequest("REF-2", 7L))));
+        verify(shipmentRepository, times(1)).saveAllAndFlush(anyList());
+    }
+
+    /**
+     * Testează prețul negociat al unui client cu contract: discountul contractului se aplică și aici
+     * (facturarea nu îl mai aplică, prețul transportului îl include deja)
+     */
+    @Test
+    void testCreateShipment_NegotiatedPriceGetsContractDiscount() {
+        // ARRANGE: contract activ cu 10% discount, preț negociat 1000; prețuri calculate de serviciul real
+        ReflectionTestUtils.setField(shipmentService, "pricingService",
+                new PricingServiceImpl(mock(RateCardRepository.class), new ShipmentComputationService()));
+        Customer customer = mock(Customer.class);
+        when(customer.getId()).thenReturn(7L);
+        when(customer.canPlaceNewShipment()).thenReturn(true);
+        when(customer.getContract()).thenReturn(new Contract(1L, customer,
+                LocalDate.now().minusMonths(1), LocalDate.now().plusMonths(11), "standard", 0.10));
+        when(customerService.getCustomerById(7L)).thenReturn(customer);
+        when(shipmentRepository.save(any(Shipment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CreateShipmentRequest request = buildRequest("REF-CONTRACT", 7L);
+        request.setPrice(1000.0);
+
+        // ACT
+        Shipment created = shipmentService.createShipment(request);
+
+        // ASSERT: se rezervă și se salvează prețul după discount
+        assertEquals(900, created.getPrice(), 0.001);
+        verify(customerService).reserveCredit(7L, 900.0);
+    }
+
+    /**
+     * Testează controlul de admitere pe credit în importul în masă: elementele care ar depăși limita sunt respinse
+     */
+    @Test
+    void testCreateShipments_RejectsItemsOverCreditLimit() {
+        // ARRANGE: limită 250, fiecare transport costă 100 -> încap doar primele două
+        Customer customer = mock(Customer.class);
+        when(customer.getId()).thenReturn(7L);
+        when(customer.canPlaceNewShipment()).thenReturn(true);
+        when(customer.getCreditLimit()).thenReturn(250.0);
+        CreditExposure exposure = new CreditExposure(7L);
+        when(customerService.getCustomersByIds(anyCollection())).thenReturn(Map.of(7L, customer));
+        when(customerService.lockCreditExposures(anyCollection())).thenReturn(Map.of(7L, exposure));
+        when(shipmentRepository.findExistingReferenceNumbers(anyCollection())).thenReturn(Set.of());
+        when(shipmentRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CreateShipmentRequest> requests = List.of(
+                buildRequest("REF-1", 7L),
+                buildRequest("REF-2", 7L),
+                buildRequest("REF-3", 7L)
+        );
+
+        // ACT
+        BulkShipmentResult result = shipmentService.createShipments(requests);
+
+        // ASSERT
+        assertEquals(2, result.created());
+        assertTrue(result.items().get(2).error().contains("credit limit"));
+        assertEquals(200, exposure.getCommittedAmount());
+
+        // VERIFY: registrul este blocat o singură dată pentru tot lotul
+        verify(customerService, times(1)).lockCreditExposures(anyCollection());
+    }
+
+    /**
+     * Testează verificarea ferestrei de livrare: livrarea cerută înainte de sosirea estimată este respinsă
+     */
+    @Test
+    void testCreateShipments_RejectsUnreachableDeliveryWindow() {
+        // ARRANGE: cursa durează 5,75 h; al doilea transport cere livrarea la o oră după ridicare
+        Customer customer = mock(Customer.class);
+        when(customer.getId()).thenReturn(7L);
+        when(customer.canPlaceNewShipment()).thenReturn(true);
+        when(customer.getCreditLimit()).thenReturn(10_000.0);
+        when(customerService.getCustomersByIds(anyCollection())).thenReturn(Map.of(7L, customer));
+        when(customerService.lockCreditExposures(anyCollection())).thenReturn(Map.of(7L, new CreditExposure(7L)));
+        when(shipmentRepository.findExistingReferenceNumbers(anyCollection())).thenReturn(Set.of());
+        when(shipmentRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pricingService.estimateLane(any(), any())).thenReturn(new LaneEstimate(305, 381, 5, 5.75));
+
+        CreateShipmentRequest urgent = buildRequest("REF-2", 7L);
+        urgent.setRequestedDeliveryDateTime(urgent.getPickupDateTime().plusHours(1));
+
+        // ACT
+        BulkShipmentResult result = shipmentService.createShipments(List.of(buildRequest("REF-1", 7L), urgent));
+
+        // ASSERT
+        assertEquals(1, result.created());
+        assertTrue(result.items().get(1).error().contains("earlier than the estimated arrival"));
+    }
+
+    private CreateShipmentRequest buildRequest(String referenceNumber, Long customerId) {
+        ShipmentLocationDto location = new ShipmentLocationDto();
+        location.setStreet("Str. Exemplu 1");
+        location.setCity("Cluj-Napoca");
+        location.setContactPerson("Ion Popescu");
+        location.setContactPhone("0700000000");
+
+        CargoDto cargo = new CargoDto();
+        cargo.setDescription("Paleți");
+        cargo.setWeightKg(500);
+        cargo.setVolumeCubicMeters(2);
+
+        CreateShipmentRequest request = new CreateShipmentRequest();
+        request.setReferenceNumber(referenceNumber);
+        request.setCustomerId(customerId);
+        request.setPickupLocation(location);
+        request.setDeliveryLocation(location);
+        request.setCargoDetails(cargo);
+        request.setPickupDateTime(LocalDateTime.now().plusDays(1));
+        request.setRequestedDeliveryDateTime(LocalDateTime.now().plusDays(2));
+        request.setPrice(100.0);
+        return request;
+    }
+
+    private Shipment scheduledShipment(String referenceNumber) {
+        Shipment scheduled = new Shipment(referenceNumber, 5L, null, null, new CargoDetails("Paleți", 500, 2, null, null),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), 100);
+        scheduled.assign(7L, 8L);
+        return scheduled;
+    }
+
+    private StatusTransitionRequest transition(Long shipmentId, ShipmentStatus targetStatus, LocalDateTime timestamp) {
+        StatusTransitionRequest transition = new StatusTransitionRequest();
+        transition.setShipmentId(shipmentId);
+        transition.setTargetStatus(targetStatus);
+        transition.setTimestamp(timestamp);
+        return transition;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.FTMS.FTMS_app.shipment.domain.repository;
+
+import com.FTMS.FTMS_app.common.pagination.Keyset;
+import com.FTMS.FTMS_app.common.pagination.KeysetPage;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentDto;
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentSearchCriteria;
+import com.FTMS.FTMS_app.shipment.application.service.ShipmentService;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.DeliveryConfirmation;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentContactLocation;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifică proiecția JPQL a modelului de citire (Value Object-uri încorporate + LEFT JOIN pe confirmare)
+ * și paginarea keyset pe intervalul de încărcare.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class ShipmentRepositoryTest {
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Test
+    void testFindViewById_MapsEmbeddedValuesAndDelivery() {
+        // ARRANGE
+        Shipment pending = shipmentRepository.save(shipment("VIEW-1"));
+        Shipment delivered = shipmentRepository.save(shipment("VIEW-2"));
+        entityManager.persist(new DeliveryConfirmation(delivered, LocalDateTime.of(2025, 3, 1, 10, 0),
+                "Ion Popescu", "semnatura.png", null, null));
+        entityManager.flush();
+        entityManager.clear();
+
+        // ACT
+        ShipmentDto pendingView = shipmentRepository.findViewById(pending.getId()).map(ShipmentDto::from).orElseThrow();
+        ShipmentDto deliveredView = shipmentRepository.findViewById(delivered.getId()).map(ShipmentDto::from).orElseThrow();
+
+        // ASSERT
+        assertEquals("VIEW-1", pendingView.referenceNumber());
+        assertEquals("Cluj-Napoca", pendingView.pickupLocation().city());
+        assertEquals("Brașov", pendingView.deliveryLocation().city());
+        assertEquals(1200, pendingView.cargo().weightKg());
+        assertNull(pendingView.delivery()); // fără confirmare -> LEFT JOIN întoarce NULL-uri
+
+        assertEquals("Ion Popescu", deliveredView.delivery().recipientName());
+        assertTrue(shipmentRepository.findViewById(-1L).isEmpty());
+    }
+
+    @Test
+    void testSearchShipments_PickupRangePagesByDateThenIdAcrossTies() {
+        // ARRANGE: trei transporturi la aceeași oră (egalitate pe coloana de sortare), unul înainte, unul după
+        LocalDateTime noon = LocalDateTime.of(2031, 5, 10, 12, 0);
+        Shipment late = shipmentRepository.save(shipment("RANGE-LATE", noon.plusHours(3)));
+        Shipment tieA = shipmentRepository.save(shipment("RANGE-TIE-A", noon));
+        Shipment early = shipmentRepository.save(shipment("RANGE-EARLY", noon.minusHours(3)));
+        Shipment tieB = shipmentRepository.save(shipment("RANGE-TIE-B", noon));
+        Shipment tieC = shipmentRepository.save(shipment("RANGE-TIE-C", noon));
+        entityManager.flush();
+        entityManager.clear();
+
+        ShipmentSearchCriteria criteria = new ShipmentSearchCriteria();
+        criteria.setPickupFrom(noon.minusDays(1));
+        criteria.setPickupTo(noon.plusDays(1));
+
+        // ACT: pagini de câte 2, urmând cursorul
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<ShipmentDto> page = shipmentService.searchShipments(criteria, cursor, 2);
+            page.items().forEach(item -> seen.add(item.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // ASSERT: ordinea (pickupDateTime, id), fără rânduri pierdute sau repetate la granița dintre pagini
+        assertEquals(List.of(early.getId(), tieA.getId(), tieB.getId(), tieC.getId(), late.getId()), seen);
+        assertThrows(IllegalArgumentException.class,
+                () -> shipmentService.searchShipments(criteria, Keyset.encode(tieA.getId()), 2));
+    }
+
+    private Shipment shipment(String reference) {
+        return shipment(reference, LocalDateTime.now().plusDays(1));
+    }
+
+    private Shipment shipment(String reference, LocalDateTime pickup) {
+        return new Shipment(reference, 1L,
+                new ShipmentContactLocation("Str. Fabricii 1", "Cluj-Napoca", "400000", "RO", "Ana", "0700000001"),
+                new ShipmentContactLocation("Str. Lungă 5", "Brașov", "500000", "RO", "Mihai", "0700000002"),
+                new CargoDetails("Paleți", 1200, 6, null, null),
+                pickup, pickup.plusDays(1));
+    }
+}
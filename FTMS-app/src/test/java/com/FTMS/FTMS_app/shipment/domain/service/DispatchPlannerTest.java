@@ -0,0 +1,91 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.*;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatchPlannerTest {
+
+    private final DispatchPlanner planner = new DispatchPlanner();
+
+    @Test
+    void testPlan_PicksSmallestVehicleThatFits() {
+        // ARRANGE: un camion mare și unul mic; transportul încape în ambele
+        Vehicle big = vehicle(1L, VehicleType.BOX_TRUCK, 24000, 90);
+        Vehicle small = vehicle(2L, VehicleType.BOX_TRUCK, 3500, 20);
+        Shipment shipment = shipment(10L, 1000, 5);
+        Driver driver = driver(100L, LicenseType.C);
+
+        // ACT
+        DispatchPlanner.Plan plan = planner.plan(List.of(shipment), List.of(driver), List.of(big, small));
+
+        // ASSERT
+        assertEquals(1, plan.assignments().size());
+        assertSame(small, plan.assignments().get(0).vehicle());
+        assertTrue(plan.unassigned().isEmpty());
+    }
+
+    @Test
+    void testPlan_LargestShipmentFirstAndLicenseRespected() {
+        // ARRANGE: doar cisterna poate lua transportul mare, iar pe ea poate urca doar șoferul CE
+        Vehicle tanker = vehicle(1L, VehicleType.TANKER, 30000, 40);
+        Vehicle box = vehicle(2L, VehicleType.BOX_TRUCK, 10000, 40);
+        Shipment heavy = shipment(10L, 25000, 30);
+        Shipment light = shipment(11L, 2000, 10);
+        Driver c = driver(100L, LicenseType.C);
+        Driver ce = driver(101L, LicenseType.CE);
+
+        // ACT
+        DispatchPlanner.Plan plan = planner.plan(List.of(light, heavy), List.of(ce, c), List.of(tanker, box));
+
+        // ASSERT
+        assertEquals(2, plan.assignments().size());
+        DispatchPlanner.Assignment first = plan.assignments().get(0);
+        assertSame(heavy, first.shipment());
+        assertSame(tanker, first.vehicle());
+        assertSame(ce, first.driver());
+        DispatchPlanner.Assignment second = plan.assignments().get(1);
+        assertSame(box, second.vehicle());
+        assertSame(c, second.driver());
+    }
+
+    @Test
+    void testPlan_ReportsShipmentsThatCannotBeServed() {
+        // ARRANGE: niciun vehicul nu are capacitatea necesară
+        Vehicle small = vehicle(1L, VehicleType.BOX_TRUCK, 3500, 20);
+        Shipment tooHeavy = shipment(10L, 9000, 5);
+
+        // ACT
+        DispatchPlanner.Plan plan = planner.plan(List.of(tooHeavy), List.of(driver(100L, LicenseType.CE)), List.of(small));
+
+        // ASSERT
+        assertTrue(plan.assignments().isEmpty());
+        assertTrue(plan.unassigned().containsKey(10L));
+    }
+
+    private Vehicle vehicle(Long id, VehicleType type, double weight, double volume) {
+        return new Vehicle(id, "B-" + id, "Volvo", "FH", type, 2022, new VehicleCapacity(weight, volume), "Diesel",
+                0, "policy", LocalDate.now().plusYears(1), LocalDate.now().plusYears(1), VehicleStatus.AVAILABLE, List.of());
+    }
+
+    private Driver driver(Long id, LicenseType type) {
+        LicenseInfo license = new LicenseInfo("L-" + id, type, LocalDate.now().minusYears(5), LocalDate.now().plusYears(5));
+        return new Driver(id, "Driver " + id, license, null, null, LocalDate.now(), DriverStatus.AVAILABLE, null);
+    }
+
+    private Shipment shipment(Long id, double weight, double volume) {
+        Shipment shipment = new Shipment("REF-" + id, 1L, null, null,
+                new CargoDetails("Marfă", weight, volume, null, null),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        ReflectionTestUtils.setField(shipment, "id", id);
+        return shipment;
+    }
+}
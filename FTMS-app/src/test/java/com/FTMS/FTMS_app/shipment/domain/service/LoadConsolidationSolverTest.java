@@ -0,0 +1,101 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import com.FTMS.FTMS_app.fleet.domain.model.*;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadConsolidationSolverTest {
+
+    private final LoadConsolidationSolver solver = new LoadConsolidationSolver();
+
+    @Test
+    void testSolve_PacksSeveralShipmentsOnOneVehicle() {
+        // ARRANGE: 10 transporturi de 2 t / 8 m³ încap toate în camionul mare (20 t / 80 m³ din 24 t / 90 m³)
+        Vehicle big = vehicle(1L, VehicleType.BOX_TRUCK, 24000, 90);
+        Vehicle small = vehicle(2L, VehicleType.BOX_TRUCK, 3500, 20);
+        List<Shipment> shipments = new ArrayList<>();
+        for (long id = 10; id < 20; id++) {
+            shipments.add(shipment(id, 2000, 8));
+        }
+
+        // ACT
+        LoadConsolidationSolver.Plan plan = solver.solve(shipments,
+                List.of(driver(100L, LicenseType.C), driver(101L, LicenseType.C)), List.of(small, big));
+
+        // ASSERT: un singur vehicul folosit, în loc de un vehicul per transport
+        assertEquals(1, plan.trips().size());
+        LoadConsolidationSolver.Trip trip = plan.trips().get(0);
+        assertSame(big, trip.vehicle());
+        assertEquals(10, trip.shipments().size());
+        assertEquals(20000.0 / 24000, trip.weightUtilization(), 1e-9);
+        assertEquals(80.0 / 90, trip.volumeUtilization(), 1e-9);
+        assertTrue(plan.unassigned().isEmpty());
+    }
+
+    @Test
+    void testSolve_RespectsBothDimensionsLicensesAndIsDeterministic() {
+        // ARRANGE: marfă grea și marfă voluminoasă, o cisternă (doar pentru CE) și două camioane mici
+        List<Vehicle> vehicles = List.of(
+                vehicle(1L, VehicleType.TANKER, 30000, 40),
+                vehicle(2L, VehicleType.BOX_TRUCK, 10000, 40),
+                vehicle(3L, VehicleType.BOX_TRUCK, 10000, 40));
+        List<Driver> drivers = List.of(driver(100L, LicenseType.C), driver(101L, LicenseType.C), driver(102L, LicenseType.CE));
+        List<Shipment> shipments = new ArrayList<>();
+        for (long id = 10; id < 40; id++) {
+            shipments.add(id % 2 == 0 ? shipment(id, 1800 + id * 10, 2) : shipment(id, 300, 5 + id % 3));
+        }
+        shipments.add(shipment(99L, 40000, 1)); // nu încape nicăieri
+
+        // ACT: același plan pe common pool și pe un pool cu 4 fire
+        LoadConsolidationSolver.Plan plan = solver.solve(shipments, drivers, vehicles);
+        LoadConsolidationSolver.Plan parallel = new LoadConsolidationSolver(new ForkJoinPool(4)).solve(shipments, drivers, vehicles);
+
+        // ASSERT: nicio cursă nu depășește capacitatea, fiecare șofer poate conduce vehiculul lui
+        int assigned = 0;
+        for (LoadConsolidationSolver.Trip trip : plan.trips()) {
+            double weight = trip.shipments().stream().mapToDouble(s -> s.getCargoDetails().getWeightKg()).sum();
+            double volume = trip.shipments().stream().mapToDouble(s -> s.getCargoDetails().getVolumeCubicMeters()).sum();
+            assertTrue(trip.vehicle().getCapacity().isSufficient(weight, volume));
+            assertTrue(trip.driver().canDriveVehicle(trip.vehicle()));
+            assigned += trip.shipments().size();
+        }
+        assertEquals(30, assigned);
+        assertEquals(assigned, plan.assignedShipments());
+        assertTrue(plan.unassigned().containsKey(99L));
+        assertEquals(tripIds(plan), tripIds(parallel));
+    }
+
+    private List<List<Long>> tripIds(LoadConsolidationSolver.Plan plan) {
+        return plan.trips().stream()
+                .map(trip -> trip.shipments().stream().map(Shipment::getId).toList())
+                .toList();
+    }
+
+    private Vehicle vehicle(Long id, VehicleType type, double weight, double volume) {
+        return new Vehicle(id, "B-" + id, "Volvo", "FH", type, 2022, new VehicleCapacity(weight, volume), "Diesel",
+                0, "policy", LocalDate.now().plusYears(1), LocalDate.now().plusYears(1), VehicleStatus.AVAILABLE, List.of());
+    }
+
+    private Driver driver(Long id, LicenseType type) {
+        LicenseInfo license = new LicenseInfo("L-" + id, type, LocalDate.now().minusYears(5), LocalDate.now().plusYears(5));
+        return new Driver(id, "Driver " + id, license, null, null, LocalDate.now(), DriverStatus.AVAILABLE, null);
+    }
+
+    private Shipment shipment(Long id, double weight, double volume) {
+        Shipment shipment = new Shipment("REF-" + id, 1L, null, null,
+                new CargoDetails("Marfă", weight, volume, null, null),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        ReflectionTestUtils.setField(shipment, "id", id);
+        return shipment;
+    }
+}
@@ -0,0 +1,128 @@
+package com.FTMS.FTMS_app.shipment.domain.service;
+
+import com.FTMS.FTMS_app.customer.domain.model.CustomerCategory;
+import com.FTMS.FTMS_app.fleet.domain.model.VehicleType;
+import com.FTMS.FTMS_app.shipment.domain.model.RateCard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShipmentComputationServiceTest {
+
+    private final ShipmentComputationService pricing = new ShipmentComputationService();
+
+    @Test
+    void testQuote_PicksMostSpecificRateAndWeightBand() {
+        // ARRANGE: tarif general, tarif pe relație (două trepte) și tarif pe relație pentru frigorifice
+        pricing.replaceRateCards(List.of(
+                rateCard(1L, null, null, null, 0, 100, 1.0),
+                rateCard(2L, "Cluj-Napoca", "Iasi", null, 0, 200, 0.5),
+                rateCard(3L, "Cluj-Napoca", "Iasi", null, 1000, 300, 0.4),
+                rateCard(4L, "Cluj-Napoca", "Iasi", VehicleType.REFRIGERATED, 0, 400, 0.6)
+        ));
+
+        // ACT + ASSERT
+        // Relația exactă (fără diferențe de majuscule/spații), treapta de peste 1000 kg
+        ShipmentComputationService.PriceQuote heavy = pricing.quote(" cluj-napoca ", "IASI", 1500, 1, null, CustomerCategory.STANDARD, 0);
+        assertEquals(3L, heavy.rateCardId());
+        assertEquals(300 + 0.4 * 1500, heavy.price(), 0.001);
+
+        // Tipul de vehicul cerut are prioritate
+        assertEquals(4L, pricing.quote("Cluj-Napoca", "Iasi", 500, 1, VehicleType.REFRIGERATED, CustomerCategory.STANDARD, 0).rateCardId());
+        // Fără tarif pentru TANKER -> tariful "orice vehicul" al relației
+        assertEquals(2L, pricing.quote("Cluj-Napoca", "Iasi", 500, 1, VehicleType.TANKER, CustomerCategory.STANDARD, 0).rateCardId());
+        // Relație necunoscută -> tariful general
+        assertEquals(1L, pricing.quote("Brasov", "Sibiu", 500, 1, null, CustomerCategory.STANDARD, 0).rateCardId());
+    }
+
+    @Test
+    void testQuote_UsesVolumetricWeightAndAppliesDiscounts() {
+        // ARRANGE
+        pricing.replaceRateCards(List.of(rateCard(1L, null, null, null, 0, 0, 1.0)));
+
+        // ACT: 100 kg dar 3 m³ -> se taxează greutatea volumetrică; VIP (5%) + contract 10%
+        ShipmentComputationService.PriceQuote quote = pricing.quote("Cluj-Napoca", "Iasi", 100, 3, null, CustomerCategory.VIP, 0.10);
+
+        // ASSERT
+        assertEquals(999, quote.chargeableWeightKg(), 0.001);
+        assertEquals(999, quote.listPrice(), 0.001);
+        assertEquals(49.95, quote.categoryDiscount(), 0.001);
+        assertEquals(94.91, quote.contractDiscount(), 0.001);
+        assertEquals(854.14, quote.price(), 0.001);
+
+        // Prețul negociat primește doar discountul contractului
+        assertEquals(899.1, pricing.negotiatedPrice(999, 0.10), 0.001);
+        assertEquals(999, pricing.negotiatedPrice(999, 0), 0.001);
+    }
+
+    @Test
+    void testQuote_WithoutMatchingRateIsRejected() {
+        // ARRANGE: singurul tarif începe de la 5000 kg
+        pricing.replaceRateCards(List.of(rateCard(1L, "Cluj-Napoca", "Iasi", null, 5000, 100, 1.0)));
+
+        // ACT + ASSERT
+        assertThrows(IllegalArgumentException.class,
+                () -> pricing.quote("Cluj-Napoca", "Iasi", 1000, 1, null, CustomerCategory.STANDARD, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> pricing.quote("Brasov", "Sibiu", 6000, 1, null, CustomerCategory.STANDARD, 0));
+    }
+
+    @Test
+    void testEstimateLane_FromMappedGazetteer(@TempDir Path directory) throws IOException {
+        // ARRANGE: CSV nesortat, cu antet, un rând invalid și un cod duplicat
+        String csv = """
+                country,postcode,latitude,longitude
+                RO,700001,47.1585,27.6014
+                RO,400001,46.7712,23.6236
+                RO,010011,44.4268,26.1025
+                RO,400001,0,0
+                RO,invalid,x,y
+                """;
+        pricing.replaceGazetteer(PostcodeGazetteer.build(new StringReader(csv), directory.resolve("postcodes.idx"), "RO"));
+
+        // ACT
+        LaneEstimate lane = pricing.estimateLane(null, "400001", "ro", "700 001");
+
+        // ASSERT: Cluj-Napoca -> Iași ~ 305 km pe cercul mare
+        assertEquals(3, pricing.postcodeCount());
+        assertEquals(305, lane.greatCircleKm(), 3);
+        assertEquals(lane.greatCircleKm() * ShipmentComputationService.ROAD_FACTOR, lane.roadKm(), 0.01);
+        // ~5,9 h de condus -> o pauză de 45 min
+        assertEquals(lane.drivingHours() + 0.75, lane.transitHours(), 0.01);
+        assertEquals(LocalDateTime.of(2030, 1, 1, 8, 0).plusMinutes(Math.round(lane.transitHours() * 60)),
+                lane.arrivalFor(LocalDateTime.of(2030, 1, 1, 8, 0)));
+        // A doua cerere vine din cache
+        assertSame(lane, pricing.estimateLane("RO", "400001", "RO", "700001"));
+        // Cod necunoscut sau țară invalidă -> fără estimare
+        assertNull(pricing.estimateLane("RO", "400001", "RO", "999999"));
+        assertNull(pricing.estimateLane("Romania", "400001", "RO", "700001"));
+
+        // Fișierul deja mapat nu este trunchiat de o nouă construire; gazetteer-ul curent rămâne valid
+        assertThrows(IllegalArgumentException.class,
+                () -> PostcodeGazetteer.build(new StringReader(csv), directory.resolve("postcodes.idx"), "RO"));
+        assertNotNull(pricing.estimateLane("RO", "010011", "RO", "700001"));
+    }
+
+    @Test
+    void testEstimate_AddsBreaksAndDailyRests() {
+        // ACT: 10 h de condus -> o odihnă zilnică (11 h) și o pauză în a doua zi
+        double greatCircleKm = 10 * ShipmentComputationService.AVERAGE_SPEED_KMH / ShipmentComputationService.ROAD_FACTOR;
+        LaneEstimate lane = ShipmentComputationService.estimate(greatCircleKm);
+
+        // ASSERT
+        assertEquals(10, lane.drivingHours(), 0.01);
+        assertEquals(10 + 0.75 + 11, lane.transitHours(), 0.01);
+    }
+
+    private RateCard rateCard(Long id, String origin, String destination, VehicleType type,
+                              double minWeight, double base, double perKg) {
+        return new RateCard(id, origin, destination, type, minWeight, base, perKg);
+    }
+}
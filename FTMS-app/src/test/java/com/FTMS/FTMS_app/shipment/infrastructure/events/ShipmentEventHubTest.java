@@ -0,0 +1,190 @@
+package com.FTMS.FTMS_app.shipment.infrastructure.events;
+
+import com.FTMS.FTMS_app.shipment.application.dto.ShipmentStatusEvent;
+import com.FTMS.FTMS_app.shipment.domain.model.CargoDetails;
+import com.FTMS.FTMS_app.shipment.domain.model.Shipment;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentContactLocation;
+import com.FTMS.FTMS_app.shipment.domain.model.ShipmentStatus;
+import com.FTMS.FTMS_app.shipment.domain.repository.ShipmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ShipmentEventHubTest {
+
+    @Autowired
+    private ShipmentEventHub hub;
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testCommittedStatusChangesArePublished_RolledBackOnesAreNot() throws InterruptedException {
+        Shipment shipment = shipmentRepository.save(shipment("SSE-1"));
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(null, shipment.getId(), null, sink);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> shipmentRepository.findById(shipment.getId()).orElseThrow().assign(1L, 1L));
+        tx.executeWithoutResult(status -> {
+            shipmentRepository.findById(shipment.getId()).orElseThrow().markAsPickedUp();
+            status.setRollbackOnly();
+        });
+        tx.executeWithoutResult(status -> shipmentRepository.findById(shipment.getId()).orElseThrow().cancel());
+
+        ShipmentStatusEvent assigned = sink.next();
+        assertEquals(ShipmentStatus.PENDING, assigned.previousStatus());
+        assertEquals(ShipmentStatus.SCHEDULED, assigned.status());
+        assertEquals("SSE-1", assigned.referenceNumber());
+        ShipmentStatusEvent canceled = sink.next();
+        assertEquals(ShipmentStatus.SCHEDULED, canceled.previousStatus()); // fără PICKED_UP (rollback)
+        assertEquals(ShipmentStatus.CANCELED, canceled.status());
+    }
+
+    @Test
+    void testSubscriptionsSeeOnlyMatchingEvents() throws InterruptedException {
+        ShipmentEventHub hub = new ShipmentEventHub(new SimpleMeterRegistry(), 16, 8, 60_000);
+        RecordingSink all = new RecordingSink();
+        RecordingSink customer = new RecordingSink();
+        RecordingSink shipment = new RecordingSink();
+        hub.subscribe(null, null, null, all);
+        hub.subscribe(7L, null, null, customer);
+        hub.subscribe(null, 101L, null, shipment);
+
+        hub.publish(100L, "R-100", 7L, ShipmentStatus.PENDING, ShipmentStatus.SCHEDULED);
+        hub.publish(101L, "R-101", 8L, ShipmentStatus.PENDING, ShipmentStatus.SCHEDULED);
+
+        assertEquals(List.of(100L, 101L), List.of(all.next().shipmentId(), all.next().shipmentId()));
+        assertEquals(100L, customer.next().shipmentId());
+        assertEquals(101L, shipment.next().shipmentId());
+        assertNull(customer.events.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testResumeFromLastEventId_ReplaysMissedEventsOrAsksForReset() throws InterruptedException {
+        ShipmentEventHub hub = new ShipmentEventHub(new SimpleMeterRegistry(), 4, 8, 60_000);
+        for (long id = 1; id <= 6; id++) {
+            hub.publish(id, "R-" + id, 1L, ShipmentStatus.PENDING, ShipmentStatus.SCHEDULED);
+        }
+
+        RecordingSink resumed = new RecordingSink();
+        hub.subscribe(null, null, hub.eventId(4), resumed);
+        assertEquals(List.of(hub.eventId(5), hub.eventId(6)), List.of(resumed.next().eventId(), resumed.next().eventId()));
+
+        // Evenimentul 1 a ieșit din istoric (ultimele 4) -> reset, cu ID-ul de la care se poate relua
+        RecordingSink tooOld = new RecordingSink();
+        hub.subscribe(null, null, hub.eventId(1), tooOld);
+        assertEquals(hub.eventId(6), tooOld.resets.poll(5, TimeUnit.SECONDS));
+
+        // Aceeași secvență, dar din altă incarnare (altă rulare sau alt nod)
+        RecordingSink fromAnotherRun = new RecordingSink();
+        hub.subscribe(null, null, hub.eventId(5) - (1L << ShipmentEventHub.SEQUENCE_BITS), fromAnotherRun);
+        assertEquals(hub.eventId(6), fromAnotherRun.resets.poll(5, TimeUnit.SECONDS));
+        assertTrue(fromAnotherRun.events.isEmpty());
+    }
+
+    @Test
+    void testEventIdsKeepGrowingAcrossRestarts() throws InterruptedException {
+        ShipmentEventHub before = new ShipmentEventHub(new SimpleMeterRegistry(), 4, 8, 60_000);
+        RecordingSink sink = new RecordingSink();
+        before.subscribe(null, null, null, sink);
+        before.publish(1L, "R-1", 1L, ShipmentStatus.PENDING, ShipmentStatus.SCHEDULED);
+        long lastBeforeRestart = sink.next().eventId();
+
+        Thread.sleep(2);
+        ShipmentEventHub after = new ShipmentEventHub(new SimpleMeterRegistry(), 4, 8, 60_000);
+        RecordingSink resumed = new RecordingSink();
+        after.subscribe(null, null, lastBeforeRestart, resumed);
+        after.publish(2L, "R-2", 1L, ShipmentStatus.PENDING, ShipmentStatus.SCHEDULED);
+
+        // Cursorul rulării anterioare primește reset (cu un ID al incarnării noi), iar ID-urile noi sunt mai mari
+        Long reset = resumed.resets.poll(5, TimeUnit.SECONDS);
+        assertNotNull(reset);
+        assertTrue(reset >= after.eventId(0));
+        assertTrue(resumed.next().eventId() > lastBeforeRestart);
+    }
+
+    @Test
+    void testSlowSubscriberIsDisconnectedWithoutBlockingOthers() throws InterruptedException {
+        ShipmentEventHub hub = new ShipmentEventHub(new SimpleMeterRegistry(), 64, 2, 60_000);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink stuck = new RecordingSink() {
+            @Override
+            public void send(ShipmentStatusEvent event) {
+                try {
+                    release.await(); // clientul nu mai citește
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RecordingSink healthy = new RecordingSink();
+        ShipmentEventHub.Subscriber stuckSubscription = hub.subscribe(null, null, null, stuck);
+        hub.subscribe(null, null, null, healthy);
+
+        for (long id = 1; id <= 10; id++) {
+            hub.publish(id, "R-" + id, 1L, ShipmentStatus.PENDING, ShipmentStatus.SCHEDULED);
+            assertEquals(hub.eventId(id), healthy.next().eventId());
+        }
+
+        assertTrue(stuckSubscription.isClosed());
+        assertTrue(stuck.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, hub.subscriberCount());
+        release.countDown();
+    }
+
+    private Shipment shipment(String reference) {
+        return new Shipment(reference, 1L,
+                new ShipmentContactLocation("Str. Fabricii 1", "Cluj-Napoca", "400000", "RO", "Ana", "0700000001"),
+                new ShipmentContactLocation("Str. Lungă 5", "Brașov", "500000", "RO", "Mihai", "0700000002"),
+                new CargoDetails("Paleți", 1200, 6, null, null),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+    }
+
+    private static class RecordingSink implements ShipmentEventSink {
+        final BlockingQueue<ShipmentStatusEvent> events = new LinkedBlockingQueue<>();
+        final BlockingQueue<Long> resets = new LinkedBlockingQueue<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        ShipmentStatusEvent next() throws InterruptedException {
+            ShipmentStatusEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "expected an event");
+            return event;
+        }
+
+        @Override
+        public void send(ShipmentStatusEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void sendReset(long latestEventId) {
+            resets.add(latestEventId);
+        }
+
+        @Override
+        public void sendHeartbeat() {
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}